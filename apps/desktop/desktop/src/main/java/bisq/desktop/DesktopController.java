@@ -291,6 +291,7 @@ public class DesktopController extends NavigationController {
 
     private void onShutdown() {
         preventStandbyModeService.shutdown();
+        CatHash.shutdown();
     }
 
     private boolean isLocked() {
@@ -18,6 +18,7 @@
 package bisq.desktop.common.utils;
 
 import bisq.common.file.FileUtils;
+import bisq.user.cathash.CatHashPixelComposer;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -29,9 +30,36 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 public class CatHashImageUtil {
     private static final String BASE_PATH = "images/cathash/";
+    private static final int PLACEHOLDER_COLOR = 0xFF3A3A3A;
+    // The number of layer images is small (about 150), so we keep their scaled pixels
+    private static final Map<String, int[]> LAYER_PIXELS_BY_PATH_AND_SIZE = new ConcurrentHashMap<>();
+
+    /**
+     * Composes the image from the pixels of the layers without using a Canvas, thus it can be called outside the
+     * JavaFX application thread.
+     */
+    public static Image composeImageFromPixels(String[] paths, double size) {
+        int intSize = (int) Math.round(size);
+        List<int[]> layers = Stream.of(paths)
+                .map(path -> getLayerPixels(path, intSize))
+                .toList();
+        return toImage(CatHashPixelComposer.compose(layers, intSize), intSize);
+    }
+
+    public static Image createPlaceholderImage(double size) {
+        int intSize = (int) Math.round(size);
+        int[] layer = new int[intSize * intSize];
+        Arrays.fill(layer, PLACEHOLDER_COLOR);
+        return toImage(CatHashPixelComposer.compose(List.of(layer), intSize), intSize);
+    }
 
     public static Image composeImage(String[] paths, double size) {
         return composeImage(paths, size, size);
@@ -64,6 +92,21 @@ public class CatHashImageUtil {
         return canvas.snapshot(snapshotParameters, null);
     }
 
+    private static int[] getLayerPixels(String path, int size) {
+        return LAYER_PIXELS_BY_PATH_AND_SIZE.computeIfAbsent(path + "_" + size, key -> {
+            Image layer = new Image(BASE_PATH + path, size, size, false, true);
+            int[] pixels = new int[size * size];
+            layer.getPixelReader().getPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), pixels, 0, size);
+            return pixels;
+        });
+    }
+
+    private static Image toImage(int[] pixels, int size) {
+        WritableImage image = new WritableImage(size, size);
+        image.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), pixels, 0, size);
+        return image;
+    }
+
     public static Image readRawImage(File file) throws IOException {
         byte[] rawData = FileUtils.read(file.getAbsolutePath());
         return byteArrayToImage(rawData);
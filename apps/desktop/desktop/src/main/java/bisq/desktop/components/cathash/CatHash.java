@@ -17,26 +17,69 @@
 
 package bisq.desktop.components.cathash;
 
+import bisq.desktop.common.threading.UIThread;
 import bisq.user.cathash.BucketConfig;
 import bisq.user.profile.UserProfile;
+import javafx.beans.property.ObjectProperty;
 import javafx.scene.image.Image;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 
 // Derived from https://github.com/neuhalje/android-robohash
 @Slf4j
 public class CatHash {
     @Setter
     private static JavaFxCatHashService delegate;
+    // Latest request per image property. Only accessed on the JavaFX thread.
+    private static final Map<ObjectProperty<Image>, Object> requestByImageProperty = new WeakHashMap<>();
 
-    public static Image getImage(UserProfile userProfile, double size) {
-        return delegate.getImage(userProfile, size);
+    public static Optional<Image> findCachedImage(UserProfile userProfile, double size) {
+        return delegate.findCachedImage(userProfile, size);
     }
 
-    public static Image getImage(byte[] pubKeyHash, byte[] powSolution, int avatarVersion, double size) {
-        return delegate.getImage(pubKeyHash, powSolution, avatarVersion, size);
+    public static CompletableFuture<Image> getImageAsync(UserProfile userProfile, double size) {
+        return delegate.getImageAsync(userProfile, size);
+    }
+
+    public static CompletableFuture<Image> getImageAsync(byte[] pubKeyHash,
+                                                         byte[] powSolution,
+                                                         int avatarVersion,
+                                                         double size) {
+        return delegate.getImageAsync(pubKeyHash, powSolution, avatarVersion, size);
+    }
+
+    /**
+     * Sets the cached image or a placeholder until the image got created on the render thread pool.
+     * If the image property got set again or was changed from the placeholder in the meantime, the outdated image
+     * is ignored.
+     * Must be called on the JavaFX thread.
+     */
+    public static void setImage(ObjectProperty<Image> imageProperty, UserProfile userProfile, double size) {
+        Optional<Image> cachedImage = findCachedImage(userProfile, size);
+        if (cachedImage.isPresent()) {
+            requestByImageProperty.remove(imageProperty);
+            imageProperty.set(cachedImage.get());
+        } else {
+            setImageAsync(imageProperty, getImageAsync(userProfile, size));
+        }
+    }
+
+    public static void setImage(ObjectProperty<Image> imageProperty,
+                                byte[] pubKeyHash,
+                                byte[] powSolution,
+                                int avatarVersion,
+                                double size) {
+        setImageAsync(imageProperty, getImageAsync(pubKeyHash, powSolution, avatarVersion, size));
+    }
+
+    public static Image getPlaceholderImage() {
+        return delegate.getPlaceholderImage();
     }
 
     // Remove the user profile icons which are not contained anymore in the current user profile list
@@ -47,4 +90,22 @@ public class CatHash {
     public static int currentAvatarsVersion() {
         return BucketConfig.CURRENT_VERSION;
     }
+
+    public static void shutdown() {
+        if (delegate != null) {
+            delegate.shutdown();
+        }
+    }
+
+    private static void setImageAsync(ObjectProperty<Image> imageProperty, CompletableFuture<Image> imageFuture) {
+        Object request = new Object();
+        Image placeholderImage = getPlaceholderImage();
+        requestByImageProperty.put(imageProperty, request);
+        imageProperty.set(placeholderImage);
+        imageFuture.thenAccept(image -> UIThread.run(() -> {
+            if (requestByImageProperty.remove(imageProperty, request) && imageProperty.get() == placeholderImage) {
+                imageProperty.set(image);
+            }
+        }));
+    }
 }
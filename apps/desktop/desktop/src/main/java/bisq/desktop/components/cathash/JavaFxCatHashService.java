@@ -20,19 +20,24 @@ package bisq.desktop.components.cathash;
 import bisq.desktop.common.utils.CatHashImageUtil;
 import bisq.user.cathash.CatHashService;
 import javafx.scene.image.Image;
+import lombok.Getter;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 
 public class JavaFxCatHashService extends CatHashService<Image> {
+    @Getter
+    private final Image placeholderImage = CatHashImageUtil.createPlaceholderImage(2 * SIZE_OF_CACHED_ICONS);
+
     public JavaFxCatHashService(Path baseDir) {
         super(baseDir);
     }
 
     @Override
     protected Image composeImage(String[] paths, double size) {
-        return CatHashImageUtil.composeImage(paths, size);
+        // Is called from the render thread pool, thus we must not use a Canvas
+        return CatHashImageUtil.composeImageFromPixels(paths, size);
     }
 
     @Override
@@ -61,7 +61,7 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
     private final UserIdentityService userIdentityService;
     private final BisqEasyOfferbookMessageService bisqEasyOfferbookMessageService;
     private Pin showBuyOffersPin, showOfferListExpandedSettingsPin, offerMessagesPin, showMyOffersOnlyPin,
-            userIdentityPin, userProfileIdWithScoreChangePin;
+            userIdentityPin, userProfileIdWithScoreChangePin, marketPricePin;
     private Subscription showBuyOffersFromModelPin, activeMarketPaymentsCountPin, showMyOffersOnlyFromModelPin;
 
     public OfferbookListController(ServiceProvider serviceProvider) {
@@ -101,7 +101,7 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
 
     @Override
     public void onDeactivate() {
-        disposeAndClearOfferbookListItems();
+        model.getOfferbookListItems().clear();
         model.getChatMessageIds().clear();
 
         showBuyOffersPin.unbind();
@@ -111,15 +111,19 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
         if (offerMessagesPin != null) {
             offerMessagesPin.unbind();
         }
+        if (marketPricePin != null) {
+            marketPricePin.unbind();
+        }
         showMyOffersOnlyPin.unbind();
         showMyOffersOnlyFromModelPin.unsubscribe();
         userIdentityPin.unbind();
         userProfileIdWithScoreChangePin.unbind();
     }
 
-    private void disposeAndClearOfferbookListItems() {
-        model.getOfferbookListItems().forEach(OfferbookListItem::dispose);
-        model.getOfferbookListItems().clear();
+    private void updateOfferbookListItemPrices() {
+        // All items of the channel are in the channel's market, thus one price update affects all of them
+        model.getOfferbookListItems().forEach(OfferbookListItem::updatePriceSpecAsPercent);
+        model.getPriceUpdateTrigger().set(!model.getPriceUpdateTrigger().get());
     }
 
     public void setSelectedChannel(BisqEasyOfferbookChannel channel) {
@@ -133,8 +137,14 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
         if (offerMessagesPin != null) {
             offerMessagesPin.unbind();
         }
-        disposeAndClearOfferbookListItems();
+        if (marketPricePin != null) {
+            marketPricePin.unbind();
+        }
+        model.getOfferbookListItems().clear();
         model.getChatMessageIds().clear();
+        // We get notified only at price updates of the channel's market and update all items in one batch
+        marketPricePin = marketPriceService.getMarketPriceObservable(channel.getMarket()).addObserver(marketPrice ->
+                UIThread.run(this::updateOfferbookListItemPrices));
         offerMessagesPin = channel.getChatMessages().addObserver(new CollectionObserver<>() {
             @Override
             public void add(BisqEasyOfferbookMessage offerbookMessage) {
@@ -165,7 +175,6 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
                                 .filter(item -> item.getBisqEasyOfferbookMessage().getId().equals(offerMessage.getId()))
                                 .findAny();
                         toRemove.ifPresent(item -> {
-                            item.dispose();
                             model.getOfferbookListItems().remove(item);
                             model.getChatMessageIds().remove(offerMessage.getId());
                         });
@@ -176,7 +185,7 @@ public class OfferbookListController implements bisq.desktop.common.view.Control
             @Override
             public void clear() {
                 UIThread.runOnNextRenderFrame(() -> {
-                    disposeAndClearOfferbookListItems();
+                    model.getOfferbookListItems().clear();
                     model.getChatMessageIds().clear();
                 });
             }
@@ -23,8 +23,6 @@ import bisq.account.payment_method.PaymentMethod;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
 import bisq.common.monetary.Monetary;
-import bisq.common.observable.Pin;
-import bisq.desktop.common.threading.UIThread;
 import bisq.i18n.Res;
 import bisq.offer.Direction;
 import bisq.offer.amount.OfferAmountFormatter;
@@ -70,7 +68,6 @@ public class OfferbookListItem {
     private final boolean isFixPrice;
     private final Monetary quoteSideMinAmount;
     private final long totalScore;
-    private final Pin marketPriceByCurrencyMapPin;
     private final long offerAgeInDays;
     private double priceSpecAsPercent;
     private String formattedPercentagePrice, priceTooltipText;
@@ -110,23 +107,17 @@ public class OfferbookListItem {
         offerAgeTooltipText = Res.get("user.profileCard.offers.table.columns.offerAge.tooltip",
                 DateFormatter.formatDateTime(bisqEasyOffer.getDate()));
 
-        marketPriceByCurrencyMapPin = marketPriceService.getMarketPriceByCurrencyMap().addObserver(() ->
-                UIThread.run(this::updatePriceSpecAsPercent));
         updatePriceSpecAsPercent();
     }
 
-    void dispose() {
-        marketPriceByCurrencyMapPin.unbind();
-    }
-
     boolean isBuyOffer() {
         return bisqEasyOffer.getDirection() == Direction.BUY;
     }
 
-    private void updatePriceSpecAsPercent() {
+    // Called by the controller on market price updates of the offer's market
+    void updatePriceSpecAsPercent() {
         priceSpecAsPercent = PriceUtil.findPercentFromMarketPrice(marketPriceService, bisqEasyOffer).orElseThrow();
         formattedPercentagePrice = PercentageFormatter.formatToPercentWithSignAndSymbol(priceSpecAsPercent);
-        log.error("formattedPercentagePrice "+formattedPercentagePrice);
         String offerPrice = OfferPriceFormatter.formatQuote(marketPriceService, bisqEasyOffer);
         priceTooltipText = PriceSpecFormatter.getFormattedPriceSpecWithOfferPrice(bisqEasyOffer.getPriceSpec(), offerPrice);
     }
@@ -44,6 +44,7 @@ class OfferbookListModel implements bisq.desktop.common.view.Model {
     private final IntegerProperty activeMarketPaymentsCount = new SimpleIntegerProperty();
     private final SimpleObjectProperty<BisqEasyOfferbookChannel> channel = new SimpleObjectProperty<>();
     private final BooleanProperty showMyOffersOnly = new SimpleBooleanProperty();
+    private final BooleanProperty priceUpdateTrigger = new SimpleBooleanProperty();
 
     OfferbookListModel() {
     }
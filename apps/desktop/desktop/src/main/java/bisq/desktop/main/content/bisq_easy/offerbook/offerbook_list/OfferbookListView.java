@@ -87,7 +87,7 @@ public class OfferbookListView extends bisq.desktop.common.view.View<VBox, Offer
     private Label offerDirectionFilterLabel, paymentsFilterLabel;
     private Subscription showOfferListExpandedPin, showBuyFromOffersPin, showMyOffersOnlyPin,
             offerListTableViewSelectionPin, activeMarketPaymentsCountPin, isCustomPaymentsSelectedPin,
-            widthPropertyPin;
+            widthPropertyPin, priceUpdateTriggerPin;
 
     OfferbookListView(OfferbookListModel model, OfferbookListController controller) {
         super(new VBox(), model, controller);
@@ -241,6 +241,13 @@ public class OfferbookListView extends bisq.desktop.common.view.View<VBox, Offer
             }
         });
 
+        priceUpdateTriggerPin = EasyBind.subscribe(model.getPriceUpdateTrigger(), trigger -> {
+            tableView.refresh();
+            if (!tableView.getSortOrder().isEmpty()) {
+                tableView.sort();
+            }
+        });
+
         model.getAvailableMarketPayments().addListener(availablePaymentsChangeListener);
         updateMarketPaymentFilters();
         model.getSelectedMarketPayments().addListener(selectedPaymentsChangeListener);
@@ -275,6 +282,7 @@ public class OfferbookListView extends bisq.desktop.common.view.View<VBox, Offer
         isCustomPaymentsSelectedPin.unsubscribe();
         showMyOffersOnlyPin.unsubscribe();
         widthPropertyPin.unsubscribe();
+        priceUpdateTriggerPin.unsubscribe();
 
         model.getAvailableMarketPayments().removeListener(availablePaymentsChangeListener);
         model.getSelectedMarketPayments().removeListener(selectedPaymentsChangeListener);
@@ -92,13 +92,7 @@ public abstract class BaseChatController<V extends BaseChatView, M extends BaseC
     public void onActivate() {
         selectedChannelPin = selectionService.getSelectedChannel().addObserver(this::selectedChannelChanged);
         model.getSearchText().set("");
-        searchTextPin = EasyBind.subscribe(model.getSearchText(), searchText -> {
-            if (searchText == null || searchText.isEmpty()) {
-                chatMessageContainerController.setSearchPredicate(item -> true);
-            } else {
-                chatMessageContainerController.setSearchPredicate(item -> item.match(searchText));
-            }
-        });
+        searchTextPin = EasyBind.subscribe(model.getSearchText(), chatMessageContainerController::setSearchText);
     }
 
     @Override
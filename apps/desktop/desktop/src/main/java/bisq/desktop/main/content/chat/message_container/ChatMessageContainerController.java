@@ -35,7 +35,6 @@ import bisq.desktop.common.threading.UIThread;
 import bisq.desktop.common.view.Navigation;
 import bisq.desktop.components.overlay.Popup;
 import bisq.desktop.main.content.chat.message_container.components.CitationBlock;
-import bisq.desktop.main.content.chat.message_container.list.ChatMessageListItem;
 import bisq.desktop.main.content.chat.message_container.list.ChatMessagesListController;
 import bisq.desktop.main.content.components.UserProfileSelection;
 import bisq.desktop.main.content.user.profile_card.ProfileCardController;
@@ -53,7 +52,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static bisq.settings.DontShowAgainKey.SEND_MSG_OFFER_ONLY_WARN;
@@ -116,8 +114,8 @@ public class ChatMessageContainerController implements bisq.desktop.common.view.
         model.getChatDialogEnabled().set(isEnabled);
     }
 
-    public void setSearchPredicate(Predicate<? super ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> predicate) {
-        chatMessagesListController.setSearchPredicate(predicate);
+    public void setSearchText(String searchText) {
+        chatMessagesListController.setSearchText(searchText);
     }
 
 
@@ -104,7 +104,7 @@ public class ChatMessageContainerView extends bisq.desktop.common.view.View<VBox
 
         myUserProfilePin = EasyBind.subscribe(model.getMyUserProfile(), userProfile -> {
             if (userProfile != null) {
-                myProfileCatHashImageView.setImage(CatHash.getImage(userProfile, CAT_HASH_IMAGE_SIZE));
+                CatHash.setImage(myProfileCatHashImageView.imageProperty(), userProfile, CAT_HASH_IMAGE_SIZE);
                 myProfileCatHashImageView.setOnMouseClicked(e -> controller.onOpenProfileCard(userProfile));
                 myProfileNickNameTooltip.setText(userProfile.getNickName());
             }
@@ -93,7 +93,7 @@ public class CitationBlock {
             userProfileService.findUserProfile(chatMessage.getAuthorUserProfileId()).ifPresent(author -> {
                 model.author = author;
                 model.userName.set(author.getUserName());
-                model.catHashImage.set(CatHash.getImage(author, Model.CAT_HASH_IMAGE_SIZE));
+                CatHash.setImage(model.catHashImage, author, Model.CAT_HASH_IMAGE_SIZE);
                 model.citation.set(chatMessage.getTextOrNA());
                 model.visible.set(true);
             });
@@ -192,13 +192,12 @@ public final class ChatMessageListItem<M extends ChatMessage, C extends ChatChan
         return Comparator.comparingLong(ChatMessage::getDate).compare(this.getChatMessage(), o.getChatMessage());
     }
 
-    public boolean match(String filterString) {
-        return filterString == null
-                || filterString.isEmpty()
-                || StringUtils.containsIgnoreCase(message, filterString)
-                || StringUtils.containsIgnoreCase(nym, filterString)
-                || StringUtils.containsIgnoreCase(nickName, filterString)
-                || StringUtils.containsIgnoreCase(date, filterString);
+    /**
+     * The texts a search matches if one of them contains the search text ignoring case.
+     * See ChatMessageSearchIndex.
+     */
+    public List<String> getSearchableTexts() {
+        return List.of(message, nym, nickName, date);
     }
 
     public void dispose() {
@@ -0,0 +1,203 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.content.chat.message_container.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Trigram index over the searchable texts of chat messages (message, nym, nickname and date).
+ * <p>
+ * A search returns the ids of all messages having a text which contains the query ignoring case, as
+ * StringUtils.containsIgnoreCase does. We look up the messages containing all trigrams of the lower-cased query and
+ * only verify those candidates with a substring check, so the index reduces the texts we need to check but never
+ * changes the result. Queries shorter than a trigram match too many messages to benefit from an index, for those we
+ * check the lower-cased texts of all messages.
+ * <p>
+ * Not thread safe. ChatMessagesListController confines the access to a single thread.
+ */
+final class ChatMessageSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_REMOVED_FOR_COMPACTION = 1000;
+
+    private static final class Document {
+        private final String messageId;
+        private final List<String> lowerCaseTexts;
+
+        private Document(String messageId, List<String> lowerCaseTexts) {
+            this.messageId = messageId;
+            this.lowerCaseTexts = lowerCaseTexts;
+        }
+
+        private boolean contains(String lowerCaseQuery) {
+            for (String text : lowerCaseTexts) {
+                if (text.contains(lowerCaseQuery)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Growable array of document indices in ascending order
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    // Removed documents are set to null and get dropped at compaction, so that the postings stay sorted
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<String, Integer> documentIndexByMessageId = new HashMap<>();
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private int numRemoved;
+
+    void add(String messageId, Collection<String> texts) {
+        remove(messageId);
+
+        List<String> lowerCaseTexts = texts.stream()
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .toList();
+        addDocument(new Document(messageId, lowerCaseTexts));
+    }
+
+    void remove(String messageId) {
+        Integer documentIndex = documentIndexByMessageId.remove(messageId);
+        if (documentIndex == null) {
+            return;
+        }
+
+        documents.set(documentIndex, null);
+        numRemoved++;
+        if (numRemoved >= MIN_REMOVED_FOR_COMPACTION && numRemoved > documents.size() / 2) {
+            compact();
+        }
+    }
+
+    void clear() {
+        documents.clear();
+        documentIndexByMessageId.clear();
+        postingsByGram.clear();
+        numRemoved = 0;
+    }
+
+    int size() {
+        return documentIndexByMessageId.size();
+    }
+
+    /**
+     * @return The ids of the messages with a text containing the query ignoring case. All ids if the query is empty.
+     */
+    Set<String> search(String query) {
+        String lowerCaseQuery = query.toLowerCase();
+        Set<String> result = new HashSet<>();
+        if (lowerCaseQuery.length() < GRAM_LENGTH) {
+            for (Document document : documents) {
+                if (document != null && document.contains(lowerCaseQuery)) {
+                    result.add(document.messageId);
+                }
+            }
+            return result;
+        }
+
+        List<Postings> postingsList = new ArrayList<>();
+        for (long gram : getGrams(List.of(lowerCaseQuery))) {
+            Postings postings = postingsByGram.get(gram);
+            if (postings == null) {
+                return result;
+            }
+            postingsList.add(postings);
+        }
+        // We start with the shortest list, so that the intersection is small from the beginning
+        postingsList.sort(Comparator.comparingInt(postings -> postings.size));
+        Postings candidates = postingsList.get(0);
+        for (int i = 1; i < postingsList.size() && candidates.size > 0; i++) {
+            candidates = intersect(candidates, postingsList.get(i));
+        }
+
+        // A query of the gram length is matched exactly by its gram, longer queries need to be verified
+        boolean requiresVerification = lowerCaseQuery.length() > GRAM_LENGTH;
+        for (int i = 0; i < candidates.size; i++) {
+            Document document = documents.get(candidates.values[i]);
+            if (document != null && (!requiresVerification || document.contains(lowerCaseQuery))) {
+                result.add(document.messageId);
+            }
+        }
+        return result;
+    }
+
+    private static Postings intersect(Postings first, Postings second) {
+        Postings result = new Postings();
+        int i = 0;
+        int j = 0;
+        while (i < first.size && j < second.size) {
+            int compare = Integer.compare(first.values[i], second.values[j]);
+            if (compare == 0) {
+                result.add(first.values[i]);
+                i++;
+                j++;
+            } else if (compare < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private void compact() {
+        List<Document> liveDocuments = documents.stream()
+                .filter(Objects::nonNull)
+                .toList();
+        clear();
+        liveDocuments.forEach(this::addDocument);
+    }
+
+    private void addDocument(Document document) {
+        int documentIndex = documents.size();
+        documents.add(document);
+        documentIndexByMessageId.put(document.messageId, documentIndex);
+        getGrams(document.lowerCaseTexts).forEach(gram ->
+                postingsByGram.computeIfAbsent(gram, key -> new Postings()).add(documentIndex));
+    }
+
+    private static Set<Long> getGrams(List<String> lowerCaseTexts) {
+        Set<Long> grams = new HashSet<>();
+        for (String text : lowerCaseTexts) {
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+}
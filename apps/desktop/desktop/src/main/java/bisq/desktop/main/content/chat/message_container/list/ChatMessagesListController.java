@@ -25,6 +25,7 @@ import bisq.chat.ChatChannel;
 import bisq.chat.ChatChannelDomain;
 import bisq.chat.ChatChannelSelectionService;
 import bisq.chat.ChatMessage;
+import bisq.chat.ChatMessageHistory;
 import bisq.chat.ChatMessageType;
 import bisq.chat.ChatService;
 import bisq.chat.bisq_easy.BisqEasyOfferMessage;
@@ -52,6 +53,7 @@ import bisq.chat.two_party.TwoPartyPrivateChatChannel;
 import bisq.chat.two_party.TwoPartyPrivateChatMessage;
 import bisq.common.observable.Pin;
 import bisq.common.observable.collection.CollectionObserver;
+import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.StringUtils;
 import bisq.desktop.ServiceProvider;
 import bisq.desktop.common.threading.UIScheduler;
@@ -81,20 +83,28 @@ import bisq.user.profile.UserProfile;
 import bisq.user.profile.UserProfileService;
 import bisq.user.reputation.ReputationScore;
 import bisq.user.reputation.ReputationService;
+import javafx.collections.ListChangeListener;
 import javafx.scene.Scene;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.Subscription;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -126,10 +136,20 @@ public class ChatMessagesListController implements Controller {
     private final LeavePrivateChatManager leavePrivateChatManager;
     private final DontShowAgainService dontShowAgainService;
     private final BisqEasyOfferbookMessageService bisqEasyOfferbookMessageService;
+    // The search index is only accessed from the searchIndexExecutor thread
+    private final ChatMessageSearchIndex searchIndex = new ChatMessageSearchIndex();
+    private final ExecutorService searchIndexExecutor;
+    private String searchText = "";
+    // Public channels show only the latest messages and load older ones page by page when scrolling to the top.
+    // The cursor is read from the network threads, the rest is only accessed from the UI thread.
+    private volatile Optional<ChatMessageHistory.Cursor> oldestLoadedChatMessageCursor = Optional.empty();
+    private Optional<IntConsumer> loadOlderChatMessagesHandler = Optional.empty();
+    private Optional<Runnable> trimToLatestChatMessagesHandler = Optional.empty();
     private Pin selectedChannelPin, chatMessagesPin, bisqEasyOfferbookMessageTypeFilterPin, highlightedMessagePin;
     private Subscription selectedChannelSubscription, focusSubscription, scrollValuePin, scrollBarVisiblePin,
             layoutChildrenDonePin;
     private static final String DONT_SHOW_CHAT_RULES_WARNING_KEY = "privateChatRulesWarning";
+    private static final int CHAT_MESSAGES_PAGE_SIZE = 100;
 
     public ChatMessagesListController(ServiceProvider serviceProvider,
                                       Consumer<UserProfile> mentionUserHandler,
@@ -160,6 +180,9 @@ public class ChatMessagesListController implements Controller {
 
         model = new ChatMessagesListModel(userIdentityService, chatChannelDomain);
         view = new ChatMessagesListView(model, this);
+
+        searchIndexExecutor = ExecutorFactory.newSingleThreadExecutor("ChatMessageSearchIndex");
+        model.getChatMessages().addListener(this::updateSearchIndex);
     }
 
     @Override
@@ -189,7 +212,12 @@ public class ChatMessagesListController implements Controller {
             }
         });
 
-        layoutChildrenDonePin = EasyBind.subscribe(model.getLayoutChildrenDone(), layoutChildrenDone -> handleScrollValueChanged());
+        layoutChildrenDonePin = EasyBind.subscribe(model.getLayoutChildrenDone(), layoutChildrenDone -> {
+            handleScrollValueChanged();
+            if (layoutChildrenDone) {
+                UIThread.runOnNextRenderFrame(this::maybeLoadOlderChatMessagesToFillViewport);
+            }
+        });
 
         applyScrollValue(1);
     }
@@ -226,6 +254,9 @@ public class ChatMessagesListController implements Controller {
         model.getChatMessages().forEach(ChatMessageListItem::dispose);
         model.getChatMessages().clear();
         model.getChatMessageIds().clear();
+        oldestLoadedChatMessageCursor = Optional.empty();
+        loadOlderChatMessagesHandler = Optional.empty();
+        trimToLatestChatMessagesHandler = Optional.empty();
     }
 
     private void selectedChannelChanged(ChatChannel<? extends ChatMessage> channel) {
@@ -311,9 +342,18 @@ public class ChatMessagesListController implements Controller {
         updatePredicate();
     }
 
-    public void setSearchPredicate(Predicate<? super ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> predicate) {
-        model.setSearchPredicate(Objects.requireNonNullElseGet(predicate, () -> e -> true));
-        updatePredicate();
+    public void setSearchText(String searchText) {
+        this.searchText = searchText == null ? "" : searchText;
+        if (this.searchText.isEmpty()) {
+            model.setSearchPredicate(item -> true);
+            updatePredicate();
+            // The search has loaded the whole history, we only keep the latest page
+            trimToLatestChatMessagesHandler.ifPresent(Runnable::run);
+        } else {
+            // The search covers the whole channel, thus we need to load the not yet loaded history
+            loadOlderChatMessagesHandler.ifPresent(handler -> handler.accept(Integer.MAX_VALUE));
+            search(this.searchText);
+        }
     }
 
     public void editMyLastMessage() {
@@ -647,12 +687,22 @@ public class ChatMessagesListController implements Controller {
         model.setAutoScrollToBottom(isAtBottom);
         if (isAtBottom) {
             model.setNumReadMessages(model.getFilteredChatMessages().size());
+        } else if (scrollValue == 0d && model.getScrollBarVisible().get()) {
+            loadOlderChatMessagesHandler.ifPresent(handler -> handler.accept(CHAT_MESSAGES_PAGE_SIZE));
         }
 
         int numUnReadMessages = model.getFilteredChatMessages().size() - model.getNumReadMessages();
         model.getNumUnReadMessages().set(numUnReadMessages > 0 ? String.valueOf(numUnReadMessages) : "");
     }
 
+    // If the shown messages do not fill the viewport, there is no scroll bar for scrolling up to load older messages.
+    // We check after the layout pass, as only then the visibility of the scroll bar is up to date.
+    private void maybeLoadOlderChatMessagesToFillViewport() {
+        if (model.isScrollBarBound() && !model.getScrollBarVisible().get()) {
+            loadOlderChatMessagesHandler.ifPresent(handler -> handler.accept(CHAT_MESSAGES_PAGE_SIZE));
+        }
+    }
+
     private void maybeScrollDownOnNewItemAdded() {
         if (model.isAutoScrollToBottom()) {
             // The 100 ms delay is needed as when the item gets added to the listview it updates the scroll property
@@ -678,6 +728,46 @@ public class ChatMessagesListController implements Controller {
                 .ifPresent(channel -> Navigation.navigateTo(NavigationTarget.CHAT_PRIVATE));
     }
 
+    private void updateSearchIndex(ListChangeListener.Change<? extends ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> change) {
+        // We collect the texts on the UI thread and apply them to the index in the background
+        List<String> removedMessageIds = new ArrayList<>();
+        Map<String, List<String>> addedSearchableTextsByMessageId = new LinkedHashMap<>();
+        while (change.next()) {
+            change.getRemoved().forEach(item -> removedMessageIds.add(item.getChatMessage().getId()));
+            change.getAddedSubList().forEach(item ->
+                    addedSearchableTextsByMessageId.put(item.getChatMessage().getId(), item.getSearchableTexts()));
+        }
+        boolean isCleared = model.getChatMessages().isEmpty();
+        searchIndexExecutor.execute(() -> {
+            if (isCleared) {
+                searchIndex.clear();
+            } else {
+                removedMessageIds.forEach(searchIndex::remove);
+            }
+            addedSearchableTextsByMessageId.forEach(searchIndex::add);
+        });
+
+        // Messages added while a search is active need to get matched as well
+        if (!searchText.isEmpty()) {
+            search(searchText);
+        }
+    }
+
+    private void search(String query) {
+        CompletableFuture.supplyAsync(() -> searchIndex.search(query), searchIndexExecutor)
+                .whenComplete((messageIds, throwable) -> UIThread.run(() -> {
+                    if (throwable != null) {
+                        log.error("Searching chat messages failed", throwable);
+                        return;
+                    }
+                    // We ignore results of queries which got replaced while typing
+                    if (query.equals(searchText)) {
+                        model.setSearchPredicate(item -> messageIds.contains(item.getChatMessage().getId()));
+                        updatePredicate();
+                    }
+                }));
+    }
+
     private void updatePredicate() {
         model.getFilteredChatMessages().setPredicate(item ->
                 model.getSearchPredicate().test(item) && getPredicate().test(item));
@@ -688,27 +778,19 @@ public class ChatMessagesListController implements Controller {
     private <M extends ChatMessage, C extends ChatChannel<M>> Pin bindChatMessages(C channel) {
         // We clear and fill the list at channel change. The addObserver triggers the add method for each item,
         // but as we have a contains() check there it will not have any effect.
-
-        Set<ChatMessageListItem<M, C>> items = channel.getChatMessages().stream()
-                .filter(chatMessage -> chatMessage.getChatMessageType() != TAKE_BISQ_EASY_OFFER)
-                .filter(chatMessage -> !(chatMessage instanceof BisqEasyOfferbookMessage bisqEasyOfferbookMessage) ||
-                        bisqEasyOfferbookMessageService.isValid(bisqEasyOfferbookMessage))
-                .map(chatMessage -> new ChatMessageListItem<>(chatMessage,
-                        channel,
-                        marketPriceService,
-                        userProfileService,
-                        reputationService,
-                        bisqEasyTradeService,
-                        userIdentityService,
-                        networkService,
-                        resendMessageService,
-                        authorizedBondedRolesService))
-                .collect(Collectors.toCollection(LinkedHashSet::new)); // preserve insertion order
-        model.getChatMessages().addAll(items);
-        model.getChatMessageIds().clear();
-        model.getChatMessageIds().addAll(items.stream()
-                .map(e -> e.getChatMessage().getId())
-                .collect(Collectors.toSet()));
+        // For public channels we only fill in the latest page of the history, older messages get loaded on scroll.
+        Optional<ChatMessageHistory<M>> chatMessageHistory = findChatMessageHistory(channel);
+        Collection<M> chatMessages = chatMessageHistory
+                .<Collection<M>>map(history -> history.getLatest(CHAT_MESSAGES_PAGE_SIZE))
+                .orElse(channel.getChatMessages());
+        oldestLoadedChatMessageCursor = chatMessageHistory.isPresent()
+                ? chatMessages.stream().findFirst().map(ChatMessageHistory.Cursor::of)
+                : Optional.empty();
+        loadOlderChatMessagesHandler = chatMessageHistory.<IntConsumer>map(history ->
+                limit -> loadOlderChatMessages(history, channel, limit));
+        trimToLatestChatMessagesHandler = chatMessageHistory.<Runnable>map(history ->
+                () -> trimToLatestChatMessages(history));
+        addChatMessageListItems(chatMessages, channel);
 
         boolean shouldShowWarningMessageForNoneMediator = dontShowAgainService.showAgain(DONT_SHOW_CHAT_RULES_WARNING_KEY)
                 && !(channel instanceof BisqEasyOpenTradeChannel bisqEasyOpenTradeChannel
@@ -723,29 +805,23 @@ public class ChatMessagesListController implements Controller {
         return channel.getChatMessages().addObserver(new CollectionObserver<>() {
             @Override
             public void add(M chatMessage) {
+                // Messages older than the loaded pages get loaded on scroll. We check before switching to the
+                // UI thread as at addObserver we get called for the whole history of the channel.
+                Optional<ChatMessageHistory.Cursor> cursor = oldestLoadedChatMessageCursor;
+                if (cursor.isPresent() && cursor.get().isAfter(chatMessage)) {
+                    return;
+                }
+
                 UIThread.run(() -> {
                     // Avoid to add already existing items
                     if (model.getChatMessageIds().contains(chatMessage.getId())) {
                         return;
                     }
-                    if (chatMessage.getChatMessageType() == TAKE_BISQ_EASY_OFFER) {
-                        return;
-                    }
-                    if (chatMessage instanceof BisqEasyOfferbookMessage bisqEasyOfferbookMessage &&
-                            !bisqEasyOfferbookMessageService.isValid(bisqEasyOfferbookMessage)) {
+                    if (!isShownInList(chatMessage)) {
                         return;
                     }
 
-                    ChatMessageListItem<M, C> item = new ChatMessageListItem<>(chatMessage,
-                            channel,
-                            marketPriceService,
-                            userProfileService,
-                            reputationService,
-                            bisqEasyTradeService,
-                            userIdentityService,
-                            networkService,
-                            resendMessageService,
-                            authorizedBondedRolesService);
+                    ChatMessageListItem<M, C> item = createChatMessageListItem(chatMessage, channel);
                     model.getChatMessages().add(item);
                     model.getChatMessageIds().add(chatMessage.getId());
                     maybeScrollDownOnNewItemAdded();
@@ -780,6 +856,99 @@ public class ChatMessagesListController implements Controller {
         });
     }
 
+    @SuppressWarnings("unchecked")
+    private <M extends ChatMessage, C extends ChatChannel<M>> Optional<ChatMessageHistory<M>> findChatMessageHistory(C channel) {
+        if (channel instanceof PublicChatChannel<?> publicChatChannel) {
+            return Optional.of((ChatMessageHistory<M>) publicChatChannel.getChatMessageHistory());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Loads older messages until limit of them pass the filters or the history is exhausted, so that a page is not
+     * empty if the filters hide most of the messages.
+     */
+    private <M extends ChatMessage, C extends ChatChannel<M>> void loadOlderChatMessages(ChatMessageHistory<M> chatMessageHistory,
+                                                                                          C channel,
+                                                                                          int limit) {
+        Optional<ChatMessageHistory.Cursor> cursor = oldestLoadedChatMessageCursor;
+        if (cursor.isEmpty() || !chatMessageHistory.hasOlderThan(cursor.get())) {
+            return;
+        }
+
+        // We keep the first visible message at its position and count the older messages as read
+        Optional<ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> firstItem =
+                model.getSortedChatMessages().stream().findFirst();
+        int numFilteredChatMessages = model.getFilteredChatMessages().size();
+        while (model.getFilteredChatMessages().size() - numFilteredChatMessages < limit) {
+            List<M> olderChatMessages = chatMessageHistory.getOlderThan(cursor.get(), limit);
+            if (olderChatMessages.isEmpty()) {
+                break;
+            }
+            cursor = Optional.of(ChatMessageHistory.Cursor.of(olderChatMessages.get(0)));
+            oldestLoadedChatMessageCursor = cursor;
+            addChatMessageListItems(olderChatMessages, channel);
+        }
+        model.setNumReadMessages(model.getNumReadMessages() + model.getFilteredChatMessages().size() - numFilteredChatMessages);
+        firstItem.ifPresent(view::scrollToChatMessage);
+    }
+
+    private <M extends ChatMessage> void trimToLatestChatMessages(ChatMessageHistory<M> chatMessageHistory) {
+        List<M> latestChatMessages = chatMessageHistory.getLatest(CHAT_MESSAGES_PAGE_SIZE);
+        if (latestChatMessages.isEmpty()) {
+            return;
+        }
+
+        ChatMessageHistory.Cursor cursor = ChatMessageHistory.Cursor.of(latestChatMessages.get(0));
+        Set<ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> toRemove =
+                model.getChatMessages().stream()
+                        .filter(item -> cursor.isAfter(item.getChatMessage()))
+                        .collect(Collectors.toSet());
+        if (toRemove.isEmpty()) {
+            return;
+        }
+
+        oldestLoadedChatMessageCursor = Optional.of(cursor);
+        int numFilteredChatMessages = model.getFilteredChatMessages().size();
+        toRemove.forEach(item -> {
+            item.dispose();
+            model.getChatMessageIds().remove(item.getChatMessage().getId());
+        });
+        model.getChatMessages().removeAll(toRemove);
+        int numRemovedFilteredChatMessages = numFilteredChatMessages - model.getFilteredChatMessages().size();
+        model.setNumReadMessages(Math.max(0, model.getNumReadMessages() - numRemovedFilteredChatMessages));
+        handleScrollValueChanged();
+    }
+
+    private <M extends ChatMessage, C extends ChatChannel<M>> void addChatMessageListItems(Collection<M> chatMessages, C channel) {
+        List<ChatMessageListItem<M, C>> items = chatMessages.stream()
+                .filter(chatMessage -> !model.getChatMessageIds().contains(chatMessage.getId()))
+                .filter(this::isShownInList)
+                .map(chatMessage -> createChatMessageListItem(chatMessage, channel))
+                .collect(Collectors.toList());
+        model.getChatMessages().addAll(items);
+        items.forEach(item -> model.getChatMessageIds().add(item.getChatMessage().getId()));
+    }
+
+    private boolean isShownInList(ChatMessage chatMessage) {
+        return chatMessage.getChatMessageType() != TAKE_BISQ_EASY_OFFER &&
+                !(chatMessage instanceof BisqEasyOfferbookMessage bisqEasyOfferbookMessage &&
+                        !bisqEasyOfferbookMessageService.isValid(bisqEasyOfferbookMessage));
+    }
+
+    private <M extends ChatMessage, C extends ChatChannel<M>> ChatMessageListItem<M, C> createChatMessageListItem(M chatMessage, C channel) {
+        return new ChatMessageListItem<>(chatMessage,
+                channel,
+                marketPriceService,
+                userProfileService,
+                reputationService,
+                bisqEasyTradeService,
+                userIdentityService,
+                networkService,
+                resendMessageService,
+                authorizedBondedRolesService);
+    }
+
     private void publishChatMessageReaction(ChatMessage chatMessage, Reaction reaction, UserIdentity userIdentity) {
         if (chatMessage instanceof CommonPublicChatMessage) {
             chatService.getCommonPublicChatChannelServices().get(model.getChatChannelDomain())
@@ -55,6 +55,8 @@ public class ChatMessagesListModel implements bisq.desktop.common.view.Model {
     private final StringProperty numUnReadMessages = new SimpleStringProperty();
     private final BooleanProperty showScrolledDownButton = new SimpleBooleanProperty();
     private final BooleanProperty scrollBarVisible = new SimpleBooleanProperty();
+    @Setter
+    private boolean scrollBarBound;
     private final DoubleProperty scrollValue = new SimpleDoubleProperty();
 
     public ChatMessagesListModel(UserIdentityService userIdentityService,
@@ -127,6 +127,7 @@ public class ChatMessagesListView extends bisq.desktop.common.view.View<ChatMess
             if (scrollBar.isPresent()) {
                 scrollBar.get().valueProperty().bindBidirectional(model.getScrollValue());
                 model.getScrollBarVisible().bind(scrollBar.get().visibleProperty());
+                model.setScrollBarBound(true);
                 controller.onScrollToBottom();
             } else {
                 log.error("scrollBar is empty");
@@ -183,6 +184,7 @@ public class ChatMessagesListView extends bisq.desktop.common.view.View<ChatMess
     protected void onViewDetached() {
         scrollBar.ifPresent(scrollbar -> scrollbar.valueProperty().unbindBidirectional(model.getScrollValue()));
         model.getScrollBarVisible().unbind();
+        model.setScrollBarBound(false);
         scrollDownBackground.visibleProperty().unbind();
         scrollDownBackground.managedProperty().unbind();
         scrollDownBadge.textProperty().unbind();
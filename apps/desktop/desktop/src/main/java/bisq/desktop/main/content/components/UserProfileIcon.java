@@ -108,8 +108,16 @@ public class UserProfileIcon extends StackPane implements LivenessScheduler.Form
             return;
         }
 
-        // Is cached in CatHash
-        catHashImageView.setImage(CatHash.getImage(userProfile, size));
+        // Is cached in CatHash. If not, we show a placeholder until the image got rendered by a background thread.
+        CatHash.findCachedImage(userProfile, size).ifPresentOrElse(catHashImageView::setImage, () -> {
+            catHashImageView.setImage(CatHash.getPlaceholderImage());
+            CatHash.getImageAsync(userProfile, size)
+                    .thenAccept(image -> UIThread.run(() -> {
+                        if (userProfile.equals(this.userProfile)) {
+                            catHashImageView.setImage(image);
+                        }
+                    }));
+        });
 
         userProfileInfo = userProfile.getTooltipString();
         String version = userProfile.getApplicationVersion();
@@ -315,7 +315,7 @@ public class UserProfileSelection {
                 userProfileDisplay.setReputationScore(model.getUserReputationScore());
                 singleUserProfileDisplay.setUserProfile(userProfile, true);
                 singleUserProfileDisplay.setReputationScore(model.getUserReputationScore());
-                myProfileCatHashImageView.setImage(CatHash.getImage(userProfile, CAT_HASH_IMAGE_SIZE));
+                CatHash.setImage(myProfileCatHashImageView.imageProperty(), userProfile, CAT_HASH_IMAGE_SIZE);
                 myProfileNickNameTooltip.setText(userProfile.getNickName());
                 model.getUserProfiles().forEach(userProfileMenuItem ->
                         userProfileMenuItem.updateSelection(selectedUserIdentity.equals(userProfileMenuItem.getUserIdentity())));
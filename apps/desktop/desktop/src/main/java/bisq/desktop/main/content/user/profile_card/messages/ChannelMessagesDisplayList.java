@@ -342,7 +342,8 @@ public class ChannelMessagesDisplayList<M extends PublicChatMessage> {
             HBox.setMargin(textMessageVBox, new Insets(0, 0, 0, -10));
 
             int size = 30;
-            catHashImageView = new ImageView(CatHash.getImage(channelMessageItem.getSenderUserProfile(), size));
+            catHashImageView = new ImageView();
+            CatHash.setImage(catHashImageView.imageProperty(), channelMessageItem.getSenderUserProfile(), size);
             catHashImageView.setFitWidth(size);
             catHashImageView.setFitHeight(size);
             HBox.setMargin(catHashImageView, new Insets(5, 0, 0, 5));
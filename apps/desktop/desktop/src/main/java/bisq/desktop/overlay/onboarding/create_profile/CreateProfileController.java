@@ -33,7 +33,6 @@ import bisq.security.pow.ProofOfWork;
 import bisq.user.identity.NymIdGenerator;
 import bisq.user.identity.UserIdentityService;
 import bisq.user.profile.UserProfile;
-import javafx.scene.image.Image;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.fxmisc.easybind.EasyBind;
@@ -158,12 +157,12 @@ public class CreateProfileController implements Controller {
                         model.setProofOfWork(Optional.of(proofOfWork));
                         byte[] powSolution = proofOfWork.getSolution();
                         String nym = NymIdGenerator.generate(pubKeyHash, powSolution);
-                        Image image = CatHash.getImage(pubKeyHash,
+                        model.getNym().set(nym);
+                        CatHash.setImage(model.getCatHashImage(),
+                                pubKeyHash,
                                 powSolution,
                                 CURRENT_AVATARS_VERSION,
                                 CreateProfileModel.CAT_HASH_IMAGE_SIZE);
-                        model.getNym().set(nym);
-                        model.getCatHashImage().set(image);
                         model.getPowProgress().set(0);
                         model.getCatHashIconVisible().set(true);
                         model.getReGenerateButtonDisabled().set(false);
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.content.chat.message_container.list;
+
+import bisq.common.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the query latency of ChatMessageSearchIndex with the scan of all messages using
+ * StringUtils.containsIgnoreCase, as done by the search predicate before. Queries are typed character by character,
+ * as each keystroke triggers a search.
+ * Usage: ChatMessageSearchIndexBenchmark [numMessages]
+ */
+public class ChatMessageSearchIndexBenchmark {
+    private static final int NUM_ROUNDS = 5;
+    private static final List<String> QUERIES = List.of("revolut", "bitcoin wallet", "sepa instant", "nym-3f", "alice",
+            "2025 at 1");
+
+    public static void main(String[] args) {
+        int numMessages = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        Random random = new Random(1);
+        // Half of the words are common chat words, the others come from a larger vocabulary of random words
+        String[] commonWords = ("bisq easy offer sepa revolut zelle buy sell btc eur usd price trade payment bank " +
+                "transfer reputation bitcoin wallet address fee mediator please thanks hello anyone market").split(" ");
+        String[] vocabulary = new String[10_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = random.ints(3 + random.nextInt(8), 'a', 'z' + 1)
+                    .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                    .toString();
+        }
+        List<String> messageIds = new ArrayList<>(numMessages);
+        List<List<String>> textsList = new ArrayList<>(numMessages);
+        for (int i = 0; i < numMessages; i++) {
+            String message = IntStream.range(0, 3 + random.nextInt(30))
+                    .mapToObj(index -> random.nextBoolean()
+                            ? commonWords[random.nextInt(commonWords.length)]
+                            : vocabulary[random.nextInt(vocabulary.length)])
+                    .map(word -> random.nextInt(5) == 0 ? word.toUpperCase() : word)
+                    .collect(Collectors.joining(" "));
+            String nym = "Nym-" + Integer.toHexString(random.nextInt());
+            String nickName = vocabulary[random.nextInt(vocabulary.length)] + random.nextInt(1000);
+            String date = "Mar " + (1 + random.nextInt(28)) + ", 2025 at " + random.nextInt(24) + ":" + random.nextInt(60);
+            messageIds.add("id" + i);
+            textsList.add(List.of(message, nym, nickName, date));
+        }
+
+        long ts = System.nanoTime();
+        ChatMessageSearchIndex index = new ChatMessageSearchIndex();
+        for (int i = 0; i < numMessages; i++) {
+            index.add(messageIds.get(i), textsList.get(i));
+        }
+        System.out.printf("Indexed %d messages in %d ms%n", numMessages, (System.nanoTime() - ts) / 1_000_000);
+
+        Function<String, Set<String>> scan = query -> {
+            Set<String> result = new HashSet<>();
+            for (int i = 0; i < numMessages; i++) {
+                if (textsList.get(i).stream().anyMatch(text -> StringUtils.containsIgnoreCase(text, query))) {
+                    result.add(messageIds.get(i));
+                }
+            }
+            return result;
+        };
+
+        for (int round = 1; round <= NUM_ROUNDS; round++) {
+            System.out.println("Round " + round);
+            run("  Scan with containsIgnoreCase", scan);
+            run("  Index", index::search);
+        }
+    }
+
+    private static void run(String name, Function<String, Set<String>> search) {
+        long maxNanos = 0;
+        long totalNanos = 0;
+        int numQueries = 0;
+        long totalNanosShortQueries = 0;
+        int numShortQueries = 0;
+        for (String query : QUERIES) {
+            // Each keystroke triggers a query
+            for (int length = 1; length <= query.length(); length++) {
+                long ts = System.nanoTime();
+                Set<String> result = search.apply(query.substring(0, length));
+                long nanos = System.nanoTime() - ts;
+                if (result == null) {
+                    throw new IllegalStateException();
+                }
+                maxNanos = Math.max(maxNanos, nanos);
+                totalNanos += nanos;
+                numQueries++;
+                if (length < 3) {
+                    totalNanosShortQueries += nanos;
+                    numShortQueries++;
+                }
+            }
+        }
+        System.out.printf("%s: %d queries, avg %.2f ms, max %.2f ms, avg of queries with 1-2 chars %.2f ms, " +
+                        "avg of longer queries %.2f ms%n",
+                name, numQueries, totalNanos / 1e6 / numQueries, maxNanos / 1e6,
+                totalNanosShortQueries / 1e6 / numShortQueries,
+                (totalNanos - totalNanosShortQueries) / 1e6 / (numQueries - numShortQueries));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.content.chat.message_container.list;
+
+import bisq.common.util.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatMessageSearchIndexTest {
+    private static final List<String> WORDS = List.of("Bisq", "easy", "offer", "SEPA", "Revolut", "Zelle", "buy",
+            "sell", "BTC", "EUR", "USD", "price", "Preis", "Überweisung", "straße", "İstanbul", "Привет", "x", "42",
+            "0.001", ":)", "@Alice", "trade", "tradeable", "Zahlung");
+
+    private final Random random = new Random(1);
+    private final Map<String, List<String>> textsByMessageId = new HashMap<>();
+    private ChatMessageSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ChatMessageSearchIndex();
+        textsByMessageId.clear();
+    }
+
+    @Test
+    void matchesContainsIgnoreCase() {
+        for (int i = 0; i < 1_000; i++) {
+            add("id" + i);
+        }
+        assertSearchMatchesScan();
+    }
+
+    @Test
+    void matchesContainsIgnoreCaseAfterRemoveAndReplace() {
+        for (int i = 0; i < 3_000; i++) {
+            add("id" + i);
+        }
+        // Removing more than half of the messages triggers a compaction
+        for (int i = 0; i < 2_000; i++) {
+            remove("id" + i);
+        }
+        // Adding with an existing id replaces the texts, like for edited messages
+        for (int i = 2_500; i < 3_500; i++) {
+            add("id" + i);
+        }
+        assertEquals(textsByMessageId.size(), index.size());
+        assertSearchMatchesScan();
+    }
+
+    @Test
+    void emptyQueryMatchesAll() {
+        for (int i = 0; i < 100; i++) {
+            add("id" + i);
+        }
+        assertEquals(textsByMessageId.keySet(), index.search(""));
+    }
+
+    @Test
+    void clear() {
+        add("id");
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.search("").isEmpty());
+    }
+
+    private void assertSearchMatchesScan() {
+        for (String word : WORDS) {
+            for (int start = 0; start < word.length(); start++) {
+                for (int end = start + 1; end <= word.length(); end++) {
+                    assertSearchMatchesScan(word.substring(start, end));
+                    assertSearchMatchesScan(word.substring(start, end).toUpperCase());
+                }
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            List<String> texts = textsByMessageId.values().stream().skip(random.nextInt(textsByMessageId.size())).findFirst().orElseThrow();
+            String text = texts.get(random.nextInt(texts.size()));
+            int start = random.nextInt(text.length());
+            int end = Math.min(text.length(), start + 1 + random.nextInt(12));
+            assertSearchMatchesScan(text.substring(start, end));
+        }
+        assertSearchMatchesScan("no such text");
+        assertSearchMatchesScan("sell bisq");
+    }
+
+    private void assertSearchMatchesScan(String query) {
+        // The semantic of ChatMessageListItem before we used the index
+        Set<String> expected = textsByMessageId.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().anyMatch(text -> StringUtils.containsIgnoreCase(text, query)))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        assertEquals(expected, index.search(query), "query=" + query);
+    }
+
+    private void add(String messageId) {
+        String message = random.ints(1 + random.nextInt(20), 0, WORDS.size())
+                .mapToObj(WORDS::get)
+                .collect(Collectors.joining(" "));
+        String nym = "Nym-" + Integer.toHexString(random.nextInt());
+        String nickName = WORDS.get(random.nextInt(WORDS.size())) + random.nextInt(100);
+        String date = "Jan " + (1 + random.nextInt(28)) + ", 2025 at " + random.nextInt(24) + ":" + random.nextInt(60);
+        List<String> texts = List.of(message, nym, nickName, date);
+        textsByMessageId.put(messageId, texts);
+        index.add(messageId, texts);
+    }
+
+    private void remove(String messageId) {
+        textsByMessageId.remove(messageId);
+        index.remove(messageId);
+    }
+}
@@ -77,10 +77,7 @@ public class Bisq1BridgeHttpService implements Service {
         this.networkService = networkService;
         this.url = httpServiceConfig.getUrl();
 
-        if (!DevMode.isDevMode()) {
-            lastRequestedProofOfBurnBlockHeight.set(LAUNCH_BLOCK_HEIGHT);
-            lastRequestedBondedReputationBlockHeight.set(LAUNCH_BLOCK_HEIGHT);
-        }
+        resetLastRequestedBlockHeights();
     }
 
 
@@ -105,6 +102,15 @@ public class Bisq1BridgeHttpService implements Service {
         return CompletableFuture.completedFuture(true);
     }
 
+    /**
+     * Following requests for proof of burn and bonded reputation data will return all data since the launch block height.
+     */
+    public void resetLastRequestedBlockHeights() {
+        int blockHeight = DevMode.isDevMode() ? 0 : LAUNCH_BLOCK_HEIGHT;
+        lastRequestedProofOfBurnBlockHeight.set(blockHeight);
+        lastRequestedBondedReputationBlockHeight.set(blockHeight);
+    }
+
     public CompletableFuture<List<ProofOfBurnDto>> requestProofOfBurnTxs() {
         return CompletableFuture.supplyAsync(() -> {
                     try {
@@ -26,6 +26,7 @@ import bisq.bonded_roles.security_manager.alert.AlertType;
 import bisq.bonded_roles.security_manager.alert.AuthorizedAlertData;
 import bisq.common.application.DevMode;
 import bisq.common.application.Service;
+import bisq.common.data.Pair;
 import bisq.common.encoding.Hex;
 import bisq.common.platform.MemoryReportService;
 import bisq.common.threading.ThreadName;
@@ -61,16 +62,26 @@ import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+/**
+ * Requests the DAO data (proof of burn and bonded reputation data) from the Bisq 1 DAO node and publishes them as
+ * authorized data. We request only the data since the last requested block height and publish only data which we have
+ * not already published before, or which would expire soon. Publishing is done in batches of limited size and
+ * paused if the network load is high, to avoid network load spikes.
+ */
 @Slf4j
 public class Bisq1BridgeService implements Service, ConfidentialMessageService.Listener,
         AuthorizedBondedRolesService.Listener, PersistenceClient<Bisq1BridgeStore> {
@@ -87,6 +98,15 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
         }
     }
 
+    private static final int MAX_PARALLEL_PUBLISHES = 10;
+    private static final double HIGH_NETWORK_LOAD = 0.5;
+    private static final long MAX_PAUSE_AT_HIGH_NETWORK_LOAD = TimeUnit.SECONDS.toMillis(10);
+    private static final int MAX_PAUSES_AT_HIGH_NETWORK_LOAD = 6;
+    // AuthorizedProofOfBurnData and AuthorizedBondedReputationData have a TTL of 100 days.
+    private static final long TTL = TimeUnit.DAYS.toMillis(100);
+    private static final long REPUBLISH_AFTER = TTL / 2;
+    private static final long MIN_INTERVAL_FOR_FULL_REQUESTS = TimeUnit.DAYS.toMillis(1);
+
     @Getter
     private final Bisq1BridgeStore persistableStore = new Bisq1BridgeStore();
     @Getter
@@ -107,6 +127,7 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
 
     @Nullable
     private Scheduler periodicRequestDoaDataScheduler, initialDelayScheduler;
+    private volatile long lastFullRequestDate;
 
     public Bisq1BridgeService(Config config,
                               NetworkService networkService,
@@ -140,9 +161,7 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
         log.info("initialize");
         return httpService.initialize()
                 .whenComplete((result, throwable) -> {
-                    networkService.getConfidentialMessageServices().stream()
-                            .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
-                            .forEach(this::onMessage);
+                    networkService.replayProcessedConfidentialMessages(Set.of(AuthorizeAccountAgeRequest.class, AuthorizeSignedWitnessRequest.class), this::onMessage);
                     networkService.addConfidentialMessageListener(this);
                     authorizedBondedRolesService.addListener(this);
 
@@ -230,7 +249,7 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
         memoryReportService.logReport();
         log.info("Completed republishAuthorizedBondedRoles");
         log.info("Start request and publish DaoData");
-        requestDaoData().join(); // takes about 6 minutes for 500 items
+        requestDaoData().join();
         memoryReportService.logReport();
         log.info("Completed request and publish DaoData");
         periodicRequestDoaDataScheduler = Scheduler.run(this::periodicRepublish)
@@ -260,45 +279,122 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
         return httpService.requestBondedReputations();
     }
 
-    private CompletableFuture<Boolean> publishProofOfBurnDtoSet(List<ProofOfBurnDto> proofOfBurnList) {
-        return CompletableFuture.supplyAsync(() -> {
-            ThreadName.set(this, "publishProofOfBurnDtoSet");
-            log.info("publishProofOfBurnDtoSet: proofOfBurnList={}", proofOfBurnList);
-            Stream<AuthorizedProofOfBurnData> stream = proofOfBurnList.stream()
-                    .map(dto -> new AuthorizedProofOfBurnData(
-                            dto.getBlockTime(),
-                            dto.getAmount(),
-                            Hex.decode(dto.getHash()),
-                            dto.getBlockHeight(),
-                            dto.getTxId(),
-                            staticPublicKeysProvided));
-            return CompletableFutureUtils.allOf(stream
-                            .map(this::publishAuthorizedData)
-                            .collect(Collectors.toList()))
-                    .thenApply(results -> !results.contains(false))
-                    .join();
-        }, NetworkService.NETWORK_IO_POOL);
+    private List<AuthorizedDistributedData> toAuthorizedProofOfBurnDataList(List<ProofOfBurnDto> proofOfBurnList) {
+        return proofOfBurnList.stream()
+                .map(dto -> new AuthorizedProofOfBurnData(
+                        dto.getBlockTime(),
+                        dto.getAmount(),
+                        Hex.decode(dto.getHash()),
+                        dto.getBlockHeight(),
+                        dto.getTxId(),
+                        staticPublicKeysProvided))
+                .collect(Collectors.toList());
+    }
+
+    private List<AuthorizedDistributedData> toAuthorizedBondedReputationDataList(List<BondedReputationDto> bondedReputationList) {
+        return bondedReputationList.stream()
+                .map(dto -> new AuthorizedBondedReputationData(
+                        dto.getBlockTime(),
+                        dto.getAmount(),
+                        Hex.decode(dto.getHash()),
+                        dto.getLockTime(),
+                        dto.getBlockHeight(),
+                        dto.getTxId(),
+                        staticPublicKeysProvided))
+                .collect(Collectors.toList());
     }
 
-    private CompletableFuture<Boolean> publishBondedReputationDtoSet(List<BondedReputationDto> bondedReputationList) {
+    private CompletableFuture<Boolean> publishDaoData(List<AuthorizedDistributedData> daoData) {
+        long now = System.currentTimeMillis();
+        Map<String, Long> publishDateByDaoDataHash = persistableStore.getPublishDateByDaoDataHash();
         return CompletableFuture.supplyAsync(() -> {
-            ThreadName.set(this, "publishBondedReputationDtoSet");
-            log.info("publishBondedReputationDtoSet: bondedReputationList={}", bondedReputationList);
-            Stream<AuthorizedBondedReputationData> stream = bondedReputationList.stream()
-                    .map(dto -> new AuthorizedBondedReputationData(
-                            dto.getBlockTime(),
-                            dto.getAmount(),
-                            Hex.decode(dto.getHash()),
-                            dto.getLockTime(),
-                            dto.getBlockHeight(),
-                            dto.getTxId(),
-                            staticPublicKeysProvided));
-            return CompletableFutureUtils.allOf(stream
-                            .map(this::publishAuthorizedData)
-                            .collect(Collectors.toList()))
-                    .thenApply(results -> !results.contains(false))
-                    .join();
-        }, NetworkService.NETWORK_IO_POOL);
+                    ThreadName.set(this, "publishDaoData");
+                    Map<String, AuthorizedDistributedData> daoDataByHash = new LinkedHashMap<>();
+                    daoData.forEach(data -> daoDataByHash.put(Hex.encode(DigestUtil.hash(data.serializeForHash())), data));
+                    List<Pair<String, AuthorizedDistributedData>> toPublish = daoDataByHash.entrySet().stream()
+                            .filter(e -> {
+                                Long publishDate = publishDateByDaoDataHash.get(e.getKey());
+                                return publishDate == null || now - publishDate > REPUBLISH_AFTER;
+                            })
+                            .map(e -> new Pair<>(e.getKey(), e.getValue()))
+                            .collect(Collectors.toList());
+                    log.info("publishDaoData: {} of {} DAO data items are new or need to be republished",
+                            toPublish.size(), daoDataByHash.size());
+                    return toPublish;
+                }, NetworkService.NETWORK_IO_POOL)
+                .thenCompose(toPublish -> publishInBatches(toPublish, 0)
+                        .thenApply(allSucceeded -> {
+                            // Data which have not been republished within the TTL are expired in the network
+                            Set<String> expired = publishDateByDaoDataHash.entrySet().stream()
+                                    .filter(e -> now - e.getValue() > TTL)
+                                    .map(Map.Entry::getKey)
+                                    .collect(Collectors.toSet());
+                            expired.forEach(publishDateByDaoDataHash::remove);
+                            if (!toPublish.isEmpty() || !expired.isEmpty()) {
+                                persist();
+                            }
+                            return allSucceeded;
+                        }));
+    }
+
+    // The batches are published one after the other. A failed publish does not abort the remaining batches.
+    private CompletableFuture<Boolean> publishInBatches(List<Pair<String, AuthorizedDistributedData>> toPublish,
+                                                       int fromIndex) {
+        if (fromIndex >= toPublish.size()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        int toIndex = Math.min(fromIndex + MAX_PARALLEL_PUBLISHES, toPublish.size());
+        List<Pair<String, AuthorizedDistributedData>> batch = toPublish.subList(fromIndex, toIndex);
+        return pauseIfNetworkLoadIsHigh(0)
+                .thenCompose(nil -> publishBatch(batch))
+                .thenCompose(batchSucceeded -> publishInBatches(toPublish, toIndex)
+                        .thenApply(succeeded -> batchSucceeded && succeeded));
+    }
+
+    private CompletableFuture<Boolean> publishBatch(List<Pair<String, AuthorizedDistributedData>> batch) {
+        // We record the publish date only for successful publishes, so that failed ones get retried at the
+        // next request.
+        Map<String, Long> publishDateByDaoDataHash = persistableStore.getPublishDateByDaoDataHash();
+        return CompletableFutureUtils.allOf(batch.stream()
+                        .map(pair -> publishAuthorizedData(pair.getSecond())
+                                .handle((result, throwable) -> {
+                                    if (throwable != null) {
+                                        log.warn("Publishing {} failed",
+                                                pair.getSecond().getClass().getSimpleName(), throwable);
+                                        return false;
+                                    }
+                                    if (Boolean.TRUE.equals(result)) {
+                                        publishDateByDaoDataHash.put(pair.getFirst(), System.currentTimeMillis());
+                                        return true;
+                                    }
+                                    return false;
+                                })))
+                .thenApply(results -> !results.contains(false));
+    }
+
+    // We re-check the network load after each pause, so that we do not continue publishing while the load is
+    // still high. The number of pauses is limited to not block publishing forever. The pause is scheduled instead of
+    // sleeping, so that we do not block a network IO thread while the network load is high.
+    private CompletableFuture<Void> pauseIfNetworkLoadIsHigh(int numPauses) {
+        double networkLoad = getNetworkLoad();
+        if (networkLoad <= HIGH_NETWORK_LOAD || numPauses >= MAX_PAUSES_AT_HIGH_NETWORK_LOAD) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long pause = Math.round(Math.min(1, networkLoad) * MAX_PAUSE_AT_HIGH_NETWORK_LOAD);
+        log.info("Network load is high ({}). We pause publishing for {} ms", networkLoad, pause);
+        Executor delayedExecutor = CompletableFuture.delayedExecutor(pause, TimeUnit.MILLISECONDS,
+                NetworkService.NETWORK_IO_POOL);
+        return CompletableFuture.supplyAsync(() -> numPauses + 1, delayedExecutor)
+                .thenCompose(this::pauseIfNetworkLoadIsHigh);
+    }
+
+    private double getNetworkLoad() {
+        return networkService.getSupportedTransportTypes().stream()
+                .map(networkService::findDefaultNode)
+                .flatMap(Optional::stream)
+                .mapToDouble(node -> node.getNetworkLoadSnapshot().getCurrentNetworkLoad().getLoad())
+                .max()
+                .orElse(0);
     }
 
     private CompletableFuture<Boolean> publishAuthorizedData(AuthorizedDistributedData data) {
@@ -365,10 +461,32 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
 
     private CompletableFuture<Boolean> requestDaoData() {
         log.info("requestDaoData");
-        return requestProofOfBurnTxs()
-                .thenCompose(this::publishProofOfBurnDtoSet)
-                .thenCompose(result -> requestBondedReputations())
-                .thenCompose(this::publishBondedReputationDtoSet);
+        long now = System.currentTimeMillis();
+        // At the first request after startup we request all data since the launch block height.
+        boolean isFullRequest = lastFullRequestDate == 0;
+        if (!isFullRequest && now - lastFullRequestDate > MIN_INTERVAL_FOR_FULL_REQUESTS) {
+            boolean isRepublishDue = persistableStore.getPublishDateByDaoDataHash().values().stream()
+                    .anyMatch(publishDate -> now - publishDate > REPUBLISH_AFTER);
+            if (isRepublishDue) {
+                log.info("Some DAO data need to be republished. We request all DAO data");
+                httpService.resetLastRequestedBlockHeights();
+                isFullRequest = true;
+            }
+        }
+        if (isFullRequest) {
+            lastFullRequestDate = now;
+        }
+        // Both requests are independent, so we run them in parallel
+        CompletableFuture<List<AuthorizedDistributedData>> proofOfBurnFuture = requestProofOfBurnTxs()
+                .thenApply(this::toAuthorizedProofOfBurnDataList);
+        CompletableFuture<List<AuthorizedDistributedData>> bondedReputationFuture = requestBondedReputations()
+                .thenApply(this::toAuthorizedBondedReputationDataList);
+        return proofOfBurnFuture.thenCombine(bondedReputationFuture, (proofOfBurnList, bondedReputationList) -> {
+                    List<AuthorizedDistributedData> daoData = new ArrayList<>(proofOfBurnList);
+                    daoData.addAll(bondedReputationList);
+                    return daoData;
+                })
+                .thenCompose(this::publishDaoData);
     }
 
     private void processAuthorizeAccountAgeRequest(AuthorizeAccountAgeRequest request) {
@@ -17,6 +17,7 @@
 
 package bisq.oracle_node.bisq1_bridge;
 
+import bisq.common.data.StringLongPair;
 import bisq.common.proto.ProtoResolver;
 import bisq.common.proto.UnresolvableProtobufMessageException;
 import bisq.persistence.PersistableStore;
@@ -28,8 +29,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
@@ -38,6 +42,9 @@ import java.util.stream.Collectors;
  * This is a bit of a trade-off between security and privacy. One option to improve that would be that all data is
  * persisted as encrypted entries and the decryption key is help by another bonded role. So it would require the
  * cooperation of the oracle node operator with the key holder.
+ * <p>
+ * We also persist the date when we have published DAO data (proof of burn and bonded reputation data) by the hash of the
+ * data, so that we only publish new or changed data and republish data only before it would expire.
  */
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 @Slf4j
@@ -46,10 +53,15 @@ final class Bisq1BridgeStore implements PersistableStore<Bisq1BridgeStore> {
     private final Set<AuthorizeAccountAgeRequest> accountAgeRequests = new CopyOnWriteArraySet<>();
     @Getter(AccessLevel.PACKAGE)
     private final Set<AuthorizeSignedWitnessRequest> signedWitnessRequests = new CopyOnWriteArraySet<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<String, Long> publishDateByDaoDataHash = new ConcurrentHashMap<>();
 
-    private Bisq1BridgeStore(Set<AuthorizeAccountAgeRequest> accountAgeRequests, Set<AuthorizeSignedWitnessRequest> signedWitnessRequests) {
+    private Bisq1BridgeStore(Set<AuthorizeAccountAgeRequest> accountAgeRequests,
+                             Set<AuthorizeSignedWitnessRequest> signedWitnessRequests,
+                             Map<String, Long> publishDateByDaoDataHash) {
         this.accountAgeRequests.addAll(accountAgeRequests);
         this.signedWitnessRequests.addAll(signedWitnessRequests);
+        this.publishDateByDaoDataHash.putAll(publishDateByDaoDataHash);
     }
 
     @Override
@@ -60,6 +72,10 @@ final class Bisq1BridgeStore implements PersistableStore<Bisq1BridgeStore> {
                         .collect(Collectors.toList()))
                 .addAllSignedWitnessRequests(signedWitnessRequests.stream()
                         .map(e -> e.toValueProto(serializeForHash))
+                        .collect(Collectors.toList()))
+                .addAllPublishDateByDaoDataHash(publishDateByDaoDataHash.entrySet().stream()
+                        .map(entry -> new StringLongPair(entry.getKey(), entry.getValue()))
+                        .map(e -> e.toProto(serializeForHash))
                         .collect(Collectors.toList()));
     }
 
@@ -75,7 +91,10 @@ final class Bisq1BridgeStore implements PersistableStore<Bisq1BridgeStore> {
                         .collect(Collectors.toSet()),
                 proto.getSignedWitnessRequestsList().stream()
                         .map(AuthorizeSignedWitnessRequest::fromProto)
-                        .collect(Collectors.toSet()));
+                        .collect(Collectors.toSet()),
+                proto.getPublishDateByDaoDataHashList().stream()
+                        .map(StringLongPair::fromProto)
+                        .collect(Collectors.toMap(StringLongPair::getKey, StringLongPair::getValue)));
     }
 
     @Override
@@ -91,7 +110,9 @@ final class Bisq1BridgeStore implements PersistableStore<Bisq1BridgeStore> {
 
     @Override
     public Bisq1BridgeStore getClone() {
-        return new Bisq1BridgeStore(new HashSet<>(accountAgeRequests), new HashSet<>(signedWitnessRequests));
+        return new Bisq1BridgeStore(new HashSet<>(accountAgeRequests),
+                new HashSet<>(signedWitnessRequests),
+                new HashMap<>(publishDateByDaoDataHash));
     }
 
     @Override
@@ -100,5 +121,7 @@ final class Bisq1BridgeStore implements PersistableStore<Bisq1BridgeStore> {
         accountAgeRequests.addAll(persisted.getAccountAgeRequests());
         signedWitnessRequests.clear();
         signedWitnessRequests.addAll(persisted.getSignedWitnessRequests());
+        publishDateByDaoDataHash.clear();
+        publishDateByDaoDataHash.putAll(persisted.getPublishDateByDaoDataHash());
     }
 }
\ No newline at end of file
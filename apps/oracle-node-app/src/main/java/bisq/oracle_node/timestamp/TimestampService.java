@@ -39,6 +39,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.Date;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -80,9 +81,7 @@ public class TimestampService implements Service, PersistenceClient<TimestampSto
     public CompletableFuture<Boolean> initialize() {
         log.info("initialize");
 
-        networkService.getConfidentialMessageServices().stream()
-                .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
-                .forEach(this::onMessage);
+        networkService.replayProcessedConfidentialMessages(Set.of(AuthorizeTimestampRequest.class), this::onMessage);
         networkService.addConfidentialMessageListener(this);
         authorizedBondedRolesService.addListener(this);
 
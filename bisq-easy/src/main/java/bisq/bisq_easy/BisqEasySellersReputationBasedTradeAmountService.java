@@ -17,11 +17,18 @@
 
 package bisq.bisq_easy;
 
+import bisq.bonded_roles.market_price.MarketPrice;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.ChatMessage;
+import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannel;
+import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannelService;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
 import bisq.common.application.Service;
+import bisq.common.currency.Market;
+import bisq.common.currency.MarketRepository;
 import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
+import bisq.common.observable.map.HashMapObserver;
 import bisq.offer.bisq_easy.BisqEasyOffer;
 import bisq.user.profile.UserProfileService;
 import bisq.user.reputation.ReputationScore;
@@ -33,21 +40,39 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Caches the result of the seller's reputation check by offer ID. The check requires market price lookups, amount
+ * conversions and the reputation score of the maker, thus it is relatively expensive and is called for each sell offer
+ * at each offerbook list rebuild or API call.
+ * <p>
+ * Cached entries are invalidated if the maker's reputation score changes or if the market price of the offer's market
+ * changes. As the required reputation score is derived from the USD value, a change of the USD market price
+ * invalidates all entries. Entries of removed offers are evicted.
+ */
 @Slf4j
 public class BisqEasySellersReputationBasedTradeAmountService implements Service {
     private final UserProfileService userProfileService;
     private final ReputationService reputationService;
     private final MarketPriceService marketPriceService;
-    private final Map<String, Set<String>> sellOffersWithInsufficientReputationByMakersProfileId = new ConcurrentHashMap<>();
-    private Pin userProfileIdWithScoreChangePin;
+    private final BisqEasyOfferbookChannelService bisqEasyOfferbookChannelService;
+    private final Map<String, Boolean> hasSufficientReputationByOfferId = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> cachedOfferIdsByMakersProfileId = new ConcurrentHashMap<>();
+    private final Map<Market, Set<String>> cachedOfferIdsByMarket = new ConcurrentHashMap<>();
+    // Incremented at each invalidation. Used to avoid caching a result which was computed with outdated input data.
+    private final AtomicLong invalidationCounter = new AtomicLong();
+    private final Map<String, Pin> chatMessagesPinByChannelId = new ConcurrentHashMap<>();
+    private Pin userProfileIdWithScoreChangePin, marketPriceByCurrencyMapPin, channelsPin;
 
     public BisqEasySellersReputationBasedTradeAmountService(UserProfileService userProfileService,
                                                             ReputationService reputationService,
-                                                            MarketPriceService marketPriceService) {
+                                                            MarketPriceService marketPriceService,
+                                                            BisqEasyOfferbookChannelService bisqEasyOfferbookChannelService) {
         this.userProfileService = userProfileService;
         this.reputationService = reputationService;
         this.marketPriceService = marketPriceService;
+        this.bisqEasyOfferbookChannelService = bisqEasyOfferbookChannelService;
     }
 
 
@@ -59,6 +84,31 @@ public class BisqEasySellersReputationBasedTradeAmountService implements Service
         log.info("initialize");
 
         userProfileIdWithScoreChangePin = reputationService.getUserProfileIdWithScoreChange().addObserver(this::userProfileIdWithScoreChanged);
+        marketPriceByCurrencyMapPin = marketPriceService.getMarketPriceByCurrencyMap().addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(Market market, MarketPrice marketPrice) {
+                marketPriceChanged(market);
+            }
+
+            @Override
+            public void putAll(Map<? extends Market, ? extends MarketPrice> map) {
+                // Clone to unmodifiable Set to avoid ConcurrentModificationException
+                Set.copyOf(map.keySet()).forEach(market -> marketPriceChanged(market));
+            }
+
+            @Override
+            public void remove(Object key) {
+                if (key instanceof Market market) {
+                    marketPriceChanged(market);
+                }
+            }
+
+            @Override
+            public void clear() {
+                invalidateAll();
+            }
+        });
+        channelsPin = bisqEasyOfferbookChannelService.getChannels().addObserver(this::onChannelsChanged);
 
         return CompletableFuture.completedFuture(true);
     }
@@ -68,6 +118,17 @@ public class BisqEasySellersReputationBasedTradeAmountService implements Service
             userProfileIdWithScoreChangePin.unbind();
             userProfileIdWithScoreChangePin = null;
         }
+        if (marketPriceByCurrencyMapPin != null) {
+            marketPriceByCurrencyMapPin.unbind();
+            marketPriceByCurrencyMapPin = null;
+        }
+        if (channelsPin != null) {
+            channelsPin.unbind();
+            channelsPin = null;
+        }
+        chatMessagesPinByChannelId.values().forEach(Pin::unbind);
+        chatMessagesPinByChannelId.clear();
+        invalidateAll();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -94,52 +155,119 @@ public class BisqEasySellersReputationBasedTradeAmountService implements Service
             return true;
         }
 
+        if (!useCache) {
+            return computeHasSellerSufficientReputation(bisqEasyOffer);
+        }
+
         String offerId = bisqEasyOffer.getId();
+        Boolean cached = hasSufficientReputationByOfferId.get(offerId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long invalidationCounterBefore = invalidationCounter.get();
+        boolean result = computeHasSellerSufficientReputation(bisqEasyOffer);
         String makersUserProfileId = bisqEasyOffer.getMakersUserProfileId();
-        if (useCache) {
-            // The computeIfPresent method invocation is performed atomically.
-            Set<String> sellOffersWithInsufficientReputation = sellOffersWithInsufficientReputationByMakersProfileId
-                    .computeIfPresent(makersUserProfileId, (k, set) ->
-                            set.contains(offerId) ? set : null
-                    );
-            if (sellOffersWithInsufficientReputation != null) {
-                return false;
-            }
+        // The compute method invocations are performed atomically.
+        cachedOfferIdsByMakersProfileId.compute(makersUserProfileId, (k, set) -> addToSet(set, offerId));
+        cachedOfferIdsByMarket.compute(bisqEasyOffer.getMarket(), (k, set) -> addToSet(set, offerId));
+        hasSufficientReputationByOfferId.put(offerId, result);
+        if (invalidationCounter.get() != invalidationCounterBefore) {
+            // Input data have changed while we computed the result, so we do not keep it in the cache.
+            hasSufficientReputationByOfferId.remove(offerId);
         }
+        return result;
+    }
 
+    private boolean computeHasSellerSufficientReputation(BisqEasyOffer bisqEasyOffer) {
         Optional<Long> requiredReputationScoreForMaxOrFixedAmount = BisqEasyTradeAmountLimits.findRequiredReputationScoreForMaxOrFixedAmount(marketPriceService, bisqEasyOffer);
         if (requiredReputationScoreForMaxOrFixedAmount.isPresent()) {
             Optional<Long> requiredReputationScoreForMinAmount = BisqEasyTradeAmountLimits.findRequiredReputationScoreForMinAmount(marketPriceService, bisqEasyOffer);
             long requiredReputationScoreForMaxOrFixed = requiredReputationScoreForMaxOrFixedAmount.get();
             long requiredReputationScoreForMinOrFixed = requiredReputationScoreForMinAmount.orElse(requiredReputationScoreForMaxOrFixed);
-            long sellersScore = userProfileService.findUserProfile(makersUserProfileId)
+            long sellersScore = userProfileService.findUserProfile(bisqEasyOffer.getMakersUserProfileId())
                     .map(reputationService::getReputationScore)
                     .map(ReputationScore::getTotalScore)
                     .orElse(0L);
-            boolean hasInsufficientReputation = BisqEasyTradeAmountLimits.withTolerance(sellersScore) < requiredReputationScoreForMinOrFixed;
-            if (hasInsufficientReputation) {
-                if (useCache) {
-                    // The compute method invocation is performed atomically.
-                    sellOffersWithInsufficientReputationByMakersProfileId
-                            .compute(makersUserProfileId, (k, set) -> {
-                                if (set == null) {
-                                    set = ConcurrentHashMap.newKeySet();
-                                }
-                                set.add(offerId);
-                                return set;
-                            });
-                }
-                return false;
-            }
+            return BisqEasyTradeAmountLimits.withTolerance(sellersScore) >= requiredReputationScoreForMinOrFixed;
         }
-
         return true;
     }
 
     private void userProfileIdWithScoreChanged(String userProfileId) {
         if (userProfileId != null) {
             // We remove the cached data if we get any change of the users reputation score
-            sellOffersWithInsufficientReputationByMakersProfileId.remove(userProfileId);
+            invalidate(cachedOfferIdsByMakersProfileId.remove(userProfileId));
+        }
+    }
+
+    private void marketPriceChanged(Market market) {
+        if (market.equals(MarketRepository.getUSDBitcoinMarket())) {
+            // The required reputation score is based on the USD value, thus all entries are affected.
+            invalidateAll();
+        } else {
+            invalidate(cachedOfferIdsByMarket.remove(market));
         }
     }
+
+    private void onChannelsChanged() {
+        bisqEasyOfferbookChannelService.getChannels().forEach(channel ->
+                chatMessagesPinByChannelId.computeIfAbsent(channel.getId(), channelId -> observeOfferRemoval(channel)));
+    }
+
+    private Pin observeOfferRemoval(BisqEasyOfferbookChannel channel) {
+        return channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(BisqEasyOfferbookMessage message) {
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof BisqEasyOfferbookMessage message) {
+                    message.getBisqEasyOffer().ifPresent(offer -> onOfferRemoved(offer));
+                }
+            }
+
+            @Override
+            public void clear() {
+                invalidateAll();
+            }
+        });
+    }
+
+    private void onOfferRemoved(BisqEasyOffer bisqEasyOffer) {
+        String offerId = bisqEasyOffer.getId();
+        hasSufficientReputationByOfferId.remove(offerId);
+        cachedOfferIdsByMakersProfileId.computeIfPresent(bisqEasyOffer.getMakersUserProfileId(),
+                (k, set) -> removeFromSet(set, offerId));
+        cachedOfferIdsByMarket.computeIfPresent(bisqEasyOffer.getMarket(), (k, set) -> removeFromSet(set, offerId));
+    }
+
+    private void invalidate(Set<String> offerIds) {
+        invalidationCounter.incrementAndGet();
+        if (offerIds != null) {
+            offerIds.forEach(hasSufficientReputationByOfferId::remove);
+        }
+    }
+
+    private void invalidateAll() {
+        invalidationCounter.incrementAndGet();
+        hasSufficientReputationByOfferId.clear();
+        cachedOfferIdsByMakersProfileId.clear();
+        cachedOfferIdsByMarket.clear();
+    }
+
+    private static Set<String> addToSet(Set<String> set, String offerId) {
+        if (set == null) {
+            set = ConcurrentHashMap.newKeySet();
+        }
+        set.add(offerId);
+        return set;
+    }
+
+    // Returning null removes the entry from the map
+    private static Set<String> removeFromSet(Set<String> set, String offerId) {
+        set.remove(offerId);
+        return set.isEmpty() ? null : set;
+    }
 }
@@ -126,7 +126,8 @@ public class BisqEasyService implements Service {
 
         bisqEasySellersReputationBasedTradeAmountService = new BisqEasySellersReputationBasedTradeAmountService(userService.getUserProfileService(),
                 userService.getReputationService(),
-                marketPriceService);
+                marketPriceService,
+                chatService.getBisqEasyOfferbookChannelService());
         bisqEasyOfferbookMessageService = new BisqEasyOfferbookMessageService(chatService, userService, bisqEasySellersReputationBasedTradeAmountService);
     }
 
@@ -21,7 +21,9 @@ import bisq.bonded_roles.BondedRoleType;
 import bisq.bonded_roles.market_price.AuthorizedMarketPriceData;
 import bisq.bonded_roles.oracle.AuthorizedOracleNode;
 import bisq.common.application.Service;
+import bisq.common.data.ByteArray;
 import bisq.common.encoding.Hex;
+import bisq.common.observable.Pin;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.common.timer.Scheduler;
 import bisq.common.util.StringUtils;
@@ -29,14 +31,19 @@ import bisq.network.NetworkService;
 import bisq.network.p2p.services.data.DataService;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedDistributedData;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Stream;
 
@@ -47,8 +54,8 @@ import java.util.stream.Stream;
  * higher priority than other AuthorizedData. Though due size limitations and parallel requests we cannot guarantee
  * the expected order required for our dependency graph.
  * To reduce risks for out of order processing, we delay initial processing and process the data types in the
- * correct dependency order. If validation fails we add the AuthorizedData into a queue for later reprocessing
- * when we receive relevant AuthorizedData which might fulfill the missing dependency.
+ * correct dependency order. If validation fails we park the AuthorizedData under the key it is waiting for and
+ * reprocess it when a bonded role with that key gets added (or un-banned).
  * <p>
  * Other classes which process AuthorizedData should use the AuthorizedBondedRolesService.Listener to get notified
  * on new AuthorizedData so that they take benefit of the implemented handling for out or order data.
@@ -62,6 +69,15 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
         }
     }
 
+    // The public key of a bonded role which authorizes data of other types, e.g. an ORACLE_NODE authorizing
+    // AuthorizedBondedRoles
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class AuthorizedKey {
+        private final BondedRoleType bondedRoleType;
+        private final ByteArray publicKey;
+    }
+
     private final NetworkService networkService;
     private final boolean ignoreSecurityManager;
     @Getter
@@ -70,7 +86,11 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
     private final ObservableSet<AuthorizedOracleNode> authorizedOracleNodes = new ObservableSet<>();
     @Getter
     private final DataService.Listener initialDataServiceListener;
-    private final Set<AuthorizedData> failedAuthorizedData = new CopyOnWriteArraySet<>();
+    // Contains only the not banned bonded roles, except if ignoreSecurityManager is set
+    private final Map<AuthorizedKey, Set<BondedRole>> authorizedBondedRolesByKey = new ConcurrentHashMap<>();
+    private final Map<BondedRole, Pin> isBannedPinByBondedRole = new ConcurrentHashMap<>();
+    private final Map<AuthorizedKey, Set<AuthorizedData>> failedAuthorizedDataByKey = new ConcurrentHashMap<>();
+    private final Set<AuthorizedKey> keysToReprocess = ConcurrentHashMap.newKeySet();
     @Nullable
     private Scheduler initialDataScheduler, reprocessScheduler;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
@@ -151,7 +171,11 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
         }
         bondedRoles.clear();
         authorizedOracleNodes.clear();
-        failedAuthorizedData.clear();
+        isBannedPinByBondedRole.values().forEach(Pin::unbind);
+        isBannedPinByBondedRole.clear();
+        authorizedBondedRolesByKey.clear();
+        failedAuthorizedDataByKey.clear();
+        keysToReprocess.clear();
         listeners.clear();
         return CompletableFuture.completedFuture(true);
     }
@@ -206,17 +230,22 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
         AuthorizedDistributedData data = authorizedData.getAuthorizedDistributedData();
         log.debug("onAuthorizedDataAdded {}", data.getClass().getSimpleName());
         if (data instanceof AuthorizedOracleNode) {
+            // AuthorizedOracleNodes do not authorize other data, so we do not need to reprocess failed data
             authorizedOracleNodes.add((AuthorizedOracleNode) data);
-            reProcessFailedAuthorizedData();
         } else if (data instanceof AuthorizedBondedRole) {
             log.debug("BondedRoleType {}", ((AuthorizedBondedRole) data).getBondedRoleType());
             validateBondedRole(authorizedData, (AuthorizedBondedRole) data).ifPresent(authorizedBondedRole -> {
-                bondedRoles.add(new BondedRole(authorizedBondedRole));
+                BondedRole bondedRole = new BondedRole(authorizedBondedRole);
+                if (bondedRoles.add(bondedRole)) {
+                    // The observer gets called with the current banned state, and adds the bonded role to the index
+                    // if not banned.
+                    isBannedPinByBondedRole.put(bondedRole, bondedRole.addIsBannedObserver(isBanned ->
+                            onBannedStateChanged(bondedRole, isBanned)));
+                }
                 if (authorizedBondedRole.getBondedRoleType() == BondedRoleType.SEED_NODE) {
                     networkService.addSeedNodeAddressByTransport(authorizedBondedRole.getAddressByTransportTypeMap().orElseThrow());
                 }
             });
-            reProcessFailedAuthorizedData();
         }
         listeners.forEach(listener -> {
             try {
@@ -235,12 +264,18 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
         } else if (data instanceof AuthorizedBondedRole) {
             validateBondedRole(authorizedData, (AuthorizedBondedRole) data).ifPresent(authorizedBondedRole -> {
                 Optional<BondedRole> toRemove = bondedRoles.stream().filter(bondedRole -> bondedRole.getAuthorizedBondedRole().equals(authorizedBondedRole)).findAny();
-                toRemove.ifPresent(bondedRoles::remove);
+                toRemove.ifPresent(bondedRole -> {
+                    bondedRoles.remove(bondedRole);
+                    Optional.ofNullable(isBannedPinByBondedRole.remove(bondedRole)).ifPresent(Pin::unbind);
+                    removeFromIndex(bondedRole);
+                });
                 if (authorizedBondedRole.getBondedRoleType() == BondedRoleType.SEED_NODE) {
                     networkService.removeSeedNodeAddressByTransport(authorizedBondedRole.getAddressByTransportTypeMap().orElseThrow());
                 }
             });
         }
+        // Expired or removed data will not get authorized anymore
+        failedAuthorizedDataByKey.values().forEach(failedAuthorizedData -> failedAuthorizedData.remove(authorizedData));
         listeners.forEach(listener -> {
             try {
                 listener.onAuthorizedDataRemoved(authorizedData);
@@ -279,44 +314,33 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
             return true;
         } else {
             // Signature check is done in AuthorizedData
-            String authorizedDataPubKey = Hex.encode(authorizedData.getAuthorizedPublicKeyBytes());
-            boolean matchFound = getAuthorizedBondedRoleStream()
-                    .filter(bondedRole -> bondedRole.getBondedRoleType() == authorizingBondedRoleType)
-                    .anyMatch(bondedRole -> {
-                        boolean match = bondedRole.getAuthorizedPublicKey().equals(authorizedDataPubKey);
-                        if (match) {
-                            log.debug("Found a matching authorizedPublicKey from bondedRole: {}. data={}",
-                                    bondedRole.getBondedRoleType(),
-                                    data.getClass().getSimpleName());
-                        } else {
-                            log.debug("No authorizedPublicKey found in our list of bonded roles.\n" +
-                                            "bondedRole.getAuthorizedPublicKey()={}\n" +
-                                            "authorizedDataPubKey={}\n" +
-                                            "data={}",
-                                    bondedRole.getAuthorizedPublicKey(),
-                                    authorizedDataPubKey,
-                                    data.getClass().getSimpleName());
-
-                        }
-                        return match;
-                    });
+            AuthorizedKey authorizedKey = new AuthorizedKey(authorizingBondedRoleType,
+                    new ByteArray(authorizedData.getAuthorizedPublicKeyBytes()));
+            boolean matchFound = authorizedBondedRolesByKey.containsKey(authorizedKey);
             if (matchFound) {
                 log.debug("authorizedPublicKey provided by a bonded role. data={}", data.getClass().getSimpleName());
                 // In case we are reprocessing previous failed authorizedData we clear it from the queue.
-                if (failedAuthorizedData.remove(authorizedData)) {
+                Set<AuthorizedData> failedAuthorizedData = failedAuthorizedDataByKey.get(authorizedKey);
+                if (failedAuthorizedData != null && failedAuthorizedData.remove(authorizedData)) {
                     log.debug("We successfully reprocessed authorizedData.\n" +
                                     "AuthorizedDistributedData={}, {}",
-                            data.getClass().getSimpleName(), data.toString().substring(0, 100));
+                            data.getClass().getSimpleName(), StringUtils.truncate(data.toString(), 100));
                 }
             } else {
-                failedAuthorizedData.add(authorizedData);
+                failedAuthorizedDataByKey.computeIfAbsent(authorizedKey, key -> ConcurrentHashMap.newKeySet())
+                        .add(authorizedData);
+                // If the bonded role got added in the meantime, we might have missed the reprocessing
+                if (authorizedBondedRolesByKey.containsKey(authorizedKey)) {
+                    keysToReprocess.add(authorizedKey);
+                    reProcessFailedAuthorizedData();
+                }
                 // TODO Set log level for to debug for now, as too many logs are printed.
                 //  Once the TTL has cleared the old data we can change back to warn level.
                 log.debug("hasAuthorizedPubKey failed for AuthorizedDistributedData={}, {}",
                         data.getClass().getSimpleName(), StringUtils.truncate(data.toString(), 200));
                 log.debug("AuthorizedPublicKey is not matching any key from our authorizedBondedRolesPubKeys and does " +
                                 "not provide a matching static key.\n" +
-                                "We add the authorizedData to a retry queue for later reprocessing.\n" +
+                                "We park the authorizedData for reprocessing once a bonded role with that key gets added.\n" +
                                 "AuthorizedDistributedData={}, {}",
                         data.getClass().getSimpleName(), StringUtils.truncate(data.toString(), 200));
             }
@@ -340,6 +364,39 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
         listeners.remove(listener);
     }
 
+    private void onBannedStateChanged(BondedRole bondedRole, Boolean isBanned) {
+        if (!bondedRoles.contains(bondedRole)) {
+            return;
+        }
+        if (ignoreSecurityManager || !Boolean.TRUE.equals(isBanned)) {
+            addToIndex(bondedRole);
+        } else {
+            removeFromIndex(bondedRole);
+        }
+    }
+
+    private void addToIndex(BondedRole bondedRole) {
+        AuthorizedKey authorizedKey = createAuthorizedKey(bondedRole.getAuthorizedBondedRole());
+        authorizedBondedRolesByKey.computeIfAbsent(authorizedKey, key -> ConcurrentHashMap.newKeySet()).add(bondedRole);
+        if (failedAuthorizedDataByKey.containsKey(authorizedKey)) {
+            keysToReprocess.add(authorizedKey);
+            reProcessFailedAuthorizedData();
+        }
+    }
+
+    private void removeFromIndex(BondedRole bondedRole) {
+        authorizedBondedRolesByKey.computeIfPresent(createAuthorizedKey(bondedRole.getAuthorizedBondedRole()),
+                (key, bondedRolesOfKey) -> {
+                    bondedRolesOfKey.remove(bondedRole);
+                    return bondedRolesOfKey.isEmpty() ? null : bondedRolesOfKey;
+                });
+    }
+
+    private static AuthorizedKey createAuthorizedKey(AuthorizedBondedRole authorizedBondedRole) {
+        return new AuthorizedKey(authorizedBondedRole.getBondedRoleType(),
+                new ByteArray(Hex.decode(authorizedBondedRole.getAuthorizedPublicKey())));
+    }
+
     private void reProcessFailedAuthorizedData() {
         // Reprocess AuthorizedData which previously failed due potential out-of-order issues
         // We delay to avoid getting too many data queued up
@@ -352,11 +409,19 @@ public class AuthorizedBondedRolesService implements Service, DataService.Listen
     }
 
     private void reprocess() {
-        Set<AuthorizedData> clone = new HashSet<>(failedAuthorizedData);
-        clone.forEach(this::onAuthorizedDataAdded);
-        if (reprocessScheduler != null) {
-            reprocessScheduler.stop();
-            reprocessScheduler = null;
+        // We reset the scheduler first, so that keys added while reprocessing schedule another run
+        Scheduler scheduler = reprocessScheduler;
+        reprocessScheduler = null;
+        // Only the data waiting for the keys of the newly added bonded roles get reprocessed
+        Set<AuthorizedKey> keys = new HashSet<>(keysToReprocess);
+        keysToReprocess.removeAll(keys);
+        keys.stream()
+                .map(failedAuthorizedDataByKey::remove)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .forEach(this::onAuthorizedDataAdded);
+        if (scheduler != null) {
+            scheduler.stop();
         }
     }
 
@@ -18,9 +18,11 @@
 package bisq.bonded_roles.bonded_role;
 
 import bisq.common.observable.Observable;
+import bisq.common.observable.Pin;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+import java.util.function.Consumer;
 
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class BondedRole {
@@ -44,4 +46,8 @@ public class BondedRole {
     public void setIsBanned(boolean value) {
         isBannedObservable.set(value);
     }
+
+    public Pin addIsBannedObserver(Consumer<Boolean> observer) {
+        return isBannedObservable.addObserver(observer);
+    }
 }
\ No newline at end of file
@@ -94,6 +94,17 @@ public final class MarketPrice implements NetworkProto {
         return System.currentTimeMillis() - timestamp;
     }
 
+    /**
+     * Compares price, provider and source but not the timestamp, which changes with each update from the price node
+     * even if the price has not changed.
+     */
+    public boolean hasSamePriceAndSource(MarketPrice other) {
+        return other != null &&
+                priceQuote.equals(other.priceQuote) &&
+                marketPriceProviderInfo.equals(other.marketPriceProviderInfo) &&
+                source == other.source;
+    }
+
     public boolean isStale() {
         return System.currentTimeMillis() - timestamp > STALE_AGE;
     }
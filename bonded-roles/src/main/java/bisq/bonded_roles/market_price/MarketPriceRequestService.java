@@ -32,16 +32,24 @@ import bisq.common.util.ExceptionUtil;
 import bisq.common.util.MathUtils;
 import bisq.network.NetworkService;
 import bisq.common.network.TransportType;
-import bisq.network.http.BaseHttpClient;
+import bisq.network.http.HttpResponse;
+import bisq.network.http.PooledHttpClient;
 import bisq.network.http.utils.HttpException;
-import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -54,6 +62,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 
+/**
+ * Requests the market prices from the market price providers. We use conditional requests (ETag and Last-Modified) so
+ * that the provider can respond with 304 Not Modified if the data have not changed since our last request. The
+ * response is parsed as stream and only changed entries are applied to the marketPriceByCurrencyMap, so that
+ * observers do not get notified for unchanged market prices.
+ */
 @Slf4j
 public class MarketPriceRequestService {
     private static final ExecutorService POOL = ExecutorFactory.newFixedThreadPool("MarketPrice", 3);
@@ -128,7 +142,9 @@ public class MarketPriceRequestService {
     @Getter
     private final ObservableHashMap<Market, MarketPrice> marketPriceByCurrencyMap = new ObservableHashMap<>();
     private final String userAgent;
-    private Optional<BaseHttpClient> httpClient = Optional.empty();
+    // Validators from the last successful response of a given provider used for conditional requests
+    private final Map<Provider, String> eTagByProvider = new ConcurrentHashMap<>();
+    private final Map<Provider, String> lastModifiedByProvider = new ConcurrentHashMap<>();
     @Nullable
     private Scheduler scheduler;
     private long initialDelay = 0;
@@ -183,8 +199,8 @@ public class MarketPriceRequestService {
         if (scheduler != null) {
             scheduler.stop();
         }
-        return httpClient.map(BaseHttpClient::shutdown)
-                .orElse(CompletableFuture.completedFuture(true));
+        // The PooledHttpClient is shared and gets shut down by the NetworkService
+        return CompletableFuture.completedFuture(true);
     }
 
     private void startRequesting() {
@@ -232,53 +248,55 @@ public class MarketPriceRequestService {
         return CompletableFuture.runAsync(() -> {
                     ThreadName.set(this, "request");
                     Provider provider = checkNotNull(selectedProvider.get(), "Selected provider must not be null.");
-                    BaseHttpClient client = networkService.getHttpClient(provider.baseUrl, userAgent, provider.transportType);
-                    httpClient = Optional.of(client);
-                    if (client.hasPendingRequest()) {
-                        selectedProvider.set(selectNextProvider());
-                        int numRecursions = recursionDepth.incrementAndGet();
-                        if (numRecursions < numTotalCandidates && failedProviders.size() < numTotalCandidates) {
-                            log.warn("We retry the request with new provider {}", selectedProvider.get().getBaseUrl());
-                            request(recursionDepth).join();
-                        } else {
-                            log.warn("We exhausted all possible providers and give up");
-                            throw new RuntimeException("We failed at all possible providers and give up");
-                        }
-                        return;
-                    }
-
+                    PooledHttpClient client = networkService.getPooledHttpClient(provider.transportType);
                     long ts = System.currentTimeMillis();
                     String param = "getAllMarketPrices";
-                    log.info("Request market price from {}", client.getBaseUrl() + "/" + param);
+                    String url = provider.getBaseUrl() + "/" + param;
+                    log.info("Request market price from {}", url);
                     try {
-                        String json = client.get(param, Optional.of(new Pair<>("User-Agent", userAgent)));
-                        log.info("Received market price from {} after {} ms", client.getBaseUrl() + "/" + param, System.currentTimeMillis() - ts);
-                        Map<Market, MarketPrice> map = parseResponse(json);
-
-                        if (map.isEmpty()) {
-                            log.warn("Provider {} returned an empty or invalid response, switching provider.", client.getBaseUrl());
-                            throw new IllegalStateException("Provider is responsive but not returning any market prices");
-                        }
-
+                        Map<String, String> headers = new HashMap<>();
+                        headers.put("User-Agent", userAgent);
+                        Optional.ofNullable(eTagByProvider.get(provider)).ifPresent(eTag -> headers.put("If-None-Match", eTag));
+                        Optional.ofNullable(lastModifiedByProvider.get(provider)).ifPresent(lastModified -> headers.put("If-Modified-Since", lastModified));
+                        HttpResponse<Map<Market, MarketPrice>> response = client.get(provider.getBaseUrl(),
+                                        param,
+                                        headers,
+                                        this::parseResponse,
+                                        Duration.ofSeconds(conf.getTimeoutInSeconds()))
+                                .join();
+                        log.info("Received market price from {} after {} ms", url, System.currentTimeMillis() - ts);
                         long now = System.currentTimeMillis();
                         String sinceLastResponse = timeSinceLastResponse == 0 ? "" : "Time since last response: " + (now - timeSinceLastResponse) / 1000 + " sec";
-                        log.info("Market price request from {} resulted in {} items took {} ms. {}",
-                                client.getBaseUrl(), map.size(), now - ts, sinceLastResponse);
                         timeSinceLastResponse = now;
 
-                        // We only use those market prices for which we have a market in the repository
-                        Map<Market, MarketPrice> filtered = map.entrySet().stream()
-                                .filter(e -> e.getValue().isValidDate())
-                                .filter(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes()).isPresent())
-                                .collect(Collectors.toMap(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes()).orElseThrow(),
-                                        Map.Entry::getValue));
-                        marketPriceByCurrencyMap.clear();
-                        marketPriceByCurrencyMap.putAll(filtered);
+                        if (response.isNotModified()) {
+                            log.info("Market price data from {} have not changed since our last request. {}",
+                                    provider.getBaseUrl(), sinceLastResponse);
+                        } else {
+                            Map<Market, MarketPrice> map = response.getBody().orElse(Map.of());
+                            if (map.isEmpty()) {
+                                log.warn("Provider {} returned an empty or invalid response, switching provider.", provider.getBaseUrl());
+                                throw new IllegalStateException("Provider is responsive but not returning any market prices");
+                            }
+
+                            response.findHeader("ETag").ifPresentOrElse(eTag -> eTagByProvider.put(provider, eTag),
+                                    () -> eTagByProvider.remove(provider));
+                            response.findHeader("Last-Modified").ifPresentOrElse(lastModified -> lastModifiedByProvider.put(provider, lastModified),
+                                    () -> lastModifiedByProvider.remove(provider));
+
+                            // We only use those market prices for which we have a market in the repository
+                            Map<Market, MarketPrice> filtered = map.entrySet().stream()
+                                    .filter(e -> e.getValue().isValidDate())
+                                    .filter(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes()).isPresent())
+                                    .collect(Collectors.toMap(e -> MarketRepository.findAnyMarketByMarketCodes(e.getKey().getMarketCodes()).orElseThrow(),
+                                            Map.Entry::getValue));
+                            int numChanges = applyChanges(filtered);
+                            log.info("Market price request from {} resulted in {} items with {} changes took {} ms. {}",
+                                    provider.getBaseUrl(), map.size(), numChanges, now - ts, sinceLastResponse);
+                        }
                         mostRecentProvider = Optional.of(selectedProvider.get());
                         selectedProvider.set(selectNextProvider());
-                        shutdownHttpClient(client);
                     } catch (Exception e) {
-                        shutdownHttpClient(client);
                         if (shutdownStarted) {
                             throw new RuntimeException("Shutdown has already started");
                         }
@@ -308,50 +326,114 @@ public class MarketPriceRequestService {
                 .orTimeout(conf.getTimeoutInSeconds(), SECONDS);
     }
 
-    private Map<Market, MarketPrice> parseResponse(String json) {
-        // size of json is about 8kb
+    // Applies only the changed entries, so that observers are not notified for unchanged market prices. The timestamp
+    // is not considered as change, as it is updated for nearly all entries at each request.
+    // Returns the number of changed or removed entries.
+    private int applyChanges(Map<Market, MarketPrice> newMap) {
+        Set<Market> removedMarkets = marketPriceByCurrencyMap.keySet().stream()
+                .filter(market -> !newMap.containsKey(market))
+                .collect(Collectors.toSet());
+        removedMarkets.forEach(marketPriceByCurrencyMap::remove);
+
+        Map<Market, MarketPrice> changedEntries = new HashMap<>();
+        Map<Market, MarketPrice> entriesWithNewerTimestamp = new HashMap<>();
+        newMap.forEach((market, marketPrice) -> {
+            MarketPrice existing = marketPriceByCurrencyMap.get(market);
+            if (!marketPrice.hasSamePriceAndSource(existing)) {
+                changedEntries.put(market, marketPrice);
+            } else if (marketPrice.getTimestamp() > existing.getTimestamp()) {
+                entriesWithNewerTimestamp.put(market, marketPrice);
+            }
+        });
+
+        // We update the timestamp of unchanged prices without notifying observers. The MarketPriceService applies
+        // the whole map at the next change, so the age of the unchanged prices gets updated as well.
+        marketPriceByCurrencyMap.getMap().putAll(entriesWithNewerTimestamp);
+        if (!changedEntries.isEmpty()) {
+            marketPriceByCurrencyMap.putAll(changedEntries);
+        }
+        return removedMarkets.size() + changedEntries.size();
+    }
+
+    private Map<Market, MarketPrice> parseResponse(InputStream inputStream) throws IOException {
+        // size of json is about 8kb. We parse it as stream to avoid the intermediate String and tree map.
         Map<Market, MarketPrice> map = new HashMap<>();
-        Map<?, ?> linkedTreeMap = new Gson().fromJson(json, Map.class);
-        List<?> list = (ArrayList<?>) linkedTreeMap.get("data");
-        list.forEach(obj -> {
-            try {
-                Map<?, ?> treeMap = (Map<?, ?>) obj;
-                String currencyCode = (String) treeMap.get("currencyCode");
-                if (!currencyCode.startsWith("NON_EXISTING_SYMBOL")) {
-                    String provider = (String) treeMap.get("provider"); // Bisq-Aggregate or name of exchange of price feed
-                    // Convert Bisq-Aggregate to BISQAGGREGATE
-                    provider = provider.replace("-", "").toUpperCase();
-
-                    double price = (Double) treeMap.get("price");
-                    // json uses double for our timestamp long value...
-                    // We get milliseconds not seconds
-                    long timestamp = MathUtils.doubleToLong((Double) treeMap.get("timestampSec"));
-                    // We only get BTC based prices not fiat-fiat or altcoin-altcoin
-                    boolean isFiat = TradeCurrency.isFiat(currencyCode);
-                    String baseCurrencyCode = isFiat ? "BTC" : currencyCode;
-                    String quoteCurrencyCode = isFiat ? currencyCode : "BTC";
-                    PriceQuote priceQuote = PriceQuote.fromPrice(price, baseCurrencyCode, quoteCurrencyCode);
-                    MarketPriceProvider marketPriceProvider = MarketPriceProvider.fromName(provider);
-                    MarketPriceProviderInfo marketPriceProviderInfo = new MarketPriceProviderInfo(marketPriceProvider, marketPriceProvider.getDisplayName().orElse(provider));
-                    MarketPrice marketPrice = new MarketPrice(priceQuote,
-                            timestamp,
-                            marketPriceProviderInfo);
-                    if (marketPrice.isValidDate()) {
-                        marketPrice.setSource(MarketPrice.Source.REQUESTED_FROM_PRICE_NODE);
-                        map.put(priceQuote.getMarket(), marketPrice);
-                    } else if (!marketPrice.getMarket().getBaseCurrencyCode().equals("DCR")) {
-                        // We get an old DCR price from the price servers. Need to be fixed in price server
-                        log.warn("We got an outdated market price. {}", marketPrice);
+        try (JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("data")) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        parseEntry(reader).ifPresent(marketPrice -> map.put(marketPrice.getMarket(), marketPrice));
                     }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
                 }
-            } catch (Exception e) {
-                // We do not fail the whole request if one entry would be invalid
-                log.warn("Market price conversion failed: {} ", obj, e);
             }
-        });
+            reader.endObject();
+        }
         return map;
     }
 
+    private Optional<MarketPrice> parseEntry(JsonReader reader) throws IOException {
+        String currencyCode = null;
+        String provider = null;
+        Double price = null;
+        Double timestampSec = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "currencyCode" -> currencyCode = reader.nextString();
+                case "provider" -> provider = reader.nextString();
+                case "price" -> price = reader.nextDouble();
+                case "timestampSec" -> timestampSec = reader.nextDouble();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        try {
+            if (currencyCode == null || currencyCode.startsWith("NON_EXISTING_SYMBOL")) {
+                return Optional.empty();
+            }
+            // Bisq-Aggregate or name of exchange of price feed
+            // Convert Bisq-Aggregate to BISQAGGREGATE
+            provider = checkNotNull(provider).replace("-", "").toUpperCase();
+
+            // json uses double for our timestamp long value...
+            // We get milliseconds not seconds
+            long timestamp = MathUtils.doubleToLong(checkNotNull(timestampSec));
+            // We only get BTC based prices not fiat-fiat or altcoin-altcoin
+            boolean isFiat = TradeCurrency.isFiat(currencyCode);
+            String baseCurrencyCode = isFiat ? "BTC" : currencyCode;
+            String quoteCurrencyCode = isFiat ? currencyCode : "BTC";
+            PriceQuote priceQuote = PriceQuote.fromPrice(checkNotNull(price), baseCurrencyCode, quoteCurrencyCode);
+            MarketPriceProvider marketPriceProvider = MarketPriceProvider.fromName(provider);
+            MarketPriceProviderInfo marketPriceProviderInfo = new MarketPriceProviderInfo(marketPriceProvider, marketPriceProvider.getDisplayName().orElse(provider));
+            MarketPrice marketPrice = new MarketPrice(priceQuote,
+                    timestamp,
+                    marketPriceProviderInfo);
+            if (marketPrice.isValidDate()) {
+                marketPrice.setSource(MarketPrice.Source.REQUESTED_FROM_PRICE_NODE);
+                return Optional.of(marketPrice);
+            } else if (!marketPrice.getMarket().getBaseCurrencyCode().equals("DCR")) {
+                // We get an old DCR price from the price servers. Need to be fixed in price server
+                log.warn("We got an outdated market price. {}", marketPrice);
+            }
+        } catch (Exception e) {
+            // We do not fail the whole request if one entry would be invalid
+            log.warn("Market price conversion failed: currencyCode={}, provider={}, price={}, timestampSec={}",
+                    currencyCode, provider, price, timestampSec, e);
+        }
+        return Optional.empty();
+    }
+
     private Provider selectNextProvider() {
         if (candidates.isEmpty()) {
             fillCandidates(0);
@@ -381,11 +463,4 @@ public class MarketPriceRequestService {
             }
         }
     }
-
-    private void shutdownHttpClient(BaseHttpClient client) {
-        try {
-            client.shutdown();
-        } catch (Exception ignore) {
-        }
-    }
 }
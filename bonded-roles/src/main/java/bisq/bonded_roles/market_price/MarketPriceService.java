@@ -28,6 +28,7 @@ import bisq.common.encoding.Hex;
 import bisq.common.monetary.PriceQuote;
 import bisq.common.observable.Observable;
 import bisq.common.observable.Pin;
+import bisq.common.observable.ReadOnlyObservable;
 import bisq.common.observable.map.ObservableHashMap;
 import bisq.network.NetworkService;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
@@ -38,8 +39,10 @@ import bisq.persistence.PersistenceService;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
@@ -62,6 +65,8 @@ public class MarketPriceService implements Service, PersistenceClient<MarketPric
     private Pin marketPriceByCurrencyMapPin;
     @Getter
     private Optional<AuthorizedBondedRole> marketPriceProvidingOracle = Optional.empty();
+    // Created on demand. Access is synchronized on the map, so that an observable never misses an update.
+    private final Map<Market, Observable<MarketPrice>> marketPriceObservableByMarket = new HashMap<>();
 
     public MarketPriceService(com.typesafe.config.Config marketPrice,
                               PersistenceService persistenceService,
@@ -99,6 +104,16 @@ public class MarketPriceService implements Service, PersistenceClient<MarketPric
     }
 
 
+    /* --------------------------------------------------------------------- */
+    // PersistenceClient
+    /* --------------------------------------------------------------------- */
+
+    @Override
+    public void onPersistedApplied(MarketPriceStore persisted) {
+        updateMarketPriceObservables(getMarketPriceByCurrencyMap().keySet());
+    }
+
+
     /* --------------------------------------------------------------------- */
     // AuthorizedBondedRolesService.Listener
     /* --------------------------------------------------------------------- */
@@ -139,6 +154,18 @@ public class MarketPriceService implements Service, PersistenceClient<MarketPric
         return findMarketPrice(market).stream().map(MarketPrice::getPriceQuote).findAny();
     }
 
+    /**
+     * Observers get notified only when the price of the given market changes. Prefer this over observing
+     * getMarketPriceByCurrencyMap if only one market is of interest, as the map notifies at any price update of any
+     * market. The value is null as long as we have no price for that market.
+     */
+    public ReadOnlyObservable<MarketPrice> getMarketPriceObservable(Market market) {
+        synchronized (marketPriceObservableByMarket) {
+            return marketPriceObservableByMarket.computeIfAbsent(market,
+                    key -> new Observable<>(getMarketPriceByCurrencyMap().get(key)));
+        }
+    }
+
     public ObservableHashMap<Market, MarketPrice> getMarketPriceByCurrencyMap() {
         return persistableStore.getMarketPriceByCurrencyMap();
     }
@@ -170,9 +197,22 @@ public class MarketPriceService implements Service, PersistenceClient<MarketPric
             return;
         }
         getMarketPriceByCurrencyMap().putAll(mapOfNewEntries);
+        updateMarketPriceObservables(mapOfNewEntries.keySet());
         persist();
     }
 
+    private void updateMarketPriceObservables(Set<Market> markets) {
+        synchronized (marketPriceObservableByMarket) {
+            markets.forEach(market -> {
+                Observable<MarketPrice> observable = marketPriceObservableByMarket.get(market);
+                if (observable != null) {
+                    // We read from the store map so that concurrent updates cannot set an outdated price
+                    observable.set(getMarketPriceByCurrencyMap().get(market));
+                }
+            });
+        }
+    }
+
     // Filters the new map for new entries or entries with a newer timestamp as the existing one.
     private Map<Market, MarketPrice> getMapOfNewEntries(Map<Market, MarketPrice> newMap) {
         Map<Market, MarketPrice> marketPriceByCurrencyMap = getMarketPriceByCurrencyMap();
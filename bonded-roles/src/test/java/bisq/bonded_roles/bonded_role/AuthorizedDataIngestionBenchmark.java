@@ -0,0 +1,187 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.bonded_roles.bonded_role;
+
+import bisq.bonded_roles.BondedRoleType;
+import bisq.bonded_roles.market_price.AuthorizedMarketPriceData;
+import bisq.bonded_roles.market_price.MarketPrice;
+import bisq.bonded_roles.market_price.MarketPriceProvider;
+import bisq.bonded_roles.market_price.MarketPriceProviderInfo;
+import bisq.common.currency.Market;
+import bisq.common.currency.MarketRepository;
+import bisq.common.encoding.Hex;
+import bisq.common.monetary.PriceQuote;
+import bisq.common.network.Address;
+import bisq.common.network.AddressByTransportTypeMap;
+import bisq.common.network.TransportType;
+import bisq.network.NetworkService;
+import bisq.network.identity.NetworkId;
+import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the re-verification of authorized data arriving before the bonded roles holding their keys.
+ * The previous approach kept all failed data in one queue, looked up the key by a scan over all bonded roles and
+ * replayed the whole queue at each added bonded role. It is simulated inline. AuthorizedBondedRolesService parks the
+ * failed data by key and replays only the data of the key of an added bonded role.
+ * Usage: AuthorizedDataIngestionBenchmark [numAuthorizedData] [numKeys]
+ */
+public class AuthorizedDataIngestionBenchmark {
+    public static void main(String[] args) throws GeneralSecurityException, InterruptedException {
+        int numAuthorizedData = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int numKeys = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        List<KeyPair> keyPairs = new ArrayList<>(numKeys);
+        for (int i = 0; i < numKeys; i++) {
+            keyPairs.add(KeyGeneration.generateKeyPair());
+        }
+        Market market = MarketRepository.getUSDBitcoinMarket();
+        List<AuthorizedData> authorizedDataList = new ArrayList<>(numAuthorizedData);
+        for (int i = 0; i < numAuthorizedData; i++) {
+            TreeMap<Market, MarketPrice> prices = new TreeMap<>();
+            prices.put(market, new MarketPrice(PriceQuote.fromFiatPrice(50_000, market.getQuoteCurrencyCode()),
+                    i,
+                    new MarketPriceProviderInfo(MarketPriceProvider.OTHER)));
+            authorizedDataList.add(new AuthorizedData(new AuthorizedMarketPriceData(prices, false),
+                    keyPairs.get(i % numKeys).getPublic()));
+        }
+        List<AuthorizedData> bondedRoleDataList = new ArrayList<>(numKeys);
+        for (int i = 0; i < numKeys; i++) {
+            bondedRoleDataList.add(createBondedRoleData(keyPairs.get(i), i));
+        }
+
+        System.out.printf("%d authorized data signed by %d keys, arriving before the %d bonded roles%n",
+                numAuthorizedData, numKeys, numKeys);
+        runQueueReplay(authorizedDataList, bondedRoleDataList);
+        runIndexed(authorizedDataList, bondedRoleDataList);
+    }
+
+    private static void runQueueReplay(List<AuthorizedData> authorizedDataList, List<AuthorizedData> bondedRoleDataList) {
+        Set<AuthorizedData> failedAuthorizedData = new CopyOnWriteArraySet<>();
+        Set<AuthorizedBondedRole> bondedRoles = new CopyOnWriteArraySet<>();
+        AtomicInteger numVerifications = new AtomicInteger();
+        AtomicInteger numVerified = new AtomicInteger();
+        Consumer<AuthorizedData> verify = authorizedData -> {
+            numVerifications.incrementAndGet();
+            String pubKeyAsHex = Hex.encode(authorizedData.getAuthorizedPublicKeyBytes());
+            boolean matchFound = bondedRoles.stream()
+                    .filter(bondedRole -> bondedRole.getBondedRoleType() == BondedRoleType.ORACLE_NODE)
+                    .anyMatch(bondedRole -> bondedRole.getAuthorizedPublicKey().equals(pubKeyAsHex));
+            if (matchFound) {
+                failedAuthorizedData.remove(authorizedData);
+                numVerified.incrementAndGet();
+            } else {
+                failedAuthorizedData.add(authorizedData);
+            }
+        };
+
+        long ts = System.nanoTime();
+        authorizedDataList.forEach(verify);
+        for (AuthorizedData bondedRoleData : bondedRoleDataList) {
+            bondedRoles.add((AuthorizedBondedRole) bondedRoleData.getAuthorizedDistributedData());
+            new HashSet<>(failedAuthorizedData).forEach(verify);
+        }
+        long nanos = System.nanoTime() - ts;
+        print("Queue replay", authorizedDataList.size(), numVerified.get(), numVerifications.get(), nanos);
+    }
+
+    private static void runIndexed(List<AuthorizedData> authorizedDataList,
+                                   List<AuthorizedData> bondedRoleDataList) throws InterruptedException {
+        AuthorizedBondedRolesService service = new AuthorizedBondedRolesService(mock(NetworkService.class), false);
+        AtomicInteger numVerifications = new AtomicInteger();
+        AtomicInteger numVerified = new AtomicInteger();
+        AtomicLong verificationNanos = new AtomicLong();
+        service.addListener(authorizedData -> {
+            if (authorizedData.getAuthorizedDistributedData() instanceof AuthorizedMarketPriceData) {
+                long ts = System.nanoTime();
+                boolean hasAuthorizedPubKey = service.hasAuthorizedPubKey(authorizedData, BondedRoleType.ORACLE_NODE);
+                verificationNanos.addAndGet(System.nanoTime() - ts);
+                numVerifications.incrementAndGet();
+                if (hasAuthorizedPubKey) {
+                    numVerified.incrementAndGet();
+                }
+            }
+        });
+
+        authorizedDataList.forEach(service::onAuthorizedDataAdded);
+        int numExpectedVerified = 0;
+        for (int i = 0; i < bondedRoleDataList.size(); i++) {
+            service.onAuthorizedDataAdded(bondedRoleDataList.get(i));
+            // The reprocessing is delayed by the service, so we wait until the data of that key got verified
+            int keyIndex = i;
+            numExpectedVerified += (int) IntStream.range(0, authorizedDataList.size())
+                    .filter(index -> index % bondedRoleDataList.size() == keyIndex)
+                    .count();
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (numVerified.get() < numExpectedVerified && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        service.shutdown().join();
+        // The delay of the reprocessing is not included, only the time spent in the lookups
+        print("Indexed by key", authorizedDataList.size(), numVerified.get(), numVerifications.get(), verificationNanos.get());
+    }
+
+    private static void print(String name, int numAuthorizedData, int numVerified, int numVerifications, long nanos) {
+        if (numVerified != numAuthorizedData) {
+            throw new IllegalStateException("Verified only " + numVerified + " of " + numAuthorizedData + " authorized data");
+        }
+        System.out.printf("%s: %d verifications (%.1f per authorized data) in %d ms%n",
+                name,
+                numVerifications,
+                (double) numVerifications / numAuthorizedData,
+                TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private static AuthorizedData createBondedRoleData(KeyPair keyPair, int index) {
+        Address address = new Address("oracle" + index + ".onion", 1000 + index);
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(Map.of(TransportType.TOR, address));
+        NetworkId networkId = new NetworkId(addressByTransportTypeMap, new PubKey(keyPair.getPublic(), "keyId-" + index));
+        String profileId = String.format("%040d", index);
+        // The bonded role is published by a root oracle node, so it does not need to be authorized by another one
+        AuthorizedBondedRole authorizedBondedRole = new AuthorizedBondedRole(profileId,
+                Hex.encode(keyPair.getPublic().getEncoded()),
+                BondedRoleType.ORACLE_NODE,
+                "oracle" + index,
+                "signature" + index,
+                Optional.of(addressByTransportTypeMap),
+                networkId,
+                Optional.empty(),
+                true);
+        return new AuthorizedData(authorizedBondedRole, keyPair.getPublic());
+    }
+}
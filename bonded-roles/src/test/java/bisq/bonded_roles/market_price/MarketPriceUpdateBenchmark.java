@@ -0,0 +1,177 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.bonded_roles.market_price;
+
+import bisq.bonded_roles.BondedRoleType;
+import bisq.bonded_roles.bonded_role.AuthorizedBondedRolesService;
+import bisq.common.currency.Market;
+import bisq.common.currency.MarketRepository;
+import bisq.common.monetary.PriceQuote;
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.ObservableSet;
+import bisq.network.NetworkService;
+import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
+import bisq.persistence.Persistence;
+import bisq.persistence.PersistenceService;
+import bisq.security.keys.KeyGeneration;
+import com.typesafe.config.ConfigFactory;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the price recalculations of offerbook list items observing the whole market price map, as it was done
+ * before, with one observer per market which updates all items of that market in one batch.
+ * Price updates arrive for one market per tick, like one update per second as received from the network.
+ * The recalculation per item resembles PriceUtil.findPercentFromMarketPrice and the formatting of the percentage.
+ * Usage: MarketPriceUpdateBenchmark [numOffers] [numMarkets] [numTicks]
+ */
+public class MarketPriceUpdateBenchmark {
+    private static final int NUM_ROUNDS = 5;
+
+    private static class OfferItem {
+        private final Market market;
+        private final PriceQuote fixPrice;
+        private int numUpdates;
+        private String formattedPercentagePrice;
+
+        private OfferItem(Market market, PriceQuote fixPrice) {
+            this.market = market;
+            this.fixPrice = fixPrice;
+        }
+
+        private void updatePriceSpecAsPercent(MarketPriceService marketPriceService) {
+            numUpdates++;
+            formattedPercentagePrice = marketPriceService.findMarketPriceQuote(market)
+                    .map(marketPrice -> fixPrice.getValue() / (double) marketPrice.getValue() - 1)
+                    .map(percent -> String.format("%.2f%%", percent * 100))
+                    .orElse("");
+        }
+    }
+
+    public static void main(String[] args) throws GeneralSecurityException {
+        int numOffers = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int numMarkets = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int numTicks = args.length > 2 ? Integer.parseInt(args[2]) : 600;
+
+        MarketPriceService marketPriceService = createMarketPriceService();
+        PublicKey publicKey = KeyGeneration.generateKeyPair().getPublic();
+        Random random = new Random(1);
+        List<Market> markets = MarketRepository.getAllFiatMarkets().stream()
+                .limit(numMarkets)
+                .collect(Collectors.toList());
+        TreeMap<Market, MarketPrice> initialPrices = new TreeMap<>();
+        markets.forEach(market -> initialPrices.put(market, createMarketPrice(market, 50_000, 1)));
+        applyPrices(marketPriceService, publicKey, initialPrices);
+
+        List<OfferItem> items = new ArrayList<>(numOffers);
+        for (int i = 0; i < numOffers; i++) {
+            Market market = markets.get(random.nextInt(markets.size()));
+            items.add(new OfferItem(market, PriceQuote.fromFiatPrice(45_000 + random.nextInt(10_000), market.getQuoteCurrencyCode())));
+        }
+        Map<Market, List<OfferItem>> itemsByMarket = items.stream().collect(Collectors.groupingBy(item -> item.market));
+
+        System.out.printf("%d offers in %d markets, %d ticks with a price update of one market%n",
+                numOffers, markets.size(), numTicks);
+        long timestamp = 2;
+        for (int round = 1; round <= NUM_ROUNDS; round++) {
+            System.out.println("Round " + round);
+
+            List<Pin> pins = items.stream()
+                    .map(item -> marketPriceService.getMarketPriceByCurrencyMap().addObserver(() ->
+                            item.updatePriceSpecAsPercent(marketPriceService)))
+                    .collect(Collectors.toList());
+            timestamp = run("  Observer per item on price map", marketPriceService, publicKey, markets, items, numTicks, timestamp, random);
+            pins.forEach(Pin::unbind);
+
+            pins = itemsByMarket.entrySet().stream()
+                    .map(entry -> marketPriceService.getMarketPriceObservable(entry.getKey()).addObserver(marketPrice ->
+                            entry.getValue().forEach(item -> item.updatePriceSpecAsPercent(marketPriceService))))
+                    .collect(Collectors.toList());
+            timestamp = run("  Observer per market", marketPriceService, publicKey, markets, items, numTicks, timestamp, random);
+            pins.forEach(Pin::unbind);
+        }
+    }
+
+    private static long run(String name,
+                            MarketPriceService marketPriceService,
+                            PublicKey publicKey,
+                            List<Market> markets,
+                            List<OfferItem> items,
+                            int numTicks,
+                            long timestamp,
+                            Random random) {
+        items.forEach(item -> item.numUpdates = 0);
+        long ts = System.nanoTime();
+        for (int tick = 0; tick < numTicks; tick++) {
+            Market market = markets.get(random.nextInt(markets.size()));
+            TreeMap<Market, MarketPrice> prices = new TreeMap<>();
+            prices.put(market, createMarketPrice(market, 45_000 + random.nextInt(10_000), timestamp++));
+            applyPrices(marketPriceService, publicKey, prices);
+        }
+        long nanos = System.nanoTime() - ts;
+        long numUpdates = items.stream().mapToLong(item -> item.numUpdates).sum();
+        if (items.stream().anyMatch(item -> item.formattedPercentagePrice == null)) {
+            throw new IllegalStateException("Not all items got updated");
+        }
+        System.out.printf("%s: %d item updates, %.1f updates per tick, %.3f ms per tick%n",
+                name, numUpdates, (double) numUpdates / numTicks, nanos / 1e6 / numTicks);
+        return timestamp;
+    }
+
+    private static void applyPrices(MarketPriceService marketPriceService,
+                                    PublicKey publicKey,
+                                    TreeMap<Market, MarketPrice> prices) {
+        marketPriceService.onAuthorizedDataAdded(new AuthorizedData(new AuthorizedMarketPriceData(prices, false), publicKey));
+    }
+
+    private static MarketPrice createMarketPrice(Market market, double price, long timestamp) {
+        return new MarketPrice(PriceQuote.fromFiatPrice(price, market.getQuoteCurrencyCode()),
+                timestamp,
+                new MarketPriceProviderInfo(MarketPriceProvider.OTHER));
+    }
+
+    private static MarketPriceService createMarketPriceService() {
+        @SuppressWarnings("unchecked")
+        Persistence<MarketPriceStore> persistence = mock(Persistence.class);
+        when(persistence.persistAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        PersistenceService persistenceService = mock(PersistenceService.class);
+        doReturn(persistence).when(persistenceService).getOrCreatePersistence(any(), any(), any());
+
+        AuthorizedBondedRolesService authorizedBondedRolesService = mock(AuthorizedBondedRolesService.class);
+        when(authorizedBondedRolesService.hasAuthorizedPubKey(any(), any(BondedRoleType.class))).thenReturn(true);
+        when(authorizedBondedRolesService.getBondedRoles()).thenReturn(new ObservableSet<>());
+
+        com.typesafe.config.Config config = ConfigFactory.parseString(
+                "providers = [], fallbackProviders = [], interval = " + TimeUnit.MINUTES.toSeconds(3) + ", timeoutInSeconds = 60");
+        return new MarketPriceService(config, persistenceService, mock(NetworkService.class), authorizedBondedRolesService);
+    }
+}
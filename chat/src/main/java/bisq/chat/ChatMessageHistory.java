@@ -0,0 +1,109 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Messages of a chat channel ordered by date, for loading the history page by page.
+ * <p>
+ * A page is requested with the cursor of the oldest message of the previously loaded page. Messages with the same
+ * date are ordered by their id, so that paging neither skips nor repeats messages. Messages which arrive after a page
+ * got loaded are included in the later pages if they are older than the cursor.
+ * <p>
+ * Thread safe, as messages get added from network threads while the UI requests pages.
+ */
+public class ChatMessageHistory<M extends ChatMessage> {
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    public static final class Cursor implements Comparable<Cursor> {
+        private final long date;
+        private final String messageId;
+
+        private Cursor(long date, String messageId) {
+            this.date = date;
+            this.messageId = messageId;
+        }
+
+        public static Cursor of(ChatMessage chatMessage) {
+            return new Cursor(chatMessage.getDate(), chatMessage.getId());
+        }
+
+        public boolean isAfter(ChatMessage chatMessage) {
+            return compareTo(of(chatMessage)) > 0;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int result = Long.compare(date, other.date);
+            return result != 0 ? result : messageId.compareTo(other.messageId);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Cursor, M> messageByCursor = new ConcurrentSkipListMap<>();
+
+    public void add(M chatMessage) {
+        messageByCursor.put(Cursor.of(chatMessage), chatMessage);
+    }
+
+    public void remove(M chatMessage) {
+        messageByCursor.remove(Cursor.of(chatMessage));
+    }
+
+    public int size() {
+        return messageByCursor.size();
+    }
+
+    /**
+     * @return Up to limit of the most recent messages, ordered by date.
+     */
+    public List<M> getLatest(int limit) {
+        return getPage(messageByCursor, limit);
+    }
+
+    /**
+     * @return Up to limit of the messages older than the cursor, ordered by date.
+     */
+    public List<M> getOlderThan(Cursor cursor, int limit) {
+        return getPage(messageByCursor.headMap(cursor, false), limit);
+    }
+
+    public boolean hasOlderThan(Cursor cursor) {
+        return messageByCursor.lowerKey(cursor) != null;
+    }
+
+    private static <M> List<M> getPage(NavigableMap<Cursor, M> map, int limit) {
+        List<M> page = new ArrayList<>(Math.min(limit, 64));
+        Iterator<M> iterator = map.descendingMap().values().iterator();
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add(iterator.next());
+        }
+        Collections.reverse(page);
+        return page;
+    }
+}
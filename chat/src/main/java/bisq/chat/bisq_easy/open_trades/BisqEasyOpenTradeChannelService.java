@@ -88,6 +88,11 @@ public class BisqEasyOpenTradeChannelService extends PrivateGroupChatChannelServ
         }
     }
 
+    @Override
+    protected Set<Class<?>> getConfidentialMessageTypes() {
+        return Set.of(BisqEasyOpenTradeMessage.class, BisqEasyOpenTradeMessageReaction.class);
+    }
+
 
     /* --------------------------------------------------------------------- */
     // API
@@ -87,6 +87,11 @@ public class MuSigOpenTradeChannelService extends PrivateGroupChatChannelService
         }
     }
 
+    @Override
+    protected Set<Class<?>> getConfidentialMessageTypes() {
+        return Set.of(MuSigOpenTradeMessage.class, MuSigOpenTradeMessageReaction.class);
+    }
+
 
     /* --------------------------------------------------------------------- */
     // API
@@ -252,20 +252,20 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
     }
 
     public Stream<ChatNotification> getNotConsumedNotifications(ChatChannelDomain chatChannelDomain) {
-        return getNotConsumedNotifications()
-                .filter(chatNotification -> chatNotification.getChatChannelDomain() == chatChannelDomain)
-                .filter(chatNotification -> findPredicate(chatChannelDomain)
-                        .map(predicate -> predicate.test(chatNotification))
-                        .orElse(true));
+        Stream<ChatNotification> notConsumedNotifications;
+        synchronized (persistableStore) {
+            notConsumedNotifications = persistableStore.getNotConsumedNotifications(chatChannelDomain);
+        }
+        return notConsumedNotifications.filter(this::testChatChannelDomainPredicate);
     }
 
     public Stream<ChatNotification> getNotConsumedNotifications(ChatChannelDomain chatChannelDomain,
                                                                 String chatChannelId) {
-        // We filter early for the channelId to avoid unnecessary calls on the predicates
-        return getNotConsumedNotifications()
-                .filter(chatNotification -> chatNotification.getChatChannelId().equals(chatChannelId))
-                .filter(chatNotification -> chatNotification.getChatChannelDomain() == chatChannelDomain)
-                .filter(this::testChatChannelDomainPredicate);
+        Stream<ChatNotification> notConsumedNotifications;
+        synchronized (persistableStore) {
+            notConsumedNotifications = persistableStore.getNotConsumedNotifications(chatChannelDomain, chatChannelId);
+        }
+        return notConsumedNotifications.filter(this::testChatChannelDomainPredicate);
     }
 
 
@@ -277,12 +277,24 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
         return getNumNotifications(channel.getChatChannelDomain(), channel.getId());
     }
 
+    // The counts are maintained by the store. Only if a predicate is set for the domain we need to apply it to the
+    // notifications.
     public long getNumNotifications(ChatChannelDomain chatChannelDomain) {
-        return getNotConsumedNotifications(chatChannelDomain).count();
+        if (findPredicate(chatChannelDomain).isPresent()) {
+            return getNotConsumedNotifications(chatChannelDomain).count();
+        }
+        synchronized (persistableStore) {
+            return persistableStore.getNumNotConsumedNotifications(chatChannelDomain);
+        }
     }
 
     public long getNumNotifications(ChatChannelDomain chatChannelDomain, String chatChannelId) {
-        return getNotConsumedNotifications(chatChannelDomain, chatChannelId).count();
+        if (findPredicate(chatChannelDomain).isPresent()) {
+            return getNotConsumedNotifications(chatChannelDomain, chatChannelId).count();
+        }
+        synchronized (persistableStore) {
+            return persistableStore.getNumNotConsumedNotifications(chatChannelDomain, chatChannelId);
+        }
     }
 
 
@@ -316,12 +328,9 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
     /* --------------------------------------------------------------------- */
 
     private void addNotification(ChatNotification notification) {
-        boolean wasAdded = false;
+        boolean wasAdded;
         synchronized (persistableStore) {
-            if (!persistableStore.getNotifications().contains(notification)) {
-                persistableStore.getNotifications().add(notification);
-                wasAdded = true;
-            }
+            wasAdded = persistableStore.add(notification);
             // We always set it as otherwise at restart with no new notifications we would not trigger the observers
             changedNotification.set(notification);
         }
@@ -335,7 +344,7 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
         synchronized (persistableStore) {
             Optional<ChatNotification> candidate = persistableStore.findNotification(id);
             wasRemoved = candidate.map(notification -> {
-                        boolean result = persistableStore.getNotifications().remove(notification);
+                        boolean result = persistableStore.remove(notification);
                         if (result) {
                             changedNotification.set(null);
                             changedNotification.set(notification);
@@ -355,20 +364,14 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
         }
         boolean hadChange;
         synchronized (persistableStore) {
-            if (!persistableStore.getNotifications().contains(notification)) {
+            Optional<ChatNotification> persisted = persistableStore.findNotification(notification);
+            if (persisted.isEmpty()) {
                 notification.setConsumed(true);
-                persistableStore.getNotifications().add(notification);
+                persistableStore.add(notification);
                 hadChange = true;
                 changedNotification.set(notification);
             } else {
-                hadChange = persistableStore.getNotConsumedNotifications()
-                        .filter(e -> e.equals(notification))
-                        .map(e -> {
-                            e.setConsumed(true);
-                            return true;
-                        })
-                        .findAny()
-                        .orElse(false);
+                hadChange = persistableStore.consume(persisted.get());
             }
             if (hadChange) {
                 // If we changed the consumed state we need to trigger an update of the observable by setting it to null
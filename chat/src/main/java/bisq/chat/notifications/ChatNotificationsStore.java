@@ -17,6 +17,7 @@
 
 package bisq.chat.notifications;
 
+import bisq.chat.ChatChannelDomain;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.common.proto.ProtoResolver;
 import bisq.common.proto.UnresolvableProtobufMessageException;
@@ -25,18 +26,34 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Besides the persisted notifications we keep an index by id and the not consumed notifications by domain and channel,
+ * so that lookups and the counts for the notification badges do not need to iterate all notifications.
+ * Mutations need to be done via add, remove and consume to keep those in sync. Not thread safe, the
+ * ChatNotificationService synchronizes on the store.
+ */
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 final class ChatNotificationsStore implements PersistableStore<ChatNotificationsStore> {
     private final ObservableSet<ChatNotification> chatNotifications = new ObservableSet<>();
+    // The id is derived from the channel and message, so there is only one notification per id
+    private final Map<String, ChatNotification> chatNotificationById = new HashMap<>();
+    private final Map<ChatChannelDomain, Map<String, Set<ChatNotification>>> notConsumedByChannelIdByDomain = new EnumMap<>(ChatChannelDomain.class);
+    private final Map<ChatChannelDomain, Integer> numNotConsumedByDomain = new EnumMap<>(ChatChannelDomain.class);
 
     ChatNotificationsStore(Collection<ChatNotification> chatNotifications) {
-        this.chatNotifications.setAll(chatNotifications);
+        setAll(chatNotifications);
     }
 
     @Override
@@ -77,26 +94,120 @@ final class ChatNotificationsStore implements PersistableStore<ChatNotifications
 
     @Override
     public void applyPersisted(ChatNotificationsStore persisted) {
-        chatNotifications.setAll(persisted.chatNotifications);
+        setAll(persisted.chatNotifications);
     }
 
     ObservableSet<ChatNotification> getNotifications() {
         return chatNotifications;
     }
 
+    boolean add(ChatNotification notification) {
+        if (!chatNotifications.add(notification)) {
+            return false;
+        }
+        chatNotificationById.put(notification.getId(), notification);
+        if (notification.isNotConsumed()) {
+            addNotConsumed(notification);
+        }
+        return true;
+    }
+
+    boolean remove(ChatNotification notification) {
+        if (!chatNotifications.remove(notification)) {
+            return false;
+        }
+        chatNotificationById.remove(notification.getId(), notification);
+        removeNotConsumed(notification);
+        return true;
+    }
+
+    // The notification needs to be the instance held by the store
+    boolean consume(ChatNotification notification) {
+        if (!notification.isNotConsumed()) {
+            return false;
+        }
+        notification.setConsumed(true);
+        removeNotConsumed(notification);
+        return true;
+    }
+
     Optional<ChatNotification> findNotification(String id) {
-        return chatNotifications.stream()
-                .filter(chatNotification -> chatNotification.getId().equals(id))
-                .findAny();
+        return Optional.ofNullable(chatNotificationById.get(id));
     }
 
     Optional<ChatNotification> findNotification(ChatNotification notification) {
-        return chatNotifications.stream()
-                .filter(e -> e.equals(notification))
-                .findAny();
+        return findNotification(notification.getId()).filter(e -> e.equals(notification));
     }
 
     Stream<ChatNotification> getNotConsumedNotifications() {
         return chatNotifications.stream().filter(ChatNotification::isNotConsumed);
     }
+
+    // We return copies as the caller might consume the notifications while iterating
+    Stream<ChatNotification> getNotConsumedNotifications(ChatChannelDomain chatChannelDomain) {
+        List<ChatNotification> notifications = new ArrayList<>();
+        Optional.ofNullable(notConsumedByChannelIdByDomain.get(chatChannelDomain))
+                .ifPresent(notConsumedByChannelId -> notConsumedByChannelId.values().forEach(notifications::addAll));
+        return notifications.stream();
+    }
+
+    Stream<ChatNotification> getNotConsumedNotifications(ChatChannelDomain chatChannelDomain, String chatChannelId) {
+        return new ArrayList<>(findNotConsumed(chatChannelDomain, chatChannelId)).stream();
+    }
+
+    int getNumNotConsumedNotifications(ChatChannelDomain chatChannelDomain) {
+        return numNotConsumedByDomain.getOrDefault(chatChannelDomain, 0);
+    }
+
+    int getNumNotConsumedNotifications(ChatChannelDomain chatChannelDomain, String chatChannelId) {
+        return findNotConsumed(chatChannelDomain, chatChannelId).size();
+    }
+
+    private void setAll(Collection<ChatNotification> notifications) {
+        chatNotifications.setAll(notifications);
+        chatNotificationById.clear();
+        notConsumedByChannelIdByDomain.clear();
+        numNotConsumedByDomain.clear();
+        chatNotifications.forEach(notification -> {
+            chatNotificationById.put(notification.getId(), notification);
+            if (notification.isNotConsumed()) {
+                addNotConsumed(notification);
+            }
+        });
+    }
+
+    private void addNotConsumed(ChatNotification notification) {
+        ChatChannelDomain chatChannelDomain = notification.getChatChannelDomain();
+        boolean added = notConsumedByChannelIdByDomain.computeIfAbsent(chatChannelDomain, key -> new HashMap<>())
+                .computeIfAbsent(notification.getChatChannelId(), key -> new HashSet<>())
+                .add(notification);
+        if (added) {
+            numNotConsumedByDomain.merge(chatChannelDomain, 1, Integer::sum);
+        }
+    }
+
+    private void removeNotConsumed(ChatNotification notification) {
+        ChatChannelDomain chatChannelDomain = notification.getChatChannelDomain();
+        Map<String, Set<ChatNotification>> notConsumedByChannelId = notConsumedByChannelIdByDomain.get(chatChannelDomain);
+        if (notConsumedByChannelId == null) {
+            return;
+        }
+        String chatChannelId = notification.getChatChannelId();
+        Set<ChatNotification> notConsumed = notConsumedByChannelId.get(chatChannelId);
+        if (notConsumed == null || !notConsumed.remove(notification)) {
+            return;
+        }
+        if (notConsumed.isEmpty()) {
+            notConsumedByChannelId.remove(chatChannelId);
+        }
+        numNotConsumedByDomain.merge(chatChannelDomain, -1, Integer::sum);
+    }
+
+    private Set<ChatNotification> findNotConsumed(ChatChannelDomain chatChannelDomain, String chatChannelId) {
+        Map<String, Set<ChatNotification>> notConsumedByChannelId = notConsumedByChannelIdByDomain.get(chatChannelDomain);
+        if (notConsumedByChannelId == null) {
+            return Set.of();
+        }
+        return notConsumedByChannelId.getOrDefault(chatChannelId, Set.of());
+    }
 }
\ No newline at end of file
@@ -69,9 +69,7 @@ public abstract class PrivateChatChannelService<
 
     @Override
     public CompletableFuture<Boolean> initialize() {
-        networkService.getConfidentialMessageServices().stream()
-                .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
-                .forEach(this::onMessage);
+        networkService.replayProcessedConfidentialMessages(getConfidentialMessageTypes(), this::onMessage);
         networkService.addConfidentialMessageListener(this);
         return CompletableFuture.completedFuture(true);
     }
@@ -212,6 +210,9 @@ public abstract class PrivateChatChannelService<
 
     protected abstract Optional<C> createNewChannelFromReceivedMessage(M message);
 
+    // The message and reaction types handled by onMessage. Processed messages of those types get replayed at initialize.
+    protected abstract Set<Class<?>> getConfidentialMessageTypes();
+
     protected void addMessageAndProcessQueuedReactions(M message, C channel) {
         addMessage(message, channel);
         // Check if there are any reactions that should be added to existing messages
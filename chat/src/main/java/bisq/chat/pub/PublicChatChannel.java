@@ -19,6 +19,7 @@ package bisq.chat.pub;
 
 import bisq.chat.ChatChannel;
 import bisq.chat.ChatChannelDomain;
+import bisq.chat.ChatMessageHistory;
 import bisq.chat.notifications.ChatChannelNotificationType;
 import bisq.common.observable.Observable;
 import bisq.common.observable.collection.ObservableSet;
@@ -32,6 +33,9 @@ import lombok.ToString;
 public abstract class PublicChatChannel<M extends PublicChatMessage> extends ChatChannel<M> {
     // Transient because we do not persist the messages as they are persisted in the P2P data store.
     protected transient final ObservableSet<M> chatMessages = new ObservableSet<>();
+    // Same messages as in chatMessages, ordered by date for loading the history in pages
+    @ToString.Exclude
+    private transient final ChatMessageHistory<M> chatMessageHistory = new ChatMessageHistory<>();
     private final Observable<PublicChatMessage> highlightedMessage = new Observable<>();
 
     public PublicChatChannel(String id,
@@ -42,6 +46,9 @@ public abstract class PublicChatChannel<M extends PublicChatMessage> extends Cha
 
     @Override
     public boolean addChatMessage(M chatMessage) {
+        // We add to the history before the observers of chatMessages get notified, so that a message skipped by a
+        // paged observer can be found in the history.
+        chatMessageHistory.add(chatMessage);
         boolean changed = super.addChatMessage(chatMessage);
         if (changed) {
             userProfileIdsOfActiveParticipants.add(chatMessage.getAuthorUserProfileId());
@@ -52,6 +59,10 @@ public abstract class PublicChatChannel<M extends PublicChatMessage> extends Cha
 
     // Called when removing expired messages or when user deletes a message
     public boolean removeChatMessage(M chatMessage) {
-        return super.removeChatMessage(chatMessage);
+        boolean changed = super.removeChatMessage(chatMessage);
+        if (changed) {
+            chatMessageHistory.remove(chatMessage);
+        }
+        return changed;
     }
 }
@@ -40,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -76,6 +77,11 @@ public class TwoPartyPrivateChatChannelService extends PrivateChatChannelService
         }
     }
 
+    @Override
+    protected Set<Class<?>> getConfidentialMessageTypes() {
+        return Set.of(TwoPartyPrivateChatMessage.class, TwoPartyPrivateChatMessageReaction.class);
+    }
+
 
     /* --------------------------------------------------------------------- */
     // API
@@ -0,0 +1,127 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat;
+
+import bisq.chat.common.CommonPublicChatChannel;
+import bisq.chat.common.CommonPublicChatMessage;
+import bisq.chat.common.SubDomain;
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the channel switch of the chat message list with creating list items for the whole history of a public
+ * channel against creating them only for the latest page from the ChatMessageHistory.
+ * A channel switch creates the list items and adds the observer to the channel messages, which replays all messages.
+ * The UI thread is simulated by a queue of tasks which gets processed after the observer got added. The list items
+ * are stand-ins, the real ones are considerably more expensive to create as they look up user profiles and
+ * reputation and add listeners.
+ * Usage: ChatMessageHistoryBenchmark [pageSize]
+ */
+public class ChatMessageHistoryBenchmark {
+    private static final int[] NUM_MESSAGES = {1_000, 10_000, 100_000};
+    private static final int NUM_ROUNDS = 5;
+
+    private record ListItem(ChatMessage chatMessage, String searchableText) {
+    }
+
+    public static void main(String[] args) {
+        int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        for (int numMessages : NUM_MESSAGES) {
+            CommonPublicChatChannel channel = createChannel(numMessages);
+            System.out.printf("%d messages, page size %d%n", numMessages, pageSize);
+            for (int round = 1; round <= NUM_ROUNDS; round++) {
+                System.out.println("Round " + round);
+                run("  All messages", channel, Optional.empty());
+                run("  Latest page", channel, Optional.of(pageSize));
+            }
+        }
+    }
+
+    private static void run(String name, CommonPublicChatChannel channel, Optional<Integer> pageSize) {
+        long ts = System.nanoTime();
+        List<ListItem> listItems = new ArrayList<>();
+        Set<String> listItemIds = new HashSet<>();
+        Queue<Runnable> uiThreadTasks = new ArrayDeque<>();
+
+        Collection<CommonPublicChatMessage> chatMessages = pageSize
+                .<Collection<CommonPublicChatMessage>>map(limit -> channel.getChatMessageHistory().getLatest(limit))
+                .orElse(channel.getChatMessages());
+        Optional<ChatMessageHistory.Cursor> cursor = pageSize.isPresent()
+                ? chatMessages.stream().findFirst().map(ChatMessageHistory.Cursor::of)
+                : Optional.empty();
+        chatMessages.forEach(chatMessage -> addListItem(chatMessage, listItems, listItemIds));
+
+        Pin pin = channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(CommonPublicChatMessage chatMessage) {
+                if (cursor.isPresent() && cursor.get().isAfter(chatMessage)) {
+                    return;
+                }
+                uiThreadTasks.add(() -> addListItem(chatMessage, listItems, listItemIds));
+            }
+
+            @Override
+            public void remove(Object element) {
+            }
+
+            @Override
+            public void clear() {
+            }
+        });
+        int numUiThreadTasks = uiThreadTasks.size();
+        while (!uiThreadTasks.isEmpty()) {
+            uiThreadTasks.poll().run();
+        }
+        long nanos = System.nanoTime() - ts;
+        pin.unbind();
+
+        System.out.printf("%s: %.2f ms, %d list items, %d UI thread tasks%n",
+                name, nanos / (double) TimeUnit.MILLISECONDS.toNanos(1), listItems.size(), numUiThreadTasks);
+    }
+
+    private static void addListItem(ChatMessage chatMessage, List<ListItem> listItems, Set<String> listItemIds) {
+        if (listItemIds.add(chatMessage.getId())) {
+            listItems.add(new ListItem(chatMessage, chatMessage.getTextOrNA().toLowerCase()));
+        }
+    }
+
+    private static CommonPublicChatChannel createChannel(int numMessages) {
+        CommonPublicChatChannel channel = new CommonPublicChatChannel(ChatChannelDomain.DISCUSSION, SubDomain.DISCUSSION_BISQ);
+        long date = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+        for (int i = 0; i < numMessages; i++) {
+            channel.addChatMessage(new CommonPublicChatMessage(ChatChannelDomain.DISCUSSION,
+                    channel.getId(),
+                    "authorUserProfileId" + (i % 100),
+                    "Message number " + i + " of the benchmark",
+                    Optional.empty(),
+                    date + i * 1000L,
+                    false));
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat;
+
+import bisq.chat.common.CommonPublicChatMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChatMessageHistoryTest {
+    private final ChatMessageHistory<CommonPublicChatMessage> history = new ChatMessageHistory<>();
+
+    @Test
+    void pagesFromLatestToOldest() {
+        List<CommonPublicChatMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Pairs of messages share the same date
+            CommonPublicChatMessage message = createMessage(1000 + i / 2);
+            messages.add(message);
+            history.add(message);
+        }
+        // History is ordered by date, then by id
+        messages.sort((a, b) -> ChatMessageHistory.Cursor.of(a).compareTo(ChatMessageHistory.Cursor.of(b)));
+
+        List<CommonPublicChatMessage> page = history.getLatest(10);
+        assertThat(page).containsExactlyElementsOf(messages.subList(15, 25));
+
+        List<CommonPublicChatMessage> loaded = new ArrayList<>(page);
+        ChatMessageHistory.Cursor cursor = ChatMessageHistory.Cursor.of(page.get(0));
+        while (history.hasOlderThan(cursor)) {
+            page = history.getOlderThan(cursor, 10);
+            loaded.addAll(0, page);
+            cursor = ChatMessageHistory.Cursor.of(page.get(0));
+        }
+        assertThat(loaded).containsExactlyElementsOf(messages);
+        assertThat(history.getOlderThan(cursor, 10)).isEmpty();
+    }
+
+    @Test
+    void includesOlderMessagesArrivingAfterPageGotLoaded() {
+        CommonPublicChatMessage oldest = createMessage(1000);
+        CommonPublicChatMessage latest = createMessage(3000);
+        history.add(oldest);
+        history.add(latest);
+
+        List<CommonPublicChatMessage> page = history.getLatest(1);
+        assertThat(page).containsExactly(latest);
+        ChatMessageHistory.Cursor cursor = ChatMessageHistory.Cursor.of(latest);
+        assertThat(cursor.isAfter(oldest)).isTrue();
+
+        CommonPublicChatMessage lateArrival = createMessage(2000);
+        history.add(lateArrival);
+        assertThat(history.getOlderThan(cursor, 10)).containsExactly(oldest, lateArrival);
+    }
+
+    @Test
+    void removesMessages() {
+        CommonPublicChatMessage first = createMessage(1000);
+        CommonPublicChatMessage second = createMessage(2000);
+        history.add(first);
+        history.add(second);
+        // Adding the same message again has no effect
+        history.add(second);
+        assertThat(history.size()).isEqualTo(2);
+
+        history.remove(second);
+        assertThat(history.getLatest(10)).containsExactly(first);
+        assertThat(history.hasOlderThan(ChatMessageHistory.Cursor.of(first))).isFalse();
+    }
+
+    private static CommonPublicChatMessage createMessage(long date) {
+        return new CommonPublicChatMessage(ChatChannelDomain.DISCUSSION,
+                "discussion.bisq",
+                "authorUserProfileId",
+                "text",
+                Optional.empty(),
+                date,
+                false);
+    }
+}
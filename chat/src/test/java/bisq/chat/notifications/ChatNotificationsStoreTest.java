@@ -0,0 +1,155 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.notifications;
+
+import bisq.chat.ChatChannelDomain;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChatNotificationsStoreTest {
+    private static final List<ChatChannelDomain> DOMAINS = List.of(ChatChannelDomain.BISQ_EASY_OFFERBOOK,
+            ChatChannelDomain.BISQ_EASY_OPEN_TRADES,
+            ChatChannelDomain.DISCUSSION);
+    private static final int NUM_CHANNELS = 4;
+    private static final int NUM_MESSAGES = 30;
+
+    @Test
+    void countersMatchRecountAfterRandomEvents() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            ChatNotificationsStore store = new ChatNotificationsStore();
+            for (int i = 0; i < 2_000; i++) {
+                int event = random.nextInt(100);
+                if (event < 45) {
+                    // A new copy, like the service creates it for a received message
+                    store.add(createNotification(random, random.nextInt(10) == 0));
+                } else if (event < 60) {
+                    findRandomNotification(store, random).ifPresent(store::remove);
+                } else if (event < 85) {
+                    findRandomNotification(store, random).ifPresent(store::consume);
+                } else if (event < 95) {
+                    // Consume all of a channel, like when the user reads the channel
+                    ChatChannelDomain domain = DOMAINS.get(random.nextInt(DOMAINS.size()));
+                    String channelId = createChannelId(domain, random.nextInt(NUM_CHANNELS));
+                    store.getNotConsumedNotifications(domain, channelId).forEach(store::consume);
+                } else if (event < 98) {
+                    store = restart(store);
+                } else {
+                    store = prune(store, random.nextInt(NUM_MESSAGES));
+                }
+                assertCountersMatchRecount(store);
+            }
+        }
+    }
+
+    @Test
+    void findsNotificationById() {
+        ChatNotificationsStore store = new ChatNotificationsStore();
+        ChatNotification notification = createNotification(ChatChannelDomain.DISCUSSION, 1, 2, false);
+        store.add(notification);
+
+        assertThat(store.findNotification(notification.getId())).contains(notification);
+        assertThat(store.findNotification(createNotification(ChatChannelDomain.DISCUSSION, 1, 2, true))).contains(notification);
+        assertThat(store.add(createNotification(ChatChannelDomain.DISCUSSION, 1, 2, false))).isFalse();
+
+        assertThat(store.remove(notification)).isTrue();
+        assertThat(store.findNotification(notification.getId())).isEmpty();
+        assertThat(store.getNumNotConsumedNotifications(ChatChannelDomain.DISCUSSION)).isZero();
+    }
+
+    private static void assertCountersMatchRecount(ChatNotificationsStore store) {
+        for (ChatChannelDomain domain : DOMAINS) {
+            List<ChatNotification> notConsumed = store.getNotifications().stream()
+                    .filter(ChatNotification::isNotConsumed)
+                    .filter(notification -> notification.getChatChannelDomain() == domain)
+                    .collect(Collectors.toList());
+            assertThat(store.getNumNotConsumedNotifications(domain)).isEqualTo(notConsumed.size());
+            assertThat(store.getNotConsumedNotifications(domain)).containsExactlyInAnyOrderElementsOf(notConsumed);
+            for (int channel = 0; channel < NUM_CHANNELS; channel++) {
+                String channelId = createChannelId(domain, channel);
+                long numNotConsumedInChannel = notConsumed.stream()
+                        .filter(notification -> notification.getChatChannelId().equals(channelId))
+                        .count();
+                assertThat(store.getNumNotConsumedNotifications(domain, channelId)).isEqualTo(numNotConsumedInChannel);
+            }
+        }
+        store.getNotifications().forEach(notification ->
+                assertThat(store.findNotification(notification.getId())).containsSame(notification));
+    }
+
+    private static Optional<ChatNotification> findRandomNotification(ChatNotificationsStore store, Random random) {
+        List<ChatNotification> notifications = new ArrayList<>(store.getNotifications());
+        return notifications.isEmpty()
+                ? Optional.empty()
+                : Optional.of(notifications.get(random.nextInt(notifications.size())));
+    }
+
+    // Persists and reads the notifications as at a restart of the application
+    private static ChatNotificationsStore restart(ChatNotificationsStore store) {
+        ChatNotificationsStore persisted = (ChatNotificationsStore) ChatNotificationsStore.fromProto(store.toProto(false));
+        ChatNotificationsStore restarted = new ChatNotificationsStore();
+        restarted.applyPersisted(persisted);
+        return restarted;
+    }
+
+    // Like ChatNotificationService.prunePersisted, the date of our notifications is the message index
+    private static ChatNotificationsStore prune(ChatNotificationsStore store, long pruneDate) {
+        ChatNotificationsStore pruned = new ChatNotificationsStore(store.getNotifications().stream()
+                .filter(notification -> notification.getDate() > pruneDate)
+                .collect(Collectors.toSet()));
+        ChatNotificationsStore restarted = new ChatNotificationsStore();
+        restarted.applyPersisted(pruned);
+        return restarted;
+    }
+
+    private static ChatNotification createNotification(Random random, boolean isConsumed) {
+        return createNotification(DOMAINS.get(random.nextInt(DOMAINS.size())),
+                random.nextInt(NUM_CHANNELS),
+                random.nextInt(NUM_MESSAGES),
+                isConsumed);
+    }
+
+    private static ChatNotification createNotification(ChatChannelDomain domain,
+                                                       int channel,
+                                                       int message,
+                                                       boolean isConsumed) {
+        String channelId = createChannelId(domain, channel);
+        String messageId = "message" + message;
+        return ChatNotification.fromProto(bisq.chat.protobuf.ChatNotification.newBuilder()
+                .setId(ChatNotification.createId(channelId, messageId))
+                .setTitle("title")
+                .setMessage("message")
+                .setDate(message)
+                .setChatChannelId(channelId)
+                .setChatChannelDomain(domain.toProtoEnum())
+                .setChatMessageId(messageId)
+                .setIsConsumed(isConsumed)
+                .build());
+    }
+
+    private static String createChannelId(ChatChannelDomain domain, int channel) {
+        return domain.name() + ".channel" + channel;
+    }
+}
@@ -16,13 +16,17 @@
  */
 package bisq.common.fsm;
 
-import bisq.common.data.Pair;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.InvocationTargetException;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -37,18 +41,49 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <br/>
  * The Fsm does not allow cycle graphs or transitions to previous states. For determining the order of the states we
  * use getOrdinal() which returns in case of enums the ordinal.
+ * <br/>
+ * Subclasses which do not depend on instance state in their transition config can return true at
+ * useSharedTransitionTable(). In that case the transitions are configured only once per class and the resulting
+ * TransitionTable is shared by all instances of that class.
  */
 @Slf4j
 public abstract class Fsm<M extends FsmModel> {
-    private final Map<Pair<State, Class<? extends Event>>, Transition> transitionMap = new HashMap<>();
+    private static final Map<Class<?>, TransitionTable> SHARED_TRANSITION_TABLES = new ConcurrentHashMap<>();
+
     @Getter
     protected final M model;
+    // Only set if the transition table is not shared, as then transitions can be added after construction.
+    private TransitionTable.Builder transitionTableBuilder;
+    private TransitionTable transitionTable;
+    // Set while an AsyncEventHandler is handling the event. Events received in the meantime get queued.
+    @Nullable
+    private Event pendingAsyncEvent;
 
     protected Fsm(M model) {
         this.model = model;
 
-        configErrorHandling();
-        configTransitions();
+        if (useSharedTransitionTable()) {
+            transitionTable = SHARED_TRANSITION_TABLES.computeIfAbsent(getClass(), fsmClass -> {
+                transitionTableBuilder = new TransitionTable.Builder();
+                configErrorHandling();
+                configTransitions();
+                TransitionTable table = transitionTableBuilder.build();
+                transitionTableBuilder = null;
+                return table;
+            });
+        } else {
+            transitionTableBuilder = new TransitionTable.Builder();
+            configErrorHandling();
+            configTransitions();
+        }
+    }
+
+    /**
+     * @return True if the transition config does not depend on instance state, so that the transition table can be
+     * created once and shared by all instances of the concrete Fsm class.
+     */
+    protected boolean useSharedTransitionTable() {
+        return false;
     }
 
     abstract protected void configErrorHandling();
@@ -65,11 +100,20 @@ public abstract class Fsm<M extends FsmModel> {
                     log.warn("We have reached the final state and do not allow further state transition. New event was: {}", event);
                     return;
                 }
-                log.info("Start transition from currentState {}", currentState);
                 Class<? extends Event> eventClass = event.getClass();
-                var transitionMapEntriesForEvent = findTransitionMapEntriesForEvent(eventClass);
-                checkArgument(!transitionMapEntriesForEvent.isEmpty(), "No transition found for given event " + event);
-                Optional<Transition> transition = findTransition(currentState, transitionMapEntriesForEvent);
+                if (pendingAsyncEvent != null) {
+                    log.info("We are waiting for the async handling of {}. We add the event {} to the eventQueue " +
+                                    "for processing after the transition.",
+                            pendingAsyncEvent.getClass().getSimpleName(), eventClass.getSimpleName());
+                    if (!model.processedEvents.contains(eventClass) && !eventClass.equals(pendingAsyncEvent.getClass())) {
+                        model.eventQueue.add(event);
+                    }
+                    return;
+                }
+                log.info("Start transition from currentState {}", currentState);
+                TransitionTable transitionTable = getTransitionTable();
+                checkArgument(transitionTable.hasTransitionForEvent(eventClass), "No transition found for given event " + event);
+                Optional<Transition> transition = transitionTable.findTransition(currentState, eventClass);
                 if (transition.isPresent()) {
                     State targetState = transition.get().getTargetState();
                     checkArgument(targetState.getOrdinal() > currentState.getOrdinal(),
@@ -80,36 +124,31 @@ public abstract class Fsm<M extends FsmModel> {
                         EventHandler eventHandler = newEventHandlerFromClass(eventHandlerClass.get());
                         String eventHandlerName = eventHandler.getClass().getSimpleName();
                         log.info("Handle {} at {}", event.getClass().getSimpleName(), eventHandlerName);
+                        if (eventHandler instanceof AsyncEventHandler asyncEventHandler) {
+                            pendingAsyncEvent = event;
+                            asyncEventHandler.handleAsync(event)
+                                    .whenComplete((nil, throwable) -> onAsyncEventHandled(event, targetState, throwable));
+                            return;
+                        }
                         eventHandler.handle(event);
                     }
 
-                    log.info("Transition completed to new state {}", targetState);
-                    model.setNewState(targetState);
-                    model.eventQueue.remove(event);
-                    if (targetState.isFinalState()) {
-                        model.processedEvents.clear();
-                        model.eventQueue.clear();
-                    } else {
-                        model.processedEvents.add(eventClass);
-                        // Apply all pending events to see if any of those match our current state.
-                        // If an exception is thrown by the processed pending event it will get thrown to the
-                        // caller. This would be a different triggering event as the event which cause
-                        // the exception (the one from the queue).
-                        // Clone set to avoid ConcurrentModificationException
-                        new HashSet<>(model.getEventQueue()).forEach(this::handle);
-                    }
+                    completeTransition(event, targetState);
                 } else {
                     log.info("We did not find a transition with state {} and event {}. " +
                                     "We add the event to the eventQueue for potential later processing.",
                             currentState, eventClass.getSimpleName());
                     // In case we get an event which does not match our current state we add the event to our
                     // event queue if the event was not already processed.
-                    transitionMap.keySet().stream()
-                            .filter(key -> key.getSecond().equals(eventClass) &&
-                                    !model.processedEvents.contains(eventClass))
-                            .forEach(e -> model.eventQueue.add(event));
+                    if (!model.processedEvents.contains(eventClass)) {
+                        model.eventQueue.add(event);
+                    }
                 }
             } catch (Exception exception) {
+                if (pendingAsyncEvent == event) {
+                    // The AsyncEventHandler has thrown before returning the future
+                    pendingAsyncEvent = null;
+                }
                 log.error("Error at handling {}.", event, exception);
                 FsmException fsmException = new FsmException(exception, event);
                 // In case of an exception we fire the FsmErrorEvent to trigger an error state.
@@ -124,6 +163,52 @@ public abstract class Fsm<M extends FsmModel> {
         }
     }
 
+    /**
+     * Called after the transition of an event handled by an AsyncEventHandler has completed or failed.
+     * Subclasses can override it to persist the model, as the caller of handle has returned already.
+     */
+    protected void onAsyncEventHandled(Event event) {
+    }
+
+    private void completeTransition(Event event, State targetState) {
+        log.info("Transition completed to new state {}", targetState);
+        model.setNewState(targetState);
+        model.eventQueue.remove(event);
+        if (targetState.isFinalState()) {
+            model.processedEvents.clear();
+            model.eventQueue.clear();
+        } else {
+            model.processedEvents.add(event.getClass());
+            // Apply all pending events to see if any of those match our current state.
+            // If an exception is thrown by the processed pending event it will get thrown to the
+            // caller. This would be a different triggering event as the event which cause
+            // the exception (the one from the queue).
+            // Clone set to avoid ConcurrentModificationException
+            new HashSet<>(model.getEventQueue()).forEach(this::handle);
+        }
+    }
+
+    private void onAsyncEventHandled(Event event, State targetState, Throwable throwable) {
+        synchronized (this) {
+            pendingAsyncEvent = null;
+            try {
+                if (throwable == null) {
+                    completeTransition(event, targetState);
+                } else {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause()
+                            : throwable;
+                    log.error("Error at async handling of {}.", event, cause);
+                    handle(new FsmErrorEvent(new FsmException(cause, event)));
+                }
+            } catch (FsmException fsmException) {
+                // There is no caller we could throw the exception to. The error state got already applied in handle.
+                log.error("Error at applying the transition after async handling of {}.", event, fsmException);
+            }
+        }
+        onAsyncEventHandled(event);
+    }
+
     public TransitionBuilder<M> addTransition() {
         return new TransitionBuilder<>(this);
     }
@@ -148,29 +233,23 @@ public abstract class Fsm<M extends FsmModel> {
     abstract protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException;
 
-    private Set<Map.Entry<Pair<State, Class<? extends Event>>, Transition>> findTransitionMapEntriesForEvent(Class<? extends Event> eventClass) {
-        return transitionMap.entrySet().stream()
-                .filter(e -> e.getKey().getSecond().equals(eventClass))
-                .collect(Collectors.toSet());
-    }
-
-    private Optional<Transition> findTransition(State currentState,
-                                                Set<Map.Entry<Pair<State, Class<? extends Event>>, Transition>> transitionMapEntriesForEvent) {
-        return transitionMapEntriesForEvent.stream()
-                .filter(e -> e.getKey().getFirst().equals(currentState) || e.getKey().getFirst().isAnyState())
-                .map(Map.Entry::getValue)
-                .findAny();
+    private TransitionTable getTransitionTable() {
+        if (transitionTable == null) {
+            transitionTable = transitionTableBuilder.build();
+        }
+        return transitionTable;
     }
 
     private void insertTransition(Transition transition) {
+        if (transitionTableBuilder == null) {
+            throw new FsmConfigException("Transitions of a shared transition table cannot be added after construction");
+        }
         try {
-            checkArgument(transition.isValid(), "Invalid transition. transition=%s", transition);
-            transition.getSourceStates().forEach(sourceState -> {
-                Pair<State, Class<? extends Event>> pair = new Pair<>(sourceState, transition.getEventClass());
-                checkArgument(!transitionMap.containsKey(pair),
-                        "A transition exists already with the state/event pair. pair=%s", pair);
-                transitionMap.put(pair, transition);
-            });
+            transitionTableBuilder.add(transition);
+            if (!useSharedTransitionTable()) {
+                // Rebuild at next handle call
+                transitionTable = null;
+            }
         } catch (IllegalArgumentException e) {
             throw new FsmConfigException(e);
         }
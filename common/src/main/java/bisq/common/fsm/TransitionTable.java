@@ -0,0 +1,121 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.fsm;
+
+import bisq.common.data.Pair;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Immutable lookup table of the transitions of a Fsm. The transitions of an event class are found by an identity
+ * lookup of the class and are stored in an array indexed by the enum ordinal of the source state. Thus, all source
+ * states except the ANY state must be constants of the same enum. Transitions from the ANY state are used if no
+ * transition for the specific source state exists.
+ * As the table is immutable it can be shared by all Fsm instances of the same class.
+ */
+final class TransitionTable {
+    private final Map<Class<? extends Event>, EventTransitions> transitionsByEventClass;
+    // Null if there are only transitions from the ANY state
+    @Nullable
+    private final Class<?> stateEnumClass;
+
+    private TransitionTable(Map<Class<? extends Event>, EventTransitions> transitionsByEventClass,
+                            @Nullable Class<?> stateEnumClass) {
+        this.transitionsByEventClass = transitionsByEventClass;
+        this.stateEnumClass = stateEnumClass;
+    }
+
+    boolean hasTransitionForEvent(Class<? extends Event> eventClass) {
+        return transitionsByEventClass.containsKey(eventClass);
+    }
+
+    Optional<Transition> findTransition(State currentState, Class<? extends Event> eventClass) {
+        EventTransitions eventTransitions = transitionsByEventClass.get(eventClass);
+        if (eventTransitions == null) {
+            return Optional.empty();
+        }
+        if (currentState instanceof Enum<?> enumState && enumState.getDeclaringClass() == stateEnumClass) {
+            Transition transition = eventTransitions.transitionByStateOrdinal[enumState.ordinal()];
+            if (transition != null) {
+                return Optional.of(transition);
+            }
+        }
+        return Optional.ofNullable(eventTransitions.anyStateTransition);
+    }
+
+    private static final class EventTransitions {
+        private final Transition[] transitionByStateOrdinal;
+        @Nullable
+        private Transition anyStateTransition;
+
+        private EventTransitions(int numStates) {
+            transitionByStateOrdinal = new Transition[numStates];
+        }
+    }
+
+    static class Builder {
+        private final Map<Pair<State, Class<? extends Event>>, Transition> transitionMap = new HashMap<>();
+        @Nullable
+        private Class<?> stateEnumClass;
+
+        void add(Transition transition) {
+            checkArgument(transition.isValid(), "Invalid transition. transition=%s", transition);
+            Class<?> enumClass = stateEnumClass;
+            for (State sourceState : transition.getSourceStates()) {
+                if (!sourceState.isAnyState()) {
+                    checkArgument(sourceState instanceof Enum<?>,
+                            "Source states must be enum constants. sourceState=%s", sourceState);
+                    Class<?> declaringClass = ((Enum<?>) sourceState).getDeclaringClass();
+                    checkArgument(enumClass == null || enumClass == declaringClass,
+                            "All source states must be constants of the same enum. sourceState=%s, enum=%s",
+                            sourceState, enumClass);
+                    enumClass = declaringClass;
+                }
+            }
+            stateEnumClass = enumClass;
+
+            transition.getSourceStates().forEach(sourceState -> {
+                Pair<State, Class<? extends Event>> pair = new Pair<>(sourceState, transition.getEventClass());
+                checkArgument(!transitionMap.containsKey(pair),
+                        "A transition exists already with the state/event pair. pair=%s", pair);
+                transitionMap.put(pair, transition);
+            });
+        }
+
+        TransitionTable build() {
+            int numStates = stateEnumClass != null ? stateEnumClass.getEnumConstants().length : 0;
+            Map<Class<? extends Event>, EventTransitions> transitionsByEventClass = new IdentityHashMap<>();
+            transitionMap.forEach((pair, transition) -> {
+                EventTransitions eventTransitions = transitionsByEventClass.computeIfAbsent(pair.getSecond(),
+                        eventClass -> new EventTransitions(numStates));
+                State sourceState = pair.getFirst();
+                if (sourceState.isAnyState()) {
+                    eventTransitions.anyStateTransition = transition;
+                } else {
+                    eventTransitions.transitionByStateOrdinal[((Enum<?>) sourceState).ordinal()] = transition;
+                }
+            });
+            return new TransitionTable(transitionsByEventClass, stateEnumClass);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.fsm;
+
+import bisq.common.fsm.FsmTest.MockEvent1;
+import bisq.common.fsm.FsmTest.MockEvent2;
+import bisq.common.fsm.FsmTest.MockEvent4;
+import bisq.common.fsm.FsmTest.MockModel;
+import bisq.common.fsm.FsmTest.MockState;
+import bisq.common.fsm.FsmTest.SharedTableFsm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares memory usage and event dispatch throughput of loaded Fsm instances with a per-instance transition table
+ * and with a shared transition table.
+ * Usage: FsmBenchmark [numFsms]
+ */
+public class FsmBenchmark {
+    private static final int DEFAULT_NUM_FSMS = 10_000;
+
+    public static void main(String[] args) {
+        int numFsms = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_FSMS;
+
+        // Warm up
+        run("warm up", numFsms, PerInstanceTableFsm::new);
+        run("warm up", numFsms, SharedTableFsm::new);
+
+        run("Per-instance transition table", numFsms, PerInstanceTableFsm::new);
+        run("Shared transition table", numFsms, SharedTableFsm::new);
+    }
+
+    private static void run(String name, int numFsms, Function<MockModel, Fsm<MockModel>> fsmFactory) {
+        long usedMemoryBefore = getUsedMemory();
+        long ts = System.nanoTime();
+        List<Fsm<MockModel>> fsms = new ArrayList<>(numFsms);
+        for (int i = 0; i < numFsms; i++) {
+            fsms.add(fsmFactory.apply(new MockModel(MockState.INIT)));
+        }
+        long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ts);
+        long usedMemoryAfter = getUsedMemory();
+
+        ts = System.nanoTime();
+        for (Fsm<MockModel> fsm : fsms) {
+            MockModel model = fsm.getModel();
+            fsm.handle(new MockEvent1(model, "1"));
+            fsm.handle(new MockEvent2(model, "2"));
+            fsm.handle(new MockEvent4(model, "4"));
+        }
+        long dispatchNanos = System.nanoTime() - ts;
+        long numEvents = 3L * numFsms;
+
+        if (!name.equals("warm up")) {
+            System.out.printf("%s: loaded %d fsms in %d ms, retained memory %d KB, " +
+                            "dispatched %d events in %d ms (%d events/sec)%n",
+                    name,
+                    numFsms,
+                    loadMillis,
+                    (usedMemoryAfter - usedMemoryBefore) / 1024,
+                    numEvents,
+                    TimeUnit.NANOSECONDS.toMillis(dispatchNanos),
+                    numEvents * 1_000_000_000L / Math.max(1, dispatchNanos));
+        }
+    }
+
+    private static long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class PerInstanceTableFsm extends SharedTableFsm {
+        public PerInstanceTableFsm(MockModel model) {
+            super(model);
+        }
+
+        @Override
+        protected boolean useSharedTransitionTable() {
+            return false;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import lombok.Getter;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -236,6 +238,56 @@ public class FsmTest {
         assertEquals(State.FsmState.ERROR, fsm.getModel().getState());
     }
 
+    @Test
+    void testAsyncEventHandler() {
+        MockModel model = new MockModel(MockState.INIT);
+        SimpleFsm<MockModel> fsm = new SimpleFsm<>(model);
+        fsm.addTransition()
+                .from(MockState.INIT)
+                .on(MockEvent1.class)
+                .run(AsyncMockEventHandler.class)
+                .to(MockState.S1);
+        fsm.addTransition()
+                .from(MockState.S1)
+                .on(MockEvent2.class)
+                .run(MockEventHandler.class)
+                .to(MockState.S2);
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AsyncMockEventHandler.future = future;
+        fsm.handle(new MockEvent1(model, "test1"));
+        // The transition is applied only once the async handling has completed
+        assertEquals(MockState.INIT, fsm.getModel().getState());
+
+        // Events received while waiting get applied after the transition
+        fsm.handle(new MockEvent2(model, "test2"));
+        assertEquals(MockState.INIT, fsm.getModel().getState());
+        assertNull(model.data);
+
+        future.complete(null);
+        assertEquals(MockState.S2, fsm.getModel().getState());
+        assertEquals("test2", model.data);
+    }
+
+    @Test
+    void testAsyncEventHandlerErrorState() {
+        MockModel model = new MockModel(MockState.INIT);
+        SimpleFsm<MockModel> fsm = new SimpleFsm<>(model);
+        fsm.addTransition()
+                .from(MockState.INIT)
+                .on(MockEvent1.class)
+                .run(AsyncMockEventHandler.class)
+                .to(MockState.S1);
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AsyncMockEventHandler.future = future;
+        fsm.handle(new MockEvent1(model, "test1"));
+        assertEquals(MockState.INIT, fsm.getModel().getState());
+
+        future.completeExceptionally(new RuntimeException("async handling failed"));
+        assertEquals(State.FsmState.ERROR, fsm.getModel().getState());
+    }
+
     @Test
     void testCyclicGraphFailing() {
         MockModel model = new MockModel(MockState.S1);
@@ -360,6 +412,33 @@ public class FsmTest {
         assertNull((fsm1.getModel()).data);
     }
 
+    @Test
+    void testSharedTransitionTable() {
+        MockModel model1 = new MockModel(MockState.INIT);
+        SharedTableFsm fsm1 = new SharedTableFsm(model1);
+        MockModel model2 = new MockModel(MockState.INIT);
+        SharedTableFsm fsm2 = new SharedTableFsm(model2);
+
+        fsm1.handle(new MockEvent1(model1, "test1"));
+        assertEquals(MockState.S1, fsm1.getModel().getState());
+        assertEquals(MockState.INIT, fsm2.getModel().getState());
+        assertEquals("test1", model1.data);
+        assertNull(model2.data);
+
+        // Out-of-order event gets applied after the expected event
+        fsm2.handle(new MockEvent2(model2, "test2"));
+        assertEquals(MockState.INIT, fsm2.getModel().getState());
+        fsm2.handle(new MockEvent1(model2, "test1"));
+        assertEquals(MockState.S2, fsm2.getModel().getState());
+        assertEquals("test2", model2.data);
+
+        // Shared transition table cannot be altered after construction
+        Assertions.assertThrows(FsmConfigException.class, () -> fsm1.addTransition()
+                .from(MockState.S2)
+                .on(MockEvent3.class)
+                .to(MockState.S3));
+    }
+
     @Test
     void testInvalidConfigs() {
         // fromStates empty
@@ -519,6 +598,18 @@ public class FsmTest {
                     .to(MockState.S2);
             fsm.handle(new MockEvent1(model, ""));
         });
+
+        // source states of different enums
+        Assertions.assertThrows(FsmConfigException.class, () -> {
+            MockModel model = new MockModel(MockState.INIT);
+            SimpleFsm<MockModel> fsm = new SimpleFsm<>(model);
+            fsm.addTransition()
+                    .fromStates(MockState.INIT, State.FsmState.ERROR)
+                    .on(MockEvent1.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.S1);
+            fsm.handle(new MockEvent1(model, ""));
+        });
     }
 
 
@@ -602,6 +693,49 @@ public class FsmTest {
         }
     }
 
+    public static class AsyncMockEventHandler implements AsyncEventHandler {
+        private static volatile CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+
+        @Override
+        public void handle(Event event) {
+            handleAsync(event).join();
+        }
+
+        @Override
+        public CompletableFuture<Void> handleAsync(Event event) {
+            return future;
+        }
+    }
+
+    public static class SharedTableFsm extends SimpleFsm<MockModel> {
+        public SharedTableFsm(MockModel model) {
+            super(model);
+        }
+
+        @Override
+        protected boolean useSharedTransitionTable() {
+            return true;
+        }
+
+        @Override
+        protected void configTransitions() {
+            from(MockState.INIT)
+                    .on(MockEvent1.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.S1)
+                    .then()
+                    .from(MockState.S1)
+                    .on(MockEvent2.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.S2)
+                    .then()
+                    .from(MockState.S2)
+                    .on(MockEvent4.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.COMPLETED);
+        }
+    }
+
     public static class MockModel extends FsmModel {
         public MockModel(MockState state) {
             super(state);
@@ -33,6 +33,8 @@ import bisq.common.monetary.Fiat;
 import bisq.common.monetary.Monetary;
 import bisq.common.util.StringUtils;
 import bisq.contract.bisq_easy.BisqEasyContract;
+import bisq.dto.DtoMappings;
+import bisq.dto.trade.bisq_easy.BisqEasyTradeDto;
 import bisq.http_api.rest_api.domain.RestApiBase;
 import bisq.http_api.rest_api.domain.offers.CreateOfferRequest;
 import bisq.i18n.Res;
@@ -60,6 +62,7 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
@@ -73,6 +76,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -207,6 +211,37 @@ public class TradeRestApi extends RestApiBase {
         }
     }
 
+    @GET
+    @Path("/closed")
+    @Operation(
+            summary = "Get the closed Bisq Easy trades",
+            description = "Reads the closed trades from the archive. Payment account data of closed trades is redacted.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Closed trades retrieved successfully",
+                            content = @Content(schema = @Schema(type = "array", implementation = BisqEasyTradeDto.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    public void getClosedTrades(@Suspended AsyncResponse asyncResponse) {
+        asyncResponse.setTimeout(10, TimeUnit.SECONDS);
+        asyncResponse.setTimeoutHandler(response -> {
+            response.resume(buildResponse(Response.Status.SERVICE_UNAVAILABLE, "Request timed out"));
+        });
+
+        bisqEasyTradeService.readClosedTrades()
+                .thenApply(trades -> trades.stream()
+                        .map(DtoMappings.BisqEasyTradeMapping::fromBisq2Model)
+                        .collect(Collectors.toList()))
+                .whenComplete((tradeDtos, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Error reading closed trades", throwable);
+                        asyncResponse.resume(buildErrorResponse("Failed to read closed trades"));
+                    } else {
+                        asyncResponse.resume(buildOkResponse(tradeDtos));
+                    }
+                });
+    }
+
     @PATCH
     @Path("/{tradeId}/event")
     @Operation(
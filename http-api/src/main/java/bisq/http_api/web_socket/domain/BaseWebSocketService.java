@@ -23,9 +23,10 @@ import bisq.http_api.web_socket.subscription.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.glassfish.grizzly.websockets.WebSocket;
 
+import java.util.Collection;
 import java.util.Optional;
-import java.util.Set;
 
 @Slf4j
 public abstract class BaseWebSocketService implements Service {
@@ -43,6 +44,19 @@ public abstract class BaseWebSocketService implements Service {
 
     abstract public Optional<String> getJsonPayload();
 
+    public void subscribe(SubscriptionRequest request, WebSocket webSocket) {
+        Subscriber subscriber = subscriberRepository.add(request, webSocket);
+        getJsonPayload().ifPresent(json -> sendSubscriptionResponse(request, subscriber, json));
+    }
+
+    protected void sendSubscriptionResponse(SubscriptionRequest request, Subscriber subscriber, String json) {
+        new SubscriptionResponse(request.getRequestId(), json, null).toJson(objectMapper)
+                .ifPresent(responseJson -> {
+                    log.debug("Send SubscriptionResponse for topic {} to subscriber {}", topic, subscriber.getSubscriberId());
+                    subscriber.sendSubscriptionResponse(responseJson);
+                });
+    }
+
     //todo
     protected <T> Optional<String> toJson(T payload) {
         try {
@@ -53,7 +67,7 @@ public abstract class BaseWebSocketService implements Service {
         return Optional.empty();
     }
 
-    protected void send(Set<Subscriber> subscribers,
+    protected void send(Collection<Subscriber> subscribers,
                         Optional<String> jsonPayload,
                         Topic topic,
                         ModificationType modificationType) {
@@ -72,22 +86,19 @@ public abstract class BaseWebSocketService implements Service {
     }
 
     protected void send(String json,
-                        Set<Subscriber> subscribers,
+                        Collection<Subscriber> subscribers,
                         Topic topic,
                         ModificationType modificationType) {
-        subscribers.forEach(subscriber -> send(json, subscriber, modificationType));
+        // We encode the event once and only append the subscriber specific fields per subscriber
+        EncodedWebSocketEvent.encode(objectMapper, topic, json, modificationType)
+                .ifPresent(event -> subscribers.forEach(subscriber -> subscriber.send(event)));
     }
 
     protected void send(String json,
                         Subscriber subscriber,
                         ModificationType modificationType) {
-        log.info("Sending json with modificationType {} to subscriber: {}. json={}", subscriber, modificationType, json);
-        WebSocketEvent.toJson(objectMapper,
-                        subscriber.getTopic(),
-                        subscriber.getSubscriberId(),
-                        json,
-                        modificationType,
-                        subscriber.incrementAndGetSequenceNumber())
+        log.debug("Sending json with modificationType {} to subscriber: {}", modificationType, subscriber.getSubscriberId());
+        EncodedWebSocketEvent.encode(objectMapper, subscriber.getTopic(), json, modificationType)
                 .ifPresent(subscriber::send);
     }
 }
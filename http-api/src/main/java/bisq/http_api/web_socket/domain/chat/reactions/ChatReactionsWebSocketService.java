@@ -185,7 +185,7 @@ public class ChatReactionsWebSocketService extends BaseWebSocketService {
         // The payload is defined as a list to support batch data delivery at subscribe.
         subscriberRepository.findSubscribers(topic).ifPresent(subscribers -> {
             toJson(reactions).ifPresent(json -> {
-                subscribers.forEach(subscriber -> send(json, subscriber, modificationType));
+                send(json, subscribers, topic, modificationType);
             });
         });
     }
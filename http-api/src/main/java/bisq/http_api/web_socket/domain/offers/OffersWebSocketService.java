@@ -20,7 +20,6 @@ package bisq.http_api.web_socket.domain.offers;
 import bisq.bonded_roles.BondedRolesService;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.ChatService;
-import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannel;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookChannelService;
 import bisq.chat.bisq_easy.offerbook.BisqEasyOfferbookMessage;
 import bisq.common.observable.Pin;
@@ -28,8 +27,9 @@ import bisq.common.observable.collection.CollectionObserver;
 import bisq.dto.presentation.offerbook.OfferItemPresentationDtoFactory;
 import bisq.dto.presentation.offerbook.OfferItemPresentationDto;
 import bisq.http_api.web_socket.domain.BaseWebSocketService;
-import bisq.http_api.web_socket.subscription.ModificationType;
+import bisq.http_api.web_socket.subscription.Subscriber;
 import bisq.http_api.web_socket.subscription.SubscriberRepository;
+import bisq.http_api.web_socket.subscription.SubscriptionRequest;
 import bisq.user.UserService;
 import bisq.user.identity.UserIdentityService;
 import bisq.user.profile.UserProfileService;
@@ -37,14 +37,23 @@ import bisq.user.reputation.ReputationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.NotImplementedException;
+import org.glassfish.grizzly.websockets.WebSocket;
 
-import java.util.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static bisq.http_api.web_socket.subscription.Topic.OFFERS;
 
+/**
+ * Delivers the Bisq Easy offers. Note that the payload format has changed from a list of OfferItemPresentationDto to
+ * the versioned offerbook format: The subscription response is a VersionedOfferbook.Sync (epoch, sequenceNumber,
+ * isSnapshot, offers, deltas) and each event is a list of VersionedOfferbook.Delta (sequenceNumber, modificationType,
+ * offerId, quoteCurrencyCode, offer), with the OfferItemPresentationDto as offer. Clients need to be updated
+ * accordingly.
+ */
 @Slf4j
 public class OffersWebSocketService extends BaseWebSocketService {
     private final BisqEasyOfferbookChannelService bisqEasyOfferbookChannelService;
@@ -53,6 +62,11 @@ public class OffersWebSocketService extends BaseWebSocketService {
     private final UserIdentityService userIdentityService;
     private final MarketPriceService marketPriceService;
     private final Set<Pin> pins = new HashSet<>();
+    // We keep the offer messages and map them to the OfferItemPresentationDto when we send them, as the DTO contains
+    // data which changes over time (e.g. formatted price, reputation score, isMyOffer).
+    // We synchronize on the offerbook for applying changes and sending the deltas as well as for subscriptions, so that
+    // the subscription response is delivered before any delta with a higher sequence number.
+    private final VersionedOfferbook<BisqEasyOfferbookMessage> offerbook = new VersionedOfferbook<>();
 
     public OffersWebSocketService(ObjectMapper objectMapper,
                                   SubscriberRepository subscriberRepository,
@@ -77,7 +91,7 @@ public class OffersWebSocketService extends BaseWebSocketService {
                 @Override
                 public void add(BisqEasyOfferbookMessage message) {
                     if (message.hasBisqEasyOffer()) {
-                        send(quoteCurrencyCode, message, ModificationType.ADDED);
+                        onOfferAdded(quoteCurrencyCode, message);
                     }
                 }
 
@@ -85,7 +99,7 @@ public class OffersWebSocketService extends BaseWebSocketService {
                 public void remove(Object element) {
                     if (element instanceof BisqEasyOfferbookMessage message) {
                         if (message.hasBisqEasyOffer()) {
-                            send(quoteCurrencyCode, message, ModificationType.REMOVED);
+                            onOfferRemoved(message);
                         }
                     }
                 }
@@ -108,45 +122,74 @@ public class OffersWebSocketService extends BaseWebSocketService {
 
     @Override
     public Optional<String> getJsonPayload() {
-        return getJsonPayload(bisqEasyOfferbookChannelService.getChannels().stream());
+        synchronized (offerbook) {
+            return toJson(toDtoSync(offerbook.getSync(null, null, null)));
+        }
     }
 
-    private Optional<String> getJsonPayload(Stream<BisqEasyOfferbookChannel> channels) {
-        ArrayList<OfferItemPresentationDto> payload = channels
-                .flatMap(channel ->
-                        channel.getChatMessages().stream()
-                                .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
-                                .map(message -> {
-                                    try {
-                                        return createOfferListItemDto(message);
-                                    } catch (Exception e) {
-                                        log.error("Failed to create OfferListItemDto", e);
-                                        return null;
-                                    }
-                                })
-                                .filter(Objects::nonNull))
-                .collect(Collectors.toCollection(ArrayList::new));
-        return toJson(payload);
+    /**
+     * New clients get a snapshot of the offers with the current epoch and sequence number. Reconnecting clients which
+     * provide the epoch and their last sequence number get only the missed deltas if those are still available.
+     * If the epoch does not match (e.g. after a server restart) they get a snapshot.
+     */
+    @Override
+    public void subscribe(SubscriptionRequest request, WebSocket webSocket) {
+        synchronized (offerbook) {
+            Subscriber subscriber = subscriberRepository.add(request, webSocket);
+            VersionedOfferbook.Sync<BisqEasyOfferbookMessage> sync = offerbook.getSync(request.getLastEpoch(),
+                    request.getLastSequenceNumber(),
+                    request.getParameter());
+            toJson(toDtoSync(sync))
+                    .ifPresent(json -> sendSubscriptionResponse(request, subscriber, json));
+        }
     }
 
-    private void send(String quoteCurrencyCode,
-                      BisqEasyOfferbookMessage bisqEasyOfferbookMessage,
-                      ModificationType modificationType) {
-        OfferItemPresentationDto item = createOfferListItemDto(bisqEasyOfferbookMessage);
-        // The payload is defined as a list to support batch data delivery at subscribe.
-        ArrayList<OfferItemPresentationDto> payload = new ArrayList<>(List.of(item));
-        toJson(payload).ifPresent(json -> {
-            subscriberRepository.findSubscribers(topic, quoteCurrencyCode)
-                    .ifPresent(subscribers -> subscribers
-                            .forEach(subscriber -> send(json, subscriber, modificationType)));
-        });
+    private void onOfferAdded(String quoteCurrencyCode, BisqEasyOfferbookMessage message) {
+        String offerId = message.getBisqEasyOffer().orElseThrow().getId();
+        synchronized (offerbook) {
+            offerbook.add(offerId, quoteCurrencyCode, message).ifPresent(this::send);
+        }
+    }
+
+    private void onOfferRemoved(BisqEasyOfferbookMessage message) {
+        String offerId = message.getBisqEasyOffer().orElseThrow().getId();
+        synchronized (offerbook) {
+            offerbook.remove(offerId).ifPresent(this::send);
+        }
+    }
+
+    private void send(VersionedOfferbook.Delta<BisqEasyOfferbookMessage> delta) {
+        subscriberRepository.findSubscribers(topic, delta.quoteCurrencyCode())
+                .ifPresent(subscribers -> toDtoDelta(delta).ifPresent(dtoDelta -> {
+                    // The payload is defined as a list to support batch data delivery.
+                    toJson(List.of(dtoDelta)).ifPresent(json -> send(json, subscribers, topic, delta.modificationType()));
+                }));
+    }
+
+    private VersionedOfferbook.Sync<OfferItemPresentationDto> toDtoSync(VersionedOfferbook.Sync<BisqEasyOfferbookMessage> sync) {
+        List<OfferItemPresentationDto> offers = sync.offers().stream()
+                .flatMap(message -> createOfferListItemDto(message).stream())
+                .toList();
+        List<VersionedOfferbook.Delta<OfferItemPresentationDto>> deltas = sync.deltas().stream()
+                .flatMap(delta -> toDtoDelta(delta).stream())
+                .toList();
+        return new VersionedOfferbook.Sync<>(sync.epoch(), sync.sequenceNumber(), sync.isSnapshot(), offers, deltas);
+    }
+
+    private Optional<VersionedOfferbook.Delta<OfferItemPresentationDto>> toDtoDelta(VersionedOfferbook.Delta<BisqEasyOfferbookMessage> delta) {
+        return createOfferListItemDto(delta.offer()).map(delta::withOffer);
     }
 
-    private OfferItemPresentationDto createOfferListItemDto(BisqEasyOfferbookMessage bisqEasyOfferbookMessage) {
-        return OfferItemPresentationDtoFactory.create(userProfileService,
-                userIdentityService,
-                reputationService,
-                marketPriceService,
-                bisqEasyOfferbookMessage);
+    private Optional<OfferItemPresentationDto> createOfferListItemDto(BisqEasyOfferbookMessage bisqEasyOfferbookMessage) {
+        try {
+            return Optional.of(OfferItemPresentationDtoFactory.create(userProfileService,
+                    userIdentityService,
+                    reputationService,
+                    marketPriceService,
+                    bisqEasyOfferbookMessage));
+        } catch (Exception e) {
+            log.error("Failed to create OfferListItemDto", e);
+            return Optional.empty();
+        }
     }
 }
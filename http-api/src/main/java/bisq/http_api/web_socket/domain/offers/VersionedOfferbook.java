@@ -0,0 +1,171 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.http_api.web_socket.domain.offers;
+
+import bisq.http_api.web_socket.subscription.ModificationType;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Server side state of the offers topic. Each add or remove of an offer increases the sequence number and is kept
+ * as delta in a bounded log. A client gets a snapshot with the sequence number at subscription and applies all
+ * deltas with a higher sequence number. A reconnecting client which provides its last sequence number gets only the
+ * deltas it has missed, as long as those are still in the log. Otherwise, it gets a new snapshot.
+ * <p>
+ * The sequence numbers start at 0 with each instance (e.g. after a server restart). Therefore, each instance has a
+ * random epoch which is delivered with the sync. Deltas are only replayed if the client provides the epoch of the
+ * current instance together with its last sequence number.
+ * <p>
+ * The quoteCurrencyCode is used for filtering the offers by market.
+ * Not thread safe. The caller has to synchronize on the instance.
+ *
+ * @param <T> The type of the offer item delivered to the clients.
+ */
+public class VersionedOfferbook<T> {
+    static final int DEFAULT_MAX_DELTAS = 10_000;
+
+    public record Delta<T>(long sequenceNumber,
+                           ModificationType modificationType,
+                           String offerId,
+                           String quoteCurrencyCode,
+                           T offer) {
+        public <R> Delta<R> withOffer(R offer) {
+            return new Delta<>(sequenceNumber, modificationType, offerId, quoteCurrencyCode, offer);
+        }
+    }
+
+    /**
+     * @param epoch          The random ID of the offerbook instance the sequence numbers refer to.
+     * @param sequenceNumber The sequence number of the most recent change included in the sync.
+     * @param isSnapshot     If true, offers contains the full state. Otherwise, deltas contains the missed changes.
+     */
+    public record Sync<T>(String epoch,
+                          long sequenceNumber,
+                          boolean isSnapshot,
+                          List<T> offers,
+                          List<Delta<T>> deltas) {
+    }
+
+    private record Entry<T>(String quoteCurrencyCode, T offer) {
+    }
+
+    private final int maxDeltas;
+    private final String epoch = UUID.randomUUID().toString();
+    private final Map<String, Entry<T>> entryByOfferId = new LinkedHashMap<>();
+    private final Deque<Delta<T>> deltas = new ArrayDeque<>();
+    private long sequenceNumber;
+
+    public VersionedOfferbook() {
+        this(DEFAULT_MAX_DELTAS);
+    }
+
+    VersionedOfferbook(int maxDeltas) {
+        this.maxDeltas = maxDeltas;
+    }
+
+    /**
+     * @return The delta if the offer was not present yet, otherwise empty.
+     */
+    public Optional<Delta<T>> add(String offerId, String quoteCurrencyCode, T offer) {
+        if (entryByOfferId.containsKey(offerId)) {
+            return Optional.empty();
+        }
+        entryByOfferId.put(offerId, new Entry<>(quoteCurrencyCode, offer));
+        return Optional.of(addDelta(ModificationType.ADDED, offerId, quoteCurrencyCode, offer));
+    }
+
+    /**
+     * @return The delta if the offer was present, otherwise empty.
+     */
+    public Optional<Delta<T>> remove(String offerId) {
+        Entry<T> entry = entryByOfferId.remove(offerId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(addDelta(ModificationType.REMOVED, offerId, entry.quoteCurrencyCode(), entry.offer()));
+    }
+
+    /**
+     * @param lastEpoch          The epoch of the last sync the client has received, or null for a new client.
+     * @param lastSequenceNumber The last sequence number the client has applied, or null for a new client.
+     * @param quoteCurrencyCode  The market of the subscription, or null for all markets.
+     */
+    public Sync<T> getSync(@Nullable String lastEpoch,
+                           @Nullable Long lastSequenceNumber,
+                           @Nullable String quoteCurrencyCode) {
+        if (epoch.equals(lastEpoch) &&
+                lastSequenceNumber != null &&
+                lastSequenceNumber <= sequenceNumber &&
+                canReplayFrom(lastSequenceNumber)) {
+            List<Delta<T>> missed = deltas.stream()
+                    .filter(delta -> delta.sequenceNumber() > lastSequenceNumber)
+                    .filter(delta -> matches(delta.quoteCurrencyCode(), quoteCurrencyCode))
+                    .toList();
+            return new Sync<>(epoch, sequenceNumber, false, List.of(), missed);
+        }
+
+        List<T> offers = new ArrayList<>();
+        entryByOfferId.values().stream()
+                .filter(entry -> matches(entry.quoteCurrencyCode(), quoteCurrencyCode))
+                .forEach(entry -> offers.add(entry.offer()));
+        return new Sync<>(epoch, sequenceNumber, true, offers, List.of());
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public int size() {
+        return entryByOfferId.size();
+    }
+
+    private boolean canReplayFrom(long lastSequenceNumber) {
+        if (lastSequenceNumber == sequenceNumber) {
+            return true;
+        }
+        Delta<T> oldest = deltas.peekFirst();
+        // The delta following lastSequenceNumber must still be in the log
+        return oldest != null && oldest.sequenceNumber() <= lastSequenceNumber + 1;
+    }
+
+    private Delta<T> addDelta(ModificationType modificationType, String offerId, String quoteCurrencyCode, T offer) {
+        sequenceNumber++;
+        Delta<T> delta = new Delta<>(sequenceNumber, modificationType, offerId, quoteCurrencyCode, offer);
+        deltas.addLast(delta);
+        if (deltas.size() > maxDeltas) {
+            deltas.pollFirst();
+        }
+        return delta;
+    }
+
+    private static boolean matches(String quoteCurrencyCode, @Nullable String filter) {
+        return filter == null || filter.equals(quoteCurrencyCode);
+    }
+}
@@ -222,10 +222,8 @@ public class TradePropertiesWebSocketService extends BaseWebSocketService {
 
     private void send(List<Map<String, TradePropertiesDto>> maps) {
         // The payload is defined as a list to support batch data delivery at subscribe.
-        toJson(maps).ifPresent(json -> {
-            subscriberRepository.findSubscribers(topic)
-                    .ifPresent(subscribers -> subscribers
-                            .forEach(subscriber -> send(json, subscriber, ModificationType.REPLACE)));
-        });
+        subscriberRepository.findSubscribers(topic)
+                .ifPresent(subscribers -> toJson(maps)
+                        .ifPresent(json -> send(json, subscribers, topic, ModificationType.REPLACE)));
     }
 }
@@ -94,10 +94,8 @@ public class TradesWebSocketService extends BaseWebSocketService {
 
     private void send(List<TradeItemPresentationDto> items, ModificationType modificationType) {
         // The payload is defined as a list to support batch data delivery at subscribe.
-        toJson(items).ifPresent(json -> {
-            subscriberRepository.findSubscribers(topic)
-                    .ifPresent(subscribers -> subscribers
-                            .forEach(subscriber -> send(json, subscriber, modificationType)));
-        });
+        subscriberRepository.findSubscribers(topic)
+                .ifPresent(subscribers -> toJson(items)
+                        .ifPresent(json -> send(json, subscribers, topic, modificationType)));
     }
 }
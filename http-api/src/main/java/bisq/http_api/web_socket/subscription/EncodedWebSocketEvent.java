@@ -0,0 +1,76 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.http_api.web_socket.subscription;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+
+/**
+ * A WebSocketEvent which is serialized once for all subscribers of a topic. Only the subscriberId and the
+ * sequenceNumber differ per subscriber. As those are the last properties of the WebSocketEvent json, we keep the
+ * serialized prefix and append the subscriber specific properties at delivery.
+ */
+@Slf4j
+public class EncodedWebSocketEvent {
+    private static final String TEMPLATE_SUBSCRIBER_ID = "";
+    private static final int TEMPLATE_SEQUENCE_NUMBER = 0;
+    private static final String TEMPLATE_SUFFIX = "\"subscriberId\":\"\",\"sequenceNumber\":0}";
+
+    public static Optional<EncodedWebSocketEvent> encode(ObjectMapper objectMapper,
+                                                         Topic topic,
+                                                         String payload,
+                                                         ModificationType modificationType) {
+        return WebSocketEvent.toJson(objectMapper,
+                        topic,
+                        TEMPLATE_SUBSCRIBER_ID,
+                        payload,
+                        modificationType,
+                        TEMPLATE_SEQUENCE_NUMBER)
+                .flatMap(template -> {
+                    if (!template.endsWith(TEMPLATE_SUFFIX)) {
+                        log.error("Unexpected WebSocketEvent json format. json={}", template);
+                        return Optional.empty();
+                    }
+                    String prefix = template.substring(0, template.length() - TEMPLATE_SUFFIX.length());
+                    return Optional.of(new EncodedWebSocketEvent(prefix, modificationType));
+                });
+    }
+
+    private final String prefix;
+    @Getter
+    private final ModificationType modificationType;
+
+    private EncodedWebSocketEvent(String prefix, ModificationType modificationType) {
+        this.prefix = prefix;
+        this.modificationType = modificationType;
+    }
+
+    public String toJson(String subscriberId, int sequenceNumber) {
+        char[] quotedSubscriberId = JsonStringEncoder.getInstance().quoteAsString(subscriberId);
+        return new StringBuilder(prefix.length() + quotedSubscriberId.length + 40)
+                .append(prefix)
+                .append("\"subscriberId\":\"").append(quotedSubscriberId)
+                .append("\",\"sequenceNumber\":").append(sequenceNumber)
+                .append('}')
+                .toString();
+    }
+}
@@ -17,28 +17,50 @@
 
 package bisq.http_api.web_socket.subscription;
 
-import bisq.common.threading.ExecutorFactory;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.glassfish.grizzly.CompletionHandler;
 import org.glassfish.grizzly.websockets.DataFrame;
 import org.glassfish.grizzly.websockets.WebSocket;
 
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Delivers the events of a topic to a client. Events are queued in a bounded outbound queue and sent one after the
+ * other without blocking a thread while the write is pending. If the client is slow, pending REPLACE events get
+ * coalesced to the most recent one, and if the queue is full, the oldest event is dropped. The client can detect
+ * dropped events by the gap in the sequence numbers.
+ */
 @Slf4j
 @Getter
-@EqualsAndHashCode
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Subscriber {
+    static final int MAX_QUEUE_SIZE = 200;
+
+    private record OutboundEvent(String json, @Nullable ModificationType modificationType) {
+    }
+
+    @EqualsAndHashCode.Include
     private final Topic topic;
+    @EqualsAndHashCode.Include
     private final Optional<String> parameter;
+    @EqualsAndHashCode.Include
     private final String subscriberId;
+    @EqualsAndHashCode.Include
     private final WebSocket webSocket;
     private final AtomicInteger sequenceNumber = new AtomicInteger(0); // sequenceNumber start with 0 at subscribe time and gets increased at each emitted WebSocketEvent
-    private final ExecutorService executorService;
+    @Getter(AccessLevel.NONE)
+    private final Deque<OutboundEvent> outboundQueue = new ArrayDeque<>();
+    @Getter(AccessLevel.NONE)
+    private boolean isSending;
+    @Getter(AccessLevel.NONE)
+    private boolean isDropping;
 
     public Subscriber(Topic topic,
                       Optional<String> parameter,
@@ -48,23 +70,102 @@ public class Subscriber {
         this.parameter = parameter;
         this.subscriberId = subscriberId;
         this.webSocket = webSocket;
-        executorService = ExecutorFactory.newSingleThreadExecutor("Subscriber-" + topic.name() + "-" + subscriberId);
     }
 
     public int incrementAndGetSequenceNumber() {
         return sequenceNumber.incrementAndGet();
     }
 
-    public CompletableFuture<Boolean> send(String json) {
-        log.info("Send json: {}", json);
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                DataFrame dataFrame = webSocket.send(json).get();
-                return true;
-            } catch (Exception e) {
-                log.error("Sending webSocketEvent failed", e);
-                return false;
+    public void send(EncodedWebSocketEvent event) {
+        boolean startSending;
+        synchronized (outboundQueue) {
+            // We assign the sequence number inside the lock, so that the events are queued in the order of their
+            // sequence numbers if send is called concurrently.
+            startSending = enqueue(event.toJson(subscriberId, incrementAndGetSequenceNumber()), event.getModificationType());
+        }
+        if (startSending) {
+            sendNext();
+        }
+    }
+
+    /**
+     * Sends the SubscriptionResponse through the outbound queue, so that it is delivered in order with the events.
+     */
+    public void sendSubscriptionResponse(String json) {
+        boolean startSending;
+        synchronized (outboundQueue) {
+            startSending = enqueue(json, null);
+        }
+        if (startSending) {
+            sendNext();
+        }
+    }
+
+    int getOutboundQueueSize() {
+        synchronized (outboundQueue) {
+            return outboundQueue.size();
+        }
+    }
+
+    // Must be called while holding the lock on outboundQueue. Returns true if sending needs to be started.
+    private boolean enqueue(String json, @Nullable ModificationType modificationType) {
+        if (modificationType == ModificationType.REPLACE) {
+            // A REPLACE event contains the full data, thus pending REPLACE events are outdated
+            outboundQueue.removeIf(pending -> pending.modificationType() == ModificationType.REPLACE);
+        }
+        if (outboundQueue.size() >= MAX_QUEUE_SIZE) {
+            outboundQueue.pollFirst();
+            if (!isDropping) {
+                isDropping = true;
+                log.warn("Outbound queue of subscriber {} for topic {} is full. We drop the oldest events.",
+                        subscriberId, topic);
+            }
+        }
+        outboundQueue.addLast(new OutboundEvent(json, modificationType));
+        if (isSending) {
+            return false;
+        }
+        isSending = true;
+        return true;
+    }
+
+    private void sendNext() {
+        OutboundEvent event;
+        synchronized (outboundQueue) {
+            event = outboundQueue.pollFirst();
+            if (event == null || !webSocket.isConnected()) {
+                outboundQueue.clear();
+                isSending = false;
+                isDropping = false;
+                return;
             }
-        }, executorService);
+        }
+
+        try {
+            webSocket.send(event.json()).addCompletionHandler(new CompletionHandler<>() {
+                @Override
+                public void cancelled() {
+                    sendNext();
+                }
+
+                @Override
+                public void failed(Throwable throwable) {
+                    log.warn("Sending webSocketEvent to subscriber {} failed", subscriberId, throwable);
+                    sendNext();
+                }
+
+                @Override
+                public void completed(DataFrame result) {
+                    sendNext();
+                }
+
+                @Override
+                public void updated(DataFrame result) {
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Sending webSocketEvent to subscriber {} failed", subscriberId, e);
+            sendNext();
+        }
     }
 }
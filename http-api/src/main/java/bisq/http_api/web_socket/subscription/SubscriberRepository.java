@@ -17,76 +17,99 @@
 
 package bisq.http_api.web_socket.subscription;
 
-import bisq.common.observable.map.ObservableHashMap;
 import bisq.common.util.StringUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.glassfish.grizzly.websockets.WebSocket;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Subscribers are indexed by topic and subscriber key and by the webSocket, so that lookups at sending events and
+ * removal at closed connections do not need to iterate all subscribers. The concurrent maps do not require a global
+ * lock.
+ * As the subscriberId is chosen by the client, the key contains the webSocket as well, so that clients using the same
+ * subscriberId do not replace or remove the subscriptions of each other.
+ */
 @Slf4j
 public class SubscriberRepository {
-    private final ObservableHashMap<Topic, Set<Subscriber>> subscribersByTopic = new ObservableHashMap<>();
-    private final Object subscribersByTopicLock = new Object();
+    private record SubscriberKey(WebSocket webSocket, String subscriberId) {
+        private static SubscriberKey from(Subscriber subscriber) {
+            return new SubscriberKey(subscriber.getWebSocket(), subscriber.getSubscriberId());
+        }
+    }
+
+    private final Map<Topic, Map<SubscriberKey, Subscriber>> subscribersByTopic = new ConcurrentHashMap<>();
+    private final Map<WebSocket, Set<Subscriber>> subscribersByWebSocket = new ConcurrentHashMap<>();
 
     public void onConnectionClosed(WebSocket webSocket) {
-        findSubscribers(webSocket).forEach(this::remove);
+        Set<Subscriber> subscribers = subscribersByWebSocket.remove(webSocket);
+        if (subscribers != null) {
+            subscribers.forEach(subscriber ->
+                    Optional.ofNullable(subscribersByTopic.get(subscriber.getTopic()))
+                            .ifPresent(map -> map.remove(SubscriberKey.from(subscriber), subscriber)));
+        }
     }
 
-    public void add(SubscriptionRequest request, WebSocket webSocket) {
+    public Subscriber add(SubscriptionRequest request, WebSocket webSocket) {
         Topic topic = request.getTopic();
         Optional<String> parameter = StringUtils.toOptional(request.getParameter());
         Subscriber subscriber = new Subscriber(topic, parameter, request.getRequestId(), webSocket);
-        synchronized (subscribersByTopicLock) {
-            Set<Subscriber> subscribers = subscribersByTopic.computeIfAbsent(topic, key -> new HashSet<>());
-            subscribers.add(subscriber);
+        Subscriber previous = subscribersByTopic.computeIfAbsent(topic, key -> new ConcurrentHashMap<>())
+                .put(SubscriberKey.from(subscriber), subscriber);
+        if (previous != null) {
+            removeFromWebSocketIndex(previous);
         }
+        subscribersByWebSocket.compute(webSocket, (key, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        return subscriber;
     }
 
     public void remove(Subscriber subscriber) {
-        remove(subscriber.getTopic(), subscriber.getSubscriberId());
+        remove(subscriber.getTopic(), subscriber.getSubscriberId(), subscriber.getWebSocket());
     }
 
-    public void remove(Topic topic, String subscriberId) {
-        synchronized (subscribersByTopicLock) {
-            Optional.ofNullable(subscribersByTopic.get(topic))
-                    .ifPresent(subscribers -> {
-                        subscribers.removeIf(subscriber ->
-                                subscriber.getSubscriberId().equals(subscriberId));
-                        if (subscribers.isEmpty()) {
-                            subscribersByTopic.remove(topic);
-                        }
-                    });
-        }
+    public void remove(Topic topic, String subscriberId, WebSocket webSocket) {
+        Optional.ofNullable(subscribersByTopic.get(topic))
+                .map(map -> map.remove(new SubscriberKey(webSocket, subscriberId)))
+                .ifPresent(this::removeFromWebSocketIndex);
     }
 
-    public Optional<Set<Subscriber>> findSubscribers(Topic topic) {
-        synchronized (subscribersByTopicLock) {
-            return Optional.ofNullable(subscribersByTopic.get(topic))
-                    .filter(subscribers -> !subscribers.isEmpty());
-        }
+    public Optional<Collection<Subscriber>> findSubscribers(Topic topic) {
+        return Optional.ofNullable(subscribersByTopic.get(topic))
+                .filter(map -> !map.isEmpty())
+                .map(Map::values);
     }
 
-    public Optional<Set<Subscriber>> findSubscribers(Topic topic, String parameter) {
-        synchronized (subscribersByTopicLock) {
-            return findSubscribers(topic)
-                    .map(set -> set.stream()
-                            .filter(subscriber -> subscriber.getParameter()
-                                    .map(param -> param.equals(parameter))
-                                    .orElse(true))
-                            .collect(Collectors.toSet()));
-        }
+    public Optional<Collection<Subscriber>> findSubscribers(Topic topic, String parameter) {
+        List<Subscriber> subscribers = findSubscribers(topic).stream()
+                .flatMap(Collection::stream)
+                .filter(subscriber -> subscriber.getParameter()
+                        .map(param -> param.equals(parameter))
+                        .orElse(true))
+                .collect(Collectors.toList());
+        return subscribers.isEmpty() ? Optional.empty() : Optional.of(subscribers);
     }
 
     public Set<Subscriber> findSubscribers(WebSocket webSocket) {
-        synchronized (subscribersByTopicLock) {
-            return subscribersByTopic.values().stream()
-                    .flatMap(set -> set.stream()
-                            .filter(subscriber -> subscriber.getWebSocket().equals(webSocket)))
-                    .collect(Collectors.toSet());
-        }
+        return Optional.ofNullable(subscribersByWebSocket.get(webSocket))
+                .<Set<Subscriber>>map(HashSet::new)
+                .orElseGet(HashSet::new);
+    }
+
+    private void removeFromWebSocketIndex(Subscriber subscriber) {
+        subscribersByWebSocket.computeIfPresent(subscriber.getWebSocket(), (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
     }
 }
@@ -37,6 +37,12 @@ public class SubscriptionRequest implements WebSocketMessage {
     private Topic topic;
     @Nullable
     private String parameter;
+    // Epoch and last sequence number a reconnecting client has received. Only supported by topics with sequenced
+    // deltas (OFFERS). The sequence number is only valid for the same epoch, as a server restart starts a new epoch.
+    @Nullable
+    private String lastEpoch;
+    @Nullable
+    private Long lastSequenceNumber;
 
     public static Optional<SubscriptionRequest> fromJson(ObjectMapper objectMapper, String json) {
         try {
@@ -120,19 +120,13 @@ public class SubscriptionService implements Service {
 
     private void subscribe(SubscriptionRequest request, WebSocket webSocket) {
         log.info("Received subscription request: {}", request);
-        subscriberRepository.add(request, webSocket);
         findWebSocketService(request.getTopic())
-                .flatMap(BaseWebSocketService::getJsonPayload)
-                .flatMap(json -> new SubscriptionResponse(request.getRequestId(), json, null)
-                        .toJson(objectMapper))
-                .ifPresent(json -> {
-                    log.info("Send SubscriptionResponse json: {}", json);
-                    webSocket.send(json);
-                });
+                .ifPresentOrElse(service -> service.subscribe(request, webSocket),
+                        () -> subscriberRepository.add(request, webSocket));
     }
 
-    public void unSubscribe(Topic topic, String subscriberId) {
-        subscriberRepository.remove(topic, subscriberId);
+    public void unSubscribe(Topic topic, String subscriberId, WebSocket webSocket) {
+        subscriberRepository.remove(topic, subscriberId, webSocket);
     }
 
     private Optional<BaseWebSocketService> findWebSocketService(Topic topic) {
@@ -20,6 +20,7 @@ package bisq.http_api.web_socket.subscription;
 import bisq.http_api.web_socket.WebSocketMessage;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.EqualsAndHashCode;
@@ -33,6 +34,8 @@ import java.util.Optional;
 @Getter
 @EqualsAndHashCode
 @ToString
+// The per-subscriber fields are the last properties, so that EncodedWebSocketEvent can reuse the encoded prefix
+@JsonPropertyOrder({"topic", "payload", "modificationType", "subscriberId", "sequenceNumber"})
 public class WebSocketEvent implements WebSocketMessage {
     private final Topic topic;
     private final String subscriberId;
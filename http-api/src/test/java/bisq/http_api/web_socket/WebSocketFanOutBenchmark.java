@@ -0,0 +1,214 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.http_api.web_socket;
+
+import bisq.http_api.web_socket.domain.BaseWebSocketService;
+import bisq.http_api.web_socket.subscription.ModificationType;
+import bisq.http_api.web_socket.subscription.SubscriberRepository;
+import bisq.http_api.web_socket.subscription.SubscriptionRequest;
+import bisq.http_api.web_socket.subscription.Topic;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import lombok.extern.slf4j.Slf4j;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.websockets.DataFrame;
+import org.glassfish.grizzly.websockets.WebSocket;
+import org.glassfish.grizzly.websockets.WebSocketAddOn;
+import org.glassfish.grizzly.websockets.WebSocketApplication;
+import org.glassfish.grizzly.websockets.WebSocketEngine;
+
+import javax.annotation.Nullable;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for the websocket fan-out: local websocket clients subscribe to the OFFERS and MARKET_PRICE topics and
+ * we measure how long it takes to deliver a burst of offer and market price events to all of them.
+ * Market price events use REPLACE and get coalesced for slow clients, so fewer events than published can arrive.
+ * Usage: WebSocketFanOutBenchmark [numClients] [numEvents]
+ */
+@Slf4j
+public class WebSocketFanOutBenchmark {
+    private static final String OFFERS_PAYLOAD = "[{\"offerId\":\"%d\",\"quoteCurrencyCode\":\"USD\",\"amount\":%d}]";
+    private static final String MARKET_PRICE_PAYLOAD = "{\"USD\":{\"value\":%d,\"precision\":4}}";
+
+    public static void main(String[] args) throws Exception {
+        int numClients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int numEvents = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jdk8Module());
+        SubscriberRepository subscriberRepository = new SubscriberRepository();
+        PublisherService offersService = new PublisherService(objectMapper, subscriberRepository, Topic.OFFERS);
+        PublisherService marketPriceService = new PublisherService(objectMapper, subscriberRepository, Topic.MARKET_PRICE);
+
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+        HttpServer server = HttpServer.createSimpleServer(null, "127.0.0.1", port);
+        server.getListener("grizzly").registerAddOn(new WebSocketAddOn());
+        SubscribingApplication application = new SubscribingApplication(objectMapper, subscriberRepository, 2 * numClients);
+        WebSocketEngine.getEngine().register("", "/websocket", application);
+        server.start();
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        List<java.net.http.WebSocket> clients = new ArrayList<>(numClients);
+        CountDownLatch offersReceived = new CountDownLatch(numClients * numEvents);
+        AtomicLong numMarketPriceEventsReceived = new AtomicLong();
+        try {
+            URI uri = URI.create("ws://127.0.0.1:" + port + "/websocket");
+            for (int i = 0; i < numClients; i++) {
+                java.net.http.WebSocket client = httpClient.newWebSocketBuilder()
+                        .buildAsync(uri, new CountingListener(offersReceived, numMarketPriceEventsReceived))
+                        .join();
+                client.sendText(toSubscriptionRequest(objectMapper, Topic.OFFERS, "USD", "offers-" + i), true).join();
+                client.sendText(toSubscriptionRequest(objectMapper, Topic.MARKET_PRICE, null, "price-" + i), true).join();
+                clients.add(client);
+            }
+            if (!application.subscribed.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Not all clients got subscribed");
+            }
+
+            long ts = System.nanoTime();
+            for (int i = 0; i < numEvents; i++) {
+                offersService.publish(String.format(OFFERS_PAYLOAD, i, i * 1000), ModificationType.ADDED);
+                marketPriceService.publish(String.format(MARKET_PRICE_PAYLOAD, 600_000_000 + i), ModificationType.REPLACE);
+            }
+            long publishNanos = System.nanoTime() - ts;
+            boolean completed = offersReceived.await(60, TimeUnit.SECONDS);
+            long deliveryNanos = System.nanoTime() - ts;
+
+            System.out.printf("%d clients, %d offer and %d market price events per client%n", numClients, numEvents, numEvents);
+            System.out.printf("Publishing took %.2f ms (%.1f micros per event)%n",
+                    publishNanos / 1e6, publishNanos / 1e3 / (2.0 * numEvents));
+            System.out.printf("Delivering %s offer events took %d ms; %d of %d offer events missing%n",
+                    completed ? "all" : "not all",
+                    TimeUnit.NANOSECONDS.toMillis(deliveryNanos),
+                    offersReceived.getCount(),
+                    (long) numClients * numEvents);
+            System.out.printf("Received %d of %d published market price events (pending REPLACE events get coalesced)%n",
+                    numMarketPriceEventsReceived.get(), (long) numClients * numEvents);
+        } finally {
+            clients.forEach(client -> client.sendClose(java.net.http.WebSocket.NORMAL_CLOSURE, "").exceptionally(e -> null));
+            server.shutdownNow();
+        }
+    }
+
+    private static String toSubscriptionRequest(ObjectMapper objectMapper,
+                                                Topic topic,
+                                                @Nullable String parameter,
+                                                String requestId) {
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("type", SubscriptionRequest.class.getSimpleName())
+                .put("requestId", requestId)
+                .put("topic", topic.name());
+        if (parameter != null) {
+            request.put("parameter", parameter);
+        }
+        return request.toString();
+    }
+
+    private static class PublisherService extends BaseWebSocketService {
+        PublisherService(ObjectMapper objectMapper, SubscriberRepository subscriberRepository, Topic topic) {
+            super(objectMapper, subscriberRepository, topic);
+        }
+
+        void publish(String json, ModificationType modificationType) {
+            send(Optional.of(json), topic, modificationType);
+        }
+
+        @Override
+        public Optional<String> getJsonPayload() {
+            return Optional.empty();
+        }
+
+        @Override
+        public CompletableFuture<Boolean> initialize() {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> shutdown() {
+            return CompletableFuture.completedFuture(true);
+        }
+    }
+
+    private static class SubscribingApplication extends WebSocketApplication {
+        private final ObjectMapper objectMapper;
+        private final SubscriberRepository subscriberRepository;
+        private final CountDownLatch subscribed;
+
+        SubscribingApplication(ObjectMapper objectMapper, SubscriberRepository subscriberRepository, int numSubscriptions) {
+            this.objectMapper = objectMapper;
+            this.subscriberRepository = subscriberRepository;
+            subscribed = new CountDownLatch(numSubscriptions);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String message) {
+            SubscriptionRequest.fromJson(objectMapper, message).ifPresent(request -> {
+                subscriberRepository.add(request, webSocket);
+                subscribed.countDown();
+            });
+        }
+
+        @Override
+        public void onClose(WebSocket webSocket, DataFrame frame) {
+            super.onClose(webSocket, frame);
+            subscriberRepository.onConnectionClosed(webSocket);
+        }
+    }
+
+    private static class CountingListener implements java.net.http.WebSocket.Listener {
+        private final CountDownLatch offersReceived;
+        private final AtomicLong numMarketPriceEventsReceived;
+        private final StringBuilder buffer = new StringBuilder();
+
+        CountingListener(CountDownLatch offersReceived, AtomicLong numMarketPriceEventsReceived) {
+            this.offersReceived = offersReceived;
+            this.numMarketPriceEventsReceived = numMarketPriceEventsReceived;
+        }
+
+        @Override
+        public CompletionStage<?> onText(java.net.http.WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                String json = buffer.toString();
+                buffer.setLength(0);
+                if (json.contains("\"topic\":\"OFFERS\"")) {
+                    offersReceived.countDown();
+                } else if (json.contains("\"topic\":\"MARKET_PRICE\"")) {
+                    numMarketPriceEventsReceived.incrementAndGet();
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+    }
+}
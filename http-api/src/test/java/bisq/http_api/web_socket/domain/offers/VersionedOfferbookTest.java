@@ -0,0 +1,198 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.http_api.web_socket.domain.offers;
+
+import bisq.http_api.web_socket.subscription.ModificationType;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VersionedOfferbookTest {
+    private static final List<String> MARKETS = List.of("USD", "EUR", "CHF");
+    private static final int NUM_CHANGES = 10_000;
+
+    @Test
+    void replayedChangesMatchServerState() {
+        VersionedOfferbook<String> offerbook = new VersionedOfferbook<>();
+        Map<String, String> marketByOfferId = new HashMap<>();
+        Client usdClient = new Client("USD");
+        Client allMarketsClient = new Client(null);
+        Client reconnectingClient = new Client("EUR");
+        usdClient.connect(offerbook);
+        reconnectingClient.connect(offerbook);
+
+        Random random = new Random(42);
+        for (int i = 0; i < NUM_CHANGES; i++) {
+            if (i == 3_000) {
+                allMarketsClient.connect(offerbook);
+            }
+            if (i == 5_000) {
+                reconnectingClient.disconnect();
+            }
+            if (i == 7_000) {
+                reconnectingClient.connect(offerbook);
+                assertFalse(reconnectingClient.hasReceivedSnapshotAtLastConnect,
+                        "A reconnecting client should only receive the missed deltas");
+            }
+
+            Optional<VersionedOfferbook.Delta<String>> delta;
+            if (marketByOfferId.isEmpty() || random.nextInt(10) < 6) {
+                String offerId = "offer-" + i;
+                String market = MARKETS.get(random.nextInt(MARKETS.size()));
+                marketByOfferId.put(offerId, market);
+                delta = offerbook.add(offerId, market, offerId);
+            } else {
+                List<String> offerIds = new ArrayList<>(marketByOfferId.keySet());
+                String offerId = offerIds.get(random.nextInt(offerIds.size()));
+                marketByOfferId.remove(offerId);
+                delta = offerbook.remove(offerId);
+            }
+            assertTrue(delta.isPresent());
+            usdClient.onDelta(delta.get());
+            allMarketsClient.onDelta(delta.get());
+            reconnectingClient.onDelta(delta.get());
+        }
+
+        assertEquals(NUM_CHANGES, offerbook.getSequenceNumber());
+        assertEquals(marketByOfferId.size(), offerbook.size());
+        assertEquals(filter(marketByOfferId, "USD"), usdClient.offers);
+        assertEquals(filter(marketByOfferId, null), allMarketsClient.offers);
+        assertEquals(filter(marketByOfferId, "EUR"), reconnectingClient.offers);
+        assertEquals(offerbook.getSequenceNumber(), allMarketsClient.lastSequenceNumber.longValue());
+    }
+
+    @Test
+    void snapshotIfMissedDeltasAreNotAvailable() {
+        VersionedOfferbook<String> offerbook = new VersionedOfferbook<>(10);
+        Client client = new Client(null);
+        client.connect(offerbook);
+        offerbook.add("1", "USD", "1").ifPresent(client::onDelta);
+        client.disconnect();
+        for (int i = 2; i < 20; i++) {
+            offerbook.add(String.valueOf(i), "USD", String.valueOf(i));
+        }
+        offerbook.remove("1");
+
+        client.connect(offerbook);
+        assertTrue(client.hasReceivedSnapshotAtLastConnect);
+        assertFalse(client.offers.containsKey("1"));
+        assertEquals(18, client.offers.size());
+    }
+
+    @Test
+    void snapshotIfEpochChanged() {
+        VersionedOfferbook<String> offerbook = new VersionedOfferbook<>();
+        Client client = new Client(null);
+        client.connect(offerbook);
+        offerbook.add("1", "USD", "1").ifPresent(client::onDelta);
+        offerbook.add("2", "USD", "2").ifPresent(client::onDelta);
+        client.disconnect();
+
+        // After a server restart the sequence numbers start again at 0, thus the client's last sequence number
+        // refers to other changes.
+        VersionedOfferbook<String> restartedOfferbook = new VersionedOfferbook<>();
+        restartedOfferbook.add("3", "USD", "3");
+        restartedOfferbook.add("4", "USD", "4");
+        restartedOfferbook.add("5", "USD", "5");
+
+        client.connect(restartedOfferbook);
+        assertTrue(client.hasReceivedSnapshotAtLastConnect);
+        assertEquals(Map.of("3", "3", "4", "4", "5", "5"), client.offers);
+        assertEquals(restartedOfferbook.getEpoch(), client.lastEpoch);
+    }
+
+    @Test
+    void duplicatedChangesDoNotCreateDeltas() {
+        VersionedOfferbook<String> offerbook = new VersionedOfferbook<>();
+        assertTrue(offerbook.add("1", "USD", "1").isPresent());
+        assertFalse(offerbook.add("1", "USD", "1").isPresent());
+        assertTrue(offerbook.remove("1").isPresent());
+        assertFalse(offerbook.remove("1").isPresent());
+        assertEquals(2, offerbook.getSequenceNumber());
+    }
+
+    private static Map<String, String> filter(Map<String, String> marketByOfferId, @Nullable String market) {
+        return marketByOfferId.entrySet().stream()
+                .filter(entry -> market == null || market.equals(entry.getValue()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getKey));
+    }
+
+    private static class Client {
+        @Nullable
+        private final String market;
+        private final Map<String, String> offers = new HashMap<>();
+        @Nullable
+        private String lastEpoch;
+        @Nullable
+        private Long lastSequenceNumber;
+        private boolean isConnected;
+        private boolean hasReceivedSnapshotAtLastConnect;
+
+        private Client(@Nullable String market) {
+            this.market = market;
+        }
+
+        private void connect(VersionedOfferbook<String> offerbook) {
+            VersionedOfferbook.Sync<String> sync = offerbook.getSync(lastEpoch, lastSequenceNumber, market);
+            hasReceivedSnapshotAtLastConnect = sync.isSnapshot();
+            if (sync.isSnapshot()) {
+                offers.clear();
+                sync.offers().forEach(offer -> offers.put(offer, offer));
+            } else {
+                sync.deltas().forEach(this::apply);
+            }
+            lastEpoch = sync.epoch();
+            lastSequenceNumber = sync.sequenceNumber();
+            isConnected = true;
+        }
+
+        private void disconnect() {
+            isConnected = false;
+        }
+
+        private void onDelta(VersionedOfferbook.Delta<String> delta) {
+            if (isConnected && (market == null || market.equals(delta.quoteCurrencyCode()))) {
+                apply(delta);
+                lastSequenceNumber = delta.sequenceNumber();
+            }
+        }
+
+        private void apply(VersionedOfferbook.Delta<String> delta) {
+            if (lastSequenceNumber != null && delta.sequenceNumber() <= lastSequenceNumber) {
+                // Already included in the snapshot or applied before
+                return;
+            }
+            if (delta.modificationType() == ModificationType.ADDED) {
+                offers.put(delta.offerId(), delta.offer());
+            } else {
+                offers.remove(delta.offerId());
+            }
+        }
+    }
+}
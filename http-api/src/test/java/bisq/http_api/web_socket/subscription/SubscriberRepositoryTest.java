@@ -0,0 +1,97 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.http_api.web_socket.subscription;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.glassfish.grizzly.websockets.WebSocket;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class SubscriberRepositoryTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void sameSubscriberIdOfOtherWebSocketDoesNotReplaceSubscription() {
+        SubscriberRepository repository = new SubscriberRepository();
+        WebSocket webSocket1 = mock(WebSocket.class);
+        WebSocket webSocket2 = mock(WebSocket.class);
+
+        Subscriber subscriber1 = repository.add(request("1"), webSocket1);
+        Subscriber subscriber2 = repository.add(request("1"), webSocket2);
+
+        Collection<Subscriber> subscribers = repository.findSubscribers(Topic.MARKET_PRICE).orElseThrow();
+        assertEquals(2, subscribers.size());
+        assertTrue(subscribers.containsAll(List.of(subscriber1, subscriber2)));
+    }
+
+    @Test
+    void sameSubscriberIdOfSameWebSocketReplacesSubscription() {
+        SubscriberRepository repository = new SubscriberRepository();
+        WebSocket webSocket = mock(WebSocket.class);
+
+        repository.add(request("1"), webSocket);
+        Subscriber subscriber = repository.add(request("1"), webSocket);
+
+        Collection<Subscriber> subscribers = repository.findSubscribers(Topic.MARKET_PRICE).orElseThrow();
+        assertEquals(1, subscribers.size());
+        assertTrue(subscribers.contains(subscriber));
+        assertEquals(1, repository.findSubscribers(webSocket).size());
+    }
+
+    @Test
+    void removeDoesNotRemoveSubscriptionOfOtherWebSocket() {
+        SubscriberRepository repository = new SubscriberRepository();
+        WebSocket webSocket1 = mock(WebSocket.class);
+        WebSocket webSocket2 = mock(WebSocket.class);
+        repository.add(request("1"), webSocket1);
+        Subscriber subscriber2 = repository.add(request("1"), webSocket2);
+
+        repository.remove(Topic.MARKET_PRICE, "1", webSocket1);
+
+        Collection<Subscriber> subscribers = repository.findSubscribers(Topic.MARKET_PRICE).orElseThrow();
+        assertEquals(1, subscribers.size());
+        assertTrue(subscribers.contains(subscriber2));
+        assertTrue(repository.findSubscribers(webSocket1).isEmpty());
+    }
+
+    @Test
+    void closedConnectionOnlyRemovesItsSubscriptions() {
+        SubscriberRepository repository = new SubscriberRepository();
+        WebSocket webSocket1 = mock(WebSocket.class);
+        WebSocket webSocket2 = mock(WebSocket.class);
+        repository.add(request("1"), webSocket1);
+        Subscriber subscriber2 = repository.add(request("1"), webSocket2);
+
+        repository.onConnectionClosed(webSocket1);
+
+        Collection<Subscriber> subscribers = repository.findSubscribers(Topic.MARKET_PRICE).orElseThrow();
+        assertEquals(1, subscribers.size());
+        assertTrue(subscribers.contains(subscriber2));
+    }
+
+    private SubscriptionRequest request(String requestId) {
+        String json = "{\"requestId\":\"" + requestId + "\",\"topic\":\"MARKET_PRICE\"}";
+        return SubscriptionRequest.fromJson(objectMapper, json).orElseThrow();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.i18n;
+
+import java.text.MessageFormat;
+
+/**
+ * Holds a parsed MessageFormat, so that a pattern gets parsed only once. MessageFormat is not thread safe, thus
+ * formatting is synchronized.
+ */
+final class MessageFormatter {
+    private final MessageFormat messageFormat;
+
+    MessageFormatter(String pattern) {
+        messageFormat = new MessageFormat(pattern);
+    }
+
+    String format(Object... arguments) {
+        synchronized (messageFormat) {
+            return messageFormat.format(arguments);
+        }
+    }
+}
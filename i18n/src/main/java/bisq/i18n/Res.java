@@ -19,10 +19,12 @@ package bisq.i18n;
 
 import bisq.common.application.DevMode;
 import com.google.common.base.Joiner;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -51,43 +53,65 @@ public class Res {
             "mu_sig"
     );
 
-    private static final List<ResourceBundle> bundles = new ArrayList<>();
+    // We don't use records to not break devices which do not fully support Java 16+
+    @AllArgsConstructor
+    private static final class PluralKeys {
+        private final String one;
+        private final Optional<String> zero;
+        private final String other;
+    }
+
+    /**
+     * All bundles of a language merged into one map. If a key exists in multiple bundles, the first bundle in
+     * BUNDLE_NAMES wins. Patterns get parsed at their first use with arguments.
+     */
+    @AllArgsConstructor
+    private static final class Resources {
+        private final Map<String, String> valueByKey;
+        private final Map<String, PluralKeys> pluralKeysByKey;
+        private final Map<String, MessageFormatter> formatterByKey;
+    }
+
+    // Replaced as a whole at setLanguage, so that we never use a cached formatter of the previous language
+    private static volatile Resources resources = new Resources(Map.of(), Map.of(), Map.of());
 
     public static void setLanguage(String languageCode) {
         Locale locale = "en".equalsIgnoreCase(languageCode) ? new Locale("") : Locale.forLanguageTag(languageCode);
 
-        bundles.clear();
-
         // use collectors to avoid Samsung devices crashes (not fully supporting Java 16+ APIs
-        bundles.addAll(
-                BUNDLE_NAMES.stream()
-                        .map(bundleName -> ResourceBundle.getBundle(bundleName, locale))
-                        .collect(Collectors.toList())
-        );
+        List<ResourceBundle> bundles = BUNDLE_NAMES.stream()
+                .map(bundleName -> ResourceBundle.getBundle(bundleName, locale))
+                .collect(Collectors.toList());
+
+        Map<String, String> valueByKey = new HashMap<>();
+        // keySet contains the keys of the parent bundles as well, like containsKey does
+        bundles.forEach(bundle -> bundle.keySet().forEach(key -> valueByKey.putIfAbsent(key, bundle.getString(key))));
+
+        resources = new Resources(valueByKey, createPluralKeysByKey(valueByKey.keySet()), new ConcurrentHashMap<>());
     }
 
     public static String get(String key, Object... arguments) {
-        return MessageFormat.format(get(key), arguments);
+        Resources resources = Res.resources;
+        String value = resources.valueByKey.get(key);
+        if (value == null) {
+            return MessageFormat.format(get(key), arguments);
+        }
+        return resources.formatterByKey.computeIfAbsent(key, k -> new MessageFormatter(value)).format(arguments);
     }
 
     public static String get(String key) {
-        checkArgument(!bundles.isEmpty(), "Res.get cannot be called as bundles is still empty. key=" + key);
-        try {
-            return bundles.stream()
-                    .filter(bundle -> bundle.containsKey(key))
-                    .map(bundle -> bundle.getString(key))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        log.error("Missing resource for key: {}", key);
-                        if (DevMode.isDevMode()) {
-                            return "MISSING: " + key;
-                        } else {
-                            return "[" + key + "!]";
-                        }
-                    });
-        } catch (MissingResourceException e) {
-            log.warn("Missing resource for key: {}", key, e);
-            return "[" + key + "!!!]";
+        Map<String, String> valueByKey = resources.valueByKey;
+        checkArgument(!valueByKey.isEmpty(), "Res.get cannot be called as bundles is still empty. key=" + key);
+        String value = valueByKey.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        log.error("Missing resource for key: {}", key);
+        if (DevMode.isDevMode()) {
+            return "MISSING: " + key;
+        } else {
+            return "[" + key + "!]";
         }
     }
 
@@ -96,21 +120,29 @@ public class Res {
      * Additionally, a '.0' postfix handles 0 values.
      */
     public static String getPluralization(String key, double number) {
+        PluralKeys pluralKeys = resources.pluralKeysByKey.get(key);
         String pluralKey;
-        if (number == 1) {
-            pluralKey = key + ".1";
-        } else {
-            if (number == 0 && has(key + ".0")) {
+        if (pluralKeys == null) {
+            // Without a '.*' key we let get handle the missing key
+            if (number == 1) {
+                pluralKey = key + ".1";
+            } else if (number == 0 && has(key + ".0")) {
                 pluralKey = key + ".0";
             } else {
                 pluralKey = key + ".*";
             }
+        } else if (number == 1) {
+            pluralKey = pluralKeys.one;
+        } else if (number == 0 && pluralKeys.zero.isPresent()) {
+            pluralKey = pluralKeys.zero.get();
+        } else {
+            pluralKey = pluralKeys.other;
         }
         return get(pluralKey, number);
     }
 
     public static boolean has(String key) {
-        return bundles.stream().anyMatch(bundle -> bundle.containsKey(key));
+        return resources.valueByKey.containsKey(key);
     }
 
     public static String encode(String key, Object... arguments) {
@@ -143,5 +175,18 @@ public class Res {
         Object[] arguments = argumentList.split(String.valueOf(ARGS_SEPARATOR));
         return Res.get(key, arguments);
     }
+
+    private static Map<String, PluralKeys> createPluralKeysByKey(Set<String> keys) {
+        Map<String, PluralKeys> pluralKeysByKey = new HashMap<>();
+        keys.stream()
+                .filter(key -> key.endsWith(".*"))
+                .map(key -> key.substring(0, key.length() - 2))
+                .forEach(key -> {
+                    String zeroKey = key + ".0";
+                    Optional<String> zero = keys.contains(zeroKey) ? Optional.of(zeroKey) : Optional.empty();
+                    pluralKeysByKey.put(key, new PluralKeys(key + ".1", zero, key + ".*"));
+                });
+        return pluralKeysByKey;
+    }
 }
 
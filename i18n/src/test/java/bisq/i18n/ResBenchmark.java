@@ -0,0 +1,86 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.i18n;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the lookup and formatting of Res with the previous approach of searching the bundles on each call and
+ * parsing the pattern with MessageFormat.format on each call.
+ * Usage: ResBenchmark [languageCode] [numCalls]
+ */
+public class ResBenchmark {
+    private static final int NUM_ROUNDS = 5;
+    private static final List<String> BUNDLE_NAMES = List.of("default", "application", "bisq_easy", "reputation",
+            "trade_apps", "academy", "chat", "support", "user", "network", "settings", "wallet", "authorized_role",
+            "payment_method", "mu_sig");
+
+    public static void main(String[] args) {
+        String languageCode = args.length > 0 ? args[0] : "en";
+        int numCalls = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        Res.setLanguage(languageCode);
+        Locale locale = "en".equalsIgnoreCase(languageCode) ? new Locale("") : Locale.forLanguageTag(languageCode);
+        List<ResourceBundle> bundles = BUNDLE_NAMES.stream()
+                .map(bundleName -> ResourceBundle.getBundle(bundleName, locale))
+                .collect(Collectors.toList());
+
+        String plainKey = "bisqEasy.openTrades.cancelTrade";
+        String key1Arg = "bisqEasy.openTrades.tradeLogMessage.cancelled";
+        String key2Args = "bisqEasy.offerDetails.priceValue";
+        String pluralKey = "bisqEasy.tradeWizard.amount.buyer.numSellers";
+
+        for (int round = 1; round <= NUM_ROUNDS; round++) {
+            System.out.println("Round " + round);
+            run("  Plain key, bundle search", numCalls, () -> getFromBundles(bundles, plainKey));
+            run("  Plain key, merged map", numCalls, () -> Res.get(plainKey));
+            run("  1 argument, parse per call", numCalls, () -> MessageFormat.format(getFromBundles(bundles, key1Arg), "Alice"));
+            run("  1 argument, cached format", numCalls, () -> Res.get(key1Arg, "Alice"));
+            run("  2 arguments, parse per call", numCalls, () -> MessageFormat.format(getFromBundles(bundles, key2Args), "121.12", "5%"));
+            run("  2 arguments, cached format", numCalls, () -> Res.get(key2Args, "121.12", "5%"));
+            run("  Pluralization, parse per call", numCalls, () -> MessageFormat.format(getFromBundles(bundles, pluralKey + ".*"), 2d));
+            run("  Pluralization, cached format", numCalls, () -> Res.getPluralization(pluralKey, 2));
+        }
+    }
+
+    private static void run(String name, int numCalls, Supplier<String> supplier) {
+        long ts = System.nanoTime();
+        int length = 0;
+        for (int i = 0; i < numCalls; i++) {
+            length += supplier.get().length();
+        }
+        long nanos = System.nanoTime() - ts;
+        if (length == 0) {
+            throw new IllegalStateException("Got empty strings");
+        }
+        System.out.printf("%s: %.0f ns per call%n", name, (double) nanos / numCalls);
+    }
+
+    private static String getFromBundles(List<ResourceBundle> bundles, String key) {
+        return bundles.stream()
+                .filter(bundle -> bundle.containsKey(key))
+                .map(bundle -> bundle.getString(key))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -59,4 +59,24 @@ public class ResTest {
         assertEquals(expected, decoded);
     }
 
+    @Test
+    public void testPluralization() {
+        String key = "bisqEasy.tradeWizard.amount.buyer.numSellers";
+        assertEquals("No sellers", Res.getPluralization(key, 0));
+        assertEquals("1 seller", Res.getPluralization(key, 1));
+        assertEquals("2 sellers", Res.getPluralization(key, 2));
+    }
+
+    @Test
+    public void testSetLanguageReplacesCachedFormats() {
+        String key = "bisqEasy.offerDetails.priceValue";
+        assertEquals("121.12 (premium: 5%)", Res.get(key, "121.12", "5%"));
+        try {
+            Res.setLanguage("de");
+            assertEquals("121.12 (Aufschlag: 5%)", Res.get(key, "121.12", "5%"));
+        } finally {
+            Res.setLanguage("en");
+        }
+        assertEquals("121.12 (premium: 5%)", Res.get(key, "121.12", "5%"));
+    }
 }
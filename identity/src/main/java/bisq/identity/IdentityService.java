@@ -37,10 +37,10 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.KeyPair;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
@@ -136,7 +136,7 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
         Identity identity = new Identity(identityTag, networkId, keyBundle);
 
         synchronized (lock) {
-            getActiveIdentityByTag().put(identityTag, identity);
+            persistableStore.addActiveIdentity(identity);
         }
         persist();
         // We return the identity if at least one transport node got initialized
@@ -147,11 +147,7 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
     public boolean retireActiveIdentity(String identityTag) {
         boolean wasRemoved;
         synchronized (lock) {
-            Identity identity = getActiveIdentityByTag().remove(identityTag);
-            wasRemoved = identity != null;
-            if (wasRemoved) {
-                persistableStore.getRetired().add(identity);
-            }
+            wasRemoved = persistableStore.retireActiveIdentity(identityTag).isPresent();
         }
         if (wasRemoved) {
             persist();
@@ -159,40 +155,25 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
         return wasRemoved;
     }
 
+    // The lookups are lock-free as the store maps are concurrent and mutations are done under the lock.
     public Optional<Identity> findActiveIdentity(String identityTag) {
-        synchronized (lock) {
-            return Optional.ofNullable(getActiveIdentityByTag().get(identityTag));
-        }
+        return Optional.ofNullable(getActiveIdentityByTag().get(identityTag));
     }
 
     public Optional<Identity> findActiveIdentity(NetworkId networkId) {
-        synchronized (lock) {
-            return getActiveIdentityByTag().values().stream()
-                    .filter(e -> e.getNetworkId().equals(networkId))
-                    .findAny();
-        }
+        return persistableStore.findActiveIdentity(networkId);
     }
 
     public Optional<Identity> findRetiredIdentityByNetworkId(NetworkId networkId) {
-        synchronized (lock) {
-            return getRetired().stream()
-                    .filter(e -> e.getNetworkId().equals(networkId))
-                    .findAny();
-        }
+        return persistableStore.findRetiredIdentity(networkId);
     }
 
     public Optional<Identity> findAnyIdentityByNetworkId(NetworkId networkId) {
-        synchronized (lock) {
-            return Stream.concat(Stream.concat(persistableStore.getDefaultIdentity().stream(),
-                                    getActiveIdentityByTag().values().stream()),
-                            getRetired().stream())
-                    .filter(e -> e.getNetworkId().equals(networkId))
-                    .findAny();
-        }
+        return persistableStore.findAnyIdentity(networkId);
     }
 
     public Map<String, Identity> getActiveIdentityByTag() {
-        return persistableStore.getActiveIdentityByTag();
+        return Collections.unmodifiableMap(persistableStore.getActiveIdentityByTag());
     }
 
 
@@ -210,9 +191,9 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
         return CompletableFutureUtils.allOf(futures);
     }
 
-    private CompletableFuture<Identity> createAndInitializeNewActiveIdentity(String identityTag, Identity identity) {
+    private CompletableFuture<Identity> createAndInitializeNewActiveIdentity(Identity identity) {
         synchronized (lock) {
-            getActiveIdentityByTag().put(identityTag, identity);
+            persistableStore.addActiveIdentity(identity);
         }
         persist();
 
@@ -227,14 +208,10 @@ public class IdentityService implements PersistenceClient<IdentityStore>, Servic
         return new Identity(identityTag, networkId, keyBundle);
     }
 
-    private Set<Identity> getRetired() {
-        return persistableStore.getRetired();
-    }
-
 
     @VisibleForTesting
     CompletableFuture<Identity> createAndInitializeNewActiveIdentity(String identityTag) {
-        return createAndInitializeNewActiveIdentity(identityTag, createIdentity(identityTag));
+        return createAndInitializeNewActiveIdentity(createIdentity(identityTag));
     }
 
 
@@ -19,6 +19,7 @@ package bisq.identity;
 
 import bisq.common.proto.ProtoResolver;
 import bisq.common.proto.UnresolvableProtobufMessageException;
+import bisq.network.identity.NetworkId;
 import bisq.persistence.PersistableStore;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.AccessLevel;
@@ -40,12 +41,19 @@ final class IdentityStore implements PersistableStore<IdentityStore> {
     private final Map<String, Identity> activeIdentityByTag = new ConcurrentHashMap<>();
     private final Set<Identity> retired = new CopyOnWriteArraySet<>();
 
+    // Transient indexes for lock-free lookups. Only mutated together with the collections above.
+    @Getter(AccessLevel.NONE)
+    private final Map<NetworkId, Identity> activeIdentityByNetworkId = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<NetworkId, Identity> retiredIdentityByNetworkId = new ConcurrentHashMap<>();
+
     private IdentityStore(Optional<Identity> defaultIdentity,
                           Map<String, Identity> activeIdentityByTag,
                           Set<Identity> retired) {
         this.defaultIdentity = defaultIdentity;
         this.activeIdentityByTag.putAll(activeIdentityByTag);
         this.retired.addAll(retired);
+        rebuildIndexes();
     }
 
     @Override
@@ -98,9 +106,54 @@ final class IdentityStore implements PersistableStore<IdentityStore> {
 
         retired.clear();
         retired.addAll(persisted.getRetired());
+
+        rebuildIndexes();
     }
 
     void setDefaultIdentity(Identity defaultIdentity) {
         this.defaultIdentity = Optional.ofNullable(defaultIdentity);
     }
+
+    void addActiveIdentity(Identity identity) {
+        Identity previous = activeIdentityByTag.put(identity.getTag(), identity);
+        if (previous != null) {
+            activeIdentityByNetworkId.remove(previous.getNetworkId());
+        }
+        activeIdentityByNetworkId.put(identity.getNetworkId(), identity);
+    }
+
+    Optional<Identity> retireActiveIdentity(String identityTag) {
+        Identity identity = activeIdentityByTag.get(identityTag);
+        if (identity == null) {
+            return Optional.empty();
+        }
+        // We add it to the retired index before we remove it from the active index, so that a lock-free lookup
+        // finds it in at least one of them at any time.
+        retired.add(identity);
+        retiredIdentityByNetworkId.put(identity.getNetworkId(), identity);
+        activeIdentityByNetworkId.remove(identity.getNetworkId(), identity);
+        activeIdentityByTag.remove(identityTag, identity);
+        return Optional.of(identity);
+    }
+
+    Optional<Identity> findActiveIdentity(NetworkId networkId) {
+        return Optional.ofNullable(activeIdentityByNetworkId.get(networkId));
+    }
+
+    Optional<Identity> findRetiredIdentity(NetworkId networkId) {
+        return Optional.ofNullable(retiredIdentityByNetworkId.get(networkId));
+    }
+
+    Optional<Identity> findAnyIdentity(NetworkId networkId) {
+        return defaultIdentity.filter(identity -> identity.getNetworkId().equals(networkId))
+                .or(() -> findActiveIdentity(networkId))
+                .or(() -> findRetiredIdentity(networkId));
+    }
+
+    private void rebuildIndexes() {
+        activeIdentityByNetworkId.clear();
+        retiredIdentityByNetworkId.clear();
+        retired.forEach(identity -> retiredIdentityByNetworkId.put(identity.getNetworkId(), identity));
+        activeIdentityByTag.values().forEach(identity -> activeIdentityByNetworkId.put(identity.getNetworkId(), identity));
+    }
 }
\ No newline at end of file
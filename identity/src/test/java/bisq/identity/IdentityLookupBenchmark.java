@@ -0,0 +1,116 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.identity;
+
+import bisq.common.network.Address;
+import bisq.common.network.AddressByTransportTypeMap;
+import bisq.common.network.TransportType;
+import bisq.network.identity.NetworkId;
+import bisq.security.keys.KeyBundle;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import bisq.security.keys.TorKeyGeneration;
+import bisq.security.keys.TorKeyPair;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Compares the lookup of identities by NetworkId with the linear scan under a lock as it was done before with the
+ * indexed lookup of IdentityStore. 80% of the identities are active and 20% are retired.
+ * Usage: IdentityLookupBenchmark [numIdentities] [numLookups]
+ */
+public class IdentityLookupBenchmark {
+    private static final int NUM_ROUNDS = 5;
+
+    public static void main(String[] args) throws GeneralSecurityException {
+        int numIdentities = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int numLookups = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        // Key generation is not relevant for the lookup, so we share the keys but use distinct keyIds and addresses
+        KeyPair keyPair = KeyGeneration.generateKeyPair();
+        TorKeyPair torKeyPair = TorKeyGeneration.generateKeyPair();
+        IdentityStore store = new IdentityStore();
+        List<NetworkId> networkIds = new ArrayList<>(numIdentities);
+        for (int i = 0; i < numIdentities; i++) {
+            String tag = "tag-" + i;
+            NetworkId networkId = createNetworkId(keyPair, i);
+            store.addActiveIdentity(new Identity(tag, networkId, new KeyBundle(networkId.getKeyId(), keyPair, torKeyPair)));
+            if (i % 5 == 0) {
+                store.retireActiveIdentity(tag);
+            }
+            // We use equal copies for the lookups, like we get them from the network
+            networkIds.add(createNetworkId(keyPair, i));
+        }
+
+        Random random = new Random(1);
+        NetworkId[] lookups = new NetworkId[numLookups];
+        for (int i = 0; i < numLookups; i++) {
+            lookups[i] = networkIds.get(random.nextInt(numIdentities));
+        }
+
+        Object lock = new Object();
+        Function<NetworkId, Optional<Identity>> linearScan = networkId -> {
+            synchronized (lock) {
+                return Stream.concat(Stream.concat(store.getDefaultIdentity().stream(),
+                                        store.getActiveIdentityByTag().values().stream()),
+                                store.getRetired().stream())
+                        .filter(e -> e.getNetworkId().equals(networkId))
+                        .findAny();
+            }
+        };
+
+        System.out.printf("%d identities (%d active, %d retired), %d lookups%n",
+                numIdentities, store.getActiveIdentityByTag().size(), store.getRetired().size(), numLookups);
+        for (int round = 1; round <= NUM_ROUNDS; round++) {
+            System.out.println("Round " + round);
+            // The linear scan is orders of magnitude slower, so we run only a fraction of the lookups
+            run("  Linear scan", linearScan, lookups, Math.max(1, numLookups / 100));
+            run("  Indexed", store::findAnyIdentity, lookups, numLookups);
+        }
+    }
+
+    private static void run(String name, Function<NetworkId, Optional<Identity>> lookup, NetworkId[] lookups, int numLookups) {
+        long ts = System.nanoTime();
+        int numFound = 0;
+        for (int i = 0; i < numLookups; i++) {
+            if (lookup.apply(lookups[i]).isPresent()) {
+                numFound++;
+            }
+        }
+        long nanos = System.nanoTime() - ts;
+        if (numFound != numLookups) {
+            throw new IllegalStateException("Found only " + numFound + " of " + numLookups + " identities");
+        }
+        System.out.printf("%s: %.0f ns per lookup, %.0f lookups/s%n",
+                name, (double) nanos / numLookups, numLookups / (nanos / 1e9));
+    }
+
+    private static NetworkId createNetworkId(KeyPair keyPair, int index) {
+        Address address = new Address("onion" + index + ".onion", 1000 + index);
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(Map.of(TransportType.TOR, address));
+        return new NetworkId(addressByTransportTypeMap, new PubKey(keyPair.getPublic(), "keyId-" + index));
+    }
+}
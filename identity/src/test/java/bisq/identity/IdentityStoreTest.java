@@ -0,0 +1,170 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.identity;
+
+import bisq.common.network.Address;
+import bisq.common.network.AddressByTransportTypeMap;
+import bisq.common.network.TransportType;
+import bisq.network.identity.NetworkId;
+import bisq.security.keys.KeyBundle;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import bisq.security.keys.TorKeyGeneration;
+import bisq.security.keys.TorKeyPair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdentityStoreTest {
+    private KeyPair keyPair;
+    private TorKeyPair torKeyPair;
+    private IdentityStore store;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        keyPair = KeyGeneration.generateKeyPair();
+        torKeyPair = TorKeyGeneration.generateKeyPair();
+        store = new IdentityStore();
+    }
+
+    @Test
+    void addActiveIdentity() {
+        Identity identity = createIdentity("tag", 1);
+        store.addActiveIdentity(identity);
+
+        assertThat(store.findActiveIdentity(createNetworkId(1))).contains(identity);
+        assertThat(store.findRetiredIdentity(createNetworkId(1))).isEmpty();
+        assertThat(store.findAnyIdentity(createNetworkId(1))).contains(identity);
+    }
+
+    @Test
+    void replaceActiveIdentity() {
+        Identity previous = createIdentity("tag", 1);
+        Identity identity = createIdentity("tag", 2);
+        store.addActiveIdentity(previous);
+        store.addActiveIdentity(identity);
+
+        assertThat(store.getActiveIdentityByTag()).containsExactly(Map.entry("tag", identity));
+        assertThat(store.findActiveIdentity(previous.getNetworkId())).isEmpty();
+        assertThat(store.findAnyIdentity(previous.getNetworkId())).isEmpty();
+        assertThat(store.findActiveIdentity(identity.getNetworkId())).contains(identity);
+    }
+
+    @Test
+    void retireActiveIdentity() {
+        Identity identity = createIdentity("tag", 1);
+        Identity other = createIdentity("otherTag", 2);
+        store.addActiveIdentity(identity);
+        store.addActiveIdentity(other);
+
+        assertThat(store.retireActiveIdentity("tag")).contains(identity);
+        assertThat(store.retireActiveIdentity("tag")).isEmpty();
+
+        assertThat(store.findActiveIdentity(identity.getNetworkId())).isEmpty();
+        assertThat(store.findRetiredIdentity(identity.getNetworkId())).contains(identity);
+        assertThat(store.findAnyIdentity(identity.getNetworkId())).contains(identity);
+        assertThat(store.findActiveIdentity(other.getNetworkId())).contains(other);
+    }
+
+    @Test
+    void identityIsFoundDuringRetirement() throws InterruptedException {
+        int numIdentities = 1000;
+        List<Identity> identities = new ArrayList<>();
+        for (int i = 0; i < numIdentities; i++) {
+            Identity identity = createIdentity("tag-" + i, i);
+            identities.add(identity);
+            store.addActiveIdentity(identity);
+        }
+
+        AtomicBoolean isRetiring = new AtomicBoolean(true);
+        AtomicInteger numMissedLookups = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (isRetiring.get()) {
+                for (Identity identity : identities) {
+                    if (store.findAnyIdentity(identity.getNetworkId()).isEmpty()) {
+                        numMissedLookups.incrementAndGet();
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        identities.forEach(identity -> store.retireActiveIdentity(identity.getTag()));
+        isRetiring.set(false);
+        reader.join();
+
+        assertThat(numMissedLookups.get()).isZero();
+        assertThat(store.getActiveIdentityByTag()).isEmpty();
+        identities.forEach(identity ->
+                assertThat(store.findRetiredIdentity(identity.getNetworkId())).contains(identity));
+    }
+
+    @Test
+    void retireReplacedIdentity() {
+        Identity previous = createIdentity("tag", 1);
+        Identity identity = createIdentity("tag", 2);
+        store.addActiveIdentity(previous);
+        store.addActiveIdentity(identity);
+
+        assertThat(store.retireActiveIdentity("tag")).contains(identity);
+
+        assertThat(store.getActiveIdentityByTag()).isEmpty();
+        assertThat(store.findRetiredIdentity(identity.getNetworkId())).contains(identity);
+        assertThat(store.findAnyIdentity(previous.getNetworkId())).isEmpty();
+    }
+
+    @Test
+    void indexesAreRebuiltFromPersisted() {
+        Identity defaultIdentity = createIdentity("default", 0);
+        Identity active = createIdentity("active", 1);
+        Identity retired = createIdentity("retired", 2);
+        store.setDefaultIdentity(defaultIdentity);
+        store.addActiveIdentity(active);
+        store.addActiveIdentity(retired);
+        store.retireActiveIdentity("retired");
+
+        IdentityStore restored = new IdentityStore();
+        restored.applyPersisted(store.getClone());
+
+        assertThat(restored.findAnyIdentity(defaultIdentity.getNetworkId())).contains(defaultIdentity);
+        assertThat(restored.findActiveIdentity(active.getNetworkId())).contains(active);
+        assertThat(restored.findRetiredIdentity(retired.getNetworkId())).contains(retired);
+        assertThat(restored.findActiveIdentity(retired.getNetworkId())).isEmpty();
+    }
+
+    private Identity createIdentity(String tag, int index) {
+        NetworkId networkId = createNetworkId(index);
+        return new Identity(tag, networkId, new KeyBundle(networkId.getKeyId(), keyPair, torKeyPair));
+    }
+
+    // Key generation is not relevant for the indexes, so we share the keys but use distinct keyIds and addresses
+    private NetworkId createNetworkId(int index) {
+        Address address = new Address("onion" + index + ".onion", 1000 + index);
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(Map.of(TransportType.TOR, address));
+        return new NetworkId(addressByTransportTypeMap, new PubKey(keyPair.getPublic(), "keyId-" + index));
+    }
+}
@@ -30,6 +30,7 @@ import bisq.common.threading.ThreadName;
 import bisq.common.util.CompletableFutureUtils;
 import bisq.network.http.BaseHttpClient;
 import bisq.network.http.HttpClientsByTransport;
+import bisq.network.http.PooledHttpClient;
 import bisq.network.identity.NetworkId;
 import bisq.network.identity.NetworkIdWithKeyPair;
 import bisq.network.p2p.ServiceNode;
@@ -76,6 +77,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -213,6 +215,7 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
                     dataService.ifPresent(DataService::shutdown);
                     return true;
                 })
+                .thenCompose(result -> httpClientsByTransport.shutdown())
                 .thenCompose(result -> serviceNodesByTransport.shutdown()
                         .thenApply(list -> list.stream().filter(e -> e).count() == supportedTransportTypes.size()));
     }
@@ -447,6 +450,12 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
         return httpClientsByTransport.getHttpClient(url, userAgent, transportType, socksProxy, socks5ProxyAddress);
     }
 
+    public PooledHttpClient getPooledHttpClient(TransportType transportType) {
+        // socksProxy only supported for TOR
+        Optional<Socks5Proxy> socksProxy = transportType == TOR ? serviceNodesByTransport.getSocksProxy() : Optional.empty();
+        return httpClientsByTransport.getPooledHttpClient(transportType, socksProxy, socks5ProxyAddress);
+    }
+
     public Map<TransportType, Observable<Node.State>> getDefaultNodeStateByTransportType() {
         return serviceNodesByTransport.getDefaultNodeStateByTransportType();
     }
@@ -534,6 +543,17 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Passes the processed confidential messages of the given types to the handler. Services use it at initialize
+     * for the messages which arrived before they have been registered as listener.
+     *
+     * @param types Classes or interfaces of the messages the service handles.
+     */
+    public void replayProcessedConfidentialMessages(Set<Class<?>> types, Consumer<EnvelopePayloadMessage> handler) {
+        getConfidentialMessageServices().forEach(service ->
+                service.getProcessedEnvelopePayloadMessages(types).forEach(handler));
+    }
+
 
     /* --------------------------------------------------------------------- */
     // Report
@@ -23,26 +23,47 @@ import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
 
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HttpClientsByTransport {
+    private final Map<TransportType, PooledHttpClient> pooledHttpClientByTransport = new ConcurrentHashMap<>();
+
     public HttpClientsByTransport() {
     }
 
+    public CompletableFuture<Boolean> shutdown() {
+        List<CompletableFuture<Boolean>> futures = pooledHttpClientByTransport.values().stream()
+                .map(PooledHttpClient::shutdown)
+                .toList();
+        pooledHttpClientByTransport.clear();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(nil -> futures.stream().allMatch(CompletableFuture::join));
+    }
+
+    /**
+     * Returns the shared PooledHttpClient for the given transport type. The client is created at first usage.
+     */
+    public PooledHttpClient getPooledHttpClient(TransportType transportType,
+                                                Optional<Socks5Proxy> socksProxy,
+                                                Optional<String> socks5ProxyAddress) {
+        return pooledHttpClientByTransport.computeIfAbsent(transportType, key -> switch (key) {
+            case TOR -> PooledHttpClient.forTor(getSocks5ProxyProvider(socksProxy, socks5ProxyAddress));
+            case I2P -> PooledHttpClient.forI2p();
+            case CLEAR -> PooledHttpClient.forClearNet();
+        });
+    }
+
     public BaseHttpClient getHttpClient(String url,
                                         String userAgent,
                                         TransportType transportType,
                                         Optional<Socks5Proxy> socksProxy,
                                         Optional<String> socks5ProxyAddress) {
         return switch (transportType) {
-            case TOR -> {
-                Socks5ProxyProvider socks5ProxyProvider = socks5ProxyAddress
-                        .map(Socks5ProxyProvider::new)
-                        .orElse(socksProxy.map(Socks5ProxyProvider::new)
-                                .orElseThrow(() -> new RuntimeException("No socks5ProxyAddress provided and no Tor socksProxy available.")));
-                yield new TorHttpClient(url, userAgent, socks5ProxyProvider);
-                // If we have a socks5ProxyAddress defined in options we use that as proxy
-            }
+            case TOR -> new TorHttpClient(url, userAgent, getSocks5ProxyProvider(socksProxy, socks5ProxyAddress));
             case I2P ->
                 // The I2P router exposes a local HTTP proxy on port 4444 for I2P destinations
                 // Note: only works with external I2P router (embedded one doesn't provide this proxy by default)
@@ -52,4 +73,13 @@ public class HttpClientsByTransport {
             case CLEAR -> new ClearNetHttpClient(url, userAgent);
         };
     }
-}
\ No newline at end of file
+
+    private static Socks5ProxyProvider getSocks5ProxyProvider(Optional<Socks5Proxy> socksProxy,
+                                                              Optional<String> socks5ProxyAddress) {
+        // If we have a socks5ProxyAddress defined in options we use that as proxy
+        return socks5ProxyAddress
+                .map(Socks5ProxyProvider::new)
+                .orElse(socksProxy.map(Socks5ProxyProvider::new)
+                        .orElseThrow(() -> new RuntimeException("No socks5ProxyAddress provided and no Tor socksProxy available.")));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.http;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class HttpResponse<T> {
+    private final int statusCode;
+    // Header names are in lower case
+    private final Map<String, String> headers;
+    private final Optional<T> body;
+
+    public HttpResponse(int statusCode, Map<String, String> headers, Optional<T> body) {
+        this.statusCode = statusCode;
+        this.headers = Map.copyOf(headers);
+        this.body = body;
+    }
+
+    public Optional<String> findHeader(String name) {
+        return Optional.ofNullable(headers.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    public boolean isNotModified() {
+        return statusCode == 304;
+    }
+}
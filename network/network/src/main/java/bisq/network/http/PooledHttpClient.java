@@ -0,0 +1,233 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.http;
+
+import bisq.common.network.TransportType;
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.ExceptionUtil;
+import bisq.common.util.StringUtils;
+import bisq.network.http.utils.HttpException;
+import bisq.network.http.utils.Socks5ProxyProvider;
+import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * HTTP client which is shared by all users of a given transport type. In contrast to the {@link BaseHttpClient}
+ * implementations, which create a new connection for each request, it keeps pooled keep-alive connections per host,
+ * so that repeated requests to the same host do not pay the costs for a new Tor circuit and the TLS/HTTP setup.
+ * <p>
+ * Requests are executed on a dedicated thread pool and return a CompletableFuture which completes exceptionally
+ * if the request did not complete within the given timeout. The response body is passed as stream to the given
+ * {@link ResponseBodyParser}.
+ */
+@Slf4j
+public class PooledHttpClient {
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 5;
+    private static final int MAX_TOTAL_CONNECTIONS = 25;
+    private static final int NUM_THREADS = 5;
+    private static final TimeValue MAX_IDLE_TIME = TimeValue.ofMinutes(2);
+    private static final Timeout SOCKET_TIMEOUT = Timeout.ofSeconds(30);
+
+    static PooledHttpClient forTor(Socks5ProxyProvider socks5ProxyProvider) {
+        Socks5Proxy socks5Proxy = socks5ProxyProvider.getSocks5Proxy();
+        InetSocketAddress socksAddress = new InetSocketAddress(socks5Proxy.getInetAddress(), socks5Proxy.getPort());
+        PoolingTorHttpClientConnectionManager connectionManager = new PoolingTorHttpClientConnectionManager();
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSocksProxyAddress(socksAddress)
+                .setSoTimeout(SOCKET_TIMEOUT)
+                .build());
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+        connectionManager.setMaxTotal(MAX_TOTAL_CONNECTIONS);
+        return new PooledHttpClient(TransportType.TOR, connectionManager, Optional.empty());
+    }
+
+    static PooledHttpClient forI2p() {
+        // The I2P router exposes a local HTTP proxy on port 4444 for I2P destinations
+        return new PooledHttpClient(TransportType.I2P, createConnectionManager(), Optional.of(new HttpHost("localhost", 4444)));
+    }
+
+    static PooledHttpClient forClearNet() {
+        return new PooledHttpClient(TransportType.CLEAR, createConnectionManager(), Optional.empty());
+    }
+
+    private static HttpClientConnectionManager createConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoTimeout(SOCKET_TIMEOUT)
+                        .build())
+                .setMaxConnPerRoute(MAX_CONNECTIONS_PER_ROUTE)
+                .setMaxConnTotal(MAX_TOTAL_CONNECTIONS)
+                .build();
+    }
+
+    @Getter
+    private final TransportType transportType;
+    private final CloseableHttpClient closeableHttpClient;
+    private final ExecutorService executor;
+    private volatile boolean shutdownStarted;
+
+    private PooledHttpClient(TransportType transportType,
+                             HttpClientConnectionManager connectionManager,
+                             Optional<HttpHost> proxy) {
+        this.transportType = transportType;
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(MAX_IDLE_TIME);
+        proxy.ifPresent(builder::setProxy);
+        closeableHttpClient = builder.build();
+        executor = ExecutorFactory.newFixedThreadPool("PooledHttpClient-" + transportType.name(), NUM_THREADS);
+    }
+
+    public CompletableFuture<Boolean> shutdown() {
+        shutdownStarted = true;
+        return CompletableFuture.supplyAsync(() -> {
+                    closeableHttpClient.close(CloseMode.IMMEDIATE);
+                    return ExecutorFactory.shutdownAndAwaitTermination(executor, 100);
+                }, ExecutorFactory.newSingleThreadExecutor("PooledHttpClient-shutdown"))
+                .orTimeout(500, TimeUnit.MILLISECONDS)
+                .exceptionally(throwable -> {
+                    log.warn("Error at shutdown: {}", ExceptionUtil.getRootCauseMessage(throwable));
+                    return false;
+                });
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> get(String baseUrl,
+                                                      String param,
+                                                      Map<String, String> headers,
+                                                      ResponseBodyParser<T> responseBodyParser,
+                                                      Duration timeout) {
+        URI uri = URI.create(baseUrl);
+        return execute(uri, new HttpGet(getPath(uri) + "/" + param), headers, responseBodyParser, timeout);
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> post(String baseUrl,
+                                                       String body,
+                                                       Map<String, String> headers,
+                                                       ResponseBodyParser<T> responseBodyParser,
+                                                       Duration timeout) {
+        URI uri = URI.create(baseUrl);
+        HttpPost request = new HttpPost(getPath(uri));
+        request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return execute(uri, request, headers, responseBodyParser, timeout);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> execute(URI uri,
+                                                           HttpUriRequestBase request,
+                                                           Map<String, String> headers,
+                                                           ResponseBodyParser<T> responseBodyParser,
+                                                           Duration timeout) {
+        if (shutdownStarted) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Shutdown has already started"));
+        }
+
+        Timeout requestTimeout = Timeout.ofMilliseconds(timeout.toMillis());
+        request.setConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(requestTimeout)
+                .setResponseTimeout(requestTimeout)
+                .build());
+        headers.forEach(request::setHeader);
+        HttpHost target = new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort());
+        long ts = System.currentTimeMillis();
+        return CompletableFuture.supplyAsync(() -> {
+                    log.debug("Request {} {}{}", request.getMethod(), target, request.getRequestUri());
+                    try {
+                        return closeableHttpClient.execute(target, request, response -> {
+                            int statusCode = response.getCode();
+                            Map<String, String> responseHeaders = new HashMap<>();
+                            for (Header header : response.getHeaders()) {
+                                responseHeaders.put(header.getName().toLowerCase(Locale.ROOT), header.getValue());
+                            }
+                            HttpEntity entity = response.getEntity();
+                            if (statusCode >= 200 && statusCode < 300) {
+                                Optional<T> body = Optional.empty();
+                                if (entity != null) {
+                                    try (InputStream inputStream = entity.getContent()) {
+                                        body = Optional.ofNullable(responseBodyParser.parse(inputStream));
+                                    }
+                                }
+                                log.debug("Response from {}{} took {} ms. Content length: {}",
+                                        target, request.getRequestUri(), System.currentTimeMillis() - ts,
+                                        entity != null ? StringUtils.fromBytes(entity.getContentLength()) : "n/a");
+                                return new HttpResponse<>(statusCode, responseHeaders, body);
+                            } else if (statusCode == 304) {
+                                EntityUtils.consume(entity);
+                                return new HttpResponse<T>(statusCode, responseHeaders, Optional.empty());
+                            }
+
+                            String error = entity != null ? EntityUtils.toString(entity) : "Request failed";
+                            log.info("Received errorMsg '{}' with statusCode {} from {}{}. Response took: {} ms.",
+                                    StringUtils.truncate(error, 200), statusCode, target, request.getRequestUri(),
+                                    System.currentTimeMillis() - ts);
+                            throw new CompletionException(new HttpException(error, statusCode));
+                        });
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null && ExceptionUtil.getRootCause(throwable) instanceof TimeoutException) {
+                        // Aborts a blocking IO operation and releases the connection
+                        request.cancel();
+                    }
+                });
+    }
+
+    private static String getPath(URI uri) {
+        String path = uri.getRawPath();
+        if (path == null) {
+            return "";
+        }
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
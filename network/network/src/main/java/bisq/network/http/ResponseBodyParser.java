@@ -0,0 +1,29 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parses the response body directly from the input stream, so that the body does not need to be buffered as a String.
+ * The input stream is closed by the {@link PooledHttpClient} after parsing.
+ */
+@FunctionalInterface
+public interface ResponseBodyParser<T> {
+    T parse(InputStream inputStream) throws IOException;
+}
@@ -128,23 +128,21 @@ public abstract class Connection {
             ThreadName.set(this, "read-" + getThreadNameId());
             try {
                 while (isInputStreamActive()) {
-                    var proto = networkEnvelopeSocket.receiveNextEnvelope();
+                    var receivedEnvelope = networkEnvelopeSocket.receiveNextEnvelope();
                     // parsing might need some time wo we check again if connection is still active
                     if (!isInputStreamActive()) {
                         return;
                     }
-                    checkNotNull(proto, "Proto from NetworkEnvelope.parseDelimitedFrom(inputStream) must not be null");
+                    checkNotNull(receivedEnvelope, "ReceivedEnvelope from networkEnvelopeSocket.receiveNextEnvelope() must not be null");
 
                     connectionThrottle.throttleReceiveMessage();
                     // ThrottleReceiveMessage can cause a delay by Thread.sleep
                     if (!isInputStreamActive()) {
                         return;
                     }
-                    long ts = System.currentTimeMillis();
-                    NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
-                    long deserializeTime = System.currentTimeMillis() - ts;
+                    NetworkEnvelope networkEnvelope = receivedEnvelope.networkEnvelope();
                     networkEnvelope.verifyVersion();
-                    connectionMetrics.onReceived(networkEnvelope, deserializeTime);
+                    connectionMetrics.onReceived(networkEnvelope, receivedEnvelope.deserializeTime());
 
                     EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
                     log.debug("Received message: {} at: {}",
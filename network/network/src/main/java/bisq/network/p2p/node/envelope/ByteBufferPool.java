@@ -0,0 +1,108 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.envelope;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Pool of buffers for reading envelope frames. Buffers are pooled in size classes of powers of 2 from
+ * MIN_BUFFER_SIZE up to MAX_POOLED_BUFFER_SIZE. Larger buffers are allocated on demand and not retained, as those
+ * are rare (e.g. inventory responses) and would occupy a lot of memory.
+ * The total capacity of idle buffers is limited by maxPooledBytes.
+ * Thread safe.
+ */
+public class ByteBufferPool {
+    public static final int MIN_BUFFER_SIZE = 1024;
+    public static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+    public static final long DEFAULT_MAX_POOLED_BYTES = 16 * 1024 * 1024;
+
+    private static final int MIN_SIZE_CLASS = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    private static final int NUM_SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_POOLED_BUFFER_SIZE) - MIN_SIZE_CLASS + 1;
+
+    private final boolean isDirect;
+    private final long maxPooledBytes;
+    private final Queue<ByteBuffer>[] buffersBySizeClass;
+    private final AtomicLong pooledBytes = new AtomicLong();
+
+    public ByteBufferPool(boolean isDirect) {
+        this(isDirect, DEFAULT_MAX_POOLED_BYTES);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ByteBufferPool(boolean isDirect, long maxPooledBytes) {
+        this.isDirect = isDirect;
+        this.maxPooledBytes = maxPooledBytes;
+        buffersBySizeClass = new Queue[NUM_SIZE_CLASSES];
+        for (int i = 0; i < NUM_SIZE_CLASSES; i++) {
+            buffersBySizeClass[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * @return A cleared buffer with a limit of size. Buffers larger than MAX_POOLED_BUFFER_SIZE are heap buffers,
+     * which are not pooled, so that a large announced frame size does not pin native memory.
+     * The buffer must be passed to release once it is not used anymore.
+     */
+    public ByteBuffer acquire(int size) {
+        checkArgument(size >= 0, "Size must not be negative. size=" + size);
+        if (size > MAX_POOLED_BUFFER_SIZE) {
+            return ByteBuffer.allocate(size);
+        }
+
+        int sizeClass = getSizeClass(size);
+        ByteBuffer buffer = buffersBySizeClass[sizeClass].poll();
+        if (buffer != null) {
+            pooledBytes.addAndGet(-buffer.capacity());
+        } else {
+            int capacity = 1 << (sizeClass + MIN_SIZE_CLASS);
+            buffer = isDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+        buffer.clear().limit(size);
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (capacity < MIN_BUFFER_SIZE || capacity > MAX_POOLED_BUFFER_SIZE || buffer.isDirect() != isDirect || Integer.bitCount(capacity) != 1) {
+            // Not from our pool
+            return;
+        }
+        if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+            pooledBytes.addAndGet(-capacity);
+            return;
+        }
+        buffersBySizeClass[getSizeClass(capacity)].offer(buffer);
+    }
+
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    private static int getSizeClass(int size) {
+        if (size <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        // Smallest power of 2 >= size
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SIZE_CLASS;
+    }
+}
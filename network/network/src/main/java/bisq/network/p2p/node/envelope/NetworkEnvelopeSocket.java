@@ -19,15 +19,30 @@ package bisq.network.p2p.node.envelope;
 
 import bisq.common.network.PeerSocket;
 import bisq.network.p2p.message.NetworkEnvelope;
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 @Slf4j
 public class NetworkEnvelopeSocket implements Closeable {
+    // Heap buffers, as we read from an InputStream into the backing array
+    private static final ByteBufferPool BUFFER_POOL = new ByteBufferPool(false);
+
+    /**
+     * @param deserializeTime Time in ms used for parsing the frame and for NetworkEnvelope.fromProto.
+     */
+    public record ReceivedEnvelope(NetworkEnvelope networkEnvelope, long deserializeTime) {
+    }
+
     private final PeerSocket socket;
     private final InputStream inputStream;
     private final OutputStream outputStream;
@@ -43,8 +58,46 @@ public class NetworkEnvelopeSocket implements Closeable {
         outputStream.flush();
     }
 
-    public bisq.network.protobuf.NetworkEnvelope receiveNextEnvelope() throws IOException {
-        return bisq.network.protobuf.NetworkEnvelope.parseDelimitedFrom(inputStream);
+    /**
+     * Reads the next length delimited frame into a pooled buffer, so that we do not allocate a new array per frame.
+     * Parsing copies the byte fields out of the buffer, as the domain objects might retain the ByteStrings of the
+     * proto, thus the buffer can be returned to the pool once the frame is parsed.
+     * Frames larger than ByteBufferPool.MAX_POOLED_BUFFER_SIZE are parsed from the stream, so that we do not allocate
+     * the announced size before the data has arrived.
+     *
+     * @return The received envelope or null if the end of the stream was reached before a new frame started.
+     */
+    @Nullable
+    public ReceivedEnvelope receiveNextEnvelope() throws IOException {
+        int firstByte = inputStream.read();
+        if (firstByte == -1) {
+            return null;
+        }
+        int size = CodedInputStream.readRawVarint32(firstByte, inputStream);
+        if (size < 0) {
+            throw new InvalidProtocolBufferException("Received frame with negative size. size=" + size);
+        }
+
+        if (size > ByteBufferPool.MAX_POOLED_BUFFER_SIZE) {
+            CodedInputStream codedInputStream = CodedInputStream.newInstance(ByteStreams.limit(inputStream, size));
+            long ts = System.currentTimeMillis();
+            NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(bisq.network.protobuf.NetworkEnvelope.parseFrom(codedInputStream));
+            return new ReceivedEnvelope(networkEnvelope, System.currentTimeMillis() - ts);
+        }
+
+        ByteBuffer buffer = BUFFER_POOL.acquire(size);
+        try {
+            ByteStreams.readFully(inputStream, buffer.array(), buffer.arrayOffset(), size);
+            long ts = System.currentTimeMillis();
+            CodedInputStream codedInputStream = CodedInputStream.newInstance(buffer);
+            bisq.network.protobuf.NetworkEnvelope proto = bisq.network.protobuf.NetworkEnvelope.parseFrom(codedInputStream);
+            NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
+            return new ReceivedEnvelope(networkEnvelope, System.currentTimeMillis() - ts);
+        } catch (EOFException e) {
+            throw new EOFException("End of stream reached while reading a frame of " + size + " bytes");
+        } finally {
+            BUFFER_POOL.release(buffer);
+        }
     }
 
     @Override
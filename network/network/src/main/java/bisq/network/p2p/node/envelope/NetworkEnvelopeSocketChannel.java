@@ -48,7 +48,8 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
 
     public NetworkEnvelopeSocketChannel(SocketChannel socketChannel, int byteBufferSize) {
         this.socketChannel = socketChannel;
-        this.byteBuffer = ByteBuffer.allocate(byteBufferSize);
+        // Direct buffer, so that the channel reads without an intermediate copy
+        this.byteBuffer = ByteBuffer.allocateDirect(byteBufferSize);
         this.networkEnvelopeDeserializer = new NetworkEnvelopeDeserializer(byteBuffer);
     }
 
@@ -17,8 +17,10 @@
 
 package bisq.network.p2p.node.envelope.parser.nio;
 
+import bisq.network.p2p.node.envelope.ByteBufferPool;
 import bisq.network.p2p.node.envelope.parser.ProtoBufMessageLengthParser;
 import bisq.network.protobuf.NetworkEnvelope;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,13 +29,16 @@ import java.util.*;
 
 @Slf4j
 public class NetworkEnvelopeDeserializer {
+    // Frames are assembled in pooled direct buffers to avoid allocating a new buffer per frame.
+    // Parsing copies the byte fields, so the buffer can be reused once the frame is parsed.
+    private static final ByteBufferPool BUFFER_POOL = new ByteBufferPool(true);
 
     private final ByteBuffer byteBuffer;
     private final ProtoBufMessageLengthParser messageLengthParser;
     private boolean parsingMessage = false;
     private long currentMessageLength = 0;
     private int parsedMessageLength = 0;
-    private byte[] currentProtobufMessage;
+    private ByteBuffer currentProtobufMessage;
 
     private final Queue<bisq.network.p2p.message.NetworkEnvelope> parsedNetworkEnvelopes = new LinkedList<>();
 
@@ -93,7 +98,9 @@ public class NetworkEnvelopeDeserializer {
 
     private void tryToParseProtoBufMessage() {
         try {
-            NetworkEnvelope message = NetworkEnvelope.parseFrom(currentProtobufMessage);
+            currentProtobufMessage.flip();
+            CodedInputStream codedInputStream = CodedInputStream.newInstance(currentProtobufMessage);
+            NetworkEnvelope message = NetworkEnvelope.parseFrom(codedInputStream);
             bisq.network.p2p.message.NetworkEnvelope
                     networkEnvelope = bisq.network.p2p.message.NetworkEnvelope.fromProto(message);
             networkEnvelope.verifyVersion();
@@ -107,11 +114,11 @@ public class NetworkEnvelopeDeserializer {
     }
 
     private void parseNewIncomingMessage() {
-        currentProtobufMessage = new byte[(int) currentMessageLength];
+        currentProtobufMessage = BUFFER_POOL.acquire((int) currentMessageLength);
         parsedMessageLength = 0;
 
         if (isFullMessageInByteBuffer()) {
-            byteBuffer.get(currentProtobufMessage, parsedMessageLength, (int) currentMessageLength);
+            parsePartialMessageFromByteBuffer((int) currentMessageLength);
             tryToParseProtoBufMessage();
 
         } else {
@@ -125,7 +132,9 @@ public class NetworkEnvelopeDeserializer {
     }
 
     private void parsePartialMessageFromByteBuffer(int length) {
-        byteBuffer.get(currentProtobufMessage, parsedMessageLength, length);
+        int position = byteBuffer.position();
+        currentProtobufMessage.put(byteBuffer.slice(position, length));
+        byteBuffer.position(position + length);
         parsedMessageLength += length;
     }
 
@@ -133,7 +142,10 @@ public class NetworkEnvelopeDeserializer {
         parsingMessage = false;
         currentMessageLength = 0;
         parsedMessageLength = 0;
-        currentProtobufMessage = null;
+        if (currentProtobufMessage != null) {
+            BUFFER_POOL.release(currentProtobufMessage);
+            currentProtobufMessage = null;
+        }
     }
 
     public List<bisq.network.p2p.message.NetworkEnvelope> getAllNetworkEnvelopes() {
@@ -237,15 +237,14 @@ public final class ConnectionHandshake {
             networkEnvelopeSocket.send(requestNetworkEnvelope);
             connectionMetrics.onSent(requestNetworkEnvelope, System.currentTimeMillis() - ts);
 
-            bisq.network.protobuf.NetworkEnvelope responseProto = networkEnvelopeSocket.receiveNextEnvelope();
-            if (responseProto == null) {
+            NetworkEnvelopeSocket.ReceivedEnvelope receivedEnvelope = networkEnvelopeSocket.receiveNextEnvelope();
+            if (receivedEnvelope == null) {
                 throw new ConnectionException(PROTOBUF_IS_NULL,
                         "Response NetworkEnvelope protobuf is null. peerAddress=" + peerAddress);
             }
 
-            long startDeserializeTs = System.currentTimeMillis();
-            NetworkEnvelope responseNetworkEnvelope = NetworkEnvelope.fromProto(responseProto);
-            long deserializeTime = System.currentTimeMillis() - startDeserializeTs;
+            NetworkEnvelope responseNetworkEnvelope = receivedEnvelope.networkEnvelope();
+            long deserializeTime = receivedEnvelope.deserializeTime();
 
             responseNetworkEnvelope.verifyVersion();
             if (!(responseNetworkEnvelope.getEnvelopePayloadMessage() instanceof Response response)) {
@@ -291,14 +290,14 @@ public final class ConnectionHandshake {
     public Result onSocket(NetworkLoad myNetworkLoad) {
         try {
             ConnectionMetrics connectionMetrics = new ConnectionMetrics();
-            bisq.network.protobuf.NetworkEnvelope requestProto = networkEnvelopeSocket.receiveNextEnvelope();
-            if (requestProto == null) {
+            NetworkEnvelopeSocket.ReceivedEnvelope receivedEnvelope = networkEnvelopeSocket.receiveNextEnvelope();
+            if (receivedEnvelope == null) {
                 throw new ConnectionException(PROTOBUF_IS_NULL,
                         "Request NetworkEnvelope protobuf is null");
             }
-            long ts = System.currentTimeMillis();
-            NetworkEnvelope requestNetworkEnvelope = NetworkEnvelope.fromProto(requestProto);
-            long deserializeTime = System.currentTimeMillis() - ts;
+            NetworkEnvelope requestNetworkEnvelope = receivedEnvelope.networkEnvelope();
+            long deserializeTime = receivedEnvelope.deserializeTime();
+            long ts = System.currentTimeMillis() - deserializeTime;
 
             requestNetworkEnvelope.verifyVersion();
 
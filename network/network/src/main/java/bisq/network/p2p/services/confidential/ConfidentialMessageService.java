@@ -41,13 +41,12 @@ import bisq.security.HybridEncryption;
 import bisq.security.keys.KeyBundleService;
 import bisq.security.keys.KeyGeneration;
 import bisq.security.keys.PubKey;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -77,8 +76,13 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
     private final Optional<DataService> dataService;
     private final Optional<MessageDeliveryStatusService> messageDeliveryStatusService;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
-    @Getter
-    private final Set<EnvelopePayloadMessage> processedEnvelopePayloadMessages = new HashSet<>();
+    // Default TTL for messages which are not mailbox messages. Mailbox messages use the TTL of their MetaData.
+    static final long DEFAULT_PROCESSED_MESSAGE_TTL = MetaData.TTL_10_DAYS;
+    // Max. number of processed messages of all message classes. If reached, new messages are dropped until
+    // processed messages expire.
+    static final int MAX_PROCESSED_MESSAGES = 100_000;
+
+    private final ProcessedMessages processedMessages = new ProcessedMessages(MAX_PROCESSED_MESSAGES);
     private volatile boolean isShutdownInProgress;
 
     public ConfidentialMessageService(NodesById nodesById,
@@ -102,7 +106,7 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
         nodesById.removeNodeListener(this);
         dataService.ifPresent(service -> service.removeListener(this));
         listeners.clear();
-        processedEnvelopePayloadMessages.clear();
+        processedMessages.clear();
     }
 
 
@@ -133,17 +137,18 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
     @Override
     public void onMailboxDataAdded(MailboxData mailboxData) {
         ConfidentialMessage confidentialMessage = mailboxData.getConfidentialMessage();
-        processConfidentialMessage(confidentialMessage)
+        // Most mailbox messages are addressed to other nodes. We reject those by a lookup in the index of our own
+        // key IDs before we do any further processing.
+        Optional<KeyPair> myKeyPair = keyBundleService.findMyKeyPair(confidentialMessage.getReceiverKeyId());
+        if (myKeyPair.isEmpty()) {
+            return;
+        }
+
+        processConfidentialMessage(confidentialMessage, myKeyPair.get())
                 .whenComplete((result, throwable) -> {
                     if (throwable == null) {
                         if (result) {
-                            dataService.ifPresent(service -> {
-                                // If we are successful the msg must be for us, so we have the key
-                                KeyPair myKeyPair = keyBundleService.findKeyPair(confidentialMessage.getReceiverKeyId()).orElseThrow();
-                                service.removeMailboxData(mailboxData, myKeyPair);
-                            });
-                        } else {
-                            log.debug("We are not the receiver of that mailbox message");
+                            dataService.ifPresent(service -> service.removeMailboxData(mailboxData, myKeyPair.get()));
                         }
                     } else {
                         log.error("Error at onMailboxDataAdded", throwable);
@@ -156,6 +161,22 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
     // API
     /* --------------------------------------------------------------------- */
 
+    /**
+     * @return The messages processed inside their TTL, in the order they have been processed.
+     */
+    public Set<EnvelopePayloadMessage> getProcessedEnvelopePayloadMessages() {
+        return processedMessages.getAll();
+    }
+
+    /**
+     * @param types Classes or interfaces of the requested messages.
+     * @return The messages processed inside their TTL which are an instance of any of the given types, in the order
+     * they have been processed.
+     */
+    public List<EnvelopePayloadMessage> getProcessedEnvelopePayloadMessages(Set<Class<?>> types) {
+        return processedMessages.getMessages(types);
+    }
+
     public SendConfidentialMessageResult send(EnvelopePayloadMessage envelopePayloadMessage,
                                               NetworkId receiverNetworkId,
                                               Address address,
@@ -415,37 +436,46 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
     }
 
     private CompletableFuture<Boolean> processConfidentialMessage(ConfidentialMessage confidentialMessage) {
-        return keyBundleService.findKeyPair(confidentialMessage.getReceiverKeyId())
-                .map(receiversKeyPair -> supplyAsync(() -> {
-                    try {
-                        log.info("Found a matching key for processing confidentialMessage. ReceiverKeyId={}", confidentialMessage.getReceiverKeyId());
-                        ConfidentialData confidentialData = confidentialMessage.getConfidentialData();
-                        byte[] decryptedBytes = HybridEncryption.decryptAndVerify(confidentialData, receiversKeyPair);
-                        bisq.network.protobuf.EnvelopePayloadMessage decryptedProto = bisq.network.protobuf.EnvelopePayloadMessage.parseFrom(decryptedBytes);
-                        EnvelopePayloadMessage decryptedEnvelopePayloadMessage = EnvelopePayloadMessage.fromProto(decryptedProto);
-
-                        // For backward compatibility we send 2 versions of mailbox data, thus we will receive each
-                        // mailbox data 2 times. We do not want that client code need to deal with duplications,
-                        // thus we filter here out the duplicated message.
-                        boolean wasNotPresent = processedEnvelopePayloadMessages.add(decryptedEnvelopePayloadMessage);
-                        if (wasNotPresent) {
-                            PublicKey senderPublicKey = KeyGeneration.generatePublic(confidentialData.getSenderPublicKey());
-                            log.info("Decrypted confidentialMessage. decryptedEnvelopePayloadMessage={}", decryptedEnvelopePayloadMessage.getClass().getSimpleName());
-                            runAsync(() -> listeners.forEach(listener -> {
-                                try {
-                                    listener.onMessage(decryptedEnvelopePayloadMessage);
-                                    listener.onConfidentialMessage(decryptedEnvelopePayloadMessage, senderPublicKey);
-                                } catch (Exception e) {
-                                    log.error("Calling onMessage(decryptedEnvelopePayloadMessage, senderPublicKey) at messageListener {} failed", listener, e);
-                                }
-                            }), DISPATCHER);
-                        }
-                        return true;
-                    } catch (Exception e) {
-                        log.error("Error at decryption using receiversKeyId={}", confidentialMessage.getReceiverKeyId(), e);
-                        throw new RuntimeException(e);
-                    }
-                }, ExecutorFactory.WORKER_POOL))
+        return keyBundleService.findMyKeyPair(confidentialMessage.getReceiverKeyId())
+                .map(receiversKeyPair -> processConfidentialMessage(confidentialMessage, receiversKeyPair))
                 .orElse(CompletableFuture.completedFuture(false)); // We don't have a key for that receiverKeyId
     }
+
+    private CompletableFuture<Boolean> processConfidentialMessage(ConfidentialMessage confidentialMessage,
+                                                                  KeyPair receiversKeyPair) {
+        return supplyAsync(() -> {
+            try {
+                log.info("Found a matching key for processing confidentialMessage. ReceiverKeyId={}", confidentialMessage.getReceiverKeyId());
+                ConfidentialData confidentialData = confidentialMessage.getConfidentialData();
+                byte[] decryptedBytes = HybridEncryption.decryptAndVerify(confidentialData, receiversKeyPair);
+                bisq.network.protobuf.EnvelopePayloadMessage decryptedProto = bisq.network.protobuf.EnvelopePayloadMessage.parseFrom(decryptedBytes);
+                EnvelopePayloadMessage decryptedEnvelopePayloadMessage = EnvelopePayloadMessage.fromProto(decryptedProto);
+
+                // For backward compatibility we send 2 versions of mailbox data, thus we will receive each
+                // mailbox data 2 times. We do not want that client code need to deal with duplications,
+                // thus we filter here out the duplicated message. Duplicates can only arrive as long as the mailbox
+                // data is not expired, thus we keep the message for its TTL.
+                long ttl = decryptedEnvelopePayloadMessage instanceof MailboxMessage mailboxMessage
+                        ? mailboxMessage.getMetaData().getTtl()
+                        : DEFAULT_PROCESSED_MESSAGE_TTL;
+                boolean wasNotPresent = processedMessages.add(decryptedEnvelopePayloadMessage, ttl);
+                if (wasNotPresent) {
+                    PublicKey senderPublicKey = KeyGeneration.generatePublic(confidentialData.getSenderPublicKey());
+                    log.info("Decrypted confidentialMessage. decryptedEnvelopePayloadMessage={}", decryptedEnvelopePayloadMessage.getClass().getSimpleName());
+                    runAsync(() -> listeners.forEach(listener -> {
+                        try {
+                            listener.onMessage(decryptedEnvelopePayloadMessage);
+                            listener.onConfidentialMessage(decryptedEnvelopePayloadMessage, senderPublicKey);
+                        } catch (Exception e) {
+                            log.error("Calling onMessage(decryptedEnvelopePayloadMessage, senderPublicKey) at messageListener {} failed", listener, e);
+                        }
+                    }), DISPATCHER);
+                }
+                return true;
+            } catch (Exception e) {
+                log.error("Error at decryption using receiversKeyId={}", confidentialMessage.getReceiverKeyId(), e);
+                throw new RuntimeException(e);
+            }
+        }, ExecutorFactory.WORKER_POOL);
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.common.timer.Clock;
+import bisq.common.timer.SystemClock;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The processed confidential messages, grouped by their class as they arrive. Services replay only the message
+ * types they handle instead of filtering all processed messages.
+ * Messages are kept for their TTL. The max. size applies to the messages of all classes together. Once it is
+ * reached, new messages get rejected until messages expire, as a message removed before its expiry would be
+ * processed again.
+ * Thread safe.
+ */
+@Slf4j
+class ProcessedMessages {
+    private final Clock clock;
+    private final int maxSize;
+    // Shared by all sets, so that we can replay messages of different classes in the order they have been processed
+    private final AtomicLong sequence = new AtomicLong();
+    // The size of the sets is limited by the max. size of all messages, thus they are not limited by themselves
+    private final Map<Class<? extends EnvelopePayloadMessage>, TimeWindowedSet<EnvelopePayloadMessage>> messagesByClass = new ConcurrentHashMap<>();
+    private boolean isMaxSizeReached;
+
+    ProcessedMessages(int maxSize) {
+        this(new SystemClock(), maxSize);
+    }
+
+    ProcessedMessages(Clock clock, int maxSize) {
+        this.clock = clock;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return True if the message was not contained or had already expired and the max. size is not reached.
+     */
+    synchronized boolean add(EnvelopePayloadMessage message, long ttl) {
+        TimeWindowedSet<EnvelopePayloadMessage> messages = messagesByClass.computeIfAbsent(message.getClass(),
+                key -> new TimeWindowedSet<>(clock, Integer.MAX_VALUE, sequence));
+        if (messages.contains(message)) {
+            return false;
+        }
+
+        if (getSize() >= maxSize) {
+            // The sets prune expired messages only at their own adds, thus we prune all before we reject
+            messagesByClass.values().forEach(TimeWindowedSet::pruneExpired);
+            if (getSize() >= maxSize) {
+                if (!isMaxSizeReached) {
+                    isMaxSizeReached = true;
+                    log.warn("Max size of {} processed messages reached. We reject new messages until messages expire.",
+                            maxSize);
+                }
+                return false;
+            }
+        }
+        isMaxSizeReached = false;
+        return messages.add(message, ttl);
+    }
+
+    /**
+     * @param types Classes or interfaces of the requested messages.
+     * @return The not expired messages which are an instance of any of the given types, in the order they have been
+     * processed.
+     */
+    List<EnvelopePayloadMessage> getMessages(Collection<Class<?>> types) {
+        List<TimeWindowedSet<EnvelopePayloadMessage>> matchingSets = new ArrayList<>();
+        messagesByClass.forEach((messageClass, messages) -> {
+            if (types.stream().anyMatch(type -> type.isAssignableFrom(messageClass))) {
+                matchingSets.add(messages);
+            }
+        });
+
+        if (matchingSets.isEmpty()) {
+            return List.of();
+        } else if (matchingSets.size() == 1) {
+            return new ArrayList<>(matchingSets.get(0).getElements());
+        } else {
+            SortedMap<Long, EnvelopePayloadMessage> messageBySequence = new TreeMap<>();
+            matchingSets.forEach(messages -> messages.putElementsBySequence(messageBySequence));
+            return new ArrayList<>(messageBySequence.values());
+        }
+    }
+
+    /**
+     * @return The not expired messages, in the order they have been processed.
+     */
+    Set<EnvelopePayloadMessage> getAll() {
+        return new LinkedHashSet<>(getMessages(List.of(EnvelopePayloadMessage.class)));
+    }
+
+    synchronized void clear() {
+        messagesByClass.clear();
+    }
+
+    private int getSize() {
+        return messagesByClass.values().stream().mapToInt(TimeWindowedSet::size).sum();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.common.timer.Clock;
+import bisq.common.timer.SystemClock;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Set of recently added elements used for filtering out duplicates. Each element is kept for the TTL given at add
+ * and gets pruned after it has expired. Inside that window an element is never accepted twice.
+ * To keep memory bounded also at a very high rate of elements, new elements get rejected once maxSize is reached,
+ * until elements expire. We do not remove elements before they have expired, as they would be accepted again.
+ * Each add gets a sequence number. Sets sharing the sequence counter can be merged in their common insertion order.
+ * Thread safe.
+ */
+@Slf4j
+public class TimeWindowedSet<T> {
+    // Elements are mostly added with the same TTL, so pruning from the head of the insertion order removes nearly
+    // all expired elements. A full scan catches the ones with shorter TTL behind elements with a longer TTL.
+    static final long FULL_PRUNE_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    private record Entry(long expiryDate, long sequence) {
+    }
+
+    private final Clock clock;
+    private final int maxSize;
+    private final AtomicLong sequence;
+    // Entry by element, in insertion order
+    private final Map<T, Entry> entryByElement = new LinkedHashMap<>();
+    private long nextFullPruneDate;
+    private boolean isMaxSizeReached;
+
+    public TimeWindowedSet(int maxSize) {
+        this(new SystemClock(), maxSize);
+    }
+
+    public TimeWindowedSet(Clock clock, int maxSize) {
+        this(clock, maxSize, new AtomicLong());
+    }
+
+    public TimeWindowedSet(Clock clock, int maxSize, AtomicLong sequence) {
+        this.clock = clock;
+        this.maxSize = maxSize;
+        this.sequence = sequence;
+    }
+
+    /**
+     * @return True if the element was not contained or had already expired and maxSize is not reached.
+     */
+    public synchronized boolean add(T element, long ttl) {
+        long now = clock.now();
+        pruneExpired(now);
+        Entry entry = entryByElement.get(element);
+        if (entry != null && entry.expiryDate() > now) {
+            return false;
+        }
+
+        // An expired entry gets replaced, thus only a new element increases the size
+        if (entry == null && entryByElement.size() >= maxSize) {
+            if (!isMaxSizeReached) {
+                isMaxSizeReached = true;
+                log.warn("Max size of {} reached. We reject new elements until elements expire.", maxSize);
+            }
+            return false;
+        }
+        isMaxSizeReached = false;
+
+        // We remove a potentially expired entry first, so that the element moves to the end of the insertion order
+        entryByElement.remove(element);
+        entryByElement.put(element, new Entry(now + ttl, sequence.incrementAndGet()));
+        return true;
+    }
+
+    public synchronized boolean contains(T element) {
+        Entry entry = entryByElement.get(element);
+        return entry != null && entry.expiryDate() > clock.now();
+    }
+
+    /**
+     * @return A copy of the not expired elements in insertion order.
+     */
+    public synchronized Set<T> getElements() {
+        long now = clock.now();
+        pruneExpired(now);
+        Set<T> elements = new LinkedHashSet<>();
+        entryByElement.forEach((element, entry) -> {
+            if (entry.expiryDate() > now) {
+                elements.add(element);
+            }
+        });
+        return elements;
+    }
+
+    /**
+     * Puts the not expired elements by their sequence number into the given map.
+     */
+    public synchronized void putElementsBySequence(SortedMap<Long, T> elementBySequence) {
+        long now = clock.now();
+        pruneExpired(now);
+        entryByElement.forEach((element, entry) -> {
+            if (entry.expiryDate() > now) {
+                elementBySequence.put(entry.sequence(), element);
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return entryByElement.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entryByElement.isEmpty();
+    }
+
+    public synchronized void clear() {
+        entryByElement.clear();
+    }
+
+    /**
+     * Prunes the expired elements at the head of the insertion order, and all expired elements if the full prune
+     * interval has passed.
+     */
+    public synchronized void pruneExpired() {
+        pruneExpired(clock.now());
+    }
+
+    private void pruneExpired(long now) {
+        Iterator<Entry> iterator = entryByElement.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiryDate() <= now) {
+            iterator.remove();
+        }
+
+        if (now >= nextFullPruneDate) {
+            nextFullPruneDate = now + FULL_PRUNE_INTERVAL;
+            entryByElement.values().removeIf(entry -> entry.expiryDate() <= now);
+        }
+    }
+}
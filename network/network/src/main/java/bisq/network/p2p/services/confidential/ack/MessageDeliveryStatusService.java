@@ -91,9 +91,7 @@ public class MessageDeliveryStatusService implements PersistenceClient<MessageDe
                 .runnableName("checkPending")
                 .after(1000);
 
-        networkService.getConfidentialMessageServices().stream()
-                .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
-                .forEach(this::onMessage);
+        networkService.replayProcessedConfidentialMessages(Set.of(AckRequestingMessage.class, AckMessage.class), this::onMessage);
         networkService.addConfidentialMessageListener(this);
     }
 
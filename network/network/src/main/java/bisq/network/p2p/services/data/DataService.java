@@ -39,6 +39,7 @@ import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -211,6 +212,18 @@ public class DataService implements StorageService.Listener {
         return storageService.getAuthenticatedData(storeName);
     }
 
+    public TreeMap<String, Integer> getNumAuthorizedDataByClassName() {
+        return storageService.getNumAuthorizedDataByClassName();
+    }
+
+    public TreeMap<String, Integer> getNumAuthenticatedDataByClassName() {
+        return storageService.getNumAuthenticatedDataByClassName();
+    }
+
+    public TreeMap<String, Integer> getNumMailboxDataByClassName() {
+        return storageService.getNumMailboxDataByClassName();
+    }
+
 
     /* --------------------------------------------------------------------- */
     // Add data
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Counts the values of a store map which match the given predicate (e.g. AddAuthenticatedDataRequests of
+ * AuthorizedData). The counter is updated at each map mutation with the previous and the new value, so that reading
+ * the count does not require iterating the map. After bulk changes of the map (e.g. applying persisted data) the
+ * count has to be recalculated with recount.
+ */
+public class DataRequestCounter<T> {
+    private final Predicate<T> predicate;
+    private final AtomicInteger count = new AtomicInteger();
+
+    public DataRequestCounter(Predicate<T> predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * @param previous The value returned by map.put, or null if there was no entry.
+     * @param value    The value which was put to the map.
+     */
+    public void onPut(@Nullable T previous, T value) {
+        int delta = (matches(value) ? 1 : 0) - (matches(previous) ? 1 : 0);
+        if (delta != 0) {
+            count.addAndGet(delta);
+        }
+    }
+
+    /**
+     * @param removed The value returned by map.remove, or null if there was no entry.
+     */
+    public void onRemove(@Nullable T removed) {
+        if (matches(removed)) {
+            count.decrementAndGet();
+        }
+    }
+
+    public void recount(Collection<T> values) {
+        count.set((int) values.stream().filter(predicate).count());
+    }
+
+    public int get() {
+        return count.get();
+    }
+
+    private boolean matches(@Nullable T value) {
+        return value != null && predicate.test(value);
+    }
+}
@@ -55,10 +55,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -248,6 +250,36 @@ public class StorageService {
         return stores.flatMap(this::getAuthenticatedData);
     }
 
+    /**
+     * The number of AuthorizedData per class name. The counts are maintained by the stores, thus the costs depend
+     * only on the number of stores and not on the number of entries.
+     */
+    public TreeMap<String, Integer> getNumAuthorizedDataByClassName() {
+        return getNumDataByStoreKey(authenticatedDataStores, AuthenticatedDataStorageService::getNumAuthorizedData);
+    }
+
+    /**
+     * The number of AuthenticatedData which are not AuthorizedData per class name.
+     */
+    public TreeMap<String, Integer> getNumAuthenticatedDataByClassName() {
+        return getNumDataByStoreKey(authenticatedDataStores, AuthenticatedDataStorageService::getNumAuthenticatedData);
+    }
+
+    public TreeMap<String, Integer> getNumMailboxDataByClassName() {
+        return getNumDataByStoreKey(mailboxStores, MailboxDataStorageService::getNumMailboxData);
+    }
+
+    private static <S> TreeMap<String, Integer> getNumDataByStoreKey(Map<String, S> stores, ToIntFunction<S> counter) {
+        TreeMap<String, Integer> numDataByStoreKey = new TreeMap<>();
+        stores.forEach((storeKey, store) -> {
+            int numData = counter.applyAsInt(store);
+            if (numData > 0) {
+                numDataByStoreKey.put(storeKey, numData);
+            }
+        });
+        return numDataByStoreKey;
+    }
+
     private Stream<AuthenticatedData> getAuthenticatedData(DataStorageService<? extends DataRequest> store) {
         return store.getPersistableStore().getClone().getMap().values().stream()
                 .filter(e -> e instanceof AddAuthenticatedDataRequest)
@@ -569,6 +601,7 @@ public class StorageService {
             log.info("cleanupMap for {}: size of cleaned map {}; size of original map={}", storeKey, cleaned.size(), map.size());
             map.clear();
             map.putAll(cleaned);
+            authenticatedDataStorageService.recountData();
             authenticatedDataStorageService.persist();
         } catch (Exception e) {
             e.printStackTrace();
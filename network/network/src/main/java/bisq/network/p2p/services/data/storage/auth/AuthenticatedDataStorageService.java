@@ -21,6 +21,7 @@ import bisq.common.application.DevMode;
 import bisq.common.data.ByteArray;
 import bisq.common.formatter.DataSizeFormatter;
 import bisq.common.util.StringUtils;
+import bisq.network.p2p.services.data.storage.DataRequestCounter;
 import bisq.network.p2p.services.data.storage.DataStorageResult;
 import bisq.network.p2p.services.data.storage.DataStorageService;
 import bisq.network.p2p.services.data.storage.DataStore;
@@ -34,6 +35,7 @@ import bisq.security.DigestUtil;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
@@ -57,6 +59,10 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
 
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final Object mapAccessLock = new Object();
+    private final DataRequestCounter<AuthenticatedDataRequest> authorizedDataCounter =
+            new DataRequestCounter<>(request -> isAddRequest(request, true));
+    private final DataRequestCounter<AuthenticatedDataRequest> authenticatedDataCounter =
+            new DataRequestCounter<>(request -> isAddRequest(request, false));
 
     public AuthenticatedDataStorageService(PersistenceService persistenceService,
                                            PruneExpiredEntriesService pruneExpiredEntriesService,
@@ -71,6 +77,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         maybeLogMapState("onPersistedApplied", persisted);
         pruneInvalidAuthorizedData();
         handlePersistedPublishDateAware(persisted);
+        recountData();
     }
 
     @Override
@@ -138,7 +145,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 publishDateAware.setPublishDate(authenticatedSequentialData.getCreated());
             }
 
-            map.put(byteArray, request);
+            onPut(map.put(byteArray, request), request);
 
             // In case we only updated the seq number we still want to broadcast and update the listeners.
             // It is a valid use case that we have both an add and remove data request, and we get repeated sequences
@@ -170,7 +177,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 log.debug("No entry at remove. hash={}", byteArray);
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                onPut(map.put(byteArray, request), request);
                 persist();
                 return new DataStorageResult(true).noEntry();
             }
@@ -180,7 +187,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the map with the new request with the fresh sequence number.
-                    map.put(byteArray, request);
+                    onPut(map.put(byteArray, request), request);
                     persist();
                 }
                 return new DataStorageResult(true).alreadyRemoved();
@@ -223,7 +230,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                         metaDataFromDistributedData);
             }
 
-            map.put(byteArray, request);
+            onPut(map.put(byteArray, request), request);
         }
 
         persist();
@@ -287,7 +294,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                     addRequestFromMap.getSignature(),
                     addRequestFromMap.getOwnerPublicKey());
 
-            map.put(byteArray, updatedRequest);
+            onPut(map.put(byteArray, updatedRequest), updatedRequest);
         }
 
         persist();
@@ -310,6 +317,25 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         listeners.remove(listener);
     }
 
+    public int getNumAuthorizedData() {
+        return authorizedDataCounter.get();
+    }
+
+    public int getNumAuthenticatedData() {
+        return authenticatedDataCounter.get();
+    }
+
+    /**
+     * Needs to be called after the map got changed in bulk (e.g. at cleanup of the map).
+     */
+    public void recountData() {
+        synchronized (mapAccessLock) {
+            Collection<AuthenticatedDataRequest> values = persistableStore.getMap().values();
+            authorizedDataCounter.recount(values);
+            authenticatedDataCounter.recount(values);
+        }
+    }
+
     @VisibleForTesting
     public int getSequenceNumber(byte[] hash) {
         ByteArray byteArray = new ByteArray(hash);
@@ -337,7 +363,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         if (!expiredEntries.isEmpty()) {
             log.info("We remove {} expired entries from our {} map", expiredEntries.size(), getStoreKey());
             expiredEntries.forEach(entry -> {
-                persistableStore.getMap().remove(entry.getKey());
+                onRemove(persistableStore.getMap().remove(entry.getKey()));
                 if (entry.getValue() instanceof AddAuthenticatedDataRequest) {
                     AuthenticatedData data = ((AddAuthenticatedDataRequest) entry.getValue()).getAuthenticatedSequentialData().getAuthenticatedData();
                     listeners.forEach(listener -> {
@@ -369,7 +395,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
             invalidAuthorizedData.forEach((key, value) -> {
                 log.warn("We prune the AddAuthenticatedDataRequest with an invalid AuthorizedData. {}",
                         StringUtils.truncate(value.toString(), 3000));
-                persistableStore.getMap().remove(key);
+                onRemove(persistableStore.getMap().remove(key));
             });
             persist();
         }
@@ -389,6 +415,21 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         });
     }
 
+    private void onPut(AuthenticatedDataRequest previous, AuthenticatedDataRequest request) {
+        authorizedDataCounter.onPut(previous, request);
+        authenticatedDataCounter.onPut(previous, request);
+    }
+
+    private void onRemove(AuthenticatedDataRequest removed) {
+        authorizedDataCounter.onRemove(removed);
+        authenticatedDataCounter.onRemove(removed);
+    }
+
+    private static boolean isAddRequest(AuthenticatedDataRequest request, boolean isAuthorizedData) {
+        return request instanceof AddAuthenticatedDataRequest addRequest &&
+                (addRequest.getAuthenticatedSequentialData().getAuthenticatedData() instanceof AuthorizedData) == isAuthorizedData;
+    }
+
     // Useful for debugging state of the store
     private void maybeLogMapState(String methodName, DataStore<AuthenticatedDataRequest> dataStore) {
         if (DevMode.isDevMode() || methodName.equals("onPersistedApplied")) {
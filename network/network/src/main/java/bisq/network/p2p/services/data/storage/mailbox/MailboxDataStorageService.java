@@ -20,6 +20,7 @@ package bisq.network.p2p.services.data.storage.mailbox;
 import bisq.common.application.DevMode;
 import bisq.common.data.ByteArray;
 import bisq.common.formatter.DataSizeFormatter;
+import bisq.network.p2p.services.data.storage.DataRequestCounter;
 import bisq.network.p2p.services.data.storage.DataStorageResult;
 import bisq.network.p2p.services.data.storage.DataStorageService;
 import bisq.network.p2p.services.data.storage.DataStore;
@@ -46,6 +47,8 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
 
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final Object mapAccessLock = new Object();
+    private final DataRequestCounter<MailboxRequest> mailboxDataCounter =
+            new DataRequestCounter<>(request -> request instanceof AddMailboxRequest);
 
     public MailboxDataStorageService(PersistenceService persistenceService,
                                      PruneExpiredEntriesService pruneExpiredEntriesService,
@@ -58,6 +61,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
     @Override
     public void onPersistedApplied(DataStore<MailboxRequest> persisted) {
         maybeLogMapState("onPersistedApplied", persisted);
+        recountData();
     }
 
     @Override
@@ -105,7 +109,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
             if (request.isSignatureInvalid()) {
                 return new DataStorageResult(false).signatureInvalid();
             }
-            map.put(byteArray, request);
+            mailboxDataCounter.onPut(map.put(byteArray, request), request);
         }
 
         persist();
@@ -132,7 +136,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
             if (requestFromMap == null) {
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                mailboxDataCounter.onPut(map.put(byteArray, request), request);
                 persist();
                 return new DataStorageResult(true).noEntry();
             }
@@ -141,7 +145,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the request, so we have the latest sequence number.
-                    map.put(byteArray, request);
+                    mailboxDataCounter.onPut(map.put(byteArray, request), request);
                     persist();
                 }
                 return new DataStorageResult(true).alreadyRemoved();
@@ -179,7 +183,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                         metaDataFromMailboxData);
             }
 
-            map.put(byteArray, request);
+            mailboxDataCounter.onPut(map.put(byteArray, request), request);
             listeners.forEach(listener -> {
                 try {
                     listener.onRemoved(sequentialDataFromMap.getMailboxData());
@@ -202,6 +206,19 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
         listeners.remove(listener);
     }
 
+    public int getNumMailboxData() {
+        return mailboxDataCounter.get();
+    }
+
+    /**
+     * Needs to be called after the map got changed in bulk.
+     */
+    public void recountData() {
+        synchronized (mapAccessLock) {
+            mailboxDataCounter.recount(persistableStore.getMap().values());
+        }
+    }
+
 
     /* --------------------------------------------------------------------- */
     // Private
@@ -244,7 +261,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 .collect(Collectors.toSet());
         if (!expiredEntries.isEmpty()) {
             log.info("We remove {} expired entries from our {} map", expiredEntries.size(), getStoreKey());
-            expiredEntries.forEach(entry -> persistableStore.getMap().remove(entry.getKey()));
+            expiredEntries.forEach(entry -> mailboxDataCounter.onRemove(persistableStore.getMap().remove(entry.getKey())));
         }
     }
 
@@ -27,7 +27,6 @@ import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
 import bisq.network.p2p.services.data.DataService;
-import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.TreeMap;
@@ -93,26 +92,9 @@ public class ReportResponseService implements Node.Listener {
     /* --------------------------------------------------------------------- */
 
     private Report createStorageReport() {
-        TreeMap<String, Integer> authorizedDataPerClassName = new TreeMap<>();
-        dataService.getAuthorizedData().forEach(data -> {
-            String className = data.getClassName();
-            authorizedDataPerClassName.put(className, authorizedDataPerClassName.getOrDefault(className, 0) + 1);
-        });
-
-        TreeMap<String, Integer> authenticatedDataPerClassName = new TreeMap<>();
-        dataService.getAuthenticatedData()
-                .filter(data -> !(data instanceof AuthorizedData))
-                .forEach(data -> {
-                    String className = data.getClassName();
-                    authenticatedDataPerClassName.put(className, authenticatedDataPerClassName.getOrDefault(className, 0) + 1);
-                });
-
-        TreeMap<String, Integer> mailboxDataPerClassName = new TreeMap<>();
-        dataService.getMailboxData().forEach(data -> {
-            String className = data.getClassName();
-            mailboxDataPerClassName.put(className, mailboxDataPerClassName.getOrDefault(className, 0) + 1);
-        });
-
+        TreeMap<String, Integer> authorizedDataPerClassName = dataService.getNumAuthorizedDataByClassName();
+        TreeMap<String, Integer> authenticatedDataPerClassName = dataService.getNumAuthenticatedDataByClassName();
+        TreeMap<String, Integer> mailboxDataPerClassName = dataService.getNumMailboxDataByClassName();
 
         int numConnections = node.getNumConnections();
         int memoryUsed = (int) memoryReportService.getUsedMemoryInMB();
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.envelope;
+
+import bisq.common.network.PeerSocket;
+import bisq.network.p2p.message.NetworkEnvelope;
+import bisq.network.p2p.node.authorization.token.hash_cash_v2.HashCashV2Token;
+import bisq.network.p2p.node.envelope.parser.nio.NetworkEnvelopeDeserializer;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.security.pow.ProofOfWork;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Measures throughput and allocation rate of decoding a stream of mixed envelopes: 94% small (about 100 bytes),
+ * 5.9% medium (64 KB) and 0.1% large (2 MB, above the max. pooled buffer size).
+ * Compares parseDelimitedFrom on the stream as it was done before with the pooled buffer decoding of
+ * NetworkEnvelopeSocket and NetworkEnvelopeDeserializer.
+ * Allocation is measured with com.sun.management.ThreadMXBean, thus it requires a HotSpot based JVM.
+ * Usage: EnvelopeDecodingBenchmark [numEnvelopes]
+ */
+public class EnvelopeDecodingBenchmark {
+    private static final int NUM_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int numEnvelopes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        byte[] frames = createFrames(numEnvelopes);
+        System.out.printf("%d envelopes, %.1f MB%n", numEnvelopes, frames.length / 1024d / 1024d);
+
+        for (int round = 1; round <= NUM_ROUNDS; round++) {
+            System.out.println("Round " + round);
+            run("  parseDelimitedFrom", frames, numEnvelopes, () -> {
+                InputStream inputStream = new ByteArrayInputStream(frames);
+                int count = 0;
+                bisq.network.protobuf.NetworkEnvelope proto;
+                while ((proto = bisq.network.protobuf.NetworkEnvelope.parseDelimitedFrom(inputStream)) != null) {
+                    NetworkEnvelope.fromProto(proto);
+                    count++;
+                }
+                return count;
+            });
+            run("  NetworkEnvelopeSocket", frames, numEnvelopes, () -> {
+                NetworkEnvelopeSocket socket = new NetworkEnvelopeSocket(new InputStreamPeerSocket(new ByteArrayInputStream(frames)));
+                int count = 0;
+                while (socket.receiveNextEnvelope() != null) {
+                    count++;
+                }
+                return count;
+            });
+            run("  NetworkEnvelopeDeserializer", frames, numEnvelopes, () -> {
+                // Simulates the reads of NetworkEnvelopeSocketChannel into its direct buffer
+                ByteBuffer channelBuffer = ByteBuffer.allocateDirect(NetworkEnvelopeSocketChannel.BYTE_BUFFER_SIZE);
+                NetworkEnvelopeDeserializer deserializer = new NetworkEnvelopeDeserializer(channelBuffer);
+                int count = 0;
+                for (int offset = 0; offset < frames.length; offset += channelBuffer.capacity()) {
+                    channelBuffer.clear();
+                    channelBuffer.put(frames, offset, Math.min(channelBuffer.capacity(), frames.length - offset));
+                    channelBuffer.flip();
+                    deserializer.readFromByteBuffer();
+                    count += deserializer.getAllNetworkEnvelopes().size();
+                }
+                return count;
+            });
+        }
+    }
+
+    private static void run(String name, byte[] frames, int numEnvelopes, Decoder decoder) throws IOException {
+        long allocatedBytes = getAllocatedBytes();
+        long ts = System.nanoTime();
+        int count = decoder.decode();
+        long nanos = System.nanoTime() - ts;
+        allocatedBytes = getAllocatedBytes() - allocatedBytes;
+        checkArgument(count == numEnvelopes, "Decoded " + count + " of " + numEnvelopes + " envelopes");
+
+        double seconds = nanos / 1e9;
+        System.out.printf("%s: %.0f envelopes/s, %.1f MB/s, allocated %.1f MB (%.0f bytes per envelope, %.1f MB/s)%n",
+                name,
+                numEnvelopes / seconds,
+                frames.length / 1024d / 1024d / seconds,
+                allocatedBytes / 1024d / 1024d,
+                (double) allocatedBytes / numEnvelopes,
+                allocatedBytes / 1024d / 1024d / seconds);
+    }
+
+    private static byte[] createFrames(int numEnvelopes) throws IOException {
+        Random random = new Random(1);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (int i = 0; i < numEnvelopes; i++) {
+            int value = random.nextInt(1000);
+            int payloadSize = value < 940 ? 32 : value < 999 ? 64 * 1024 : 2 * 1024 * 1024;
+            byte[] payload = new byte[payloadSize];
+            random.nextBytes(payload);
+            ProofOfWork proofOfWork = new ProofOfWork(payload, i, null, 1, new byte[8], 0);
+            NetworkEnvelope networkEnvelope = new NetworkEnvelope(new HashCashV2Token(proofOfWork, i), new Ping(i));
+            networkEnvelope.writeDelimitedTo(outputStream);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private interface Decoder {
+        int decode() throws IOException;
+    }
+
+    private record InputStreamPeerSocket(InputStream inputStream) implements PeerSocket {
+        @Override
+        public InputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.common.encoding.Hex;
+import bisq.common.file.FileUtils;
+import bisq.network.p2p.node.NodesById;
+import bisq.network.p2p.services.data.storage.MetaData;
+import bisq.network.p2p.services.data.storage.mailbox.MailboxData;
+import bisq.persistence.PersistenceService;
+import bisq.security.ConfidentialData;
+import bisq.security.keys.KeyBundleService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the ingestion of mailbox data addressed to other nodes, as it happens at startup when we receive the
+ * mailbox data of the whole network. Compares the lookup through the key bundle store as it was done before with
+ * the lookup in the index of our own key IDs (KeyBundleService.findMyKeyPair) done by
+ * ConfidentialMessageService.onMailboxDataAdded. The second measurement runs onMailboxDataAdded itself.
+ * Usage: MailboxIngestionBenchmark [numForeignEntries] [numOwnIdentities]
+ */
+public class MailboxIngestionBenchmark {
+    private static final int NUM_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int numForeignEntries = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int numOwnIdentities = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        Path baseDir = Files.createTempDirectory("mailbox_ingestion_benchmark");
+        try {
+            KeyBundleService keyBundleService = new KeyBundleService(new PersistenceService(baseDir.toString()),
+                    new KeyBundleService.Config("", false));
+            for (int i = 0; i < numOwnIdentities; i++) {
+                String keyId = keyBundleService.getKeyIdFromTag("identity-" + i);
+                keyBundleService.getOrCreateKeyBundle(keyId);
+                checkArgument(keyBundleService.findMyKeyPair(keyId).isPresent());
+            }
+
+            ConfidentialMessageService confidentialMessageService = new ConfidentialMessageService(mock(NodesById.class),
+                    keyBundleService,
+                    Optional.empty(),
+                    Optional.empty());
+            List<MailboxData> mailboxDataList = createForeignMailboxData(numForeignEntries);
+
+            for (int round = 1; round <= NUM_ROUNDS; round++) {
+                long ts = System.nanoTime();
+                for (MailboxData mailboxData : mailboxDataList) {
+                    // Path used before: key ID validation, locked store lookup and a completed future per entry
+                    String receiverKeyId = mailboxData.getConfidentialMessage().getReceiverKeyId();
+                    keyBundleService.findKeyPair(receiverKeyId)
+                            .map(keyPair -> CompletableFuture.completedFuture(true))
+                            .orElse(CompletableFuture.completedFuture(false))
+                            .whenComplete((result, throwable) -> checkArgument(!result));
+                }
+                long storeLookupNanos = System.nanoTime() - ts;
+
+                ts = System.nanoTime();
+                mailboxDataList.forEach(confidentialMessageService::onMailboxDataAdded);
+                long indexLookupNanos = System.nanoTime() - ts;
+
+                System.out.printf("Round %d: %d foreign entries, %d own identities. Store lookup: %d ms (%d ns per entry), " +
+                                "own key ID index: %d ms (%d ns per entry)%n",
+                        round, numForeignEntries, numOwnIdentities,
+                        TimeUnit.NANOSECONDS.toMillis(storeLookupNanos), storeLookupNanos / numForeignEntries,
+                        TimeUnit.NANOSECONDS.toMillis(indexLookupNanos), indexLookupNanos / numForeignEntries);
+            }
+            confidentialMessageService.shutdown();
+            checkArgument(confidentialMessageService.getProcessedEnvelopePayloadMessages().isEmpty(),
+                    "No foreign mailbox message must get processed");
+        } finally {
+            FileUtils.deleteFileOrDirectory(baseDir.toFile());
+        }
+    }
+
+    private static List<MailboxData> createForeignMailboxData(int numEntries) {
+        Random random = new Random(1);
+        List<MailboxData> list = new ArrayList<>(numEntries);
+        for (int i = 0; i < numEntries; i++) {
+            byte[] receiverKeyIdBytes = new byte[20];
+            random.nextBytes(receiverKeyIdBytes);
+            byte[] cipherText = new byte[256];
+            random.nextBytes(cipherText);
+            ConfidentialData confidentialData = new ConfidentialData(new byte[88], new byte[16], cipherText, new byte[71]);
+            ConfidentialMessage confidentialMessage = new ConfidentialMessage(confidentialData, Hex.encode(receiverKeyIdBytes));
+            list.add(new MailboxData(new MetaData("MailboxBenchmarkMessage"), confidentialMessage));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.node.CloseConnectionMessage;
+import bisq.network.p2p.services.confidential.ack.AckMessage;
+import bisq.network.p2p.services.confidential.ack.AckRequestingMessage;
+import bisq.network.p2p.services.data.inventory.InventoryRequest;
+import bisq.network.p2p.services.peer_group.exchange.PeerExchangeRequest;
+import bisq.network.p2p.services.peer_group.exchange.PeerExchangeResponse;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.network.p2p.services.peer_group.keep_alive.Pong;
+import bisq.network.p2p.services.reporting.ReportRequest;
+import bisq.network.p2p.services.reporting.ReportResponse;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the replay of processed confidential messages at startup of 9 services, each handling a few message
+ * types. Compares the previous approach, where each service iterated all processed messages with instanceof filters,
+ * with the replay of only the requested types.
+ * Retained messages: 90% AckMessages, 5% Pings and 5% Pongs. Six services handle types which are not retained.
+ * Usage: ProcessedMessagesReplayBenchmark [numMessages]
+ */
+public class ProcessedMessagesReplayBenchmark {
+    private static final int NUM_ROUNDS = 5;
+    private static final long TTL = TimeUnit.DAYS.toMillis(10);
+    private static final List<Set<Class<?>>> TYPES_BY_SERVICE = List.of(
+            Set.of(AckRequestingMessage.class, AckMessage.class),
+            Set.of(Ping.class),
+            Set.of(Pong.class),
+            Set.of(ReportRequest.class),
+            Set.of(ReportResponse.class),
+            Set.of(PeerExchangeRequest.class),
+            Set.of(PeerExchangeResponse.class),
+            Set.of(InventoryRequest.class),
+            Set.of(CloseConnectionMessage.class));
+
+    public static void main(String[] args) {
+        int numMessages = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        ProcessedMessages processedMessages = new ProcessedMessages(numMessages);
+        for (int i = 0; i < numMessages; i++) {
+            int value = i % 20;
+            EnvelopePayloadMessage message = value == 0 ? new Ping(i) : value == 1 ? new Pong(i) : new AckMessage("id-" + i);
+            processedMessages.add(message, TTL);
+        }
+        System.out.printf("%d retained messages, %d services%n", numMessages, TYPES_BY_SERVICE.size());
+
+        for (int round = 1; round <= NUM_ROUNDS; round++) {
+            System.out.println("Round " + round);
+            run("  Filter all messages", () -> {
+                int numHandled = 0;
+                for (Set<Class<?>> types : TYPES_BY_SERVICE) {
+                    for (EnvelopePayloadMessage message : processedMessages.getAll()) {
+                        if (types.stream().anyMatch(type -> type.isInstance(message))) {
+                            numHandled++;
+                        }
+                    }
+                }
+                return numHandled;
+            });
+            run("  Replay by type", () -> {
+                int numHandled = 0;
+                for (Set<Class<?>> types : TYPES_BY_SERVICE) {
+                    numHandled += processedMessages.getMessages(types).size();
+                }
+                return numHandled;
+            });
+        }
+    }
+
+    private static void run(String name, Replay replay) {
+        long ts = System.nanoTime();
+        int numHandled = replay.run();
+        long nanos = System.nanoTime() - ts;
+        System.out.printf("%s: %.1f ms, %d messages handled%n", name, nanos / 1e6, numHandled);
+    }
+
+    private interface Replay {
+        int run();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.Request;
+import bisq.network.p2p.services.confidential.ack.AckMessage;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.network.p2p.services.peer_group.keep_alive.Pong;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProcessedMessagesTest {
+    private static final long TTL = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void returnsOnlyMessagesOfRequestedTypes() {
+        ProcessedMessages processedMessages = new ProcessedMessages(100);
+        Ping ping = new Ping(1);
+        Pong pong = new Pong(1);
+        AckMessage ackMessage = new AckMessage("id");
+        processedMessages.add(ping, TTL);
+        processedMessages.add(pong, TTL);
+        processedMessages.add(ackMessage, TTL);
+
+        assertEquals(List.of(ping), processedMessages.getMessages(Set.of(Ping.class)));
+        // Interfaces match all implementing classes
+        assertEquals(List.of(ping), processedMessages.getMessages(Set.of(Request.class)));
+        assertEquals(List.of(ping, pong, ackMessage), List.copyOf(processedMessages.getAll()));
+        assertTrue(processedMessages.getMessages(Set.of(String.class)).isEmpty());
+    }
+
+    @Test
+    void keepsProcessingOrderAcrossClasses() {
+        ProcessedMessages processedMessages = new ProcessedMessages(100);
+        Ping ping1 = new Ping(1);
+        AckMessage ackMessage1 = new AckMessage("1");
+        Ping ping2 = new Ping(2);
+        AckMessage ackMessage2 = new AckMessage("2");
+        processedMessages.add(ping1, TTL);
+        processedMessages.add(ackMessage1, TTL);
+        processedMessages.add(ping2, TTL);
+        processedMessages.add(ackMessage2, TTL);
+
+        List<EnvelopePayloadMessage> expected = List.of(ping1, ackMessage1, ping2, ackMessage2);
+        assertEquals(expected, processedMessages.getMessages(Set.of(Ping.class, AckMessage.class)));
+    }
+
+    @Test
+    void rejectsDuplicatesAndDropsExpiredMessages() {
+        AtomicLong now = new AtomicLong();
+        ProcessedMessages processedMessages = new ProcessedMessages(now::get, 100);
+        assertTrue(processedMessages.add(new Ping(1), TTL));
+        assertFalse(processedMessages.add(new Ping(1), TTL));
+        processedMessages.add(new AckMessage("id"), 2 * TTL);
+
+        now.addAndGet(TTL);
+        assertTrue(processedMessages.getMessages(Set.of(Ping.class)).isEmpty());
+        assertEquals(List.of(new AckMessage("id")), processedMessages.getMessages(Set.of(AckMessage.class)));
+    }
+
+    @Test
+    void maxSizeAppliesToAllClasses() {
+        AtomicLong now = new AtomicLong();
+        ProcessedMessages processedMessages = new ProcessedMessages(now::get, 2);
+        Ping ping1 = new Ping(1);
+        AckMessage ackMessage = new AckMessage("id");
+        Ping ping2 = new Ping(2);
+        assertTrue(processedMessages.add(ping1, TTL));
+        assertTrue(processedMessages.add(ackMessage, 2 * TTL));
+        assertFalse(processedMessages.add(ping2, TTL));
+        assertEquals(List.of(ping1, ackMessage), List.copyOf(processedMessages.getAll()));
+
+        // Expired messages of other classes free up the space
+        now.addAndGet(TTL);
+        assertTrue(processedMessages.add(ping2, TTL));
+        assertEquals(List.of(ackMessage, ping2), List.copyOf(processedMessages.getAll()));
+    }
+
+    @Test
+    void earlyDuplicateIsRejectedAfterFloodPastMaxSize() {
+        int maxSize = 1000;
+        AtomicLong now = new AtomicLong();
+        ProcessedMessages processedMessages = new ProcessedMessages(now::get, maxSize);
+        assertTrue(processedMessages.add(new Ping(0), TTL));
+        for (int i = 0; i < 2 * maxSize; i++) {
+            processedMessages.add(new AckMessage(String.valueOf(i)), TTL);
+            now.incrementAndGet();
+        }
+
+        assertEquals(maxSize, processedMessages.getAll().size());
+        assertFalse(processedMessages.add(new Ping(0), TTL));
+    }
+
+    @Test
+    void messageAddedAgainAfterExpiryIsKept() {
+        AtomicLong now = new AtomicLong();
+        ProcessedMessages processedMessages = new ProcessedMessages(now::get, 2);
+        processedMessages.add(new Ping(1), TTL);
+        now.addAndGet(TTL);
+        assertTrue(processedMessages.add(new Ping(1), TTL));
+        assertTrue(processedMessages.add(new AckMessage("id"), TTL));
+
+        assertEquals(List.of(new Ping(1), new AckMessage("id")), List.copyOf(processedMessages.getAll()));
+    }
+}
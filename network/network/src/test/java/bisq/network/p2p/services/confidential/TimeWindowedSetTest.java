@@ -0,0 +1,129 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeWindowedSetTest {
+    private static final long TTL = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void rejectsDuplicatesInsideTtl() {
+        AtomicLong now = new AtomicLong();
+        TimeWindowedSet<String> set = new TimeWindowedSet<>(now::get, 100);
+        assertTrue(set.add("a", TTL));
+        now.addAndGet(TTL - 1);
+        assertFalse(set.add("a", TTL));
+        assertTrue(set.contains("a"));
+
+        now.addAndGet(1);
+        assertFalse(set.contains("a"));
+        assertTrue(set.add("a", TTL));
+    }
+
+    @Test
+    void prunesElementsWithShorterTtlBehindLongerTtl() {
+        AtomicLong now = new AtomicLong();
+        TimeWindowedSet<String> set = new TimeWindowedSet<>(now::get, 100);
+        set.add("long", 10 * TimeWindowedSet.FULL_PRUNE_INTERVAL);
+        set.add("short", 1);
+        assertEquals(List.of("long", "short"), List.copyOf(set.getElements()));
+
+        now.addAndGet(TimeWindowedSet.FULL_PRUNE_INTERVAL);
+        assertEquals(List.of("long"), List.copyOf(set.getElements()));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void rejectsNewElementsIfMaxSizeIsReached() {
+        AtomicLong now = new AtomicLong();
+        TimeWindowedSet<String> set = new TimeWindowedSet<>(now::get, 2);
+        assertTrue(set.add("a", TTL));
+        assertTrue(set.add("b", TTL));
+        assertFalse(set.add("c", TTL));
+        assertEquals(List.of("a", "b"), List.copyOf(set.getElements()));
+
+        now.addAndGet(TTL);
+        assertTrue(set.add("c", TTL));
+        assertEquals(List.of("c"), List.copyOf(set.getElements()));
+    }
+
+    @Test
+    void earlyDuplicateIsRejectedAfterFloodPastMaxSize() {
+        int maxSize = 1000;
+        AtomicLong now = new AtomicLong();
+        TimeWindowedSet<String> set = new TimeWindowedSet<>(now::get, maxSize);
+        assertTrue(set.add("early", TTL));
+        for (int i = 0; i < 2 * maxSize; i++) {
+            set.add("flood" + i, TTL);
+            now.incrementAndGet();
+        }
+
+        assertEquals(maxSize, set.size());
+        assertFalse(set.add("early", TTL));
+        assertTrue(set.contains("early"));
+    }
+
+    // Soak test: 10M messages at 10 messages per second of simulated time. With a TTL of 1 hour the set must not
+    // hold more than 36k messages and the heap must not grow with the number of processed messages.
+    @Test
+    void memoryStaysFlatWithTenMillionMessages() {
+        int numMessages = 10_000_000;
+        long interval = 100;
+        int maxElementsInWindow = (int) (TTL / interval);
+        AtomicLong now = new AtomicLong();
+        TimeWindowedSet<String> set = new TimeWindowedSet<>(now::get, ConfidentialMessageService.MAX_PROCESSED_MESSAGES);
+
+        long usedHeapAfterFirstWindow = 0;
+        for (int i = 0; i < numMessages; i++) {
+            assertTrue(set.add("message-" + i, TTL));
+            if (i >= 1000) {
+                // Duplicate of a message received 100 seconds ago
+                assertFalse(set.add("message-" + (i - 1000), TTL));
+            }
+            assertTrue(set.size() <= maxElementsInWindow + 1);
+            now.addAndGet(interval);
+
+            if (i == 2 * maxElementsInWindow) {
+                usedHeapAfterFirstWindow = getUsedHeap();
+            }
+        }
+
+        assertEquals(maxElementsInWindow, set.size());
+        long usedHeapAtEnd = getUsedHeap();
+        long growth = usedHeapAtEnd - usedHeapAfterFirstWindow;
+        assertTrue(growth < 32 * 1024 * 1024,
+                "Heap grew by " + growth / 1024 + " KB after processing " + numMessages + " messages");
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DataRequestCounterTests {
+    private static final String ADD = "add";
+    private static final String REMOVE = "remove";
+
+    @Test
+    void countMatchesRecountAfterAddReplaceRemoveAndExpire() {
+        Map<Integer, String> map = new HashMap<>();
+        DataRequestCounter<String> counter = new DataRequestCounter<>(ADD::equals);
+        DataRequestCounter<String> recounted = new DataRequestCounter<>(ADD::equals);
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            int key = random.nextInt(200);
+            switch (random.nextInt(4)) {
+                // Add or refresh
+                case 0 -> counter.onPut(map.put(key, ADD), ADD);
+                // Remove is stored as a remove request to keep track of the sequence number
+                case 1 -> counter.onPut(map.put(key, REMOVE), REMOVE);
+                // Expire
+                case 2 -> counter.onRemove(map.remove(key));
+                // Bulk expire
+                default -> {
+                    List<Integer> expired = new ArrayList<>(map.keySet()).subList(0, Math.min(3, map.size()));
+                    new ArrayList<>(expired).forEach(expiredKey -> counter.onRemove(map.remove(expiredKey)));
+                }
+            }
+            recounted.recount(map.values());
+            assertEquals(recounted.get(), counter.get());
+        }
+    }
+
+    @Test
+    void recountAfterBulkChange() {
+        Map<Integer, String> map = new HashMap<>();
+        DataRequestCounter<String> counter = new DataRequestCounter<>(ADD::equals);
+        counter.onPut(map.put(1, ADD), ADD);
+        counter.onPut(map.put(2, ADD), ADD);
+        assertEquals(2, counter.get());
+
+        map.clear();
+        map.put(3, ADD);
+        map.put(4, REMOVE);
+        counter.recount(map.values());
+        assertEquals(1, counter.get());
+
+        counter.onRemove(map.remove(5));
+        counter.onPut(map.put(4, ADD), ADD);
+        assertEquals(2, counter.get());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage.auth;
+
+import bisq.common.protobuf.StringLongPair;
+import bisq.network.p2p.services.data.storage.DistributedData;
+import bisq.network.p2p.services.data.storage.MetaData;
+import bisq.network.p2p.services.data.storage.PruneExpiredEntriesService;
+import bisq.persistence.PersistenceService;
+import bisq.security.keys.KeyGeneration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AuthenticatedDataStorageServiceTests {
+    private static final int NUM_DATA = 30;
+
+    @Test
+    void numDataMatchesRecountAfterRandomAddRemoveAndRefresh(@TempDir Path tempDir) throws GeneralSecurityException {
+        AuthenticatedDataStorageService store = new AuthenticatedDataStorageService(new PersistenceService(tempDir.toString()),
+                new PruneExpiredEntriesService(),
+                "AuthenticatedDataStore",
+                "TestDistributedData");
+        KeyPair keyPair = KeyGeneration.generateKeyPair();
+        List<AuthenticatedData> dataList = new ArrayList<>();
+        for (int i = 0; i < NUM_DATA; i++) {
+            dataList.add(new DefaultAuthenticatedData(new TestDistributedData("data-" + i)));
+        }
+
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            AuthenticatedData data = dataList.get(random.nextInt(NUM_DATA));
+            switch (random.nextInt(3)) {
+                case 0 -> store.add(AddAuthenticatedDataRequest.from(store, data, keyPair));
+                // Removing a not existing or already removed entry stores the remove request to keep track of the
+                // sequence number
+                case 1 -> store.remove(RemoveAuthenticatedDataRequest.from(store, data, keyPair));
+                default -> store.refresh(RefreshAuthenticatedDataRequest.from(store, data, keyPair));
+            }
+            assertEquals(countAddRequests(store), store.getNumAuthenticatedData());
+            assertEquals(0, store.getNumAuthorizedData());
+        }
+
+        int numAuthenticatedData = store.getNumAuthenticatedData();
+        store.recountData();
+        assertEquals(numAuthenticatedData, store.getNumAuthenticatedData());
+        store.shutdown();
+    }
+
+    // The way the storage report counted the data before the counters got maintained by the store
+    private static long countAddRequests(AuthenticatedDataStorageService store) {
+        Collection<AuthenticatedDataRequest> requests = store.getPersistableStore().getClone().getMap().values();
+        return requests.stream()
+                .filter(request -> request instanceof AddAuthenticatedDataRequest)
+                .count();
+    }
+
+    private record TestDistributedData(String id) implements DistributedData {
+        private static final MetaData META_DATA = new MetaData("TestDistributedData");
+
+        @Override
+        public void verify() {
+        }
+
+        @Override
+        public StringLongPair.Builder getBuilder(boolean serializeForHash) {
+            return StringLongPair.newBuilder().setKey(id);
+        }
+
+        @Override
+        public StringLongPair toProto(boolean serializeForHash) {
+            return resolveProto(serializeForHash);
+        }
+
+        @Override
+        public MetaData getMetaData() {
+            return META_DATA;
+        }
+
+        @Override
+        public boolean isDataInvalid(byte[] pubKeyHash) {
+            return false;
+        }
+
+        @Override
+        public double getCostFactor() {
+            return 0.5;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Append-only file of length-delimited protobuf records. Records are only appended and never rewritten, thus the
+ * write cost does not depend on the number of archived records. The archive is not read at startup but only on
+ * request.
+ * If the last record is incomplete (e.g. after a crash while appending) it gets truncated when the archive is opened,
+ * so that new records are appended after the last valid record. A record which cannot be parsed is skipped at reading.
+ */
+@Slf4j
+public class AppendOnlyArchive<M extends MessageLite> {
+    @Getter
+    private final Path archiveFilePath;
+    private final Parser<M> parser;
+    // Only accessed from the persistence IO thread
+    private boolean isOpened;
+
+    AppendOnlyArchive(String directory, String fileName, Parser<M> parser) {
+        this.parser = parser;
+        archiveFilePath = Paths.get(directory, fileName + Persistence.EXTENSION);
+    }
+
+    /**
+     * @return A future which completes exceptionally if the record could not be appended.
+     */
+    public CompletableFuture<Void> appendAsync(M record) {
+        return CompletableFuture.runAsync(() -> {
+            maybeOpen();
+            append(record);
+        }, Persistence.getIoExecutor());
+    }
+
+    public CompletableFuture<List<M>> readAllAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            maybeOpen();
+            return readAll();
+        }, Persistence.getIoExecutor());
+    }
+
+    private void maybeOpen() {
+        if (isOpened) {
+            return;
+        }
+        isOpened = true;
+        File archiveFile = archiveFilePath.toFile();
+        if (!archiveFile.exists()) {
+            return;
+        }
+        try {
+            long validLength = getLengthOfValidRecords();
+            long fileLength = archiveFile.length();
+            if (validLength < fileLength) {
+                log.warn("The last record of {} is incomplete. We truncate the archive from {} to {} bytes.",
+                        archiveFilePath, fileLength, validLength);
+                truncate(validLength);
+            }
+        } catch (IOException e) {
+            log.error("Couldn't open {}", archiveFilePath, e);
+        }
+    }
+
+    private void append(M record) {
+        File archiveFile = archiveFilePath.toFile();
+        File parentDir = archiveFile.getParentFile();
+        if (!parentDir.exists() && !parentDir.mkdirs()) {
+            throw new CouldNotCreateParentDirs("Couldn't create " + parentDir);
+        }
+        long lengthBeforeAppend = archiveFile.length();
+        try (FileOutputStream fileOutputStream = new FileOutputStream(archiveFile, true)) {
+            record.writeDelimitedTo(fileOutputStream);
+            fileOutputStream.getFD().sync();
+        } catch (IOException e) {
+            // We remove a partially written record, so that following records do not get appended after it.
+            try {
+                truncate(lengthBeforeAppend);
+            } catch (IOException truncateException) {
+                log.error("Couldn't truncate {} after a failed append", archiveFilePath, truncateException);
+            }
+            throw new UncheckedIOException("Couldn't append record to " + archiveFilePath, e);
+        }
+    }
+
+    private List<M> readAll() {
+        List<M> records = new ArrayList<>();
+        File archiveFile = archiveFilePath.toFile();
+        if (!archiveFile.exists()) {
+            return records;
+        }
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(archiveFile))) {
+            CodedInputStream codedInputStream = CodedInputStream.newInstance(inputStream);
+            int index = 0;
+            while (!codedInputStream.isAtEnd()) {
+                byte[] bytes = codedInputStream.readByteArray();
+                try {
+                    records.add(parser.parseFrom(bytes));
+                } catch (InvalidProtocolBufferException e) {
+                    log.warn("Could not parse record {} at {}. We skip that record.", index, archiveFilePath, e);
+                }
+                index++;
+            }
+        } catch (InvalidProtocolBufferException e) {
+            // Only the last record can be incomplete, as we truncate it at opening.
+            log.warn("The last record at {} is incomplete. Number of records read: {}",
+                    archiveFilePath, records.size(), e);
+        } catch (IOException e) {
+            log.error("Couldn't read {}", archiveFilePath, e);
+        }
+        return records;
+    }
+
+    // We only read the length prefixes and skip the records, thus parsing is not required.
+    private long getLengthOfValidRecords() throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(archiveFilePath.toFile()))) {
+            CodedInputStream codedInputStream = CodedInputStream.newInstance(inputStream);
+            long validLength = 0;
+            try {
+                while (!codedInputStream.isAtEnd()) {
+                    int size = codedInputStream.readRawVarint32();
+                    codedInputStream.skipRawBytes(size);
+                    validLength = codedInputStream.getTotalBytesRead();
+                }
+            } catch (InvalidProtocolBufferException e) {
+                // The last record is incomplete
+            }
+            return validLength;
+        }
+    }
+
+    private void truncate(long length) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(archiveFilePath, StandardOpenOption.WRITE)) {
+            fileChannel.truncate(length);
+            fileChannel.force(true);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package bisq.persistence;
 
+import bisq.common.file.FileUtils;
 import bisq.persistence.backup.BackupService;
 import bisq.persistence.backup.MaxBackupSize;
 import lombok.Getter;
@@ -43,10 +44,13 @@ public class PersistableStoreFileManager {
     }
 
     public PersistableStoreFileManager(Path storeFilePath, MaxBackupSize maxBackupSize) {
+        this(storeFilePath, storeFilePath.getParent().getParent().getParent(), maxBackupSize);
+    }
+
+    public PersistableStoreFileManager(Path storeFilePath, Path dataDir, MaxBackupSize maxBackupSize) {
         this.storeFilePath = storeFilePath;
         this.parentDirectoryPath = storeFilePath.getParent();
         this.tempFilePath = createTempFilePath();
-        Path dataDir = storeFilePath.getParent().getParent().getParent();
         backupService = new BackupService(dataDir, storeFilePath, maxBackupSize);
     }
 
@@ -81,6 +85,11 @@ public class PersistableStoreFileManager {
         }
     }
 
+    public void deleteStoreAndTempFile() throws IOException {
+        FileUtils.deleteFile(storeFilePath.toFile());
+        FileUtils.deleteFile(tempFilePath.toFile());
+    }
+
     public boolean maybeBackup() {
         return backupService.maybeBackup();
     }
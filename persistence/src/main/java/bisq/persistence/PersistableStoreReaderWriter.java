@@ -65,7 +65,7 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
         return Optional.empty();
     }
 
-    public synchronized void write(T persistableStore) {
+    public synchronized boolean write(T persistableStore) {
         storeFileManager.createParentDirectoriesIfNotExisting();
         try {
             writeStoreToTempFile(persistableStore);
@@ -75,11 +75,21 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
                 FileUtils.deleteFile(storeFile);
             }
             storeFileManager.renameTempFileToCurrentFile();
+            return true;
         } catch (CouldNotSerializePersistableStore e) {
             log.error("Couldn't serialize {}", persistableStore, e);
         } catch (Exception e) {
             log.error("Couldn't write persistable store to disk.", e);
         }
+        return false;
+    }
+
+    public synchronized void delete() {
+        try {
+            storeFileManager.deleteStoreAndTempFile();
+        } catch (IOException e) {
+            log.error("Couldn't delete {}.", storeFilePath, e);
+        }
     }
 
     public void pruneBackups() {
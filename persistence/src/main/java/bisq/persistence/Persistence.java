@@ -23,17 +23,33 @@ import bisq.persistence.backup.MaxBackupSize;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Slf4j
 public class Persistence<T extends PersistableStore<T>> {
     public static final String EXTENSION = ".protobuf";
     private static final ExecutorService executorService = ExecutorFactory.newSingleThreadExecutor("Persistence");
+    private static final ScheduledExecutorService writeBehindExecutorService = ExecutorFactory.newSingleThreadScheduledExecutor("Persistence-WriteBehind");
+    private static final Set<Persistence<?>> persistenceWithPendingWrites = ConcurrentHashMap.newKeySet();
+    private static final int MAX_WRITE_BEHIND_ATTEMPTS = 3;
+
+    static {
+        // If the JVM got terminated non-gracefully (e.g. kill signal or JVM crash) the shutdown hook is not executed,
+        // and the changes of the last write-behind delay are lost.
+        Runtime.getRuntime().addShutdownHook(new Thread(Persistence::flushAllOnShutdown, "Persistence-flushOnShutdown"));
+    }
 
     @Getter
     private final Path storePath;
@@ -41,6 +57,13 @@ public class Persistence<T extends PersistableStore<T>> {
     private final String fileName;
 
     private final PersistableStoreReaderWriter<T> persistableStoreReaderWriter;
+    private final Object writeBehindLock = new Object();
+    @Nullable
+    private Supplier<T> pendingSnapshotSupplier;
+    @Nullable
+    private CompletableFuture<Boolean> pendingWriteFuture;
+    private int numFailedWriteBehindAttempts;
+    private long writeBehindDelayInMs;
 
     public Persistence(String directory, String fileName, MaxBackupSize maxBackupSize) {
         this.fileName = fileName;
@@ -50,6 +73,23 @@ public class Persistence<T extends PersistableStore<T>> {
         persistableStoreReaderWriter = new PersistableStoreReaderWriter<>(storeFileManager);
     }
 
+    // Used for stores which are not located directly in a db sub directory (e.g. the shards of ShardedPersistence).
+    Persistence(Path dataDir, String directory, String fileName, MaxBackupSize maxBackupSize) {
+        this.fileName = fileName;
+        String storageFileName = StringUtils.camelCaseToSnakeCase(fileName);
+        storePath = Paths.get(directory, storageFileName + EXTENSION);
+        var storeFileManager = new PersistableStoreFileManager(storePath, dataDir, maxBackupSize);
+        persistableStoreReaderWriter = new PersistableStoreReaderWriter<>(storeFileManager);
+    }
+
+    /**
+     * The executor used for all disk IO of the persistence module (also by ShardedPersistence and AppendOnlyArchive),
+     * so that reads and writes are not executed concurrently.
+     */
+    static ExecutorService getIoExecutor() {
+        return executorService;
+    }
+
     public CompletableFuture<Optional<T>> readAsync(Consumer<T> consumer) {
         return readAsync().whenComplete((result, throwable) -> result.ifPresent(consumer));
     }
@@ -58,15 +98,142 @@ public class Persistence<T extends PersistableStore<T>> {
         return CompletableFuture.supplyAsync(persistableStoreReaderWriter::read, executorService);
     }
 
-    public CompletableFuture<Void> persistAsync(T serializable) {
-        return CompletableFuture.runAsync(() -> persist(serializable), executorService);
+    /**
+     * @return A future completing with false if the store could not be written.
+     */
+    public CompletableFuture<Boolean> persistAsync(T serializable) {
+        return CompletableFuture.supplyAsync(() -> persist(serializable), executorService);
+    }
+
+    protected boolean persist(T persistableStore) {
+        return persistableStoreReaderWriter.write(persistableStore);
     }
 
-    protected void persist(T persistableStore) {
-        persistableStoreReaderWriter.write(persistableStore);
+    /**
+     * Coalesces all requests within the delay after the first request into a single write of the latest snapshot.
+     * The passed store has to be a snapshot which does not get mutated anymore (e.g. a clone created by the owner of
+     * the store on its thread), as it gets written from the IO thread.
+     * If the write fails it gets retried after the delay, unless a newer snapshot is pending already.
+     * Pending writes get written at flush and at shutdown.
+     */
+    public CompletableFuture<Boolean> persistWriteBehind(T snapshot, long delayInMs) {
+        return persistWriteBehindWithSupplier(() -> snapshot, delayInMs);
+    }
+
+    /**
+     * Like persistWriteBehind(T, long) but the snapshot is only taken once per delay, when the scheduled write fires.
+     * The request only marks the store as dirty, so it is suited for stores with a high rate of changes (e.g. network
+     * data). As the supplier gets called from the write-behind thread, the clone of the store has to be thread safe.
+     * A retry of a failed write takes a new snapshot.
+     */
+    public CompletableFuture<Boolean> persistWriteBehindWithSupplier(Supplier<T> snapshotSupplier, long delayInMs) {
+        synchronized (writeBehindLock) {
+            pendingSnapshotSupplier = snapshotSupplier;
+            writeBehindDelayInMs = delayInMs;
+            if (pendingWriteFuture != null) {
+                return pendingWriteFuture;
+            }
+
+            CompletableFuture<Boolean> writeFuture = new CompletableFuture<>();
+            pendingWriteFuture = writeFuture;
+            numFailedWriteBehindAttempts = 0;
+            persistenceWithPendingWrites.add(this);
+            scheduleWritePending();
+            return writeFuture;
+        }
+    }
+
+    /**
+     * Writes the pending write-behind state without waiting for the delay.
+     */
+    public CompletableFuture<Boolean> flush() {
+        return writePending();
+    }
+
+    public CompletableFuture<Void> deleteAsync() {
+        return CompletableFuture.runAsync(persistableStoreReaderWriter::delete, executorService);
+    }
+
+    Optional<T> read() {
+        return persistableStoreReaderWriter.read();
     }
 
     public CompletableFuture<Void> pruneBackups() {
         return CompletableFuture.runAsync(persistableStoreReaderWriter::pruneBackups, executorService);
     }
+
+    private void scheduleWritePending() {
+        try {
+            writeBehindExecutorService.schedule(this::writePending, writeBehindDelayInMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("Scheduling the write-behind got rejected. We persist immediately. storePath={}", storePath);
+            writePending();
+        }
+    }
+
+    private CompletableFuture<Boolean> writePending() {
+        synchronized (writeBehindLock) {
+            Supplier<T> snapshotSupplier = pendingSnapshotSupplier;
+            CompletableFuture<Boolean> writeFuture = pendingWriteFuture;
+            int numFailedAttempts = numFailedWriteBehindAttempts;
+            pendingSnapshotSupplier = null;
+            pendingWriteFuture = null;
+            persistenceWithPendingWrites.remove(this);
+            if (writeFuture == null || snapshotSupplier == null) {
+                return CompletableFuture.completedFuture(true);
+            }
+
+            // We take the snapshot and enqueue the write inside the lock, so that the writes happen in the order of
+            // the snapshots.
+            try {
+                T store = snapshotSupplier.get();
+                CompletableFuture.supplyAsync(() -> persist(store), executorService)
+                        .whenComplete((success, throwable) -> {
+                            if (throwable == null && success) {
+                                writeFuture.complete(true);
+                            } else {
+                                log.error("Write-behind failed. storePath={}", storePath, throwable);
+                                retryWritePending(snapshotSupplier, writeFuture, numFailedAttempts + 1);
+                            }
+                        });
+            } catch (Exception e) {
+                log.error("Write-behind failed. storePath={}", storePath, e);
+                writeFuture.complete(false);
+            }
+            return writeFuture;
+        }
+    }
+
+    private void retryWritePending(Supplier<T> snapshotSupplier,
+                                   CompletableFuture<Boolean> writeFuture,
+                                   int numFailedAttempts) {
+        synchronized (writeBehindLock) {
+            if (pendingWriteFuture != null) {
+                // A newer snapshot got requested in the meantime. Its write replaces the failed one.
+                pendingWriteFuture.thenAccept(writeFuture::complete);
+                return;
+            }
+            if (numFailedAttempts >= MAX_WRITE_BEHIND_ATTEMPTS) {
+                log.error("Write-behind failed {} times. We give up. storePath={}", numFailedAttempts, storePath);
+                writeFuture.complete(false);
+                return;
+            }
+
+            pendingSnapshotSupplier = snapshotSupplier;
+            pendingWriteFuture = writeFuture;
+            numFailedWriteBehindAttempts = numFailedAttempts;
+            persistenceWithPendingWrites.add(this);
+            scheduleWritePending();
+        }
+    }
+
+    private static void flushAllOnShutdown() {
+        persistenceWithPendingWrites.forEach(persistence -> {
+            try {
+                persistence.flush().get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                log.error("Flush at shutdown failed. storePath={}", persistence.getStorePath(), e);
+            }
+        });
+    }
 }
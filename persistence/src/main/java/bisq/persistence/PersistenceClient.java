@@ -45,6 +45,19 @@ public interface PersistenceClient<T extends PersistableStore<T>> {
 
     default CompletableFuture<Boolean> persist() {
         return getPersistence().persistAsync(getPersistableStore().getClone())
-                .handle((nil, throwable) -> throwable == null);
+                .handle((success, throwable) -> throwable == null && success);
+    }
+
+    /**
+     * Coalesces the persist requests within the write-behind delay into a single write of the latest state.
+     * Suited for stores which change in bursts, like settings changed by the user.
+     * The snapshot is cloned on the caller's thread, so it has to be called from the thread which mutates the store.
+     */
+    default CompletableFuture<Boolean> persistWriteBehind() {
+        return getPersistence().persistWriteBehind(getPersistableStore().getClone(), getWriteBehindDelayInMs());
+    }
+
+    default long getWriteBehindDelayInMs() {
+        return 1000;
     }
 }
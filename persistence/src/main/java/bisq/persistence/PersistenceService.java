@@ -18,9 +18,12 @@
 package bisq.persistence;
 
 import bisq.common.proto.PersistableProto;
+import bisq.common.proto.ProtoResolver;
 import bisq.common.util.CompletableFutureUtils;
 import bisq.persistence.backup.MaxBackupSize;
 import com.google.common.base.Joiner;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -97,6 +100,21 @@ public class PersistenceService {
         return persistence;
     }
 
+    public <T extends PersistableStore<T>> ShardedPersistence<T> getOrCreateShardedPersistence(DbSubDirectory dbSubDirectory,
+                                                                                             String shardDir,
+                                                                                             ProtoResolver<PersistableStore<?>> resolver) {
+        PersistableStoreResolver.addResolver(resolver);
+        return new ShardedPersistence<>(baseDir,
+                dbSubDirectory.getDbPath() + File.separator + shardDir,
+                MaxBackupSize.from(dbSubDirectory));
+    }
+
+    public <M extends MessageLite> AppendOnlyArchive<M> getOrCreateAppendOnlyArchive(DbSubDirectory dbSubDirectory,
+                                                                                    String fileName,
+                                                                                    Parser<M> parser) {
+        return new AppendOnlyArchive<>(baseDir + File.separator + dbSubDirectory.getDbPath(), fileName, parser);
+    }
+
     public CompletableFuture<Void> pruneAllBackups() {
         List<CompletableFuture<Void>> list = clients.stream()
                 .map(PersistenceClient::getPersistence)
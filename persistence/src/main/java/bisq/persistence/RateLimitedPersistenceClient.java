@@ -17,62 +17,28 @@
 
 package bisq.persistence;
 
-import bisq.common.threading.ThreadName;
-import lombok.Getter;
-import lombok.extern.slf4j.Slf4j;
-
 import java.util.concurrent.CompletableFuture;
 
 /**
- * This implementation of PersistenceClient drops persist requests if they happen too frequently.
- * It registers a shutdown hook and persists at shutdown. If the JVM got terminated non-gracefully
- * (e.g. kill signal or JVM crash) the shutdown hook is not executed (but any other approach to write in such cases
- * would fail as well).
- * As there is no guarantee that the last data are persisted in case of such unexpected terminations, it should be only
- * used if data loss is not critical (e.g. network data) and when write frequency is rather high.
+ * This implementation of PersistenceClient coalesces persist requests which happen too frequently into a single
+ * write of the latest state (see Persistence.persistWriteBehindWithSupplier). Pending writes are written at shutdown. If the JVM
+ * got terminated non-gracefully (e.g. kill signal or JVM crash) the changes since the last write are lost.
+ * It should be only used if data loss is not critical (e.g. network data) and when write frequency is rather high.
+ * As the store gets cloned on the write-behind thread, its getClone method has to be thread safe.
  */
-@Slf4j
 public abstract class RateLimitedPersistenceClient<T extends PersistableStore<T>> implements PersistenceClient<T> {
-    private volatile long lastWrite;
-    @Getter
-    private volatile boolean dropped;
-    private volatile boolean writeInProgress;
-
-    public RateLimitedPersistenceClient() {
-        //todo (Critical) check if we want to use ShutdownHook here
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            ThreadName.set(this, "shutdownHook-" + getPersistence().getStorePath());
-            persistOnShutdown();
-        }));
+    @Override
+    public CompletableFuture<Boolean> persist() {
+        // The store gets cloned only once per write when the scheduled write fires, not at each request.
+        return getPersistence().persistWriteBehindWithSupplier(() -> getPersistableStore().getClone(), getWriteBehindDelayInMs());
     }
 
     @Override
-    public CompletableFuture<Boolean> persist() {
-        boolean tooFast = System.currentTimeMillis() - lastWrite < getMaxWriteRateInMs();
-        dropped = tooFast || writeInProgress;
-        if (dropped) {
-            return CompletableFuture.completedFuture(false);
-        } else {
-            lastWrite = System.currentTimeMillis();
-            writeInProgress = true;
-            dropped = false;
-            return getPersistence()
-                    .persistAsync(getPersistableStore().getClone())
-                    .handle((nil, throwable) -> {
-                        writeInProgress = false;
-                        return throwable == null;
-                    });
-        }
+    public long getWriteBehindDelayInMs() {
+        return getMaxWriteRateInMs();
     }
 
     protected long getMaxWriteRateInMs() {
         return 1000;
     }
-
-    private void persistOnShutdown() {
-        if (dropped) {
-            dropped = false;
-            getPersistence().persist(getPersistableStore().getClone());
-        }
-    }
-}
\ No newline at end of file
+}
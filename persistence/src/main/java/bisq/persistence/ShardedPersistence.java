@@ -0,0 +1,92 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.persistence.backup.MaxBackupSize;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persists each shard (e.g. a single trade) in its own file inside the shard directory. A change of one shard only
+ * writes the file of that shard instead of the whole collection.
+ * The shard ID is used as file name, thus it must be a valid file name (e.g. a UUID).
+ */
+@Slf4j
+public class ShardedPersistence<T extends PersistableStore<T>> {
+    private final Path dataDir;
+    @Getter
+    private final Path shardDirPath;
+    private final MaxBackupSize maxBackupSize;
+    private final Map<String, Persistence<T>> persistenceByShardId = new ConcurrentHashMap<>();
+
+    ShardedPersistence(String baseDir, String shardDir, MaxBackupSize maxBackupSize) {
+        this.maxBackupSize = maxBackupSize;
+        dataDir = Paths.get(baseDir);
+        shardDirPath = Paths.get(baseDir, shardDir);
+    }
+
+    public CompletableFuture<List<T>> readAllAsync() {
+        return CompletableFuture.supplyAsync(this::readAll, Persistence.getIoExecutor());
+    }
+
+    public CompletableFuture<Boolean> persistAsync(String shardId, T shard) {
+        return getOrCreatePersistence(shardId).persistAsync(shard);
+    }
+
+    public CompletableFuture<Void> deleteAsync(String shardId) {
+        Persistence<T> persistence = persistenceByShardId.remove(shardId);
+        if (persistence == null) {
+            persistence = createPersistence(shardId);
+        }
+        return persistence.deleteAsync();
+    }
+
+    private List<T> readAll() {
+        File[] files = shardDirPath.toFile().listFiles((dir, name) -> name.endsWith(Persistence.EXTENSION) &&
+                !name.startsWith(PersistableStoreFileManager.TEMP_FILE_PREFIX));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        List<T> shards = new ArrayList<>(files.length);
+        for (File file : files) {
+            String shardId = file.getName().substring(0, file.getName().length() - Persistence.EXTENSION.length());
+            Optional<T> shard = createPersistence(shardId).read();
+            shard.ifPresent(shards::add);
+        }
+        log.info("Read {} shards from {}", shards.size(), shardDirPath);
+        return shards;
+    }
+
+    private Persistence<T> getOrCreatePersistence(String shardId) {
+        return persistenceByShardId.computeIfAbsent(shardId, this::createPersistence);
+    }
+
+    private Persistence<T> createPersistence(String shardId) {
+        return new Persistence<>(dataDir, shardDirPath.toString(), shardId, maxBackupSize);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.common.file.FileUtils;
+import bisq.persistence.backup.MaxBackupSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares write bytes and latency of a single trade update when all trades are persisted in one store with the
+ * sharded persistence (one file per open trade and an append-only archive for closed trades).
+ * A trade is simulated by an entry with a key of the typical size of a serialized trade.
+ * Usage: ShardedPersistenceBenchmark [numOpenTrades] [numClosedTrades] [tradeSizeInBytes]
+ */
+public class ShardedPersistenceBenchmark {
+    private static final int NUM_UPDATES = 20;
+
+    public static void main(String[] args) throws IOException {
+        int numOpenTrades = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int numClosedTrades = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int tradeSize = args.length > 2 ? Integer.parseInt(args[2]) : 3_000;
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+
+        Path tempDir = Files.createTempDirectory("sharded_persistence_benchmark");
+        try {
+            runSingleStore(tempDir, numOpenTrades, numClosedTrades, tradeSize);
+            runShardedStore(tempDir, numOpenTrades, numClosedTrades, tradeSize);
+        } finally {
+            FileUtils.deleteFileOrDirectory(tempDir.toFile());
+        }
+    }
+
+    private static void runSingleStore(Path tempDir, int numOpenTrades, int numClosedTrades, int tradeSize) {
+        TimestampStore store = new TimestampStore();
+        for (int i = 0; i < numOpenTrades + numClosedTrades; i++) {
+            store.getTimestampsByProfileId().put(createTrade(i, tradeSize), 0L);
+        }
+        Path storeFilePath = tempDir.resolve("db/private/single_store.protobuf");
+        var readerWriter = new PersistableStoreReaderWriter<TimestampStore>(
+                new PersistableStoreFileManager(storeFilePath, tempDir, MaxBackupSize.ZERO));
+        readerWriter.write(store);
+
+        String openTrade = createTrade(0, tradeSize);
+        long ts = System.nanoTime();
+        for (int i = 1; i <= NUM_UPDATES; i++) {
+            store.getTimestampsByProfileId().put(openTrade, (long) i);
+            readerWriter.write(store);
+        }
+        long nanosPerUpdate = (System.nanoTime() - ts) / NUM_UPDATES;
+        print("Single store", storeFilePath.toFile().length(), nanosPerUpdate);
+    }
+
+    private static void runShardedStore(Path tempDir, int numOpenTrades, int numClosedTrades, int tradeSize) {
+        var shardedPersistence = new ShardedPersistence<TimestampStore>(tempDir.toString(),
+                "db/private/shards",
+                MaxBackupSize.ZERO);
+        for (int i = 0; i < numOpenTrades; i++) {
+            shardedPersistence.persistAsync("trade_" + i, createStore(createTrade(i, tradeSize), 0L)).join();
+        }
+        var archive = new AppendOnlyArchive<>(tempDir.resolve("db/private").toString(),
+                "archive",
+                bisq.persistence.protobuf.TimestampStore.parser());
+        for (int i = numOpenTrades; i < numOpenTrades + numClosedTrades; i++) {
+            archive.appendAsync(createStore(createTrade(i, tradeSize), 0L).toProto(false));
+        }
+        archive.appendAsync(createStore("", 0L).toProto(false)).join();
+
+        String openTrade = createTrade(0, tradeSize);
+        long ts = System.nanoTime();
+        for (int i = 1; i <= NUM_UPDATES; i++) {
+            shardedPersistence.persistAsync("trade_0", createStore(openTrade, i)).join();
+        }
+        long nanosPerUpdate = (System.nanoTime() - ts) / NUM_UPDATES;
+        long bytesPerUpdate = shardedPersistence.getShardDirPath().resolve("trade_0" + Persistence.EXTENSION).toFile().length();
+        print("Sharded store", bytesPerUpdate, nanosPerUpdate);
+    }
+
+    private static TimestampStore createStore(String trade, long value) {
+        TimestampStore store = new TimestampStore();
+        store.getTimestampsByProfileId().put(trade, value);
+        return store;
+    }
+
+    private static String createTrade(int index, int tradeSize) {
+        StringBuilder sb = new StringBuilder(tradeSize).append(index).append('_');
+        while (sb.length() < tradeSize) {
+            sb.append('x');
+        }
+        return sb.toString();
+    }
+
+    private static void print(String name, long bytesPerUpdate, long nanosPerUpdate) {
+        System.out.printf("%s: %d bytes written per trade update, latency %.2f ms%n",
+                name, bytesPerUpdate, nanosPerUpdate / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.persistence.backup.MaxBackupSize;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardedPersistenceTests {
+
+    @Test
+    void writeReadAndDeleteShards(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        var shardedPersistence = new ShardedPersistence<TimestampStore>(tempDir.toString(),
+                "db/private/shards",
+                MaxBackupSize.ZERO);
+
+        shardedPersistence.persistAsync("a", createStore("A", 1L)).join();
+        shardedPersistence.persistAsync("b", createStore("B", 2L)).join();
+        // Overwrites shard a
+        shardedPersistence.persistAsync("a", createStore("A", 3L)).join();
+
+        List<TimestampStore> shards = shardedPersistence.readAllAsync().join();
+        assertThat(shards).hasSize(2);
+        assertThat(shards.stream().mapToLong(store -> store.getTimestampsByProfileId().values().iterator().next()).sum())
+                .isEqualTo(5L);
+
+        shardedPersistence.deleteAsync("a").join();
+        shards = shardedPersistence.readAllAsync().join();
+        assertThat(shards).hasSize(1);
+        assertThat(shards.get(0).getTimestampsByProfileId()).containsEntry("B", 2L);
+    }
+
+    @Test
+    void readNotExistingShardDir(@TempDir Path tempDir) {
+        var shardedPersistence = new ShardedPersistence<TimestampStore>(tempDir.toString(),
+                "db/private/shards",
+                MaxBackupSize.ZERO);
+        assertThat(shardedPersistence.readAllAsync().join()).isEmpty();
+    }
+
+    @Test
+    void appendAndReadArchive(@TempDir Path tempDir) throws IOException {
+        var archive = new AppendOnlyArchive<>(tempDir.toString(),
+                "archive",
+                bisq.persistence.protobuf.TimestampStore.parser());
+        assertThat(archive.readAllAsync().join()).isEmpty();
+
+        archive.appendAsync(createStore("A", 1L).toProto(false)).join();
+        archive.appendAsync(createStore("B", 2L).toProto(false)).join();
+        assertThat(archive.readAllAsync().join()).hasSize(2);
+
+        // Simulate an incomplete last record. The complete records must still be readable.
+        try (FileOutputStream outputStream = new FileOutputStream(archive.getArchiveFilePath().toFile(), true)) {
+            outputStream.write(new byte[]{100, 1, 2});
+        }
+        assertThat(archive.readAllAsync().join()).hasSize(2);
+
+        // At opening, the incomplete record gets truncated, thus a new record is appended after the last valid one.
+        var reopenedArchive = new AppendOnlyArchive<>(tempDir.toString(),
+                "archive",
+                bisq.persistence.protobuf.TimestampStore.parser());
+        reopenedArchive.appendAsync(createStore("C", 3L).toProto(false)).join();
+        List<bisq.persistence.protobuf.TimestampStore> records = reopenedArchive.readAllAsync().join();
+        assertThat(records).hasSize(3);
+        assertThat(TimestampStore.fromProto(records.get(2)).getTimestampsByProfileId()).containsEntry("C", 3L);
+    }
+
+    @Test
+    void failedAppendCompletesExceptionally(@TempDir Path tempDir) throws IOException {
+        var archive = new AppendOnlyArchive<>(tempDir.toString(),
+                "archive",
+                bisq.persistence.protobuf.TimestampStore.parser());
+        // A directory at the archive path lets the append fail
+        Files.createDirectories(archive.getArchiveFilePath());
+
+        assertThatThrownBy(() -> archive.appendAsync(createStore("A", 1L).toProto(false)).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(UncheckedIOException.class);
+    }
+
+    private static TimestampStore createStore(String key, long value) {
+        TimestampStore store = new TimestampStore();
+        store.getTimestampsByProfileId().put(key, value);
+        return store;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.persistence.backup.MaxBackupSize;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WriteBehindPersistenceTests {
+    private static class CountingPersistence extends Persistence<TimestampStore> {
+        private final AtomicInteger numWrites = new AtomicInteger();
+        private final AtomicInteger numFailingWrites = new AtomicInteger();
+
+        CountingPersistence(Path tempDir) {
+            super(tempDir.toString(), "TimestampStore", MaxBackupSize.ZERO);
+        }
+
+        @Override
+        protected boolean persist(TimestampStore persistableStore) {
+            numWrites.incrementAndGet();
+            if (numFailingWrites.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                return false;
+            }
+            return super.persist(persistableStore);
+        }
+    }
+
+    @Getter
+    private static class Client implements PersistenceClient<TimestampStore> {
+        private final TimestampStore persistableStore = new TimestampStore();
+        private final CountingPersistence persistence;
+        private final long writeBehindDelayInMs;
+
+        Client(Path tempDir, long writeBehindDelayInMs) {
+            persistence = new CountingPersistence(tempDir);
+            this.writeBehindDelayInMs = writeBehindDelayInMs;
+        }
+    }
+
+    @Test
+    void burstOfChangesResultsInSingleWriteOfLatestState(@TempDir Path tempDir) throws InterruptedException {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        Client client = new Client(tempDir, 200);
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // Settings changed repeatedly, like toggles or filters
+            client.getPersistableStore().getTimestampsByProfileId().put("setting" + (i % 100), (long) i);
+            futures.add(client.persistWriteBehind());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        assertThat(futures).allMatch(future -> future.join());
+        // No further write must follow
+        Thread.sleep(400);
+        assertThat(client.getPersistence().numWrites.get()).isEqualTo(1);
+
+        TimestampStore persisted = client.getPersistence().readAsync().join().orElseThrow();
+        assertThat(persisted.getTimestampsByProfileId())
+                .hasSize(100)
+                .containsEntry("setting0", 900L)
+                .containsEntry("setting99", 999L)
+                .isEqualTo(client.getPersistableStore().getTimestampsByProfileId());
+    }
+
+    @Test
+    void changeAfterWriteGetsPersisted(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        Client client = new Client(tempDir, 50);
+
+        client.getPersistableStore().getTimestampsByProfileId().put("setting", 1L);
+        client.persistWriteBehind().join();
+        client.getPersistableStore().getTimestampsByProfileId().put("setting", 2L);
+        client.persistWriteBehind().join();
+
+        assertThat(client.getPersistence().numWrites.get()).isEqualTo(2);
+        TimestampStore persisted = client.getPersistence().readAsync().join().orElseThrow();
+        assertThat(persisted.getTimestampsByProfileId()).containsEntry("setting", 2L);
+    }
+
+    @Test
+    void flushWritesPendingStateImmediately(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        // Delay longer than the test, like a pending write at shutdown
+        Client client = new Client(tempDir, 60_000);
+
+        client.getPersistableStore().getTimestampsByProfileId().put("setting", 1L);
+        CompletableFuture<Boolean> pendingWrite = client.persistWriteBehind();
+        client.getPersistableStore().getTimestampsByProfileId().put("setting", 2L);
+        client.persistWriteBehind();
+
+        assertThat(client.getPersistence().flush().join()).isTrue();
+        assertThat(pendingWrite).isCompletedWithValue(true);
+        assertThat(client.getPersistence().numWrites.get()).isEqualTo(1);
+        TimestampStore persisted = client.getPersistence().readAsync().join().orElseThrow();
+        assertThat(persisted.getTimestampsByProfileId()).containsEntry("setting", 2L);
+
+        // Nothing pending anymore
+        assertThat(client.getPersistence().flush().join()).isTrue();
+        assertThat(client.getPersistence().numWrites.get()).isEqualTo(1);
+    }
+
+    @Test
+    void changeWithoutPersistRequestIsNotWritten(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        Client client = new Client(tempDir, 50);
+
+        // The snapshot is taken at the request, later changes of the store are not seen by the write
+        client.getPersistableStore().getTimestampsByProfileId().put("setting", 1L);
+        CompletableFuture<Boolean> write = client.persistWriteBehind();
+        client.getPersistableStore().getTimestampsByProfileId().put("setting", 2L);
+
+        assertThat(write.join()).isTrue();
+        TimestampStore persisted = client.getPersistence().readAsync().join().orElseThrow();
+        assertThat(persisted.getTimestampsByProfileId()).containsEntry("setting", 1L);
+    }
+
+    @Test
+    void failedWriteGetsRetried(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        Client client = new Client(tempDir, 50);
+        client.getPersistence().numFailingWrites.set(1);
+
+        client.getPersistableStore().getTimestampsByProfileId().put("setting", 1L);
+        assertThat(client.persistWriteBehind().join()).isTrue();
+
+        assertThat(client.getPersistence().numWrites.get()).isEqualTo(2);
+        TimestampStore persisted = client.getPersistence().readAsync().join().orElseThrow();
+        assertThat(persisted.getTimestampsByProfileId()).containsEntry("setting", 1L);
+    }
+
+    @Test
+    void failingWriteGivesUpAfterMaxAttempts(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        Client client = new Client(tempDir, 50);
+        client.getPersistence().numFailingWrites.set(Integer.MAX_VALUE);
+
+        client.getPersistableStore().getTimestampsByProfileId().put("setting", 1L);
+        assertThat(client.persistWriteBehind().join()).isFalse();
+
+        assertThat(client.getPersistence().numWrites.get()).isEqualTo(3);
+        assertThat(client.getPersistence().readAsync().join()).isEmpty();
+    }
+
+    @Test
+    void snapshotSupplierIsCalledOncePerWrite(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        CountingPersistence persistence = new CountingPersistence(tempDir);
+        TimestampStore store = new TimestampStore();
+        AtomicInteger numSnapshots = new AtomicInteger();
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // Network data added at a high rate, like at the inventory sync
+            store.getTimestampsByProfileId().put("data" + i, (long) i);
+            futures.add(persistence.persistWriteBehindWithSupplier(() -> {
+                numSnapshots.incrementAndGet();
+                return store.getClone();
+            }, 200));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertThat(numSnapshots.get()).isEqualTo(1);
+        assertThat(persistence.numWrites.get()).isEqualTo(1);
+        TimestampStore persisted = persistence.readAsync().join().orElseThrow();
+        assertThat(persisted.getTimestampsByProfileId()).hasSize(1000);
+    }
+}
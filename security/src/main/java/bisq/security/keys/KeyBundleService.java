@@ -32,9 +32,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -63,6 +65,9 @@ public class KeyBundleService implements PersistenceClient<KeyBundleStore> {
     private final String baseDir;
     private final Optional<String> defaultTorPrivateKey;
     private final boolean writeDefaultTorPrivateKeyToFile;
+    // Index of our own key pairs by key ID. Used for rejecting messages addressed to other nodes (e.g. mailbox
+    // messages) with a single lookup, without the key ID validation and the locking of the store.
+    private final Map<String, KeyPair> myKeyPairByKeyId = new ConcurrentHashMap<>();
 
     public KeyBundleService(PersistenceService persistenceService, Config config) {
         persistableStore = new KeyBundleStore();
@@ -77,6 +82,12 @@ public class KeyBundleService implements PersistenceClient<KeyBundleStore> {
         }
     }
 
+    @Override
+    public void onPersistedApplied(KeyBundleStore persisted) {
+        myKeyPairByKeyId.clear();
+        persistableStore.getKeyBundleById().forEach((keyId, keyBundle) -> myKeyPairByKeyId.put(keyId, keyBundle.getKeyPair()));
+    }
+
     public CompletableFuture<Boolean> initialize() {
         String defaultKeyId = getDefaultKeyId();
         String tag = "default";
@@ -162,6 +173,14 @@ public class KeyBundleService implements PersistenceClient<KeyBundleStore> {
         return findKeyBundle(keyId).map(KeyBundle::getKeyPair);
     }
 
+    /**
+     * Lookup in the index of our own key pairs. Does not validate the keyId, thus it can be used for filtering
+     * data from the network where most key IDs are not ours.
+     */
+    public Optional<KeyPair> findMyKeyPair(String keyId) {
+        return Optional.ofNullable(myKeyPairByKeyId.get(keyId));
+    }
+
     public KeyBundle createKeyBundle(String keyId) {
         return createKeyBundle(keyId, TorKeyGeneration.generateKeyPair());
     }
@@ -194,6 +213,7 @@ public class KeyBundleService implements PersistenceClient<KeyBundleStore> {
     public void persistKeyBundle(String keyId, KeyBundle keyBundle) {
         checkArgument(keyId.length() == 40, "Key ID is expected to be a 20 byte hash. keyId=" + keyId);
         persistableStore.putKeyBundle(keyId, keyBundle);
+        myKeyPairByKeyId.put(keyId, keyBundle.getKeyPair());
         persist();
     }
 }
@@ -27,6 +27,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -94,6 +95,10 @@ final class KeyBundleStore implements PersistableStore<KeyBundleStore> {
         keyBundleById.putAll(persisted.keyBundleById);
     }
 
+    Map<String, KeyBundle> getKeyBundleById() {
+        return Collections.unmodifiableMap(keyBundleById);
+    }
+
     Optional<KeyBundle> findKeyBundle(String keyId) {
         synchronized (keyBundleById) {
             return Optional.ofNullable(keyBundleById.get(keyId));
@@ -135,14 +135,16 @@ public class SettingsService implements PersistenceClient<SettingsStore>, Servic
         pins.clear();
 
         isInitialized = false;
-        return CompletableFuture.completedFuture(true);
+        // Write the changes of the last write-behind delay
+        return persistence.flush();
     }
 
     @Override
     public CompletableFuture<Boolean> persist() {
         // We don't want to call persist from the addObserver calls at initialize
         if (isInitialized) {
-            return PersistenceClient.super.persist();
+            // Changes often come in bursts (e.g. toggles, filters), so we coalesce them to a single write
+            return persistWriteBehind();
         } else {
             return CompletableFuture.completedFuture(true);
         }
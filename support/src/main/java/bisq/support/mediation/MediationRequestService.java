@@ -98,9 +98,7 @@ public class MediationRequestService implements Service, ConfidentialMessageServ
 
     @Override
     public CompletableFuture<Boolean> initialize() {
-        networkService.getConfidentialMessageServices().stream()
-                .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
-                .forEach(this::onMessage);
+        networkService.replayProcessedConfidentialMessages(Set.of(MediatorsResponse.class), this::onMessage);
         networkService.addConfidentialMessageListener(this);
         return CompletableFuture.completedFuture(true);
     }
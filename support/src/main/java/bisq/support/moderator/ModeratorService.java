@@ -113,9 +113,7 @@ public class ModeratorService implements PersistenceClient<ModeratorStore>, Serv
 
     @Override
     public CompletableFuture<Boolean> initialize() {
-        networkService.getConfidentialMessageServices().stream()
-                .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
-                .forEach(this::onMessage);
+        networkService.replayProcessedConfidentialMessages(Set.of(ReportToModeratorMessage.class), this::onMessage);
         networkService.addConfidentialMessageListener(this);
 
         addObserverIfModerator();
@@ -41,9 +41,12 @@ import bisq.offer.bisq_easy.BisqEasyOffer;
 import bisq.offer.payment_method.BitcoinPaymentMethodSpec;
 import bisq.offer.payment_method.FiatPaymentMethodSpec;
 import bisq.offer.price.spec.PriceSpec;
+import bisq.persistence.AppendOnlyArchive;
 import bisq.persistence.DbSubDirectory;
 import bisq.persistence.Persistence;
 import bisq.persistence.PersistenceClient;
+import bisq.persistence.PersistenceService;
+import bisq.persistence.ShardedPersistence;
 import bisq.settings.SettingsService;
 import bisq.trade.ServiceProvider;
 import bisq.trade.Trade;
@@ -71,13 +74,16 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -93,6 +99,10 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
 
     private final Persistence<BisqEasyTradeStore> persistence;
     private final BisqEasyTradeStore persistableStore = new BisqEasyTradeStore();
+    // Each open trade is persisted in its own file, so that a trade update does not require to write all trades.
+    private final ShardedPersistence<BisqEasyTradeShardStore> tradeShardPersistence;
+    // Closed trades are appended to the archive and only read on request.
+    private final AppendOnlyArchive<bisq.trade.protobuf.Trade> closedTradesArchive;
 
     // We don't persist the protocol, only the model.
     private final Map<String, BisqEasyProtocol> tradeProtocolById = new ConcurrentHashMap<>();
@@ -113,7 +123,54 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
         bannedUserService = serviceProvider.getUserService().getBannedUserService();
         alertService = serviceProvider.getBondedRolesService().getAlertService();
 
-        persistence = serviceProvider.getPersistenceService().getOrCreatePersistence(this, DbSubDirectory.PRIVATE, persistableStore);
+        PersistenceService persistenceService = serviceProvider.getPersistenceService();
+        persistence = persistenceService.getOrCreatePersistence(this, DbSubDirectory.PRIVATE, persistableStore);
+        tradeShardPersistence = persistenceService.getOrCreateShardedPersistence(DbSubDirectory.PRIVATE,
+                "bisq_easy_trades",
+                BisqEasyTradeShardStore.RESOLVER);
+        closedTradesArchive = persistenceService.getOrCreateAppendOnlyArchive(DbSubDirectory.PRIVATE,
+                "bisq_easy_closed_trades",
+                bisq.trade.protobuf.Trade.parser());
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // PersistenceClient
+    /* --------------------------------------------------------------------- */
+
+    @Override
+    public CompletableFuture<Optional<BisqEasyTradeStore>> readPersisted() {
+        return PersistenceClient.super.readPersisted()
+                .thenCompose(persisted -> tradeShardPersistence.readAllAsync()
+                        .thenApply(shards -> {
+                            shards.forEach(shard -> persistableStore.addOrReplaceTrade(shard.getTrade()));
+                            return persisted;
+                        }));
+    }
+
+    @Override
+    public void onPersistedApplied(BisqEasyTradeStore persisted) {
+        // Older versions persisted all trades in the BisqEasyTradeStore. We migrate them to the trade shards and
+        // persist the store which contains only the trade IDs after all trade shards have been written. Until then
+        // the store keeps writing the trades, thus a failed migration gets repeated at the next startup.
+        if (!persisted.getTrades().isEmpty()) {
+            log.info("Migrating {} trades from BisqEasyTradeStore to trade shards", persisted.getTrades().size());
+            persistableStore.setTradesMigrationPending(true);
+            List<CompletableFuture<Boolean>> shardWrites = persisted.getTrades().stream()
+                    .map(this::persistTrade)
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(shardWrites.toArray(new CompletableFuture[0]))
+                    .thenApply(nil -> shardWrites.stream().allMatch(CompletableFuture::join))
+                    .whenComplete((success, throwable) -> {
+                        if (throwable == null && success) {
+                            persistableStore.setTradesMigrationPending(false);
+                            persist();
+                        } else {
+                            log.error("Migrating trades to trade shards failed. We keep the trades in " +
+                                    "BisqEasyTradeStore and retry at the next startup.", throwable);
+                        }
+                    });
+        }
     }
 
 
@@ -124,9 +181,7 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
     public CompletableFuture<Boolean> initialize() {
         persistableStore.getTrades().forEach(this::createAndAddTradeProtocol);
 
-        networkService.getConfidentialMessageServices().stream()
-                .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
-                .forEach(this::onMessage);
+        networkService.replayProcessedConfidentialMessages(Set.of(BisqEasyTradeMessage.class), this::onMessage);
         networkService.addConfidentialMessageListener(this);
 
         authorizedAlertDataSetPin = alertService.getAuthorizedAlertDataSet().addObserver(new CollectionObserver<>() {
@@ -225,6 +280,7 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
         BisqEasyProtocol protocol = createProtocol(bisqEasyContract, message.getSender(), message.getReceiver());
         protocol.handle(message);
         persist();
+        persistTrade(protocol.getModel());
 
         if (!pendingMessages.isEmpty()) {
             log.info("We have pendingMessages. We try to re-process them now.");
@@ -236,7 +292,7 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
         String tradeId = message.getTradeId();
         findProtocol(tradeId).ifPresentOrElse(protocol -> {
                     protocol.handle(message);
-                    persist();
+                    persistTrade(protocol.getModel());
 
                     if (pendingMessages.contains(message)) {
                         log.info("We remove message {} from pendingMessages.", message);
@@ -293,6 +349,7 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
 
         checkArgument(!tradeExists(bisqEasyTrade.getId()), "A trade with that ID exists already");
         persistableStore.addTrade(bisqEasyTrade);
+        persist();
 
         return createAndAddTradeProtocol(bisqEasyTrade);
     }
@@ -339,7 +396,7 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
         String tradeId = trade.getId();
         findProtocol(tradeId).ifPresentOrElse(protocol -> {
                     protocol.handle(event);
-                    persist();
+                    persistTrade(trade);
                 },
                 () -> log.info("Protocol with tradeId {} not found. This is expected if the trade have been closed already", tradeId));
     }
@@ -384,7 +441,51 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
     public void removeTrade(BisqEasyTrade trade) {
         persistableStore.removeTrade(trade);
         tradeProtocolById.remove(trade.getId());
-        persist();
+        archiveTrade(trade);
+    }
+
+    /**
+     * Reads the closed trades from the archive. Those are not kept in memory.
+     */
+    public CompletableFuture<List<BisqEasyTrade>> readClosedTrades() {
+        return closedTradesArchive.readAllAsync()
+                .thenApply(protos -> protos.stream()
+                        .map(proto -> {
+                            try {
+                                return BisqEasyTrade.fromProto(proto);
+                            } catch (Exception e) {
+                                log.error("Could not create BisqEasyTrade from proto {}", proto, e);
+                                return null;
+                            }
+                        })
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Trade persistence
+    /* --------------------------------------------------------------------- */
+
+    private CompletableFuture<Boolean> persistTrade(BisqEasyTrade trade) {
+        return tradeShardPersistence.persistAsync(trade.getId(), new BisqEasyTradeShardStore(trade));
+    }
+
+    private void archiveTrade(BisqEasyTrade trade) {
+        // Closed trades do not need the payment account data anymore, so we do not keep it in the archive.
+        if (StringUtils.isNotEmpty(trade.getPaymentAccountData().get())) {
+            trade.getPaymentAccountData().set(Res.get("data.redacted"));
+        }
+        String tradeId = trade.getId();
+        // We only delete the shard once the trade is in the archive. If appending fails the shard is kept, thus the
+        // trade is not lost.
+        closedTradesArchive.appendAsync(trade.toProto(false))
+                .thenCompose(nil -> tradeShardPersistence.deleteAsync(tradeId))
+                .whenComplete((nil, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Archiving trade {} failed", tradeId, throwable);
+                    }
+                });
     }
 
 
@@ -453,7 +554,7 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
         // We use a more constrained duration of 45-90 days.
         int numDaysForNotCompletedTrades = Math.max(45, Math.min(90, numDays));
         long redactDateForNotCompletedTrades = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(numDaysForNotCompletedTrades);
-        long numChanges = getTrades().stream()
+        List<BisqEasyTrade> redactedTrades = getTrades().stream()
                 .filter(trade -> {
                     if (StringUtils.isEmpty(trade.getPaymentAccountData().get())) {
                         return false;
@@ -465,9 +566,7 @@ public class BisqEasyTradeService implements PersistenceClient<BisqEasyTradeStor
                     }
                     return doRedaction;
                 })
-                .count();
-        if (numChanges > 0) {
-            persist();
-        }
+                .collect(Collectors.toList());
+        redactedTrades.forEach(this::persistTrade);
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.trade.bisq_easy;
+
+import bisq.common.proto.ProtoResolver;
+import bisq.common.proto.UnresolvableProtobufMessageException;
+import bisq.persistence.PersistableStore;
+import com.google.protobuf.InvalidProtocolBufferException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Wraps a single open trade, so that a change of a trade only writes the file of that trade.
+ */
+@Slf4j
+@Getter(AccessLevel.PACKAGE)
+final class BisqEasyTradeShardStore implements PersistableStore<BisqEasyTradeShardStore> {
+    static final ProtoResolver<PersistableStore<?>> RESOLVER = any -> {
+        try {
+            return fromProto(any.unpack(bisq.trade.protobuf.BisqEasyTradeShardStore.class));
+        } catch (InvalidProtocolBufferException e) {
+            throw new UnresolvableProtobufMessageException(e);
+        }
+    };
+
+    private BisqEasyTrade trade;
+
+    BisqEasyTradeShardStore(BisqEasyTrade trade) {
+        this.trade = trade;
+    }
+
+    @Override
+    public bisq.trade.protobuf.BisqEasyTradeShardStore.Builder getBuilder(boolean serializeForHash) {
+        return bisq.trade.protobuf.BisqEasyTradeShardStore.newBuilder()
+                .setTrade(trade.toProto(serializeForHash));
+    }
+
+    @Override
+    public bisq.trade.protobuf.BisqEasyTradeShardStore toProto(boolean serializeForHash) {
+        return resolveProto(serializeForHash);
+    }
+
+    public static BisqEasyTradeShardStore fromProto(bisq.trade.protobuf.BisqEasyTradeShardStore proto) {
+        return new BisqEasyTradeShardStore(BisqEasyTrade.fromProto(proto.getTrade()));
+    }
+
+    @Override
+    public ProtoResolver<PersistableStore<?>> getResolver() {
+        return RESOLVER;
+    }
+
+    @Override
+    public BisqEasyTradeShardStore getClone() {
+        return new BisqEasyTradeShardStore(trade);
+    }
+
+    @Override
+    public void applyPersisted(BisqEasyTradeShardStore persisted) {
+        trade = persisted.getTrade();
+    }
+}
@@ -25,6 +25,7 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashSet;
@@ -37,7 +38,12 @@ import java.util.stream.Collectors;
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 @Slf4j
 final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
+    // Open trades are persisted each in its own BisqEasyTradeShardStore and closed trades are appended to the archive.
+    // We only read trades from the proto for migrating data persisted by older versions. We write them only as long
+    // as the migration is pending, so that they are not lost if writing the trade shards failed.
     private final ObservableSet<BisqEasyTrade> trades = new ObservableSet<>();
+    @Setter(AccessLevel.PACKAGE)
+    private volatile boolean isTradesMigrationPending;
 
     // We keep track of all trades by storing the trade IDs to avoid that the same trade can be taken again.
     private final ObservableSet<String> tradeIds = new ObservableSet<>();
@@ -49,19 +55,22 @@ final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
 
     @Override
     public bisq.trade.protobuf.BisqEasyTradeStore.Builder getBuilder(boolean serializeForHash) {
-        return bisq.trade.protobuf.BisqEasyTradeStore.newBuilder()
-                .addAllTrades(trades.stream()
-                        .map(trade -> {
-                            try {
-                                return trade.toProto(serializeForHash);
-                            } catch (Exception e) {
-                                log.error("Could not create proto from BisqEasyTrade {}", trade, e);
-                                return null;
-                            }
-                        })
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList()))
+        var builder = bisq.trade.protobuf.BisqEasyTradeStore.newBuilder()
                 .addAllTradeIds(tradeIds);
+        if (isTradesMigrationPending) {
+            builder.addAllTrades(trades.stream()
+                    .map(trade -> {
+                        try {
+                            return trade.toProto(serializeForHash);
+                        } catch (Exception e) {
+                            log.error("Could not create proto from BisqEasyTrade {}", trade, e);
+                            return null;
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+        }
+        return builder;
     }
 
     @Override
@@ -98,7 +107,9 @@ final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
 
     @Override
     public BisqEasyTradeStore getClone() {
-        return new BisqEasyTradeStore(new HashSet<>(trades), new HashSet<>(tradeIds));
+        BisqEasyTradeStore clone = new BisqEasyTradeStore(new HashSet<>(trades), new HashSet<>(tradeIds));
+        clone.setTradesMigrationPending(isTradesMigrationPending);
+        return clone;
     }
 
     @Override
@@ -116,6 +127,12 @@ final class BisqEasyTradeStore implements PersistableStore<BisqEasyTradeStore> {
         trades.remove(trade);
     }
 
+    // Used for applying the persisted shard, which replaces a trade with the same ID from the legacy data.
+    void addOrReplaceTrade(BisqEasyTrade trade) {
+        findTrade(trade.getId()).ifPresent(trades::remove);
+        addTrade(trade);
+    }
+
     Optional<BisqEasyTrade> findTrade(String tradeId) {
         return trades.stream().filter(trade -> trade.getId().equals(tradeId)).findAny();
     }
@@ -22,12 +22,12 @@ import bisq.common.fsm.EventHandler;
 import bisq.common.fsm.FsmException;
 import bisq.trade.ServiceProvider;
 import bisq.trade.bisq_easy.BisqEasyTrade;
+import bisq.trade.protocol.EventHandlerFactories;
 import bisq.trade.protocol.TradeProtocol;
 
-import java.lang.reflect.InvocationTargetException;
-
 public abstract class BisqEasyProtocol extends TradeProtocol<BisqEasyTrade> {
     public static final String VERSION = "1.0.0";
+    private static final EventHandlerFactories<BisqEasyTrade> EVENT_HANDLER_FACTORIES = new EventHandlerFactories<>(BisqEasyTrade.class);
 
     public BisqEasyProtocol(ServiceProvider serviceProvider, BisqEasyTrade model) {
         super(VERSION, serviceProvider, model);
@@ -35,12 +35,7 @@ public abstract class BisqEasyProtocol extends TradeProtocol<BisqEasyTrade> {
 
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
-        try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, BisqEasyTrade.class).newInstance(serviceProvider, model);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
+        return EVENT_HANDLER_FACTORIES.newEventHandler(handlerClass, serviceProvider, model);
     }
 
     @Override
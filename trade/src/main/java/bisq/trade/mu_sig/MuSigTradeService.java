@@ -65,6 +65,7 @@ import bisq.trade.protobuf.MusigGrpc;
 import bisq.trade.protobuf.SubscribeTxConfirmationStatusRequest;
 import bisq.user.banned.BannedUserService;
 import bisq.user.profile.UserProfile;
+import io.grpc.Deadline;
 import io.grpc.stub.StreamObserver;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -84,6 +85,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 @Slf4j
 @Getter
 public final class MuSigTradeService implements PersistenceClient<MuSigTradeStore>, Service, ConfidentialMessageService.Listener {
+    private static final long GRPC_DEADLINE_IN_SECONDS = 120;
+
     @Getter
     public static class Config {
         private final String host;
@@ -153,9 +156,7 @@ public final class MuSigTradeService implements PersistenceClient<MuSigTradeStor
                 .thenApply(result -> {
                     persistableStore.getTrades().forEach(this::createAndAddTradeProtocol);
 
-                    networkService.getConfidentialMessageServices().stream()
-                            .flatMap(service -> service.getProcessedEnvelopePayloadMessages().stream())
-                            .forEach(this::onMessage);
+                    networkService.replayProcessedConfidentialMessages(Set.of(MuSigTradeMessage.class), this::onMessage);
                     networkService.addConfidentialMessageListener(this);
 
                     // At startup we observe all unconfirmed deposit txs
@@ -491,8 +492,13 @@ public final class MuSigTradeService implements PersistenceClient<MuSigTradeStor
         return persistableStore.getTradeById();
     }
 
-    public MusigGrpc.MusigBlockingStub getMusigBlockingStub() {
-        return musigGrpcClient.getBlockingStub();
+    /**
+     * Deadline for the gRPC calls of one protocol step of a trade (e.g. the nonce shares and partial signatures
+     * requests of a handler). Each step creates its own deadline, thus a step never inherits the deadline of a former
+     * step, which might have expired already while waiting for the peer.
+     */
+    public Deadline createGrpcDeadline() {
+        return Deadline.after(GRPC_DEADLINE_IN_SECONDS, TimeUnit.SECONDS);
     }
 
     public MusigGrpc.MusigStub getMusigAsyncStub() {
@@ -51,7 +51,9 @@ public final class MuSigBuyersCloseTimeoutEventHandler extends MuSigTradeEventHa
                     .setTradeId(trade.getId())
                     .setSwapTx(ByteString.copyFrom(swapTx))
                     .build();
-            myCloseTradeResponse = CloseTradeResponse.fromProto(musigBlockingStub.closeTrade(closeTradeRequest));
+            myCloseTradeResponse = musigGrpcClient.closeTrade(closeTradeRequest, muSigTradeService.createGrpcDeadline())
+                    .thenApply(CloseTradeResponse::fromProto)
+                    .join();
         } catch (IOException e) {
             log.error("");
             throw new RuntimeException(e);
@@ -34,10 +34,13 @@ import bisq.trade.protobuf.Role;
 import bisq.user.profile.UserProfile;
 import lombok.extern.slf4j.Slf4j;
 
+import java.security.GeneralSecurityException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public final class MuSigTakeOfferEventHandler extends MuSigTradeEventHandlerAsMessageSender<MuSigTrade, MuSigTakeOfferEvent> {
+    private PubKeySharesRequest pubKeySharesRequest;
     private PubKeySharesResponse myPubKeySharesResponse;
     private ContractSignatureData myContractSignatureData;
     private MuSigContract contract;
@@ -48,20 +51,28 @@ public final class MuSigTakeOfferEventHandler extends MuSigTradeEventHandlerAsMe
 
     @Override
     public void process(MuSigTakeOfferEvent event) {
-        try {
-            bisq.trade.protobuf.PubKeySharesResponse proto = musigBlockingStub.initTrade(PubKeySharesRequest.newBuilder()
-                    .setTradeId(trade.getId())
-                    .setMyRole(Role.BUYER_AS_TAKER)
-                    .build());
-            myPubKeySharesResponse = PubKeySharesResponse.fromProto(proto);
+        pubKeySharesRequest = PubKeySharesRequest.newBuilder()
+                .setTradeId(trade.getId())
+                .setMyRole(Role.BUYER_AS_TAKER)
+                .build();
+    }
+
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigTakeOfferEvent event) {
+        CompletableFuture<PubKeySharesResponse> pubKeySharesFuture = musigGrpcClient.initTrade(pubKeySharesRequest,
+                        muSigTradeService.createGrpcDeadline())
+                .thenApply(PubKeySharesResponse::fromProto);
 
+        // We sign the contract while the backend is processing the initTrade request.
+        try {
             contract = trade.getContract();
             myContractSignatureData = serviceProvider.getContractService().signContract(contract,
                     trade.getMyIdentity().getKeyBundle().getKeyPair());
-        } catch (Exception e) {
-            log.error("{}.handle() failed", getClass().getSimpleName(), e);
+        } catch (GeneralSecurityException e) {
             throw new RuntimeException(e);
         }
+
+        return pubKeySharesFuture.thenAccept(response -> myPubKeySharesResponse = response);
     }
 
     @Override
@@ -30,8 +30,11 @@ import bisq.trade.protobuf.SwapTxSignatureRequest;
 import com.google.protobuf.ByteString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 public final class MuSigPaymentReceiptConfirmedEventHandler extends MuSigTradeEventHandlerAsMessageSender<MuSigTrade, MuSigPaymentReceiptConfirmedEvent> {
+    private SwapTxSignatureRequest swapTxSignatureRequest;
     private SwapTxSignatureResponse mySwapTxSignatureResponse;
 
     public MuSigPaymentReceiptConfirmedEventHandler(ServiceProvider serviceProvider, MuSigTrade model) {
@@ -44,13 +47,21 @@ public final class MuSigPaymentReceiptConfirmedEventHandler extends MuSigTradeEv
         // We got that from an earlier message
         PartialSignatures peersPartialSignatures = peer.getPeersPartialSignatures().orElseThrow();
 
-        mySwapTxSignatureResponse = SwapTxSignatureResponse.fromProto(musigBlockingStub.signSwapTx(SwapTxSignatureRequest.newBuilder()
+        swapTxSignatureRequest = SwapTxSignatureRequest.newBuilder()
                 .setTradeId(trade.getId())
                 // NOW send the redacted buyer's swapTxInputPartialSignature:
                 .setSwapTxInputPeersPartialSignature(ByteString.copyFrom(peersPartialSignatures.getSwapTxInputPartialSignature()))
-                .build()));
+                .build();
+    }
 
-        muSigTradeService.startCloseTimeout(trade, new MuSigSellersCloseTimeoutEvent());
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigPaymentReceiptConfirmedEvent event) {
+        return musigGrpcClient.signSwapTx(swapTxSignatureRequest, muSigTradeService.createGrpcDeadline())
+                .thenApply(SwapTxSignatureResponse::fromProto)
+                .thenAccept(response -> {
+                    mySwapTxSignatureResponse = response;
+                    muSigTradeService.startCloseTimeout(trade, new MuSigSellersCloseTimeoutEvent());
+                });
     }
 
     @Override
@@ -24,7 +24,10 @@ import bisq.trade.mu_sig.handler.MuSigTradeEventHandler;
 import bisq.trade.mu_sig.messages.grpc.CloseTradeResponse;
 import bisq.trade.protobuf.CloseTradeRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 public final class MuSigSellersCloseTimeoutEventHandler extends MuSigTradeEventHandler<MuSigTrade, MuSigSellersCloseTimeoutEvent> {
+    private CloseTradeRequest closeTradeRequest;
     private CloseTradeResponse myCloseTradeResponse;
 
     public MuSigSellersCloseTimeoutEventHandler(ServiceProvider serviceProvider, MuSigTrade model) {
@@ -40,10 +43,16 @@ public final class MuSigSellersCloseTimeoutEventHandler extends MuSigTradeEventH
         // ClosureType.UNCOOPERATIVE
         // *** SELLER FORCE-CLOSES TRADE ***
         //TODO isn't here the swap Tx needed to pass?
-        CloseTradeRequest closeTradeRequest = CloseTradeRequest.newBuilder()
+        closeTradeRequest = CloseTradeRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .build();
-        myCloseTradeResponse = CloseTradeResponse.fromProto(musigBlockingStub.closeTrade(closeTradeRequest));
+    }
+
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigSellersCloseTimeoutEvent event) {
+        return musigGrpcClient.closeTrade(closeTradeRequest, muSigTradeService.createGrpcDeadline())
+                .thenApply(CloseTradeResponse::fromProto)
+                .thenAccept(response -> myCloseTradeResponse = response);
     }
 
     @Override
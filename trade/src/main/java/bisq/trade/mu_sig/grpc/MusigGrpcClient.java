@@ -18,23 +18,43 @@
 package bisq.trade.mu_sig.grpc;
 
 import bisq.common.application.Service;
+import bisq.trade.protobuf.CloseTradeRequest;
+import bisq.trade.protobuf.CloseTradeResponse;
+import bisq.trade.protobuf.DepositPsbt;
+import bisq.trade.protobuf.DepositTxSignatureRequest;
 import bisq.trade.protobuf.MusigGrpc;
+import bisq.trade.protobuf.NonceSharesMessage;
+import bisq.trade.protobuf.NonceSharesRequest;
+import bisq.trade.protobuf.PartialSignaturesMessage;
+import bisq.trade.protobuf.PartialSignaturesRequest;
+import bisq.trade.protobuf.PubKeySharesRequest;
+import bisq.trade.protobuf.PubKeySharesResponse;
+import bisq.trade.protobuf.PublishDepositTxRequest;
+import bisq.trade.protobuf.SwapTxSignatureRequest;
+import bisq.trade.protobuf.SwapTxSignatureResponse;
+import bisq.trade.protobuf.TxConfirmationStatus;
+import io.grpc.Deadline;
 import io.grpc.Grpc;
 import io.grpc.InsecureChannelCredentials;
 import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
+/**
+ * Client of the Musig gRPC service. All calls use the async stub and return a CompletableFuture, so that no thread is
+ * blocked while waiting for the response. The passed deadline is applied to the call, so that all calls of a trade
+ * protocol phase can share the same deadline.
+ */
 @Slf4j
 public class MusigGrpcClient implements Service {
     private final String host;
     private final int port;
     private ManagedChannel managedChannel;
     @Getter
-    private MusigGrpc.MusigBlockingStub blockingStub;
-    @Getter
     private MusigGrpc.MusigStub asyncStub;
 
     public MusigGrpcClient(String host, int port) {
@@ -54,7 +74,6 @@ public class MusigGrpcClient implements Service {
         ).build();
 
         try {
-            blockingStub = MusigGrpc.newBlockingStub(managedChannel);
             asyncStub = MusigGrpc.newStub(managedChannel);
         } catch (Exception e) {
             log.error("Initializing grpc client failed", e);
@@ -71,12 +90,99 @@ public class MusigGrpcClient implements Service {
         return CompletableFuture.completedFuture(true);
     }
 
+    /* --------------------------------------------------------------------- */
+    // Async API
+    /* --------------------------------------------------------------------- */
+
+    public CompletableFuture<PubKeySharesResponse> initTrade(PubKeySharesRequest request, Deadline deadline) {
+        return callAsync(deadline, (stub, observer) -> stub.initTrade(request, observer));
+    }
+
+    public CompletableFuture<NonceSharesMessage> getNonceShares(NonceSharesRequest request, Deadline deadline) {
+        return callAsync(deadline, (stub, observer) -> stub.getNonceShares(request, observer));
+    }
+
+    public CompletableFuture<PartialSignaturesMessage> getPartialSignatures(PartialSignaturesRequest request,
+                                                                            Deadline deadline) {
+        return callAsync(deadline, (stub, observer) -> stub.getPartialSignatures(request, observer));
+    }
+
+    public CompletableFuture<DepositPsbt> signDepositTx(DepositTxSignatureRequest request, Deadline deadline) {
+        return callAsync(deadline, (stub, observer) -> stub.signDepositTx(request, observer));
+    }
+
+    public CompletableFuture<SwapTxSignatureResponse> signSwapTx(SwapTxSignatureRequest request, Deadline deadline) {
+        return callAsync(deadline, (stub, observer) -> stub.signSwapTx(request, observer));
+    }
+
+    public CompletableFuture<CloseTradeResponse> closeTrade(CloseTradeRequest request, Deadline deadline) {
+        return callAsync(deadline, (stub, observer) -> stub.closeTrade(request, observer));
+    }
+
+    /**
+     * Publishes the deposit tx. The returned future completes when the server has completed the stream of
+     * TxConfirmationStatus updates. We do not apply a deadline as the stream is open until the tx is confirmed.
+     * The confirmation status is only logged here, as the trade observes it via subscribeTxConfirmationStatus.
+     */
+    public CompletableFuture<Void> publishDepositTx(PublishDepositTxRequest request) {
+        MusigGrpc.MusigStub stub = asyncStub;
+        if (stub == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("MusigGrpcClient is not initialized"));
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        stub.publishDepositTx(request, new StreamObserver<>() {
+            @Override
+            public void onNext(TxConfirmationStatus txConfirmationStatus) {
+                log.debug("Received txConfirmationStatus for published deposit tx. numConfirmations={}",
+                        txConfirmationStatus.getNumConfirmations());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    private <R> CompletableFuture<R> callAsync(Deadline deadline,
+                                               BiConsumer<MusigGrpc.MusigStub, StreamObserver<R>> call) {
+        MusigGrpc.MusigStub stub = asyncStub;
+        if (stub == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("MusigGrpcClient is not initialized"));
+        }
+        CompletableFuture<R> future = new CompletableFuture<>();
+        call.accept(stub.withDeadline(deadline), new StreamObserver<>() {
+            @Override
+            public void onNext(R response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!future.isDone()) {
+                    future.completeExceptionally(new IllegalStateException("Call completed without a response"));
+                }
+            }
+        });
+        return future;
+    }
+
     private void dispose() {
         if (managedChannel != null) {
             managedChannel.shutdown();
             managedChannel = null;
         }
-        blockingStub = null;
         asyncStub = null;
     }
 }
@@ -18,12 +18,13 @@
 package bisq.trade.mu_sig.handler;
 
 import bisq.chat.mu_sig.open_trades.MuSigOpenTradeChannelService;
+import bisq.common.fsm.AsyncEventHandler;
 import bisq.common.fsm.Event;
 import bisq.network.SendMessageResult;
 import bisq.trade.ServiceProvider;
 import bisq.trade.mu_sig.MuSigTrade;
 import bisq.trade.mu_sig.MuSigTradeService;
-import bisq.trade.protobuf.MusigGrpc;
+import bisq.trade.mu_sig.grpc.MusigGrpcClient;
 import bisq.trade.protocol.handler.TradeEventHandlerAsMessageSender;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,21 +32,39 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
-public abstract class MuSigTradeEventHandlerAsMessageSender<T extends MuSigTrade, E extends Event> extends TradeEventHandlerAsMessageSender<T, E> {
+public abstract class MuSigTradeEventHandlerAsMessageSender<T extends MuSigTrade, E extends Event> extends TradeEventHandlerAsMessageSender<T, E> implements AsyncEventHandler {
     protected final MuSigTradeService muSigTradeService;
-    protected final MusigGrpc.MusigBlockingStub musigBlockingStub;
+    protected final MusigGrpcClient musigGrpcClient;
 
     protected MuSigTradeEventHandlerAsMessageSender(ServiceProvider serviceProvider, T trade) {
         super(serviceProvider, trade);
 
         muSigTradeService = serviceProvider.getMuSigTradeService();
-        musigBlockingStub = muSigTradeService.getMusigBlockingStub();
+        musigGrpcClient = muSigTradeService.getMusigGrpcClient();
     }
 
+    @Override
     public final void handle(Event event) {
-        super.handle(event);
+        handleAsync(event).join();
+    }
+
+    @Override
+    public final CompletableFuture<Void> handleAsync(Event event) {
+        E tradeEvent = unsafeCast(event);
+        process(tradeEvent);
+        return processAsync(tradeEvent).thenRun(() -> {
+            commit();
+            sendMessage();
+            sendLogMessage();
+        });
+    }
 
-        sendLogMessage();
+    /**
+     * Runs the gRPC calls of the handler without blocking the calling thread. The handler gets committed once the
+     * returned future has completed. Handlers without gRPC calls do not need to override it.
+     */
+    protected CompletableFuture<Void> processAsync(E event) {
+        return CompletableFuture.completedFuture(null);
     }
 
     protected abstract void sendLogMessage();
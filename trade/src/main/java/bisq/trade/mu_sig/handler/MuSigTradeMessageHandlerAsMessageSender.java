@@ -18,12 +18,13 @@
 package bisq.trade.mu_sig.handler;
 
 import bisq.chat.mu_sig.open_trades.MuSigOpenTradeChannelService;
+import bisq.common.fsm.AsyncEventHandler;
 import bisq.common.fsm.Event;
 import bisq.network.SendMessageResult;
 import bisq.trade.ServiceProvider;
 import bisq.trade.mu_sig.MuSigTrade;
 import bisq.trade.mu_sig.MuSigTradeService;
-import bisq.trade.protobuf.MusigGrpc;
+import bisq.trade.mu_sig.grpc.MusigGrpcClient;
 import bisq.trade.protocol.handler.TradeMessageHandlerAsMessageSender;
 import bisq.trade.protocol.messages.TradeMessage;
 import lombok.extern.slf4j.Slf4j;
@@ -32,21 +33,39 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
-public abstract class MuSigTradeMessageHandlerAsMessageSender<T extends MuSigTrade, M extends TradeMessage> extends TradeMessageHandlerAsMessageSender<T, M> {
+public abstract class MuSigTradeMessageHandlerAsMessageSender<T extends MuSigTrade, M extends TradeMessage> extends TradeMessageHandlerAsMessageSender<T, M> implements AsyncEventHandler {
     protected final MuSigTradeService muSigTradeService;
-    protected final MusigGrpc.MusigBlockingStub musigBlockingStub;
+    protected final MusigGrpcClient musigGrpcClient;
 
     protected MuSigTradeMessageHandlerAsMessageSender(ServiceProvider serviceProvider, T trade) {
         super(serviceProvider, trade);
 
         muSigTradeService = serviceProvider.getMuSigTradeService();
-        musigBlockingStub = muSigTradeService.getMusigBlockingStub();
+        musigGrpcClient = muSigTradeService.getMusigGrpcClient();
     }
 
+    @Override
     public final void handle(Event event) {
-        super.handle(event);
+        handleAsync(event).join();
+    }
+
+    @Override
+    public final CompletableFuture<Void> handleAsync(Event event) {
+        M message = verifyMessage(event);
+        process(message);
+        return processAsync(message).thenRun(() -> {
+            commit();
+            sendMessage();
+            sendLogMessage();
+        });
+    }
 
-        sendLogMessage();
+    /**
+     * Runs the gRPC calls of the handler without blocking the calling thread. The handler gets committed once the
+     * returned future has completed. Handlers without gRPC calls do not need to override it.
+     */
+    protected CompletableFuture<Void> processAsync(M message) {
+        return CompletableFuture.completedFuture(null);
     }
 
     protected abstract void sendLogMessage();
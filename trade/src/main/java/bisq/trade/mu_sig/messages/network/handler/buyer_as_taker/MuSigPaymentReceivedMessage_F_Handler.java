@@ -31,8 +31,11 @@ import bisq.trade.protobuf.CloseTradeRequest;
 import com.google.protobuf.ByteString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 public final class MuSigPaymentReceivedMessage_F_Handler extends MuSigTradeMessageHandlerAsMessageSender<MuSigTrade, MuSigPaymentReceivedMessage_F> {
+    private CloseTradeRequest closeTradeRequest;
     private CloseTradeResponse myCloseTradeResponse;
     private SwapTxSignature peersSwapTxSignature;
 
@@ -52,11 +55,17 @@ public final class MuSigPaymentReceivedMessage_F_Handler extends MuSigTradeMessa
 
         // ClosureType.COOPERATIVE
         // *** BUYER CLOSES TRADE ***
-        CloseTradeRequest closeTradeRequest = CloseTradeRequest.newBuilder()
+        closeTradeRequest = CloseTradeRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setMyOutputPeersPrvKeyShare(ByteString.copyFrom(peersSwapTxSignature.getPeerOutputPrvKeyShare()))
                 .build();
-        myCloseTradeResponse = CloseTradeResponse.fromProto(musigBlockingStub.closeTrade(closeTradeRequest));
+    }
+
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigPaymentReceivedMessage_F message) {
+        return musigGrpcClient.closeTrade(closeTradeRequest, muSigTradeService.createGrpcDeadline())
+                .thenApply(CloseTradeResponse::fromProto)
+                .thenAccept(response -> myCloseTradeResponse = response);
     }
 
     @Override
@@ -36,9 +36,11 @@ import bisq.trade.protobuf.PartialSignaturesRequest;
 import bisq.trade.protobuf.ReceiverAddressAndAmount;
 import com.google.common.collect.ImmutableMap;
 import com.google.protobuf.ByteString;
+import io.grpc.Deadline;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -48,6 +50,8 @@ public final class MuSigSetupTradeMessage_B_Handler extends MuSigTradeMessageHan
     private PubKeyShares peersPubKeyShares;
     private PartialSignaturesMessage myPartialSignaturesMessage;
     private NonceShares peersNonceShares;
+    private NonceSharesRequest nonceSharesRequest;
+    private PartialSignaturesRequest partialSignaturesRequest;
 
     public MuSigSetupTradeMessage_B_Handler(ServiceProvider serviceProvider, MuSigTrade model) {
         super(serviceProvider, model);
@@ -67,7 +71,7 @@ public final class MuSigSetupTradeMessage_B_Handler extends MuSigTradeMessageHan
 
         // Request NonceSharesMessage from rust server
 
-        NonceSharesRequest nonceSharesRequest = NonceSharesRequest.newBuilder()
+        nonceSharesRequest = NonceSharesRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setBuyerOutputPeersPubKeyShare(ByteString.copyFrom(peersPubKeyShares.getBuyerOutputPubKeyShare()))
                 .setSellerOutputPeersPubKeyShare(ByteString.copyFrom(peersPubKeyShares.getSellerOutputPubKeyShare()))
@@ -77,16 +81,25 @@ public final class MuSigSetupTradeMessage_B_Handler extends MuSigTradeMessageHan
                 .setBuyersSecurityDeposit(30_000)
                 .setSellersSecurityDeposit(30_000)
                 .build();
-        myNonceSharesMessage = NonceSharesMessage.fromProto(musigBlockingStub.getNonceShares(nonceSharesRequest));
-
         NonceSharesMessage peersNonceSharesMessage =  NonceSharesMessage.from(peersNonceShares);
 
-        PartialSignaturesRequest partialSignaturesRequest = PartialSignaturesRequest.newBuilder()
+        partialSignaturesRequest = PartialSignaturesRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setPeersNonceShares(peersNonceSharesMessage.toProto(true))
                 .addAllReceivers(mockReceivers())
                 .build();
-        myPartialSignaturesMessage = PartialSignaturesMessage.fromProto(musigBlockingStub.getPartialSignatures(partialSignaturesRequest));
+    }
+
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigSetupTradeMessage_B message) {
+        // The partial signatures require the nonce shares to be created at the backend, so we chain the calls.
+        Deadline deadline = muSigTradeService.createGrpcDeadline();
+        return musigGrpcClient.getNonceShares(nonceSharesRequest, deadline)
+                .thenCompose(response -> {
+                    myNonceSharesMessage = NonceSharesMessage.fromProto(response);
+                    return musigGrpcClient.getPartialSignatures(partialSignaturesRequest, deadline);
+                })
+                .thenAccept(response -> myPartialSignaturesMessage = PartialSignaturesMessage.fromProto(response));
     }
 
     @Override
@@ -27,15 +27,15 @@ import bisq.trade.mu_sig.messages.network.MuSigSetupTradeMessage_D;
 import bisq.trade.mu_sig.messages.network.vo.PartialSignatures;
 import bisq.trade.protobuf.DepositTxSignatureRequest;
 import bisq.trade.protobuf.PublishDepositTxRequest;
-import bisq.trade.protobuf.TxConfirmationStatus;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public final class MuSigSetupTradeMessage_D_Handler extends MuSigTradeMessageHandler<MuSigTrade, MuSigSetupTradeMessage_D> {
     private PartialSignatures peersPartialSignatures;
     private DepositPsbt myDepositPsbt;
+    private DepositTxSignatureRequest depositTxSignatureRequest;
 
     public MuSigSetupTradeMessage_D_Handler(ServiceProvider serviceProvider, MuSigTrade model) {
         super(serviceProvider, model);
@@ -50,12 +50,22 @@ public final class MuSigSetupTradeMessage_D_Handler extends MuSigTradeMessageHan
         peersPartialSignatures = message.getPartialSignatures();
 
         PartialSignaturesMessage peersPartialSignaturesMessage =  PartialSignaturesMessage.from(peersPartialSignatures);
-        DepositTxSignatureRequest depositTxSignatureRequest = DepositTxSignatureRequest.newBuilder()
+        depositTxSignatureRequest = DepositTxSignatureRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setPeersPartialSignatures(peersPartialSignaturesMessage.toProto(true))
                 .build();
-        myDepositPsbt = DepositPsbt.fromProto(musigBlockingStub.signDepositTx(depositTxSignatureRequest));
+    }
+
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigSetupTradeMessage_D message) {
+        return musigGrpcClient.signDepositTx(depositTxSignatureRequest, muSigTradeService.createGrpcDeadline())
+                .thenAccept(response -> {
+                    myDepositPsbt = DepositPsbt.fromProto(response);
+                    publishDepositTx();
+                });
+    }
 
+    private void publishDepositTx() {
         // *** BUYER BROADCASTS DEPOSIT TX ***
         // Before publishing we start observing the txConfirmationStatus (avoiding code duplication to handle it
         // here directly).
@@ -65,7 +75,13 @@ public final class MuSigSetupTradeMessage_D_Handler extends MuSigTradeMessageHan
                 .setTradeId(trade.getId())
                 .setDepositPsbt(myDepositPsbt.toProto(true))
                 .build();
-        Iterator<TxConfirmationStatus> depositTxConfirmationIter = musigBlockingStub.publishDepositTx(publishDepositTxRequest);
+        // The confirmation status is handled by observeDepositTxConfirmationStatus, so we do not wait for the stream.
+        musigGrpcClient.publishDepositTx(publishDepositTxRequest)
+                .whenComplete((nil, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Publishing deposit tx for trade {} failed", trade.getId(), throwable);
+                    }
+                });
     }
 
     @Override
@@ -28,9 +28,12 @@ import bisq.trade.protobuf.CloseTradeRequest;
 import com.google.protobuf.ByteString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 public final class MuSigCooperativeClosureMessage_G_Handler extends MuSigTradeMessageHandler<MuSigTrade, MuSigCooperativeClosureMessage_G> {
     private ByteArray peersOutputPrvKeyShare;
+    private CloseTradeRequest closeTradeRequest;
     private CloseTradeResponse myCloseTradeResponse;
 
     public MuSigCooperativeClosureMessage_G_Handler(ServiceProvider serviceProvider, MuSigTrade model) {
@@ -49,11 +52,17 @@ public final class MuSigCooperativeClosureMessage_G_Handler extends MuSigTradeMe
 
         // ClosureType.COOPERATIVE
         // *** SELLER CLOSES TRADE ***
-        CloseTradeRequest closeTradeRequest = CloseTradeRequest.newBuilder()
+        closeTradeRequest = CloseTradeRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setMyOutputPeersPrvKeyShare(ByteString.copyFrom(peersOutputPrvKeyShare.getBytes()))
                 .build();
-        myCloseTradeResponse = CloseTradeResponse.fromProto(musigBlockingStub.closeTrade(closeTradeRequest));
+    }
+
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigCooperativeClosureMessage_G message) {
+        return musigGrpcClient.closeTrade(closeTradeRequest, muSigTradeService.createGrpcDeadline())
+                .thenApply(CloseTradeResponse::fromProto)
+                .thenAccept(response -> myCloseTradeResponse = response);
     }
 
     @Override
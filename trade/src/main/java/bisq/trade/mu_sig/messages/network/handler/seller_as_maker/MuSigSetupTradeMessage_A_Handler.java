@@ -35,9 +35,11 @@ import bisq.trade.protobuf.NonceSharesRequest;
 import bisq.trade.protobuf.PubKeySharesRequest;
 import bisq.trade.protobuf.Role;
 import com.google.protobuf.ByteString;
+import io.grpc.Deadline;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public final class MuSigSetupTradeMessage_A_Handler extends MuSigTradeMessageHandlerAsMessageSender<MuSigTrade, MuSigSetupTradeMessage_A> {
@@ -46,6 +48,8 @@ public final class MuSigSetupTradeMessage_A_Handler extends MuSigTradeMessageHan
     private NonceSharesMessage myNonceSharesMessage;
     private ContractSignatureData takersContractSignatureData;
     private ContractSignatureData myContractSignatureData;
+    private PubKeySharesRequest pubKeySharesRequest;
+    private NonceSharesRequest nonceSharesRequest;
 
     public MuSigSetupTradeMessage_A_Handler(ServiceProvider serviceProvider, MuSigTrade model) {
         super(serviceProvider, model);
@@ -71,13 +75,11 @@ public final class MuSigSetupTradeMessage_A_Handler extends MuSigTradeMessageHan
     protected void process(MuSigSetupTradeMessage_A message) {
         peersPubKeyShares = message.getPubKeyShares();
 
-        PubKeySharesRequest pubKeySharesRequest = PubKeySharesRequest.newBuilder()
+        pubKeySharesRequest = PubKeySharesRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setMyRole(Role.SELLER_AS_MAKER)
                 .build();
-        myPubKeySharesResponse = PubKeySharesResponse.fromProto(musigBlockingStub.initTrade(pubKeySharesRequest));
-
-        NonceSharesRequest nonceSharesRequest = NonceSharesRequest.newBuilder()
+        nonceSharesRequest = NonceSharesRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setBuyerOutputPeersPubKeyShare(ByteString.copyFrom(peersPubKeyShares.getBuyerOutputPubKeyShare()))
                 .setSellerOutputPeersPubKeyShare(ByteString.copyFrom(peersPubKeyShares.getSellerOutputPubKeyShare()))
@@ -87,7 +89,18 @@ public final class MuSigSetupTradeMessage_A_Handler extends MuSigTradeMessageHan
                 .setBuyersSecurityDeposit(30_000)
                 .setSellersSecurityDeposit(30_000)
                 .build();
-        myNonceSharesMessage = NonceSharesMessage.fromProto(musigBlockingStub.getNonceShares(nonceSharesRequest));
+    }
+
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigSetupTradeMessage_A message) {
+        // The backend requires the trade to be initialized before it can create the nonce shares, so we chain the calls.
+        Deadline deadline = muSigTradeService.createGrpcDeadline();
+        return musigGrpcClient.initTrade(pubKeySharesRequest, deadline)
+                .thenCompose(response -> {
+                    myPubKeySharesResponse = PubKeySharesResponse.fromProto(response);
+                    return musigGrpcClient.getNonceShares(nonceSharesRequest, deadline);
+                })
+                .thenAccept(response -> myNonceSharesMessage = NonceSharesMessage.fromProto(response));
     }
 
     @Override
@@ -34,9 +34,11 @@ import bisq.trade.protobuf.DepositTxSignatureRequest;
 import bisq.trade.protobuf.PartialSignaturesRequest;
 import bisq.trade.protobuf.ReceiverAddressAndAmount;
 import com.google.common.collect.ImmutableMap;
+import io.grpc.Deadline;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -45,6 +47,8 @@ public final class MuSigSetupTradeMessage_C_Handler extends MuSigTradeMessageHan
     private PartialSignaturesMessage myPartialSignaturesMessage;
     private PartialSignatures peersPartialSignatures;
     private DepositPsbt myDepositPsbt;
+    private PartialSignaturesRequest partialSignaturesRequest;
+    private DepositTxSignatureRequest depositTxSignatureRequest;
 
     public MuSigSetupTradeMessage_C_Handler(ServiceProvider serviceProvider, MuSigTrade model) {
         super(serviceProvider, model);
@@ -62,13 +66,11 @@ public final class MuSigSetupTradeMessage_C_Handler extends MuSigTradeMessageHan
 
         NonceSharesMessage peersNonceSharesMessage =  NonceSharesMessage.from(peersNonceShares);
 
-        PartialSignaturesRequest partialSignaturesRequest = PartialSignaturesRequest.newBuilder()
+        partialSignaturesRequest = PartialSignaturesRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setPeersNonceShares(peersNonceSharesMessage.toProto(true))
                 .addAllReceivers(mockReceivers())
                 .build();
-        myPartialSignaturesMessage = PartialSignaturesMessage.fromProto(musigBlockingStub.getPartialSignatures(partialSignaturesRequest));
-
         PartialSignaturesMessage peersPartialSignaturesMessage =  PartialSignaturesMessage.from(peersPartialSignatures);
 
         // TODO
@@ -80,12 +82,28 @@ public final class MuSigSetupTradeMessage_C_Handler extends MuSigTradeMessageHan
         var signaturesProto = peersPartialSignaturesMessage.toProto(true)
                 .toBuilder()
                 .clearSwapTxInputPartialSignature();
-        DepositTxSignatureRequest depositTxSignatureRequest = DepositTxSignatureRequest.newBuilder()
+        depositTxSignatureRequest = DepositTxSignatureRequest.newBuilder()
                 .setTradeId(trade.getId())
                 .setPeersPartialSignatures(signaturesProto)
                 .build();
-        myDepositPsbt = DepositPsbt.fromProto(musigBlockingStub.signDepositTx(depositTxSignatureRequest));
+    }
+
+    @Override
+    protected CompletableFuture<Void> processAsync(MuSigSetupTradeMessage_C message) {
+        // The deposit tx can only be signed after the backend has created our partial signatures, so we chain the calls.
+        Deadline deadline = muSigTradeService.createGrpcDeadline();
+        return musigGrpcClient.getPartialSignatures(partialSignaturesRequest, deadline)
+                .thenCompose(response -> {
+                    myPartialSignaturesMessage = PartialSignaturesMessage.fromProto(response);
+                    return musigGrpcClient.signDepositTx(depositTxSignatureRequest, deadline);
+                })
+                .thenAccept(response -> {
+                    myDepositPsbt = DepositPsbt.fromProto(response);
+                    onDepositTxSigned();
+                });
+    }
 
+    private void onDepositTxSigned() {
         // We observe the txConfirmationStatus to get informed once the deposit tx is confirmed (gets published by the
         // buyer when they receive the MuSigSetupTradeMessage_D).
         muSigTradeService.observeDepositTxConfirmationStatus(trade);
@@ -17,15 +17,16 @@
 
 package bisq.trade.mu_sig.protocol;
 
+import bisq.common.fsm.Event;
 import bisq.common.fsm.EventHandler;
 import bisq.trade.ServiceProvider;
 import bisq.trade.mu_sig.MuSigTrade;
+import bisq.trade.protocol.EventHandlerFactories;
 import bisq.trade.protocol.TradeProtocol;
 
-import java.lang.reflect.InvocationTargetException;
-
 public abstract class MuSigProtocol extends TradeProtocol<MuSigTrade> {
     public static final String VERSION = "1.0.0";
+    private static final EventHandlerFactories<MuSigTrade> EVENT_HANDLER_FACTORIES = new EventHandlerFactories<>(MuSigTrade.class);
 
     public MuSigProtocol(ServiceProvider serviceProvider, MuSigTrade model) {
         super(VERSION, serviceProvider, model);
@@ -33,18 +34,19 @@ public abstract class MuSigProtocol extends TradeProtocol<MuSigTrade> {
 
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
-        try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, MuSigTrade.class).newInstance(serviceProvider, model);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
+        return EVENT_HANDLER_FACTORIES.newEventHandler(handlerClass, serviceProvider, model);
     }
 
     @Override
     protected void configErrorHandling() {
     }
 
+    @Override
+    protected void onAsyncEventHandled(Event event) {
+        // The gRPC calls of the MuSig handlers complete after the caller of handle has persisted the trade
+        serviceProvider.getMuSigTradeService().persist();
+    }
+
     public MuSigTrade getTrade() {
         return getModel();
     }
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.trade.protocol;
+
+import bisq.common.fsm.EventHandler;
+import bisq.trade.ServiceProvider;
+import bisq.trade.Trade;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Creates event handlers by their class. The handler class must provide a public constructor with the
+ * ServiceProvider and the trade class as parameters. At the first request for a handler class we create a factory
+ * from its constructor with the LambdaMetafactory and cache it, so that later instantiations are plain constructor
+ * calls without reflection.
+ */
+public final class EventHandlerFactories<T extends Trade<?, ?, ?>> {
+    private final Class<T> tradeClass;
+    private final Map<Class<? extends EventHandler>, BiFunction<ServiceProvider, T, EventHandler>> factoryByHandlerClass = new ConcurrentHashMap<>();
+
+    public EventHandlerFactories(Class<T> tradeClass) {
+        this.tradeClass = tradeClass;
+    }
+
+    public EventHandler newEventHandler(Class<? extends EventHandler> handlerClass,
+                                        ServiceProvider serviceProvider,
+                                        T trade) {
+        return factoryByHandlerClass.computeIfAbsent(handlerClass, this::createFactory).apply(serviceProvider, trade);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BiFunction<ServiceProvider, T, EventHandler> createFactory(Class<? extends EventHandler> handlerClass) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle constructor = lookup.findConstructor(handlerClass,
+                    MethodType.methodType(void.class, ServiceProvider.class, tradeClass));
+            CallSite callSite = LambdaMetafactory.metafactory(lookup,
+                    "apply",
+                    MethodType.methodType(BiFunction.class),
+                    MethodType.methodType(Object.class, Object.class, Object.class),
+                    constructor,
+                    MethodType.methodType(handlerClass, ServiceProvider.class, tradeClass));
+            return (BiFunction<ServiceProvider, T, EventHandler>) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new RuntimeException("Could not create factory for event handler " + handlerClass.getName(), e);
+        }
+    }
+}
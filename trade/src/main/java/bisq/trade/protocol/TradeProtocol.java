@@ -37,4 +37,11 @@ public abstract class TradeProtocol<M extends Trade<?, ?, ?>> extends Fsm<M> {
         this.version = version;
         this.serviceProvider = serviceProvider;
     }
+
+    // The transition config of trade protocols does not depend on the trade, thus all trades of a protocol class share
+    // the same transition table.
+    @Override
+    protected boolean useSharedTransitionTable() {
+        return true;
+    }
 }
@@ -41,7 +41,7 @@ public abstract class TradeEventHandler<T extends Trade<?, ?, ?>, E extends Even
     protected abstract void commit();
 
     @SuppressWarnings("unchecked")
-    private E unsafeCast(Event event) {
+    protected E unsafeCast(Event event) {
         try {
             return (E) event;
         } catch (Exception e) {
@@ -36,12 +36,17 @@ public abstract class TradeMessageHandler<T extends Trade<?, ?, ?>, M extends Tr
     }
 
     public void handle(Event event) {
+        M message = verifyMessage(event);
+        process(message);
+        commit();
+    }
+
+    protected M verifyMessage(Event event) {
         if (event instanceof TradeMessage tradeMessage) {
             M message = unsafeCast(tradeMessage);
             verifyInternal(message);
             verify(message);
-            process(message);
-            commit();
+            return message;
         } else {
             throw new IllegalArgumentException("Event must be a subclass of TradeMessage in " + getClass().getSimpleName());
         }
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.trade.mu_sig.grpc;
+
+import bisq.trade.protobuf.DepositTxSignatureRequest;
+import bisq.trade.protobuf.NonceSharesRequest;
+import bisq.trade.protobuf.PartialSignaturesRequest;
+import bisq.trade.protobuf.PubKeySharesRequest;
+import bisq.trade.protobuf.Role;
+import io.grpc.Deadline;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Runs concurrent trade setups (initTrade, getNonceShares, getPartialSignatures, signDepositTx) against the
+ * MockMusigServer using the async API of the MusigGrpcClient and prints the latency and the number of live threads.
+ * Usage: MusigGrpcClientBenchmark [numTrades]
+ */
+public final class MusigGrpcClientBenchmark {
+    private static final int DEFAULT_NUM_TRADES = 100;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int numTrades = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_TRADES;
+
+        Server server = ServerBuilder
+                .forPort(0)
+                .addService(new MockMusigServer.MusigServiceImpl())
+                .build()
+                .start();
+        MusigGrpcClient client = new MusigGrpcClient("localhost", server.getPort());
+        client.initialize().join();
+        try {
+            // Warm up channel and class loading
+            runTradeSetups(client, 10);
+
+            int threadCountBefore = Thread.activeCount();
+            long ts = System.nanoTime();
+            List<Long> latencies = runTradeSetups(client, numTrades);
+            long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ts);
+            int threadCountAfter = Thread.activeCount();
+
+            Collections.sort(latencies);
+            System.out.printf("%d concurrent trade setups completed in %d ms%n", numTrades, totalMillis);
+            System.out.printf("Latency per trade setup: median=%d ms, p90=%d ms, max=%d ms%n",
+                    percentile(latencies, 50), percentile(latencies, 90), latencies.get(latencies.size() - 1));
+            System.out.printf("Live threads: before=%d, after=%d%n", threadCountBefore, threadCountAfter);
+        } finally {
+            client.shutdown().join();
+            server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static List<Long> runTradeSetups(MusigGrpcClient client, int numTrades) {
+        List<CompletableFuture<Long>> futures = IntStream.range(0, numTrades)
+                .mapToObj(i -> runTradeSetup(client, "benchmark-trade-" + i))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return new ArrayList<>(futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private static CompletableFuture<Long> runTradeSetup(MusigGrpcClient client, String tradeId) {
+        long ts = System.nanoTime();
+        Deadline deadline = Deadline.after(30, TimeUnit.SECONDS);
+        PubKeySharesRequest pubKeySharesRequest = PubKeySharesRequest.newBuilder()
+                .setTradeId(tradeId)
+                .setMyRole(Role.SELLER_AS_MAKER)
+                .build();
+        return client.initTrade(pubKeySharesRequest, deadline)
+                .thenCompose(pubKeySharesResponse -> client.getNonceShares(NonceSharesRequest.newBuilder()
+                        .setTradeId(tradeId)
+                        .setBuyerOutputPeersPubKeyShare(pubKeySharesResponse.getBuyerOutputPubKeyShare())
+                        .setSellerOutputPeersPubKeyShare(pubKeySharesResponse.getSellerOutputPubKeyShare())
+                        .build(), deadline))
+                .thenCompose(nonceSharesMessage -> client.getPartialSignatures(PartialSignaturesRequest.newBuilder()
+                        .setTradeId(tradeId)
+                        .setPeersNonceShares(nonceSharesMessage)
+                        .build(), deadline))
+                .thenCompose(partialSignaturesMessage -> client.signDepositTx(DepositTxSignatureRequest.newBuilder()
+                        .setTradeId(tradeId)
+                        .setPeersPartialSignatures(partialSignaturesMessage)
+                        .build(), deadline))
+                .thenApply(depositPsbt -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ts));
+    }
+
+    private static long percentile(List<Long> sortedValues, int percentile) {
+        int index = (int) Math.ceil(percentile / 100d * sortedValues.size()) - 1;
+        return sortedValues.get(Math.max(0, index));
+    }
+}
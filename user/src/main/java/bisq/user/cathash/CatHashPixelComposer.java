@@ -0,0 +1,86 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.cathash;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Composes the cat hash layers in plain ARGB pixel arrays, so that the composition does not depend on a UI toolkit
+ * and can be done outside the UI thread.
+ * Layers are drawn over each other (source over) and the result gets clipped to a circle.
+ */
+public final class CatHashPixelComposer {
+    private CatHashPixelComposer() {
+    }
+
+    /**
+     * @param layers Non-premultiplied ARGB pixels of each layer, each of size*size pixels, from bottom to top.
+     * @param size   Width and height of the layers and the resulting image.
+     * @return Non-premultiplied ARGB pixels of the composed image.
+     */
+    public static int[] compose(List<int[]> layers, int size) {
+        int numPixels = size * size;
+        int[] result = new int[numPixels];
+        for (int[] layer : layers) {
+            checkArgument(layer.length == numPixels, "Layer must have size*size pixels");
+            for (int i = 0; i < numPixels; i++) {
+                result[i] = sourceOver(layer[i], result[i]);
+            }
+        }
+        clipToCircle(result, size);
+        return result;
+    }
+
+    static int sourceOver(int source, int destination) {
+        int sourceAlpha = source >>> 24;
+        if (sourceAlpha == 255) {
+            return source;
+        }
+        if (sourceAlpha == 0) {
+            return destination;
+        }
+        int destinationAlpha = destination >>> 24;
+        // All values scaled by 255
+        int destinationWeight = destinationAlpha * (255 - sourceAlpha) / 255;
+        int alpha = sourceAlpha + destinationWeight;
+        int red = (((source >> 16) & 0xFF) * sourceAlpha + ((destination >> 16) & 0xFF) * destinationWeight) / alpha;
+        int green = (((source >> 8) & 0xFF) * sourceAlpha + ((destination >> 8) & 0xFF) * destinationWeight) / alpha;
+        int blue = ((source & 0xFF) * sourceAlpha + (destination & 0xFF) * destinationWeight) / alpha;
+        return (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    private static void clipToCircle(int[] pixels, int size) {
+        double radius = size / 2d;
+        for (int y = 0; y < size; y++) {
+            double dy = y + 0.5 - radius;
+            for (int x = 0; x < size; x++) {
+                double dx = x + 0.5 - radius;
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                // Coverage of the pixel by the circle for anti-aliased edges
+                double coverage = Math.max(0, Math.min(1, radius - distance + 0.5));
+                if (coverage < 1) {
+                    int index = y * size + x;
+                    int alpha = (int) Math.round((pixels[index] >>> 24) * coverage);
+                    pixels[index] = (alpha << 24) | (pixels[index] & 0x00FFFFFF);
+                }
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package bisq.user.cathash;
 
 import bisq.common.encoding.Hex;
 import bisq.common.file.FileUtils;
+import bisq.common.platform.PlatformUtils;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.ByteArrayUtils;
 import bisq.user.profile.UserProfile;
@@ -33,9 +34,16 @@ import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Provides the cat hash images of user profiles. Images up to SIZE_OF_CACHED_ICONS are kept in a size bounded least
+ * recently used cache and are persisted as raw pixels on disk, where the least recently used files get deleted if the
+ * limit is exceeded. Creating an image is expensive (about 12 ms on a high-end laptop), thus UI components should use
+ * getImageAsync which renders the image on a background thread pool and show a placeholder until the image is ready.
+ */
 @Slf4j
 public abstract class CatHashService<T> {
     // Largest size in offerbook is 60px, in reputationListView it is 40px and in chats 30px.
@@ -45,15 +53,40 @@ public abstract class CatHashService<T> {
     // This is a 120*120 image meaning 14400 pixels. At 4 bytes each, that takes 57.6 KB in memory (and on disk as we use raw format).
     // With 5000 images we would get about 288 MB.
     private static final int MAX_CACHE_SIZE = 5000;
+    // We use the same limit for the number of icon files on disk. If exceeded, the least recently used files get deleted.
+    private static final int MAX_NUM_ICON_FILES = MAX_CACHE_SIZE;
 
-    private final ConcurrentHashMap<BigInteger, T> cache = new ConcurrentHashMap<>();
+    private final int maxCacheSize;
+    // Access ordered, so that the least recently used image gets evicted
+    private final Map<BigInteger, T> cache;
+    private final Map<BigInteger, CompletableFuture<T>> pendingImageRequests = new ConcurrentHashMap<>();
+    private final ExecutorService renderExecutor = ExecutorFactory.newFixedThreadPool("CatHashService-render",
+            Math.max(1, PlatformUtils.availableProcessors() - 1));
+    private final ExecutorService pruneExecutor = ExecutorFactory.newSingleThreadExecutor("CatHashService-prune");
+    // Access ordered icon files on disk. Loaded lazily ordered by last modified date. Guarded by itself.
+    private final Set<File> iconFiles = new LinkedHashSet<>();
+    private boolean iconFilesLoaded;
     @Setter
     private Path baseDir;
 
     public CatHashService(Path baseDir) {
+        this(baseDir, MAX_CACHE_SIZE);
+    }
+
+    protected CatHashService(Path baseDir, int maxCacheSize) {
         this.baseDir = baseDir;
+        this.maxCacheSize = maxCacheSize;
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BigInteger, T> eldest) {
+                return size() > CatHashService.this.maxCacheSize;
+            }
+        };
     }
 
+    /**
+     * Must be thread safe as it is called from the render thread pool.
+     */
     protected abstract T composeImage(String[] paths, double size);
 
     protected abstract void writeRawImage(T image, File iconFile) throws IOException;
@@ -67,64 +100,63 @@ public abstract class CatHashService<T> {
                 size);
     }
 
+    /**
+     * Returns the image and creates it on the calling thread if it is not cached.
+     */
     public T getImage(byte[] pubKeyHash, byte[] powSolution, int avatarVersion, double size) {
-        byte[] combined = ByteArrayUtils.concat(powSolution, pubKeyHash);
-        BigInteger catHashInput = new BigInteger(combined);
-        String userProfileId = Hex.encode(pubKeyHash);
-        File iconsDir = Paths.get(getCatHashIconsDirectory().toString(), "v" + avatarVersion).toFile();
-        File iconFile = Paths.get(iconsDir.getAbsolutePath(), userProfileId + ".raw").toFile();
-
-        boolean useCache = size <= SIZE_OF_CACHED_ICONS;
-        if (useCache) {
-            // First approach is to look up the cache
-            if (cache.containsKey(catHashInput)) {
-                return cache.get(catHashInput);
-            }
+        return getOrCreateImage(getCatHashInput(pubKeyHash, powSolution), pubKeyHash, avatarVersion, size);
+    }
 
+    /**
+     * @return The image if it is in the memory cache.
+     */
+    public Optional<T> findCachedImage(UserProfile userProfile, double size) {
+        if (size > SIZE_OF_CACHED_ICONS) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getFromCache(getCatHashInput(userProfile.getPubKeyHash(),
+                userProfile.getProofOfWork().getSolution())));
+    }
 
-            if (!iconsDir.exists()) {
-                try {
-                    FileUtils.makeDirs(iconsDir);
-                } catch (IOException e) {
-                    log.error(e.toString());
-                }
-            }
+    public CompletableFuture<T> getImageAsync(UserProfile userProfile, double size) {
+        return getImageAsync(userProfile.getPubKeyHash(),
+                userProfile.getProofOfWork().getSolution(),
+                userProfile.getAvatarVersion(),
+                size);
+    }
 
-            // Next approach is to read the image from file
-            if (iconFile.exists()) {
-                try {
-                    T image = readRawImage(iconFile);
-                    if (cache.size() < MAX_CACHE_SIZE) {
-                        cache.put(catHashInput, image);
-                    }
-                    return image;
-                } catch (Exception e) {
-                    log.error("Read image failed", e);
-                }
-            }
+    /**
+     * Returns the image from the memory cache or reads or creates it on the render thread pool. Concurrent requests
+     * for the same cached image are rendered only once.
+     */
+    public CompletableFuture<T> getImageAsync(byte[] pubKeyHash, byte[] powSolution, int avatarVersion, double size) {
+        BigInteger catHashInput = getCatHashInput(pubKeyHash, powSolution);
+        if (size > SIZE_OF_CACHED_ICONS) {
+            return CompletableFuture.supplyAsync(() -> getOrCreateImage(catHashInput, pubKeyHash, avatarVersion, size),
+                    renderExecutor);
         }
 
-        // Image size might be larger as our cached images, or we did not find it in the
-        // cache and also not from persisted files. We create the image. This is an expensive operation taking
-        // about 12 ms on a high-end laptop, and it needs to be done on the UI thread.
-        long ts = System.currentTimeMillis();
-        BucketConfig bucketConfig = getBucketConfig(avatarVersion);
-        int[] buckets = BucketEncoder.encode(catHashInput, bucketConfig.getBucketSizes());
-        String[] paths = BucketEncoder.toPaths(buckets, bucketConfig.getPathTemplates());
-        // For retina support we scale by 2
-        T image = composeImage(paths, 2 * SIZE_OF_CACHED_ICONS);
-        //log.info("Creating user profile icon for {} took {} ms.", userProfileId, System.currentTimeMillis() - ts);
-        if (useCache && cache.size() < MAX_CACHE_SIZE) {
-            cache.put(catHashInput, image);
+        T cached = getFromCache(catHashInput);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
 
-            // We use the MAX_CACHE_SIZE also as limit for files on disk
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<T> pending = pendingImageRequests.putIfAbsent(catHashInput, future);
+        if (pending != null) {
+            return pending;
+        }
+        renderExecutor.execute(() -> {
             try {
-                writeRawImage(image, iconFile);
-            } catch (IOException e) {
-                log.error("Write image failed", e);
+                future.complete(getOrCreateImage(catHashInput, pubKeyHash, avatarVersion, size));
+            } catch (Throwable throwable) {
+                log.error("Creating cat hash image failed", throwable);
+                future.completeExceptionally(throwable);
+            } finally {
+                pendingImageRequests.remove(catHashInput, future);
             }
-        }
-        return image;
+        });
+        return future;
     }
 
     // Remove the user profile icons which are not contained anymore in the current user profile list
@@ -164,23 +196,158 @@ public abstract class CatHashService<T> {
                     toRemove.forEach(fileName -> {
                         File file = Paths.get(iconsDirectory.getAbsolutePath(), versionDir, fileName).toFile();
                         try {
-                            log.error("Remove {}", file);
+                            log.debug("Remove {}", file);
                             FileUtils.deleteFile(file);
+                            removeFromIconFiles(file);
                         } catch (IOException e) {
                             log.error("Failed to remove file {}", file, e);
                         }
                     });
-                }, ExecutorFactory.newSingleThreadExecutor("pruneOutdatedProfileIcons"));
+                }, pruneExecutor);
             } catch (Exception e) {
                 log.error("Unexpected versionDir {}", versionDir, e);
             }
         });
     }
 
+    public void shutdown() {
+        ExecutorFactory.shutdownAndAwaitTermination(renderExecutor);
+        ExecutorFactory.shutdownAndAwaitTermination(pruneExecutor);
+    }
+
     public int currentAvatarsVersion() {
         return BucketConfig.CURRENT_VERSION;
     }
 
+    private T getOrCreateImage(BigInteger catHashInput, byte[] pubKeyHash, int avatarVersion, double size) {
+        String userProfileId = Hex.encode(pubKeyHash);
+        File iconsDir = Paths.get(getCatHashIconsDirectory().toString(), "v" + avatarVersion).toFile();
+        File iconFile = Paths.get(iconsDir.getAbsolutePath(), userProfileId + ".raw").toFile();
+
+        boolean useCache = size <= SIZE_OF_CACHED_ICONS;
+        if (useCache) {
+            // First approach is to look up the cache
+            T cached = getFromCache(catHashInput);
+            if (cached != null) {
+                return cached;
+            }
+
+            if (!iconsDir.exists()) {
+                try {
+                    FileUtils.makeDirs(iconsDir);
+                } catch (IOException e) {
+                    log.error(e.toString());
+                }
+            }
+
+            // Next approach is to read the image from file
+            if (iconFile.exists()) {
+                try {
+                    T image = readRawImage(iconFile);
+                    putToCache(catHashInput, image);
+                    touchIconFile(iconFile);
+                    return image;
+                } catch (Exception e) {
+                    log.error("Read image failed", e);
+                }
+            }
+        }
+
+        // Image size might be larger as our cached images, or we did not find it in the
+        // cache and also not from persisted files. We create the image. This is an expensive operation taking
+        // about 12 ms on a high-end laptop.
+        BucketConfig bucketConfig = getBucketConfig(avatarVersion);
+        int[] buckets = BucketEncoder.encode(catHashInput, bucketConfig.getBucketSizes());
+        String[] paths = BucketEncoder.toPaths(buckets, bucketConfig.getPathTemplates());
+        // For retina support we scale by 2
+        T image = composeImage(paths, 2 * SIZE_OF_CACHED_ICONS);
+        if (useCache) {
+            putToCache(catHashInput, image);
+            try {
+                writeRawImage(image, iconFile);
+                touchIconFile(iconFile).forEach(this::deleteEvictedIconFile);
+            } catch (IOException e) {
+                log.error("Write image failed", e);
+            }
+        }
+        return image;
+    }
+
+    private T getFromCache(BigInteger catHashInput) {
+        synchronized (cache) {
+            return cache.get(catHashInput);
+        }
+    }
+
+    private void putToCache(BigInteger catHashInput, T image) {
+        synchronized (cache) {
+            cache.put(catHashInput, image);
+        }
+    }
+
+    /**
+     * Marks the icon file as most recently used and persists that as last modified date, so that the order
+     * survives a restart.
+     *
+     * @return The least recently used icon files exceeding MAX_NUM_ICON_FILES, which have been removed from the index.
+     */
+    private List<File> touchIconFile(File iconFile) {
+        List<File> evicted = new ArrayList<>();
+        synchronized (iconFiles) {
+            maybeLoadIconFiles();
+            iconFiles.remove(iconFile);
+            iconFiles.add(iconFile);
+            Iterator<File> iterator = iconFiles.iterator();
+            while (iconFiles.size() > MAX_NUM_ICON_FILES && iterator.hasNext()) {
+                evicted.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        if (!iconFile.setLastModified(System.currentTimeMillis())) {
+            log.debug("Could not set last modified date of {}", iconFile);
+        }
+        return evicted;
+    }
+
+    private void removeFromIconFiles(File iconFile) {
+        synchronized (iconFiles) {
+            iconFiles.remove(iconFile);
+        }
+    }
+
+    // Must be called with the iconFiles lock held
+    private void maybeLoadIconFiles() {
+        if (iconFilesLoaded) {
+            return;
+        }
+        iconFilesLoaded = true;
+        File[] versionDirs = getCatHashIconsDirectory().toFile().listFiles(File::isDirectory);
+        if (versionDirs == null) {
+            return;
+        }
+        Stream.of(versionDirs)
+                .map(File::listFiles)
+                .filter(Objects::nonNull)
+                .flatMap(Stream::of)
+                .map(File::getAbsoluteFile)
+                .sorted(Comparator.comparingLong(File::lastModified))
+                .forEach(iconFiles::add);
+    }
+
+    private void deleteEvictedIconFile(File iconFile) {
+        try {
+            log.debug("Remove least recently used icon file {}", iconFile);
+            FileUtils.deleteFile(iconFile);
+        } catch (IOException e) {
+            log.error("Failed to remove file {}", iconFile, e);
+        }
+    }
+
+    private static BigInteger getCatHashInput(byte[] pubKeyHash, byte[] powSolution) {
+        byte[] combined = ByteArrayUtils.concat(powSolution, pubKeyHash);
+        return new BigInteger(combined);
+    }
+
     private Path getCatHashIconsDirectory() {
         return Paths.get(baseDir.toString(), "db", "cache", "cat_hash_icons");
     }
@@ -0,0 +1,144 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.cathash;
+
+import bisq.common.file.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures how long it takes to populate a user list with the cat hash icons of 20k profiles.
+ * The calling thread simulates the UI thread. With synchronous rendering it is blocked until all icons are created,
+ * with asynchronous rendering it only sets placeholders and the icons are created by the render thread pool.
+ * The layers are synthetic pixel data, as the real layer images require the JavaFX toolkit.
+ * Usage: CatHashServiceBenchmark [numProfiles]
+ */
+public class CatHashServiceBenchmark {
+    private static final int ICON_SIZE = 40;
+
+    public static void main(String[] args) throws IOException {
+        int numProfiles = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        List<byte[][]> profiles = createProfiles(numProfiles);
+        Path baseDir = Files.createTempDirectory("cat_hash_benchmark");
+        try {
+            runSync("Synchronous, empty disk tier", new PixelCatHashService(baseDir), profiles);
+            FileUtils.deleteFileOrDirectory(baseDir.resolve("db").toFile());
+            runAsync("Asynchronous, empty disk tier", new PixelCatHashService(baseDir), profiles);
+            runAsync("Asynchronous, populated disk tier", new PixelCatHashService(baseDir), profiles);
+        } finally {
+            FileUtils.deleteFileOrDirectory(baseDir.toFile());
+        }
+    }
+
+    private static void runSync(String name, PixelCatHashService service, List<byte[][]> profiles) {
+        long ts = System.nanoTime();
+        for (byte[][] profile : profiles) {
+            service.getImage(profile[0], profile[1], 0, ICON_SIZE);
+        }
+        long uiThreadNanos = System.nanoTime() - ts;
+        print(name, uiThreadNanos, uiThreadNanos);
+        service.shutdown();
+    }
+
+    private static void runAsync(String name, PixelCatHashService service, List<byte[][]> profiles) {
+        List<CompletableFuture<int[]>> futures = new ArrayList<>(profiles.size());
+        long ts = System.nanoTime();
+        for (byte[][] profile : profiles) {
+            // The UI sets a placeholder and updates the image view once the future completes
+            futures.add(service.getImageAsync(profile[0], profile[1], 0, ICON_SIZE));
+        }
+        long uiThreadNanos = System.nanoTime() - ts;
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long totalNanos = System.nanoTime() - ts;
+        print(name, uiThreadNanos, totalNanos);
+        service.shutdown();
+    }
+
+    private static void print(String name, long uiThreadNanos, long totalNanos) {
+        System.out.printf("%s: UI thread blocked for %d ms, all icons ready after %d ms%n",
+                name,
+                TimeUnit.NANOSECONDS.toMillis(uiThreadNanos),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos));
+    }
+
+    private static List<byte[][]> createProfiles(int numProfiles) {
+        Random random = new Random(1);
+        List<byte[][]> profiles = new ArrayList<>(numProfiles);
+        for (int i = 0; i < numProfiles; i++) {
+            byte[] pubKeyHash = new byte[20];
+            byte[] powSolution = new byte[8];
+            random.nextBytes(pubKeyHash);
+            random.nextBytes(powSolution);
+            profiles.add(new byte[][]{pubKeyHash, powSolution});
+        }
+        return profiles;
+    }
+
+    private static class PixelCatHashService extends CatHashService<int[]> {
+        private final Map<String, int[]> layerByPath = new ConcurrentHashMap<>();
+
+        PixelCatHashService(Path baseDir) {
+            super(baseDir);
+        }
+
+        @Override
+        protected int[] composeImage(String[] paths, double size) {
+            int intSize = (int) size;
+            List<int[]> layers = Stream.of(paths)
+                    .map(path -> layerByPath.computeIfAbsent(path, key -> createLayer(key, intSize)))
+                    .toList();
+            return CatHashPixelComposer.compose(layers, intSize);
+        }
+
+        @Override
+        protected void writeRawImage(int[] image, File iconFile) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(image.length * 4);
+            buffer.asIntBuffer().put(image);
+            Files.write(iconFile.toPath(), buffer.array());
+        }
+
+        @Override
+        protected int[] readRawImage(File iconFile) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(iconFile.toPath()));
+            int[] image = new int[buffer.capacity() / 4];
+            buffer.asIntBuffer().get(image);
+            return image;
+        }
+
+        private static int[] createLayer(String path, int size) {
+            Random random = new Random(path.hashCode());
+            int[] layer = new int[size * size];
+            for (int i = 0; i < layer.length; i++) {
+                layer[i] = random.nextInt();
+            }
+            return layer;
+        }
+    }
+}
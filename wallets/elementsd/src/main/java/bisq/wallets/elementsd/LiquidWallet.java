@@ -18,6 +18,7 @@
 package bisq.wallets.elementsd;
 
 import bisq.common.observable.collection.ObservableArray;
+import bisq.wallets.bitcoind.rpc.responses.BitcoindGetZmqNotificationsResponse;
 import bisq.wallets.bitcoind.zmq.ZmqConnection;
 import bisq.wallets.bitcoind.zmq.ZmqWallet;
 import bisq.wallets.core.Wallet;
@@ -27,6 +28,7 @@ import bisq.wallets.core.model.TransactionInfo;
 import bisq.wallets.core.model.Utxo;
 import bisq.wallets.elementsd.rpc.ElementsdDaemon;
 import bisq.wallets.elementsd.rpc.ElementsdWallet;
+import bisq.wallets.elementsd.tx.ElementsdWalletTxFilter;
 import lombok.Getter;
 
 import java.util.List;
@@ -44,22 +46,29 @@ public class LiquidWallet implements Wallet, ZmqWallet {
 
     @Getter
     private final ZmqConnection zmqConnection;
+    private final ElementsdWalletTxFilter walletTxFilter;
 
     public LiquidWallet(String walletName,
                         ElementsdDaemon daemon,
                         ElementsdWallet wallet,
                         LiquidWalletStore liquidWalletStore,
-                        ZmqConnection zmqConnection) {
+                        ZmqConnection zmqConnection,
+                        ElementsdWalletTxFilter walletTxFilter) {
         this.walletName = walletName;
         this.daemon = daemon;
         this.wallet = wallet;
         this.liquidWalletStore = liquidWalletStore;
         this.zmqConnection = zmqConnection;
+        this.walletTxFilter = walletTxFilter;
     }
 
     @Override
     public void initialize(Optional<String> walletPassphrase) {
         daemon.createOrLoadWallet(walletName, walletPassphrase);
+        walletTxFilter.initialize(liquidWalletStore.getWalletAddresses());
+        // Transactions published before the filter is filled would be dropped, thus we subscribe only now
+        List<BitcoindGetZmqNotificationsResponse.Entry> zmqNotifications = daemon.getZmqNotifications();
+        zmqConnection.initialize(zmqNotifications);
     }
 
     @Override
@@ -76,6 +85,7 @@ public class LiquidWallet implements Wallet, ZmqWallet {
     public String getUnusedAddress() {
         String newAddress = wallet.getNewAddress(AddressType.BECH32, "");
         liquidWalletStore.getWalletAddresses().add(newAddress);
+        walletTxFilter.addWatchedAddress(newAddress);
         return newAddress;
     }
 
@@ -17,16 +17,14 @@
 
 package bisq.wallets.elementsd;
 
-import bisq.wallets.bitcoind.rpc.responses.BitcoindGetZmqNotificationsResponse;
 import bisq.wallets.bitcoind.zmq.ZmqConnection;
 import bisq.wallets.json_rpc.RpcConfig;
 import bisq.wallets.json_rpc.RpcClientFactory;
 import bisq.wallets.elementsd.rpc.ElementsdDaemon;
 import bisq.wallets.elementsd.rpc.ElementsdWallet;
+import bisq.wallets.elementsd.tx.ElementsdWalletTxFilter;
 import bisq.wallets.json_rpc.JsonRpcClient;
 
-import java.util.List;
-
 public class WalletFactory {
 
     public static LiquidWallet createLiquidWallet(RpcConfig rpcConfig,
@@ -34,8 +32,10 @@ public class WalletFactory {
                                                   LiquidWalletStore liquidWalletStore) {
         ElementsdDaemon elementsdDaemon = createElementsdDaemon(rpcConfig);
         ElementsdWallet elementsdWallet = createElementsdWallet(rpcConfig, walletName);
-        ZmqConnection zmqConnection = initializeElementsdZeroMq(elementsdDaemon, elementsdWallet);
-        return new LiquidWallet(walletName, elementsdDaemon, elementsdWallet, liquidWalletStore, zmqConnection);
+        var walletTxFilter = new ElementsdWalletTxFilter(elementsdWallet);
+        // The ZMQ connection gets initialized by LiquidWallet.initialize after the walletTxFilter got filled
+        ZmqConnection zmqConnection = ZmqConnectionFactory.createForElements(elementsdDaemon, elementsdWallet, walletTxFilter);
+        return new LiquidWallet(walletName, elementsdDaemon, elementsdWallet, liquidWalletStore, zmqConnection, walletTxFilter);
     }
 
     private static ElementsdDaemon createElementsdDaemon(RpcConfig rpcConfig) {
@@ -47,11 +47,4 @@ public class WalletFactory {
         JsonRpcClient rpcClient = RpcClientFactory.createWalletRpcClient(rpcConfig, walletName);
         return new ElementsdWallet(rpcClient);
     }
-
-    private static ZmqConnection initializeElementsdZeroMq(ElementsdDaemon elementsdDaemon, ElementsdWallet elementsdWallet) {
-        var zmqConnection = ZmqConnectionFactory.createForElements(elementsdDaemon, elementsdWallet);
-        List<BitcoindGetZmqNotificationsResponse.Entry> zmqNotifications = elementsdDaemon.getZmqNotifications();
-        zmqConnection.initialize(zmqNotifications);
-        return zmqConnection;
-    }
 }
@@ -24,19 +24,23 @@ import bisq.wallets.bitcoind.zmq.ZmqTopicProcessors;
 import bisq.wallets.elementsd.rpc.ElementsdDaemon;
 import bisq.wallets.elementsd.rpc.ElementsdRawTxProcessor;
 import bisq.wallets.elementsd.rpc.ElementsdWallet;
+import bisq.wallets.elementsd.tx.ElementsdWalletTxFilter;
 
 public class ZmqConnectionFactory {
 
-    public static ZmqConnection createForElements(ElementsdDaemon daemon, ElementsdWallet wallet) {
+    public static ZmqConnection createForElements(ElementsdDaemon daemon,
+                                                  ElementsdWallet wallet,
+                                                  ElementsdWalletTxFilter walletTxFilter) {
         var zmqListeners = new ZmqListeners();
-        ZmqRawTxProcessor rawTxProcessor = createElementsdRawTxProcessor(daemon, wallet, zmqListeners);
+        ZmqRawTxProcessor rawTxProcessor = createElementsdRawTxProcessor(daemon, wallet, zmqListeners, walletTxFilter);
         return createZmqConnection(rawTxProcessor, zmqListeners);
     }
 
     private static ZmqRawTxProcessor createElementsdRawTxProcessor(ElementsdDaemon daemon,
                                                                    ElementsdWallet wallet,
-                                                                   ZmqListeners listeners) {
-        return new ElementsdRawTxProcessor(daemon, wallet, listeners);
+                                                                   ZmqListeners listeners,
+                                                                   ElementsdWalletTxFilter walletTxFilter) {
+        return new ElementsdRawTxProcessor(daemon, wallet, listeners, walletTxFilter);
     }
 
     private static ZmqConnection createZmqConnection(ZmqRawTxProcessor rawTxProcessor, ZmqListeners listeners) {
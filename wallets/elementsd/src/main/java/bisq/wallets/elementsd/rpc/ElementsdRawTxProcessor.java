@@ -21,21 +21,54 @@ import bisq.common.encoding.Hex;
 import bisq.wallets.bitcoind.zmq.ZmqListeners;
 import bisq.wallets.bitcoind.zmq.ZmqRawTxProcessor;
 import bisq.wallets.elementsd.rpc.responses.ElementsdDecodeRawTransactionResponse;
+import bisq.wallets.elementsd.tx.ElementsTransaction;
+import bisq.wallets.elementsd.tx.ElementsTxParser;
+import bisq.wallets.elementsd.tx.ElementsdWalletTxFilter;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.Optional;
+
+@Slf4j
 public class ElementsdRawTxProcessor implements ZmqRawTxProcessor {
 
     private final ElementsdDaemon daemon;
     private final ElementsdWallet wallet;
     private final ZmqListeners listeners;
+    private final Optional<ElementsdWalletTxFilter> walletTxFilter;
 
+    /**
+     * Processes all transactions by RPC calls.
+     */
     public ElementsdRawTxProcessor(ElementsdDaemon daemon, ElementsdWallet wallet, ZmqListeners listeners) {
+        this(daemon, wallet, listeners, Optional.empty());
+    }
+
+    /**
+     * Processes only transactions touching our wallet by RPC calls. Others get rejected after parsing the raw bytes.
+     */
+    public ElementsdRawTxProcessor(ElementsdDaemon daemon,
+                                   ElementsdWallet wallet,
+                                   ZmqListeners listeners,
+                                   ElementsdWalletTxFilter walletTxFilter) {
+        this(daemon, wallet, listeners, Optional.of(walletTxFilter));
+    }
+
+    private ElementsdRawTxProcessor(ElementsdDaemon daemon,
+                                    ElementsdWallet wallet,
+                                    ZmqListeners listeners,
+                                    Optional<ElementsdWalletTxFilter> walletTxFilter) {
         this.daemon = daemon;
         this.wallet = wallet;
         this.listeners = listeners;
+        this.walletTxFilter = walletTxFilter;
     }
 
     @Override
     public void processRawTx(byte[] serializedTx, byte[] sequenceNumber) {
+        if (walletTxFilter.isPresent() && !touchesWallet(serializedTx, walletTxFilter.get())) {
+            return;
+        }
+
         String txInHex = Hex.encode(serializedTx);
         String unblindedTxInHex = wallet.unblindRawTransaction(txInHex);
         ElementsdDecodeRawTransactionResponse.Result rawTransaction = daemon.decodeRawTransaction(unblindedTxInHex).getResult();
@@ -43,4 +76,21 @@ public class ElementsdRawTxProcessor implements ZmqRawTxProcessor {
         listeners.fireTxOutputAddressesListeners(rawTransaction);
         listeners.fireTxIdInputListeners(rawTransaction);
     }
+
+    private boolean touchesWallet(byte[] serializedTx, ElementsdWalletTxFilter filter) {
+        ElementsTransaction transaction;
+        try {
+            transaction = ElementsTxParser.parse(serializedTx);
+        } catch (IllegalArgumentException e) {
+            // We let the daemon decode it
+            log.warn("Could not parse raw transaction. We process it by RPC calls.", e);
+            return true;
+        }
+
+        if (filter.touchesWallet(transaction)) {
+            filter.onTransactionTouchingWallet(transaction);
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,30 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.elementsd.tx;
+
+import java.util.List;
+
+/**
+ * The parts of an Elements transaction we need for deciding whether it touches our wallet.
+ *
+ * @param txId          Transaction ID as hex in RPC byte order.
+ * @param inputs        The spent outputs. Empty for coinbase inputs.
+ * @param outputScripts Output scriptPubKeys as lower case hex.
+ */
+public record ElementsTransaction(String txId, List<OutPoint> inputs, List<String> outputScripts) {
+}
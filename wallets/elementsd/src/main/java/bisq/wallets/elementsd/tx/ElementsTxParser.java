@@ -0,0 +1,197 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.elementsd.tx;
+
+import bisq.common.encoding.Hex;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses the inputs and output scripts of a serialized Elements transaction, as it is published by the rawtx ZMQ
+ * topic. Amounts and assets of confidential outputs are blinded, but the scriptPubKey is not, thus no unblinding is
+ * required for matching outputs against our wallet.
+ * <p>
+ * Serialization: version (4), flags (1), inputs, outputs, lock time (4) and the witness data if flag bit 0 is set.
+ * Inputs carry issuance and peg-in flags in the upper bits of the prevout index and are followed by the asset
+ * issuance if the issuance flag is set. Outputs consist of the asset, value and nonce commitments and the
+ * scriptPubKey.
+ */
+public class ElementsTxParser {
+    private static final long COINBASE_PREVOUT_INDEX = 0xFFFFFFFFL;
+    private static final long OUTPOINT_ISSUANCE_FLAG = 1L << 31;
+    private static final long OUTPOINT_INDEX_MASK = 0x3FFFFFFFL;
+
+    private static final int ASSET_EXPLICIT_SIZE = 32;
+    private static final int VALUE_EXPLICIT_SIZE = 8;
+    private static final int NONCE_EXPLICIT_SIZE = 32;
+    private static final int COMMITMENT_SIZE = 32;
+
+    private final byte[] bytes;
+    private int position;
+
+    private ElementsTxParser(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the data is not a valid Elements transaction.
+     */
+    public static ElementsTransaction parse(byte[] serializedTx) {
+        return new ElementsTxParser(serializedTx).parse();
+    }
+
+    private ElementsTransaction parse() {
+        skip(4); // version
+        int flagsPosition = position;
+        skip(1); // flags
+
+        long numInputs = readCompactSize();
+        List<OutPoint> inputs = new ArrayList<>(checkCount(numInputs));
+        for (long i = 0; i < numInputs; i++) {
+            byte[] prevTxHash = readBytes(32);
+            long prevIndex = readUInt32();
+            skip(checkCount(readCompactSize())); // scriptSig
+            skip(4); // sequence
+
+            boolean isCoinbase = prevIndex == COINBASE_PREVOUT_INDEX;
+            if (!isCoinbase) {
+                inputs.add(new OutPoint(toRpcByteOrderHex(prevTxHash), prevIndex & OUTPOINT_INDEX_MASK));
+            }
+            if (!isCoinbase && (prevIndex & OUTPOINT_ISSUANCE_FLAG) != 0) {
+                skip(32); // asset blinding nonce
+                skip(32); // asset entropy
+                skipCommitment(VALUE_EXPLICIT_SIZE, 8, 9); // amount
+                skipCommitment(VALUE_EXPLICIT_SIZE, 8, 9); // inflation keys
+            }
+        }
+
+        long numOutputs = readCompactSize();
+        List<String> outputScripts = new ArrayList<>(checkCount(numOutputs));
+        for (long i = 0; i < numOutputs; i++) {
+            skipCommitment(ASSET_EXPLICIT_SIZE, 10, 11);
+            skipCommitment(VALUE_EXPLICIT_SIZE, 8, 9);
+            skipCommitment(NONCE_EXPLICIT_SIZE, 2, 3);
+            int scriptLength = checkCount(readCompactSize());
+            outputScripts.add(Hex.encode(readBytes(scriptLength)));
+        }
+        skip(4); // lock time
+        int endOfNonWitnessData = position;
+
+        String txId = computeTxId(flagsPosition, endOfNonWitnessData);
+        return new ElementsTransaction(txId, inputs, outputScripts);
+    }
+
+    // The txId is the double SHA256 hash of the serialization without witness, i.e. with flags set to 0.
+    private String computeTxId(int flagsPosition, int endOfNonWitnessData) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes, 0, flagsPosition);
+            digest.update((byte) 0);
+            digest.update(bytes, flagsPosition + 1, endOfNonWitnessData - flagsPosition - 1);
+            byte[] hash = digest.digest(digest.digest());
+            return toRpcByteOrderHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void skipCommitment(int explicitSize, int prefixA, int prefixB) {
+        int prefix = readUInt8();
+        if (prefix == 0) {
+            return;
+        }
+        if (prefix == 1) {
+            skip(explicitSize);
+        } else if (prefix == prefixA || prefix == prefixB) {
+            skip(COMMITMENT_SIZE);
+        } else {
+            throw new IllegalArgumentException("Invalid commitment prefix " + prefix + " at position " + (position - 1));
+        }
+    }
+
+    private long readCompactSize() {
+        int first = readUInt8();
+        if (first < 0xFD) {
+            return first;
+        } else if (first == 0xFD) {
+            return readLittleEndian(2);
+        } else if (first == 0xFE) {
+            return readLittleEndian(4);
+        } else {
+            return readLittleEndian(8);
+        }
+    }
+
+    private long readUInt32() {
+        return readLittleEndian(4);
+    }
+
+    private int readUInt8() {
+        ensureAvailable(1);
+        return bytes[position++] & 0xFF;
+    }
+
+    private long readLittleEndian(int numBytes) {
+        ensureAvailable(numBytes);
+        long value = 0;
+        for (int i = 0; i < numBytes; i++) {
+            value |= (bytes[position + i] & 0xFFL) << (8 * i);
+        }
+        position += numBytes;
+        return value;
+    }
+
+    private byte[] readBytes(int length) {
+        ensureAvailable(length);
+        byte[] result = Arrays.copyOfRange(bytes, position, position + length);
+        position += length;
+        return result;
+    }
+
+    private void skip(int length) {
+        ensureAvailable(length);
+        position += length;
+    }
+
+    private void ensureAvailable(int length) {
+        if (length < 0 || position + length > bytes.length) {
+            throw new IllegalArgumentException("Unexpected end of transaction data. Required " + length +
+                    " bytes at position " + position + " but size is " + bytes.length);
+        }
+    }
+
+    // A count or length cannot be larger than the remaining data
+    private int checkCount(long count) {
+        if (count < 0 || count > bytes.length - position) {
+            throw new IllegalArgumentException("Invalid count " + count + " at position " + position);
+        }
+        return (int) count;
+    }
+
+    private static String toRpcByteOrderHex(byte[] hash) {
+        byte[] reversed = new byte[hash.length];
+        for (int i = 0; i < hash.length; i++) {
+            reversed[i] = hash[hash.length - 1 - i];
+        }
+        return Hex.encode(reversed);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.elementsd.tx;
+
+import bisq.wallets.elementsd.rpc.ElementsdWallet;
+import bisq.wallets.elementsd.rpc.responses.ElementsdListUnspentResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides by hash lookups whether a transaction touches our wallet: It either pays to the scriptPubKey of one of our
+ * addresses or spends one of the watched outputs (UTXOs at initialization and outputs of transactions which passed
+ * the filter afterwards).
+ * Only transactions passing the filter need RPC calls for unblinding and decoding.
+ * <p>
+ * We watch the addresses of our wallet store and the addresses of unspent outputs at initialization, so that
+ * addresses the daemon created internally (e.g. change addresses) are covered as long as they hold funds. Change of
+ * our own transactions is covered as well, as such transactions spend a watched output.
+ * Not covered are payments to addresses which have been handed out by the daemon directly (not by
+ * LiquidWallet.getUnusedAddress) and which did not hold funds at initialization. Those transactions are dropped and
+ * only show up in the wallet's transaction list. Use the ElementsdRawTxProcessor without filter if such addresses
+ * are used.
+ * <p>
+ * A watched output is removed once we see the transaction spending it. As we cannot tell our change from the
+ * payment of our own transactions, we watch both, and the payment is only removed once the receiver spends it. To
+ * stay bounded, we drop the eldest watched outputs once MAX_WATCHED_OUTPUTS is reached.
+ */
+@Slf4j
+public class ElementsdWalletTxFilter {
+    static final int MAX_WATCHED_OUTPUTS = 10_000;
+
+    private final ElementsdWallet wallet;
+    private final Set<String> watchedAddresses = ConcurrentHashMap.newKeySet();
+    private final Set<String> watchedScripts = ConcurrentHashMap.newKeySet();
+    // Insertion ordered for dropping the eldest. Access is guarded by synchronizing on the set.
+    private final Set<OutPoint> watchedOutputs = new LinkedHashSet<>();
+    private boolean isMaxSizeReached;
+
+    public ElementsdWalletTxFilter(ElementsdWallet wallet) {
+        this.wallet = wallet;
+    }
+
+    public void initialize(Collection<String> walletAddresses) {
+        walletAddresses.forEach(this::addWatchedAddress);
+        List<ElementsdListUnspentResponse.Entry> unspentOutputs = wallet.listUnspent();
+        synchronized (watchedOutputs) {
+            unspentOutputs.forEach(unspentOutput ->
+                    addWatchedOutput(new OutPoint(unspentOutput.getTxId(), unspentOutput.getVout())));
+        }
+        unspentOutputs.stream()
+                .map(ElementsdListUnspentResponse.Entry::getAddress)
+                .filter(Objects::nonNull)
+                .forEach(this::addWatchedAddress);
+    }
+
+    public void addWatchedAddress(String address) {
+        if (watchedAddresses.add(address)) {
+            String scriptPubKey = wallet.getAddressInfo(address).getResult().getScriptPubKey();
+            watchedScripts.add(scriptPubKey.toLowerCase());
+        }
+    }
+
+    public boolean touchesWallet(ElementsTransaction transaction) {
+        return spendsWatchedOutput(transaction) ||
+                transaction.outputScripts().stream().anyMatch(watchedScripts::contains);
+    }
+
+    /**
+     * Outputs paying to our addresses are ours. If the transaction spends our outputs, any of its outputs can be our
+     * change, thus we watch for spends of all of them. Spent outputs are not watched anymore.
+     */
+    public void onTransactionTouchingWallet(ElementsTransaction transaction) {
+        synchronized (watchedOutputs) {
+            boolean isSpendingWatchedOutput = false;
+            for (OutPoint input : transaction.inputs()) {
+                isSpendingWatchedOutput |= watchedOutputs.remove(input);
+            }
+
+            List<String> outputScripts = transaction.outputScripts();
+            for (int index = 0; index < outputScripts.size(); index++) {
+                String outputScript = outputScripts.get(index);
+                // Outputs with an empty script are fee outputs
+                boolean isPossiblyOurs = isSpendingWatchedOutput && !outputScript.isEmpty();
+                if (isPossiblyOurs || watchedScripts.contains(outputScript)) {
+                    addWatchedOutput(new OutPoint(transaction.txId(), index));
+                }
+            }
+        }
+    }
+
+    int getNumWatchedOutputs() {
+        synchronized (watchedOutputs) {
+            return watchedOutputs.size();
+        }
+    }
+
+    private boolean spendsWatchedOutput(ElementsTransaction transaction) {
+        synchronized (watchedOutputs) {
+            return transaction.inputs().stream().anyMatch(watchedOutputs::contains);
+        }
+    }
+
+    private void addWatchedOutput(OutPoint outPoint) {
+        watchedOutputs.add(outPoint);
+        if (watchedOutputs.size() > MAX_WATCHED_OUTPUTS) {
+            Iterator<OutPoint> iterator = watchedOutputs.iterator();
+            iterator.next();
+            iterator.remove();
+            if (!isMaxSizeReached) {
+                isMaxSizeReached = true;
+                log.warn("Max. number of watched outputs {} reached. We drop the eldest ones.", MAX_WATCHED_OUTPUTS);
+            }
+        }
+    }
+}
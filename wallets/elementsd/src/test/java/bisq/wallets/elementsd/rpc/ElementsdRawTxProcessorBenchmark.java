@@ -0,0 +1,206 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.elementsd.rpc;
+
+import bisq.common.encoding.Hex;
+import bisq.wallets.bitcoind.zmq.ZmqListeners;
+import bisq.wallets.elementsd.rpc.responses.ElementsdDecodeRawTransactionResponse;
+import bisq.wallets.elementsd.rpc.responses.ElementsdGetAddressInfoResponse;
+import bisq.wallets.elementsd.tx.ElementsTransaction;
+import bisq.wallets.elementsd.tx.ElementsTxParser;
+import bisq.wallets.elementsd.tx.ElementsdWalletTxFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the throughput of processing raw transactions received by ZMQ with RPC calls for every transaction
+ * against local parsing and filtering by ElementsdWalletTxFilter. The daemon is mocked and simulates the latency of
+ * each RPC call.
+ * The corpus is either read from a file with one raw transaction in hex per line (e.g. recorded from the rawtx ZMQ
+ * topic) or synthetic confidential transactions are created, 1% of them paying to our wallet.
+ * Usage: ElementsdRawTxProcessorBenchmark [corpusFile|numTransactions] [rpcLatencyMicros]
+ */
+public class ElementsdRawTxProcessorBenchmark {
+    private static final String WATCHED_ADDRESS = "watched-address";
+
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(1);
+        byte[] watchedScript = createP2wpkhScript(random);
+        List<byte[]> corpus;
+        if (args.length > 0 && Files.exists(Path.of(args[0]))) {
+            corpus = Files.readAllLines(Path.of(args[0])).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> Hex.decode(line.trim()))
+                    .toList();
+        } else {
+            int numTransactions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+            corpus = createCorpus(numTransactions, watchedScript, random);
+        }
+        long rpcLatencyNanos = TimeUnit.MICROSECONDS.toNanos(args.length > 1 ? Long.parseLong(args[1]) : 500);
+
+        AtomicInteger numRpcCalls = new AtomicInteger();
+        ElementsdDaemon daemon = createDaemon(rpcLatencyNanos, numRpcCalls);
+        ElementsdWallet wallet = createWallet(rpcLatencyNanos, numRpcCalls, Hex.encode(watchedScript));
+        ElementsdWalletTxFilter walletTxFilter = new ElementsdWalletTxFilter(wallet);
+        walletTxFilter.initialize(List.of(WATCHED_ADDRESS));
+
+        run("RPC for all transactions",
+                new ElementsdRawTxProcessor(daemon, wallet, new ZmqListeners()), corpus, numRpcCalls);
+        run("Local parsing and wallet filter",
+                new ElementsdRawTxProcessor(daemon, wallet, new ZmqListeners(), walletTxFilter), corpus, numRpcCalls);
+    }
+
+    private static void run(String name, ElementsdRawTxProcessor processor, List<byte[]> corpus, AtomicInteger numRpcCalls) {
+        numRpcCalls.set(0);
+        long ts = System.nanoTime();
+        for (byte[] serializedTx : corpus) {
+            processor.processRawTx(serializedTx, new byte[4]);
+        }
+        long nanos = System.nanoTime() - ts;
+        System.out.printf("%s: %d transactions in %d ms (%.0f tx/s), %d RPC calls%n",
+                name,
+                corpus.size(),
+                TimeUnit.NANOSECONDS.toMillis(nanos),
+                corpus.size() / (nanos / 1e9),
+                numRpcCalls.get());
+    }
+
+    private static ElementsdDaemon createDaemon(long rpcLatencyNanos, AtomicInteger numRpcCalls) {
+        ElementsdDecodeRawTransactionResponse response = mock(ElementsdDecodeRawTransactionResponse.class);
+        when(response.getResult()).thenReturn(mock(ElementsdDecodeRawTransactionResponse.Result.class));
+        ElementsdDaemon daemon = mock(ElementsdDaemon.class);
+        when(daemon.decodeRawTransaction(anyString())).thenAnswer(invocation -> {
+            simulateRpcCall(rpcLatencyNanos, numRpcCalls);
+            return response;
+        });
+        return daemon;
+    }
+
+    private static ElementsdWallet createWallet(long rpcLatencyNanos, AtomicInteger numRpcCalls, String watchedScript) {
+        ElementsdGetAddressInfoResponse.Result addressInfo = mock(ElementsdGetAddressInfoResponse.Result.class);
+        when(addressInfo.getScriptPubKey()).thenReturn(watchedScript);
+        ElementsdGetAddressInfoResponse addressInfoResponse = mock(ElementsdGetAddressInfoResponse.class);
+        when(addressInfoResponse.getResult()).thenReturn(addressInfo);
+
+        ElementsdWallet wallet = mock(ElementsdWallet.class);
+        when(wallet.getAddressInfo(WATCHED_ADDRESS)).thenReturn(addressInfoResponse);
+        when(wallet.listUnspent()).thenReturn(List.of());
+        when(wallet.unblindRawTransaction(anyString())).thenAnswer(invocation -> {
+            simulateRpcCall(rpcLatencyNanos, numRpcCalls);
+            return invocation.getArgument(0);
+        });
+        return wallet;
+    }
+
+    private static void simulateRpcCall(long rpcLatencyNanos, AtomicInteger numRpcCalls) {
+        numRpcCalls.incrementAndGet();
+        LockSupport.parkNanos(rpcLatencyNanos);
+    }
+
+    private static List<byte[]> createCorpus(int numTransactions, byte[] watchedScript, Random random) {
+        List<byte[]> corpus = new ArrayList<>(numTransactions);
+        int numPayingToWallet = 0;
+        for (int i = 0; i < numTransactions; i++) {
+            boolean isPayingToWallet = random.nextInt(100) == 0;
+            byte[] serializedTx = createConfidentialTransaction(random, isPayingToWallet ? watchedScript : null);
+            ElementsTransaction transaction = ElementsTxParser.parse(serializedTx);
+            if (transaction.outputScripts().contains(Hex.encode(watchedScript)) != isPayingToWallet) {
+                throw new IllegalStateException("Parsed output scripts do not match the created transaction");
+            }
+            numPayingToWallet += isPayingToWallet ? 1 : 0;
+            corpus.add(serializedTx);
+        }
+        System.out.printf("Created %d synthetic transactions, %d of them paying to our wallet%n",
+                numTransactions, numPayingToWallet);
+        return corpus;
+    }
+
+    // Transaction with confidential outputs and an explicit fee output, serialized in the Elements format
+    private static byte[] createConfidentialTransaction(Random random, byte[] scriptPayingToWallet) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeLittleEndian(out, 2, 4); // version
+        out.write(1); // flags: with witness
+
+        int numInputs = 1 + random.nextInt(3);
+        out.write(numInputs);
+        for (int i = 0; i < numInputs; i++) {
+            out.writeBytes(randomBytes(random, 32)); // prevout hash
+            writeLittleEndian(out, random.nextInt(4), 4); // prevout index
+            out.write(0); // empty scriptSig
+            writeLittleEndian(out, 0xFFFFFFFDL, 4); // sequence
+        }
+
+        int numOutputs = 2 + random.nextInt(2);
+        out.write(numOutputs + 1);
+        for (int i = 0; i < numOutputs; i++) {
+            out.write(0x0a);
+            out.writeBytes(randomBytes(random, 32)); // asset commitment
+            out.write(0x08);
+            out.writeBytes(randomBytes(random, 32)); // value commitment
+            out.write(0x02);
+            out.writeBytes(randomBytes(random, 32)); // nonce
+            byte[] script = i == 0 && scriptPayingToWallet != null ? scriptPayingToWallet : createP2wpkhScript(random);
+            out.write(script.length);
+            out.writeBytes(script);
+        }
+        out.write(0x01);
+        out.writeBytes(randomBytes(random, 32)); // explicit asset
+        out.write(0x01);
+        writeLittleEndian(out, 250, 8); // explicit fee value
+        out.write(0x00); // no nonce
+        out.write(0x00); // empty script
+        writeLittleEndian(out, 0, 4); // lock time
+
+        // Witness data incl. range and surjection proofs, not read by the parser
+        out.writeBytes(randomBytes(random, 3000 * numOutputs));
+        return out.toByteArray();
+    }
+
+    private static byte[] createP2wpkhScript(Random random) {
+        byte[] script = new byte[22];
+        script[0] = 0x00;
+        script[1] = 0x14;
+        System.arraycopy(randomBytes(random, 20), 0, script, 2, 20);
+        return script;
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void writeLittleEndian(ByteArrayOutputStream out, long value, int numBytes) {
+        for (int i = 0; i < numBytes; i++) {
+            out.write((int) (value >>> (8 * i)) & 0xFF);
+        }
+    }
+}
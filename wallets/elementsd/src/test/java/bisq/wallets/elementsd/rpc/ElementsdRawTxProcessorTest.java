@@ -0,0 +1,113 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.elementsd.rpc;
+
+import bisq.common.encoding.Hex;
+import bisq.wallets.bitcoind.zmq.ZmqListeners;
+import bisq.wallets.elementsd.rpc.responses.ElementsdDecodeRawTransactionResponse;
+import bisq.wallets.elementsd.rpc.responses.ElementsdGetAddressInfoResponse;
+import bisq.wallets.elementsd.rpc.responses.ElementsdListUnspentResponse;
+import bisq.wallets.elementsd.tx.ElementsTransaction;
+import bisq.wallets.elementsd.tx.ElementsdWalletTxFilter;
+import bisq.wallets.elementsd.tx.OutPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static bisq.wallets.elementsd.tx.ElementsTxParserTest.COINBASE_TX;
+import static bisq.wallets.elementsd.tx.ElementsTxParserTest.EXPLICIT_OUTPUT_SCRIPT;
+import static bisq.wallets.elementsd.tx.ElementsTxParserTest.EXPLICIT_TX;
+import static bisq.wallets.elementsd.tx.ElementsTxParserTest.EXPLICIT_TXID;
+import static bisq.wallets.elementsd.tx.ElementsTxParserTest.ISSUANCE_TX;
+import static bisq.wallets.elementsd.tx.ElementsTxParserTest.PREV_TXID_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElementsdRawTxProcessorTest {
+    private static final String WATCHED_ADDRESS = "watchedAddress";
+
+    private ElementsdDaemon daemon;
+    private ElementsdWalletTxFilter walletTxFilter;
+    private ElementsdRawTxProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        ElementsdDecodeRawTransactionResponse decodeResponse = mock(ElementsdDecodeRawTransactionResponse.class);
+        when(decodeResponse.getResult()).thenReturn(mock(ElementsdDecodeRawTransactionResponse.Result.class));
+        daemon = mock(ElementsdDaemon.class);
+        when(daemon.decodeRawTransaction(anyString())).thenReturn(decodeResponse);
+
+        ElementsdGetAddressInfoResponse.Result addressInfo = mock(ElementsdGetAddressInfoResponse.Result.class);
+        when(addressInfo.getScriptPubKey()).thenReturn(EXPLICIT_OUTPUT_SCRIPT);
+        ElementsdGetAddressInfoResponse addressInfoResponse = mock(ElementsdGetAddressInfoResponse.class);
+        when(addressInfoResponse.getResult()).thenReturn(addressInfo);
+
+        ElementsdListUnspentResponse.Entry unspentOutput = mock(ElementsdListUnspentResponse.Entry.class);
+        when(unspentOutput.getTxId()).thenReturn(PREV_TXID_2);
+        when(unspentOutput.getVout()).thenReturn(2);
+
+        ElementsdWallet wallet = mock(ElementsdWallet.class);
+        when(wallet.getAddressInfo(WATCHED_ADDRESS)).thenReturn(addressInfoResponse);
+        when(wallet.listUnspent()).thenReturn(List.of(unspentOutput));
+        when(wallet.unblindRawTransaction(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        walletTxFilter = new ElementsdWalletTxFilter(wallet);
+        walletTxFilter.initialize(List.of(WATCHED_ADDRESS));
+        processor = new ElementsdRawTxProcessor(daemon, wallet, new ZmqListeners(), walletTxFilter);
+    }
+
+    @Test
+    void transactionPayingToWalletIsProcessed() {
+        processor.processRawTx(Hex.decode(EXPLICIT_TX), new byte[4]);
+
+        verify(daemon).decodeRawTransaction(EXPLICIT_TX);
+        // Its output paying to our address is ours, thus we watch for spends of it
+        ElementsTransaction spendingTransaction = new ElementsTransaction("", List.of(new OutPoint(EXPLICIT_TXID, 0)), List.of());
+        assertThat(walletTxFilter.touchesWallet(spendingTransaction)).isTrue();
+    }
+
+    @Test
+    void transactionSpendingWalletOutputIsProcessed() {
+        processor.processRawTx(Hex.decode(ISSUANCE_TX), new byte[4]);
+
+        verify(daemon).decodeRawTransaction(ISSUANCE_TX);
+    }
+
+    @Test
+    void unrelatedTransactionIsFilteredOut() {
+        processor.processRawTx(Hex.decode(COINBASE_TX), new byte[4]);
+
+        verify(daemon, never()).decodeRawTransaction(anyString());
+    }
+
+    @Test
+    void malformedTransactionIsProcessed() {
+        byte[] serializedTx = Hex.decode(COINBASE_TX);
+        byte[] truncated = Arrays.copyOf(serializedTx, serializedTx.length / 2);
+
+        processor.processRawTx(truncated, new byte[4]);
+
+        verify(daemon).decodeRawTransaction(Hex.encode(truncated));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.elementsd.tx;
+
+import bisq.common.encoding.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The vectors are serialized in the Elements transaction format and cover explicit and confidential outputs, witness
+ * data, an asset issuance input and a coinbase input. The expected txIds were computed by a separate implementation
+ * of the txId hashing.
+ */
+public class ElementsTxParserTest {
+    // 1 input, explicit L-BTC output to a P2WPKH script and explicit fee output, no witness
+    public static final String EXPLICIT_TX =
+            "020000000001b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2a1a1a1a1a1a1a1a1a1a1a1a1a1a1a1a10100000000fdffffff02" +
+            "016f0279e9ed041c3d710a9f57d0c02928416460c4b722ae3457a11eec381c526d010000000005f5d6d800160014ca97" +
+            "8112ca1bbdcafac231b39a23dc4da786eff8016f0279e9ed041c3d710a9f57d0c02928416460c4b722ae3457a11eec38" +
+            "1c526d010000000000000a28000000000000";
+
+    // 1 input, confidential outputs to a P2WPKH and a P2SH script and explicit fee output, with witness
+    public static final String CONFIDENTIAL_WITNESS_TX =
+            "020000000101b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2a1a1a1a1a1a1a1a1a1a1a1a1a1a1a1a10000000000ffffffff03" +
+            "0ad4332469d7342f3df93955e433428aaf02bed46699b991f749b9e2c7d015a41908c61ae313ac984db97d3ae1655f46" +
+            "798a09aa0a76f1a81d29010d367b0febe80a023e241ce8fb8b90a5750614f8e2d18509d87f53dc00792aace366e6cc55" +
+            "79c57a1600143e23e8160039594a33894f6564e1b1348bbd7a000a170e20133e22496370908138e6848d2354eaf25dc7" +
+            "81cff985a16a753ac8ca060888e29b4cfdf950125025a63f859cfe84c8571dc7febd36a3d40ee5961f63178502f5d252" +
+            "e66ffe4f16a65613535f95c5b63e3461ccff45aca8bd2df4915e1985e617a9142e7d2c03a9507ae265ecf5b5356885a5" +
+            "3393a20287016f0279e9ed041c3d710a9f57d0c02928416460c4b722ae3457a11eec381c526d010000000000000a2800" +
+            "000000000000000208303030303030303021020202020202020202020202020202020202020202020202020202020202" +
+            "020202000a0101010101010101010110606060606060606060606060606060600a010101010101010101011060606060" +
+            "6060606060606060606060600000";
+
+    // Same transaction without witness
+    public static final String CONFIDENTIAL_NO_WITNESS_TX =
+            "020000000001b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2a1a1a1a1a1a1a1a1a1a1a1a1a1a1a1a10000000000ffffffff03" +
+            "0ad4332469d7342f3df93955e433428aaf02bed46699b991f749b9e2c7d015a41908c61ae313ac984db97d3ae1655f46" +
+            "798a09aa0a76f1a81d29010d367b0febe80a023e241ce8fb8b90a5750614f8e2d18509d87f53dc00792aace366e6cc55" +
+            "79c57a1600143e23e8160039594a33894f6564e1b1348bbd7a000a170e20133e22496370908138e6848d2354eaf25dc7" +
+            "81cff985a16a753ac8ca060888e29b4cfdf950125025a63f859cfe84c8571dc7febd36a3d40ee5961f63178502f5d252" +
+            "e66ffe4f16a65613535f95c5b63e3461ccff45aca8bd2df4915e1985e617a9142e7d2c03a9507ae265ecf5b5356885a5" +
+            "3393a20287016f0279e9ed041c3d710a9f57d0c02928416460c4b722ae3457a11eec381c526d010000000000000a2800" +
+            "0000000000";
+
+    // Input with an asset issuance of an explicit amount and without inflation keys and a second regular input
+    public static final String ISSUANCE_TX =
+            "020000000002efcdab8967452301efcdab8967452301efcdab8967452301efcdab89674523010200008000ffffffff00" +
+            "00000000000000000000000000000000000000000000000000000000000000cc8321d6375c494d043fdd0260f21bc0ec" +
+            "51dacc9f6abb7f909cdcd3041b78bf0100000000000f424000b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2a1a1a1a1a1a1a1" +
+            "a1a1a1a1a1a1a1a1a10300000000ffffffff02016f0279e9ed041c3d710a9f57d0c02928416460c4b722ae3457a11eec" +
+            "381c526d0100000000000f42400016001418ac3e7343f016890c510e93f935261169d9e3f5016f0279e9ed041c3d710a" +
+            "9f57d0c02928416460c4b722ae3457a11eec381c526d010000000000000a28000000000000";
+
+    // Coinbase input and explicit outputs to the witness commitment and a P2WPKH script
+    public static final String COINBASE_TX =
+            "0200000000010000000000000000000000000000000000000000000000000000000000000000ffffffff0403a08601ff" +
+            "ffffff02016f0279e9ed041c3d710a9f57d0c02928416460c4b722ae3457a11eec381c526d0100000000000000000026" +
+            "6a24aa21a9ed0000000000000000000000000000000000000000000000000000000000000000016f0279e9ed041c3d71" +
+            "0a9f57d0c02928416460c4b722ae3457a11eec381c526d010000000000000000001600143f79bb7b435b05321651daef" +
+            "d374cdc681dc06fa00000000";
+
+    public static final String EXPLICIT_TXID = "71bd52c79057151c7f325e6d010da446b095a0e7e67c6c5fce3b9b10abcc45a4";
+    public static final String CONFIDENTIAL_TXID = "31292ca85d60c7202cd25b4f6a9931d72404a09a6aacf0ecab9776a711189e4e";
+    public static final String ISSUANCE_TXID = "232e1c073c4c89a4789f2fd5a3a2e0229498ea8230407f67f69c673e13f0cf50";
+    public static final String COINBASE_TXID = "f7fa2d936ba0f200cee499eb55a7df80730969db36efa620fc480abe608ba575";
+
+    public static final String PREV_TXID_1 = "a1a1a1a1a1a1a1a1a1a1a1a1a1a1a1a1b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2b2";
+    public static final String PREV_TXID_2 = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    public static final String EXPLICIT_OUTPUT_SCRIPT = "0014ca978112ca1bbdcafac231b39a23dc4da786eff8";
+
+    @Test
+    void parseExplicitTransaction() {
+        ElementsTransaction transaction = ElementsTxParser.parse(Hex.decode(EXPLICIT_TX));
+
+        assertThat(transaction.txId()).isEqualTo(EXPLICIT_TXID);
+        assertThat(transaction.inputs()).containsExactly(new OutPoint(PREV_TXID_1, 1));
+        assertThat(transaction.outputScripts()).containsExactly(EXPLICIT_OUTPUT_SCRIPT, "");
+    }
+
+    @Test
+    void parseConfidentialTransactionWithWitness() {
+        ElementsTransaction transaction = ElementsTxParser.parse(Hex.decode(CONFIDENTIAL_WITNESS_TX));
+
+        assertThat(transaction.txId()).isEqualTo(CONFIDENTIAL_TXID);
+        assertThat(transaction.inputs()).containsExactly(new OutPoint(PREV_TXID_1, 0));
+        assertThat(transaction.outputScripts()).containsExactly("00143e23e8160039594a33894f6564e1b1348bbd7a00",
+                "a9142e7d2c03a9507ae265ecf5b5356885a53393a20287",
+                "");
+    }
+
+    @Test
+    void witnessDoesNotChangeTxId() {
+        ElementsTransaction withWitness = ElementsTxParser.parse(Hex.decode(CONFIDENTIAL_WITNESS_TX));
+        ElementsTransaction withoutWitness = ElementsTxParser.parse(Hex.decode(CONFIDENTIAL_NO_WITNESS_TX));
+
+        assertThat(withoutWitness).isEqualTo(withWitness);
+    }
+
+    @Test
+    void parseIssuanceInput() {
+        ElementsTransaction transaction = ElementsTxParser.parse(Hex.decode(ISSUANCE_TX));
+
+        assertThat(transaction.txId()).isEqualTo(ISSUANCE_TXID);
+        // The issuance flag is not part of the output index
+        assertThat(transaction.inputs()).containsExactly(new OutPoint(PREV_TXID_2, 2), new OutPoint(PREV_TXID_1, 3));
+        assertThat(transaction.outputScripts()).containsExactly("001418ac3e7343f016890c510e93f935261169d9e3f5", "");
+    }
+
+    @Test
+    void parseCoinbase() {
+        ElementsTransaction transaction = ElementsTxParser.parse(Hex.decode(COINBASE_TX));
+
+        assertThat(transaction.txId()).isEqualTo(COINBASE_TXID);
+        assertThat(transaction.inputs()).isEmpty();
+        assertThat(transaction.outputScripts()).containsExactly(
+                "6a24aa21a9ed0000000000000000000000000000000000000000000000000000000000000000",
+                "00143f79bb7b435b05321651daefd374cdc681dc06fa");
+    }
+
+    @Test
+    void truncatedTransactionFails() {
+        // Witness data is not parsed, thus we use the transactions without witness
+        for (String tx : List.of(EXPLICIT_TX, CONFIDENTIAL_NO_WITNESS_TX, ISSUANCE_TX, COINBASE_TX)) {
+            byte[] serializedTx = Hex.decode(tx);
+            for (int length = 0; length < serializedTx.length; length++) {
+                byte[] truncated = Arrays.copyOf(serializedTx, length);
+                assertThatThrownBy(() -> ElementsTxParser.parse(truncated))
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Test
+    void invalidCommitmentPrefixFails() {
+        byte[] serializedTx = Hex.decode(EXPLICIT_TX);
+        // Version (4), flags (1), number of inputs (1), input (41), number of outputs (1)
+        int assetPrefixPosition = 48;
+        assertThat(serializedTx[assetPrefixPosition]).isEqualTo((byte) 1);
+        serializedTx[assetPrefixPosition] = 5;
+
+        assertThatThrownBy(() -> ElementsTxParser.parse(serializedTx))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void excessiveInputCountFails() {
+        byte[] serializedTx = Hex.decode(EXPLICIT_TX);
+        // Replace the number of inputs by a 4 byte compact size of 0xFFFFFFFF
+        byte[] malformed = new byte[serializedTx.length + 4];
+        System.arraycopy(serializedTx, 0, malformed, 0, 5);
+        malformed[5] = (byte) 0xFE;
+        Arrays.fill(malformed, 6, 10, (byte) 0xFF);
+        System.arraycopy(serializedTx, 6, malformed, 10, serializedTx.length - 6);
+
+        assertThatThrownBy(() -> ElementsTxParser.parse(malformed))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.elementsd.tx;
+
+import bisq.wallets.elementsd.rpc.ElementsdWallet;
+import bisq.wallets.elementsd.rpc.responses.ElementsdGetAddressInfoResponse;
+import bisq.wallets.elementsd.rpc.responses.ElementsdListUnspentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ElementsdWalletTxFilterTest {
+    private static final String WATCHED_ADDRESS = "watchedAddress";
+    private static final String WATCHED_SCRIPT = "0014ca978112ca1bbdcafac231b39a23dc4da786eff8";
+    private static final String OTHER_SCRIPT = "00143e23e8160039594a33894f6564e1b1348bbd7a00";
+    private static final OutPoint UNSPENT_OUTPUT = new OutPoint("unspentTxId", 1);
+
+    private ElementsdWalletTxFilter walletTxFilter;
+
+    @BeforeEach
+    void setUp() {
+        ElementsdGetAddressInfoResponse.Result addressInfo = mock(ElementsdGetAddressInfoResponse.Result.class);
+        when(addressInfo.getScriptPubKey()).thenReturn(WATCHED_SCRIPT);
+        ElementsdGetAddressInfoResponse addressInfoResponse = mock(ElementsdGetAddressInfoResponse.class);
+        when(addressInfoResponse.getResult()).thenReturn(addressInfo);
+
+        ElementsdListUnspentResponse.Entry unspentOutput = mock(ElementsdListUnspentResponse.Entry.class);
+        when(unspentOutput.getTxId()).thenReturn(UNSPENT_OUTPUT.txId());
+        when(unspentOutput.getVout()).thenReturn((int) UNSPENT_OUTPUT.index());
+
+        ElementsdWallet wallet = mock(ElementsdWallet.class);
+        when(wallet.getAddressInfo(WATCHED_ADDRESS)).thenReturn(addressInfoResponse);
+        when(wallet.listUnspent()).thenReturn(List.of(unspentOutput));
+
+        walletTxFilter = new ElementsdWalletTxFilter(wallet);
+        walletTxFilter.initialize(List.of(WATCHED_ADDRESS));
+    }
+
+    @Test
+    void onlyUnspentOutputIsWatched() {
+        assertThat(walletTxFilter.touchesWallet(spending(UNSPENT_OUTPUT))).isTrue();
+        assertThat(walletTxFilter.touchesWallet(spending(new OutPoint(UNSPENT_OUTPUT.txId(), 0)))).isFalse();
+    }
+
+    @Test
+    void spentOutputIsNotWatchedAnymore() {
+        ElementsTransaction transaction = new ElementsTransaction("txId", List.of(UNSPENT_OUTPUT), List.of(OTHER_SCRIPT, ""));
+        walletTxFilter.onTransactionTouchingWallet(transaction);
+
+        assertThat(walletTxFilter.touchesWallet(spending(UNSPENT_OUTPUT))).isFalse();
+        // The output might be our change, the fee output cannot be spent
+        assertThat(walletTxFilter.touchesWallet(spending(new OutPoint("txId", 0)))).isTrue();
+        assertThat(walletTxFilter.touchesWallet(spending(new OutPoint("txId", 1)))).isFalse();
+        assertThat(walletTxFilter.getNumWatchedOutputs()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyOutputPayingToWalletOfReceivedTransactionIsWatched() {
+        ElementsTransaction transaction = new ElementsTransaction("txId",
+                List.of(new OutPoint("otherTxId", 0)),
+                List.of(OTHER_SCRIPT, WATCHED_SCRIPT, ""));
+        walletTxFilter.onTransactionTouchingWallet(transaction);
+
+        assertThat(walletTxFilter.touchesWallet(spending(new OutPoint("txId", 0)))).isFalse();
+        assertThat(walletTxFilter.touchesWallet(spending(new OutPoint("txId", 1)))).isTrue();
+    }
+
+    @Test
+    void eldestOutputsAreDroppedAtMaxSize() {
+        OutPoint spentOutput = UNSPENT_OUTPUT;
+        for (int i = 0; i < ElementsdWalletTxFilter.MAX_WATCHED_OUTPUTS; i++) {
+            String txId = "txId-" + i;
+            // Each transaction spends the change of the previous one and creates 2 outputs
+            walletTxFilter.onTransactionTouchingWallet(new ElementsTransaction(txId,
+                    List.of(spentOutput),
+                    List.of(OTHER_SCRIPT, OTHER_SCRIPT)));
+            spentOutput = new OutPoint(txId, 1);
+        }
+
+        assertThat(walletTxFilter.getNumWatchedOutputs()).isEqualTo(ElementsdWalletTxFilter.MAX_WATCHED_OUTPUTS);
+        assertThat(walletTxFilter.touchesWallet(spending(new OutPoint("txId-0", 0)))).isFalse();
+        assertThat(walletTxFilter.touchesWallet(spending(spentOutput))).isTrue();
+    }
+
+    private static ElementsTransaction spending(OutPoint outPoint) {
+        return new ElementsTransaction("spendingTxId", List.of(outPoint), List.of());
+    }
+}
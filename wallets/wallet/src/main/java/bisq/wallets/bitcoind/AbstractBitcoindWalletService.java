@@ -34,10 +34,8 @@ import bisq.wallets.core.model.Utxo;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -66,7 +64,7 @@ public abstract class AbstractBitcoindWalletService<T extends Wallet & ZmqWallet
     @Getter
     protected Optional<T> wallet = Optional.empty();
     protected Optional<ZmqConnection> zmqConnection = Optional.empty();
-    protected final Set<String> utxoTxIds = new HashSet<>();
+    protected Optional<BalanceRefresher> balanceRefresher = Optional.empty();
     @Getter
     protected final ObservableSet<String> walletAddresses = new ObservableSet<>();
     @Getter
@@ -109,10 +107,12 @@ public abstract class AbstractBitcoindWalletService<T extends Wallet & ZmqWallet
             });
             zmqConnection = Optional.empty();
 
+            balanceRefresher.ifPresent(BalanceRefresher::shutdown);
+            balanceRefresher = Optional.empty();
+
             wallet.ifPresent(Wallet::shutdown);
             wallet = Optional.empty();
 
-            utxoTxIds.clear();
             walletAddresses.clear();
             transactions.clear();
             observableBalanceAsCoin.set(Coin.fromValue(0, currencyCode));
@@ -146,12 +146,15 @@ public abstract class AbstractBitcoindWalletService<T extends Wallet & ZmqWallet
 
         ZmqConnection zmqConnection = wallet.getZmqConnection();
         walletAddresses.addAll(wallet.getWalletAddresses());
-        initializeZmqListeners(zmqConnection, walletAddresses);
+        BalanceRefresher balanceRefresher = new BalanceRefresher(wallet, currencyCode, observableBalanceAsCoin, walletAddresses);
+        this.balanceRefresher.ifPresent(BalanceRefresher::shutdown);
+        this.balanceRefresher = Optional.of(balanceRefresher);
+        initializeZmqListeners(zmqConnection, balanceRefresher);
 
         this.zmqConnection = Optional.of(zmqConnection);
         log.info("Successfully created/loaded wallet at {}", walletName);
 
-        updateBalance();
+        balanceRefresher.requestRefresh();
 
         return CompletableFuture.completedFuture(true);
     }
@@ -221,24 +224,15 @@ public abstract class AbstractBitcoindWalletService<T extends Wallet & ZmqWallet
         return CompletableFuture.supplyAsync(() -> true);
     }
 
-    protected void initializeZmqListeners(ZmqConnection zmqConnection, Set<String> walletAddresses) {
+    protected void initializeZmqListeners(ZmqConnection zmqConnection, BalanceRefresher balanceRefresher) {
         // Update balance when new block gets mined
-        zmqConnection.getListeners().registerNewBlockMinedListener(unused -> updateBalance());
+        zmqConnection.getListeners().registerNewBlockMinedListener(unused -> balanceRefresher.onNewBlockMined());
 
         // Update balance if a UTXO is spent
-        zmqConnection.getListeners().registerTransactionIdInInputListener(txId -> {
-            if (utxoTxIds.contains(txId)) {
-                updateBalance();
-            }
-        });
+        zmqConnection.getListeners().registerTransactionIdInInputListener(balanceRefresher::onTxIdInInput);
 
         // Update balance if a receive address is in tx output
-        zmqConnection.getListeners().registerTxOutputAddressesListener(addresses -> {
-            boolean receiveAddressInTxOutput = addresses.stream().anyMatch(walletAddresses::contains);
-            if (receiveAddressInTxOutput) {
-                updateBalance();
-            }
-        });
+        zmqConnection.getListeners().registerTxOutputAddressesListener(balanceRefresher::onTxOutputAddresses);
     }
 
     protected abstract void persistRpcConfig(RpcConfig rpcConfig);
@@ -264,24 +258,4 @@ public abstract class AbstractBitcoindWalletService<T extends Wallet & ZmqWallet
 
         return false;
     }
-
-    private void updateBalance() {
-        CompletableFuture.runAsync(() -> {
-            Wallet wallet = getWalletOrThrowException();
-            double balance = wallet.getBalance();
-            Coin coin = Coin.fromFaceValue(balance, currencyCode);
-
-            // Balance changed?
-            if (!observableBalanceAsCoin.get().equals(coin)) {
-                observableBalanceAsCoin.set(coin);
-
-                listUnspent().thenAccept(utxos -> {
-                    utxoTxIds.clear();
-                    utxos.stream()
-                            .map(Utxo::getTxId)
-                            .forEach(utxoTxIds::add);
-                });
-            }
-        });
-    }
 }
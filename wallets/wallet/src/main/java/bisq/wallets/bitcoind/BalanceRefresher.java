@@ -0,0 +1,154 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.bitcoind;
+
+import bisq.common.monetary.Coin;
+import bisq.common.observable.Observable;
+import bisq.common.threading.ExecutorFactory;
+import bisq.wallets.core.Wallet;
+import bisq.wallets.core.model.Utxo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Refreshes the balance and the UTXO set of a wallet on ZMQ notifications.
+ * <p>
+ * All notifications arriving within the coalescing window trigger a single refresh. Refreshes run on a single thread,
+ * so there is at most one refresh in flight. A notification arriving while a refresh is running schedules exactly one
+ * follow-up refresh, thus no change gets missed.
+ */
+@Slf4j
+public class BalanceRefresher {
+    public static final long DEFAULT_COALESCING_WINDOW_MS = 200;
+
+    private final Wallet wallet;
+    private final String currencyCode;
+    private final Observable<Coin> observableBalanceAsCoin;
+    private final Set<String> walletAddresses;
+    private final long coalescingWindowMs;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean isRefreshScheduled = new AtomicBoolean();
+    private final Set<String> utxoTxIds = ConcurrentHashMap.newKeySet();
+
+    public BalanceRefresher(Wallet wallet,
+                            String currencyCode,
+                            Observable<Coin> observableBalanceAsCoin,
+                            Set<String> walletAddresses) {
+        this(wallet, currencyCode, observableBalanceAsCoin, walletAddresses, DEFAULT_COALESCING_WINDOW_MS);
+    }
+
+    public BalanceRefresher(Wallet wallet,
+                            String currencyCode,
+                            Observable<Coin> observableBalanceAsCoin,
+                            Set<String> walletAddresses,
+                            long coalescingWindowMs) {
+        this.wallet = wallet;
+        this.currencyCode = currencyCode;
+        this.observableBalanceAsCoin = observableBalanceAsCoin;
+        this.walletAddresses = walletAddresses;
+        this.coalescingWindowMs = coalescingWindowMs;
+        executor = ExecutorFactory.newSingleThreadScheduledExecutor("BalanceRefresher-" + currencyCode);
+    }
+
+    public void shutdown() {
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 1, TimeUnit.SECONDS);
+        utxoTxIds.clear();
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // ZMQ notifications
+    /* --------------------------------------------------------------------- */
+
+    public void onNewBlockMined() {
+        requestRefresh();
+    }
+
+    public void onTxIdInInput(String txId) {
+        if (utxoTxIds.contains(txId)) {
+            requestRefresh();
+        }
+    }
+
+    public void onTxOutputAddresses(Collection<String> addresses) {
+        for (String address : addresses) {
+            if (walletAddresses.contains(address)) {
+                requestRefresh();
+                return;
+            }
+        }
+    }
+
+    public void requestRefresh() {
+        if (!isRefreshScheduled.compareAndSet(false, true)) {
+            // A refresh is already scheduled and not started yet. It will see the changes of this notification.
+            return;
+        }
+
+        try {
+            executor.schedule(this::refresh, coalescingWindowMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Refresh request after shutdown got ignored");
+        }
+    }
+
+    public Set<String> getUtxoTxIds() {
+        return Collections.unmodifiableSet(utxoTxIds);
+    }
+
+
+    /* --------------------------------------------------------------------- */
+    // Private
+    /* --------------------------------------------------------------------- */
+
+    private void refresh() {
+        // We reset the flag before the RPC calls so that notifications arriving during the refresh schedule
+        // a follow-up refresh.
+        isRefreshScheduled.set(false);
+        try {
+            double balance = wallet.getBalance();
+            Coin coin = Coin.fromFaceValue(balance, currencyCode);
+
+            // Balance changed?
+            if (!observableBalanceAsCoin.get().equals(coin)) {
+                observableBalanceAsCoin.set(coin);
+                updateUtxoTxIds();
+            }
+        } catch (Exception e) {
+            log.error("Refreshing balance failed", e);
+        }
+    }
+
+    private void updateUtxoTxIds() {
+        Set<String> currentUtxoTxIds = wallet.listUnspent().stream()
+                .map(Utxo::getTxId)
+                .collect(Collectors.toSet());
+        // We apply only the difference, so that the set never appears empty to the ZMQ listener threads.
+        utxoTxIds.retainAll(currentUtxoTxIds);
+        utxoTxIds.addAll(currentUtxoTxIds);
+    }
+}
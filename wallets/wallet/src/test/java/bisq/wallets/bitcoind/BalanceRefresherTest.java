@@ -0,0 +1,169 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.bitcoind;
+
+import bisq.common.monetary.Coin;
+import bisq.common.observable.Observable;
+import bisq.wallets.core.Wallet;
+import bisq.wallets.core.model.Utxo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BalanceRefresherTest {
+    private static final String WALLET_ADDRESS = "walletAddress";
+    private static final long COALESCING_WINDOW_MS = 20;
+
+    private final AtomicInteger numGetBalanceCalls = new AtomicInteger();
+    private final AtomicInteger numListUnspentCalls = new AtomicInteger();
+    private final AtomicInteger numRefreshesInFlight = new AtomicInteger();
+    private final AtomicInteger maxRefreshesInFlight = new AtomicInteger();
+    private final AtomicLong lastRefreshStartTime = new AtomicLong();
+    private final Observable<Coin> observableBalanceAsCoin = new Observable<>(Coin.fromValue(0, "BTC"));
+    private volatile List<String> unspentTxIds = List.of("tx1", "tx2");
+    private Wallet wallet;
+    private BalanceRefresher balanceRefresher;
+
+    @BeforeEach
+    void setUp() {
+        wallet = mock(Wallet.class);
+        when(wallet.getBalance()).thenAnswer(invocation -> {
+            lastRefreshStartTime.set(System.nanoTime());
+            maxRefreshesInFlight.accumulateAndGet(numRefreshesInFlight.incrementAndGet(), Math::max);
+            // Simulate RPC latency
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+            numRefreshesInFlight.decrementAndGet();
+            // The balance changes with each call, so we get the listUnspent call as well
+            return numGetBalanceCalls.incrementAndGet() / 1000d;
+        });
+        when(wallet.listUnspent()).thenAnswer(invocation -> {
+            numListUnspentCalls.incrementAndGet();
+            return unspentTxIds.stream().map(BalanceRefresherTest::createUtxo).toList();
+        });
+        balanceRefresher = new BalanceRefresher(wallet,
+                "BTC",
+                observableBalanceAsCoin,
+                Set.of(WALLET_ADDRESS),
+                COALESCING_WINDOW_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        balanceRefresher.shutdown();
+    }
+
+    @Test
+    void coalescesBurstOfZmqEvents() throws InterruptedException {
+        balanceRefresher.requestRefresh();
+        awaitIdle();
+        assertThat(balanceRefresher.getUtxoTxIds()).containsExactlyInAnyOrder("tx1", "tx2");
+        int numGetBalanceCallsBefore = numGetBalanceCalls.get();
+        int numListUnspentCallsBefore = numListUnspentCalls.get();
+
+        int numThreads = 4;
+        int numEventsPerThread = 2_500;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        AtomicLong lastEventTime = new AtomicLong();
+        long ts = System.currentTimeMillis();
+        for (int thread = 0; thread < numThreads; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < numEventsPerThread; i++) {
+                    switch (i % 4) {
+                        case 0 -> balanceRefresher.onNewBlockMined();
+                        case 1 -> balanceRefresher.onTxIdInInput(i % 8 == 1 ? "tx1" : "foreignTx" + i);
+                        case 2 -> balanceRefresher.onTxOutputAddresses(List.of("foreignAddress" + i, WALLET_ADDRESS));
+                        default -> balanceRefresher.onTxOutputAddresses(List.of("foreignAddress" + i));
+                    }
+                    if (i % 100 == 0) {
+                        // Spread the events over several coalescing windows
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                    }
+                }
+                lastEventTime.accumulateAndGet(System.nanoTime(), Math::max);
+                latch.countDown();
+            });
+        }
+        assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        long duration = System.currentTimeMillis() - ts;
+        executor.shutdown();
+        awaitIdle();
+
+        // A refresh needs to run after the last event, otherwise we could miss a change
+        assertThat(lastRefreshStartTime.get()).isGreaterThan(lastEventTime.get());
+        assertThat(maxRefreshesInFlight.get()).isEqualTo(1);
+        long maxExpectedRefreshes = duration / COALESCING_WINDOW_MS + 2;
+        int numRefreshes = numGetBalanceCalls.get() - numGetBalanceCallsBefore;
+        assertThat(numRefreshes).isBetween(1, (int) maxExpectedRefreshes);
+        assertThat(numListUnspentCalls.get() - numListUnspentCallsBefore).isEqualTo(numRefreshes);
+    }
+
+    @Test
+    void ignoresEventsNotTouchingWallet() throws InterruptedException {
+        for (int i = 0; i < 10_000; i++) {
+            balanceRefresher.onTxIdInInput("foreignTx" + i);
+            balanceRefresher.onTxOutputAddresses(List.of("foreignAddress" + i));
+        }
+        awaitIdle();
+
+        assertThat(numGetBalanceCalls.get()).isZero();
+        assertThat(numListUnspentCalls.get()).isZero();
+    }
+
+    @Test
+    void updatesUtxoTxIdsIncrementally() throws InterruptedException {
+        balanceRefresher.requestRefresh();
+        awaitIdle();
+        assertThat(balanceRefresher.getUtxoTxIds()).containsExactlyInAnyOrder("tx1", "tx2");
+
+        unspentTxIds = List.of("tx2", "tx3");
+        balanceRefresher.onTxIdInInput("tx1");
+        awaitIdle();
+        assertThat(balanceRefresher.getUtxoTxIds()).containsExactlyInAnyOrder("tx2", "tx3");
+        assertThat(observableBalanceAsCoin.get()).isEqualTo(Coin.fromFaceValue(0.002, "BTC"));
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        // Wait until no refresh got started within a few coalescing windows
+        long numCalls;
+        do {
+            numCalls = numGetBalanceCalls.get();
+            Thread.sleep(COALESCING_WINDOW_MS * 5);
+        } while (numCalls != numGetBalanceCalls.get());
+    }
+
+    private static Utxo createUtxo(String txId) {
+        Utxo utxo = mock(Utxo.class);
+        when(utxo.getTxId()).thenReturn(txId);
+        return utxo;
+    }
+}